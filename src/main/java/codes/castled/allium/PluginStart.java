@@ -107,6 +107,7 @@ import codes.castled.allium.listeners.security.MaintenanceManager;
 import codes.castled.allium.listeners.security.SpectatorTeleport;
 import codes.castled.allium.listeners.security.VanishListener;
 import codes.castled.allium.listeners.security.VanishPingListener;
+import codes.castled.allium.managers.DB.AsyncDatabase;
 import codes.castled.allium.managers.DB.Database;
 import codes.castled.allium.managers.DB.Database.PlayerLastSeenData;
 import codes.castled.allium.managers.DB.Database.RestrainedPlayerData;
@@ -123,6 +124,7 @@ import codes.castled.allium.managers.config.Config;
 import codes.castled.allium.managers.config.CustomItemsConfig;
 import codes.castled.allium.managers.config.WorldDefaults;
 import codes.castled.allium.managers.core.Alias;
+import codes.castled.allium.managers.core.DataFileStore;
 import codes.castled.allium.managers.core.Item;
 import codes.castled.allium.managers.core.ItemDBManager;
 import codes.castled.allium.managers.core.LegacyID;
@@ -136,6 +138,7 @@ import codes.castled.allium.managers.economy.VaultEconomyProvider;
 import codes.castled.allium.managers.lang.Lang;
 import codes.castled.allium.managers.migration.MigrationManager;
 import codes.castled.allium.managers.permissions.DynamicPermissionManager;
+import codes.castled.allium.managers.home.HomeRegistry;
 import codes.castled.allium.managers.warp.WarpManager;
 import codes.castled.allium.managers.world.OreGenerationManager;
 import codes.castled.allium.packetevents.ChatPacketTracker;
@@ -201,6 +204,7 @@ public class PluginStart extends JavaPlugin {
     private Config configManager;
     private FormatChatListener formatChatListener;
     private Database database;
+    private AsyncDatabase asyncDatabase;
     private CreativeManager creativeManager;
     private SpectatorTeleport spectatorTeleport;
     private Explode explodeCommand;
@@ -219,6 +223,7 @@ public class PluginStart extends JavaPlugin {
     private Time timeCycle;
     private DynamicPermissionManager dynamicPermissionManager;
     private WarpManager warpManager;
+    private HomeRegistry homeRegistry;
     private ChatMessageManager chatMessageManager;
     private SpamBlockerManager spamBlockerManager;
     private ChatFilterManager chatFilterManager;
@@ -244,6 +249,8 @@ public class PluginStart extends JavaPlugin {
     private TFlyManager tflyManager;
     private VouchersConfig vouchersConfig;
     private SecurityAlertManager securityAlertManager;
+    private final DataFileStore dataFileStore = new DataFileStore();
+    private codes.castled.allium.managers.security.ModGuardManager modGuardManager;
     private final Set<UUID> citizensNpcUuids = ConcurrentHashMap.newKeySet();
     private Object glowCommand;
 
@@ -354,6 +361,11 @@ public class PluginStart extends JavaPlugin {
         return database;
     }
 
+    /** Non-blocking access to {@link #getDatabase()} for region threads. */
+    public AsyncDatabase getAsyncDatabase() {
+        return asyncDatabase;
+    }
+
     /**
      * Gets the explode command instance.
      *
@@ -453,6 +465,15 @@ public class PluginStart extends JavaPlugin {
         return gradientNameManager;
     }
 
+    /**
+     * Gets the tab list manager.
+     *
+     * @return The TabListManager instance, or null before the party manager is set up.
+     */
+    public TabListManager getTabListManager() {
+        return tabListManager;
+    }
+
     /**
      * Gets the party manager.
      *
@@ -480,6 +501,18 @@ public class PluginStart extends JavaPlugin {
         return permissionCache;
     }
 
+    public DataFileStore getDataFileStore() {
+        return dataFileStore;
+    }
+
+    public WarpManager getWarpManager() {
+        return warpManager;
+    }
+
+    public HomeRegistry getHomeRegistry() {
+        return homeRegistry;
+    }
+
     /**
      * Gets the spy command instance.
      *
@@ -555,6 +588,7 @@ public class PluginStart extends JavaPlugin {
 
         // Initialize database first (required by NicknameManager and other managers)
         database = new Database(this);
+        asyncDatabase = new AsyncDatabase(this, database);
 
         // Initialize NicknameManager (needs database)
         this.nicknameManager = new NicknameManager(this);
@@ -1049,6 +1083,11 @@ public class PluginStart extends JavaPlugin {
             gradientNameManager.shutdown();
         }
 
+        // Write queued ModGuard evidence
+        if (modGuardManager != null) {
+            modGuardManager.shutdown();
+        }
+
         // Unregister PlaceholderAPI expansion
         if (placeholder != null && placeholder.isRegistered()) {
             placeholder.unregister();
@@ -1109,6 +1148,31 @@ public class PluginStart extends JavaPlugin {
             );
         }
 
+        if (permissionCache != null) {
+            permissionCache.shutdown();
+        }
+
+        if (warpManager != null) {
+            warpManager.shutdown();
+        }
+
+        // Write buffered balance changes while the pool is still open
+        if (economyManager != null) {
+            economyManager.shutdown();
+        }
+
+        // Write queued inventory snapshots, including the logouts from this shutdown
+        if (inventoryManager != null) {
+            inventoryManager.shutdown();
+        }
+
+        if (asyncDatabase != null) {
+            asyncDatabase.shutdown();
+        }
+
+        // Write data files still waiting for their debounced save
+        dataFileStore.shutdown();
+
         // Close database connection pool and deregister JDBC driver
         if (database != null) {
             database.close();
@@ -1935,9 +1999,12 @@ public class PluginStart extends JavaPlugin {
             inventoryManager
         );
         permissionCache = new PermissionCache(this);
+        getServer().getPluginManager().registerEvents(permissionCache, this);
+        permissionCache.hookLuckPerms();
 
         // Initialize economy manager
         economyManager = new EconomyManager(this);
+        getServer().getPluginManager().registerEvents(economyManager, this);
         // Only create VaultEconomyProvider and register with Vault API when Vault is available.
         // VaultEconomyProvider implements Economy, so creating it unconditionally would
         // force the JVM to load Economy (which fails when Vault isn't installed).
@@ -1984,6 +2051,11 @@ public class PluginStart extends JavaPlugin {
         warpManager = new WarpManager(this);
         Text.sendDebugLog(INFO, "WarpManager initialized.");
 
+        // Initialize home registry; players already online (after a reload) are read now
+        homeRegistry = new HomeRegistry(this);
+        getServer().getPluginManager().registerEvents(homeRegistry, this);
+        homeRegistry.reloadOnline();
+
         // Other core managers
         try {
             Alias.initialize(this);
@@ -2479,7 +2551,11 @@ public class PluginStart extends JavaPlugin {
                 this
             );
             SpawnerChangerManager spawnerChangerManager =
-                new SpawnerChangerManager(this, customItemRegistry);
+                new SpawnerChangerManager(
+                    this,
+                    customItemRegistry,
+                    dataFileStore
+                );
             ItemRenamerManager itemRenamerManager = new ItemRenamerManager(
                 this,
                 customItemRegistry
@@ -3003,13 +3079,11 @@ public class PluginStart extends JavaPlugin {
             // ModGuard - Client Mod Detection (replaces PacketEvents-based detection)
             // Uses Bukkit PluginMessageListener - no PacketEvents required
             try {
-                registerListenerSafely(
-                    pm,
-                    "ModGuardManager",
+                modGuardManager =
                     new codes.castled.allium.managers.security.ModGuardManager(
                         this
-                    )
-                );
+                    );
+                registerListenerSafely(pm, "ModGuardManager", modGuardManager);
                 getLogger().info(
                     "[ModGuard] Mod detection registered successfully"
                 );
@@ -50,32 +50,35 @@ public class AltExempt implements CommandExecutor {
         switch (action) {
             case "add":
                 String reason = args.length > 2 ? String.join(" ", args).substring(targetName.length() + 5) : "No reason provided";
-                boolean added = plugin.getDatabase().addAltExemption(targetUUID, senderUUID, reason);
-                if (added) {
-                    sender.sendMessage(Text.colorize("&aSuccessfully added alt exemption for &e" + targetName));
-                    sender.sendMessage(Text.colorize("&7Note: The exemption will prevent them from being added to the alt group on future joins."));
-                    sender.sendMessage(Text.colorize("&7If they are currently in the alt group, remove it manually with your permissions plugin."));
-                } else {
-                    sender.sendMessage(Text.colorize("&cFailed to add alt exemption for &e" + targetName));
-                }
+                plugin.getAsyncDatabase().supply(sender, db -> db.addAltExemption(targetUUID, senderUUID, reason), added -> {
+                    if (added) {
+                        sender.sendMessage(Text.colorize("&aSuccessfully added alt exemption for &e" + targetName));
+                        sender.sendMessage(Text.colorize("&7Note: The exemption will prevent them from being added to the alt group on future joins."));
+                        sender.sendMessage(Text.colorize("&7If they are currently in the alt group, remove it manually with your permissions plugin."));
+                    } else {
+                        sender.sendMessage(Text.colorize("&cFailed to add alt exemption for &e" + targetName));
+                    }
+                });
                 break;
 
             case "remove":
-                boolean removed = plugin.getDatabase().removeAltExemption(targetUUID);
-                if (removed) {
-                    sender.sendMessage(Text.colorize("&aSuccessfully removed alt exemption for &e" + targetName));
-                } else {
-                    sender.sendMessage(Text.colorize("&c" + targetName + " is not exempted from alt detection."));
-                }
+                plugin.getAsyncDatabase().supply(sender, db -> db.removeAltExemption(targetUUID), removed -> {
+                    if (removed) {
+                        sender.sendMessage(Text.colorize("&aSuccessfully removed alt exemption for &e" + targetName));
+                    } else {
+                        sender.sendMessage(Text.colorize("&c" + targetName + " is not exempted from alt detection."));
+                    }
+                });
                 break;
 
             case "check":
-                boolean isExempt = plugin.getDatabase().isPlayerAltExempt(targetUUID);
-                if (isExempt) {
-                    sender.sendMessage(Text.colorize("&e" + targetName + " &ais exempted from alt detection."));
-                } else {
-                    sender.sendMessage(Text.colorize("&e" + targetName + " &cis not exempted from alt detection."));
-                }
+                plugin.getAsyncDatabase().supply(sender, db -> db.isPlayerAltExempt(targetUUID), isExempt -> {
+                    if (isExempt) {
+                        sender.sendMessage(Text.colorize("&e" + targetName + " &ais exempted from alt detection."));
+                    } else {
+                        sender.sendMessage(Text.colorize("&e" + targetName + " &cis not exempted from alt detection."));
+                    }
+                });
                 break;
 
             default:
@@ -45,14 +45,17 @@ public class BalTop implements CommandExecutor, TabCompleter {
             }
         }
         
-        // Calculate how many entries to fetch based on page
-        int limit = page * ENTRIES_PER_PAGE;
+        // Calculate start index for this page
+        int startIndex = (page - 1) * ENTRIES_PER_PAGE;
         
-        // Get top balances
-        List<BalanceEntry> topBalances = economyManager.getTopBalances(limit);
+        // Get this page of top balances
+        List<BalanceEntry> topBalances = economyManager.getTopBalances(startIndex, ENTRIES_PER_PAGE);
         
-        // Calculate total pages
-        int totalEntries = topBalances.size();
+        // Calculate total pages (-1 while the leaderboard is still loading: only count what we have)
+        int totalEntries = economyManager.getBaltopSize();
+        if (totalEntries < 0) {
+            totalEntries = startIndex + topBalances.size();
+        }
         int totalPages = (totalEntries + ENTRIES_PER_PAGE - 1) / ENTRIES_PER_PAGE; // Ceiling division
         
         if (page > totalPages && totalPages > 0) {
@@ -73,10 +76,6 @@ public class BalTop implements CommandExecutor, TabCompleter {
                 .replace("{page}", String.valueOf(page))
                 .replace("{total}", String.valueOf(totalPages == 0 ? 1 : totalPages))));
         
-        // Calculate start and end indices for this page
-        int startIndex = (page - 1) * ENTRIES_PER_PAGE;
-        int endIndex = Math.min(startIndex + ENTRIES_PER_PAGE, totalEntries);
-        
         if (totalEntries == 0) {
             String message = lang.get("economy.baltop-no-players");
             if (message.isEmpty()) {
@@ -85,9 +84,9 @@ public class BalTop implements CommandExecutor, TabCompleter {
             sender.sendMessage((message));
         } else {
             // Display entries for this page
-            for (int i = startIndex; i < endIndex; i++) {
+            for (int i = 0; i < topBalances.size(); i++) {
                 BalanceEntry entry = topBalances.get(i);
-                int rank = i + 1;
+                int rank = startIndex + i + 1;
                 String entryFormat = lang.get("economy.baltop-entry");
                 if (entryFormat.isEmpty()) {
                     entryFormat = "&6#{rank} &a{player}: &e{balance}";
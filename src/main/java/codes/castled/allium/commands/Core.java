@@ -611,6 +611,10 @@ public class Core implements CommandExecutor, TabCompleter {
                 sender.sendMessage(Component.text("§eNo userdata folder found, skipping homes."));
             } else {
                 EssentialsMigration.MigrationResult r = migration.migrateHomes();
+                // The migration writes to the database directly; re-read what online players hold
+                if (plugin.getHomeRegistry() != null) {
+                    plugin.getHomeRegistry().reloadOnline();
+                }
                 sender.sendMessage(Component.text("§aHomes: " + r.getSuccess().size() + " players migrated."));
                 for (String e : r.getErrors()) sender.sendMessage(Component.text("§c  " + e));
                 for (String s : r.getSkipped()) sender.sendMessage(Component.text("§e  " + s));
@@ -630,6 +634,9 @@ public class Core implements CommandExecutor, TabCompleter {
                 sender.sendMessage(Component.text("§eNo warps source found (warps/ directory or warps.yml), skipping warps."));
             } else {
                 EssentialsMigration.MigrationResult r = migration.migrateWarps();
+                if (plugin.getWarpManager() != null) {
+                    plugin.getWarpManager().loadWarps();
+                }
                 sender.sendMessage(Component.text("§aWarps: " + r.getSuccess().size() + " warps migrated."));
                 for (String e : r.getErrors()) sender.sendMessage(Component.text("§c  " + e));
             }
@@ -664,49 +671,58 @@ public class Core implements CommandExecutor, TabCompleter {
             return;
         }
         String input = args[2].trim();
-        int maxHomes;
+        OfflinePlayer finalTarget = target;
 
         // Check for relative operations (+N or -N)
         if (input.startsWith("+") || (input.startsWith("-") && input.length() > 1)) {
+            int relativeAmount;
             try {
-                int relativeAmount = Integer.parseInt(input.substring(1));
-                int current = plugin.getDatabase().getPlayerMaxHomes(target.getUniqueId());
+                relativeAmount = Integer.parseInt(input.substring(1)) * (input.startsWith("+") ? 1 : -1);
+            } catch (NumberFormatException e) {
+                sender.sendMessage(Component.text("§cInvalid relative amount. Use +N or -N (e.g., +1, -2)."));
+                return;
+            }
+            plugin.getAsyncDatabase().supply(sender, db -> db.getPlayerMaxHomes(finalTarget.getUniqueId()), current -> {
                 if (current < 0) {
                     sender.sendMessage(Component.text("§cCannot use relative operation: player has no override set (using permissions)."));
                     sender.sendMessage(Component.text("§7Set an absolute value first, or clear permissions."));
                     return;
                 }
-                maxHomes = current + relativeAmount * (input.startsWith("+") ? 1 : -1);
+                int maxHomes = current + relativeAmount;
                 if (maxHomes < -1) {
                     sender.sendMessage(Component.text("§cResult would be below -1. Minimum is -1 (use permissions)."));
                     return;
                 }
-            } catch (NumberFormatException e) {
-                sender.sendMessage(Component.text("§cInvalid relative amount. Use +N or -N (e.g., +1, -2)."));
-                return;
-            }
-        } else {
-            try {
-                maxHomes = Integer.parseInt(input);
-            } catch (NumberFormatException e) {
-                sender.sendMessage(Component.text("§cInvalid number. Use -1 to clear override, or +N/-N for relative changes."));
-                return;
-            }
+                setMaxHomes(sender, finalTarget, maxHomes);
+            });
+            return;
+        }
+        int maxHomes;
+        try {
+            maxHomes = Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            sender.sendMessage(Component.text("§cInvalid number. Use -1 to clear override, or +N/-N for relative changes."));
+            return;
         }
+        setMaxHomes(sender, finalTarget, maxHomes);
+    }
+
+    private void setMaxHomes(CommandSender sender, OfflinePlayer target, int maxHomes) {
         if (maxHomes < -1 || maxHomes > 1000) {
             sender.sendMessage(Component.text("§cNumber must be between -1 and 1000 (-1 = use permissions)."));
             return;
         }
-        boolean ok = plugin.getDatabase().setPlayerMaxHomes(target.getUniqueId(), maxHomes);
-        if (ok) {
-            if (maxHomes < 0) {
-                sender.sendMessage(Component.text("§aCleared max homes override for " + (target.getName() != null ? target.getName() : target.getUniqueId()) + ". They now use permissions."));
+        plugin.getAsyncDatabase().supply(sender, db -> db.setPlayerMaxHomes(target.getUniqueId(), maxHomes), ok -> {
+            if (ok) {
+                if (maxHomes < 0) {
+                    sender.sendMessage(Component.text("§aCleared max homes override for " + (target.getName() != null ? target.getName() : target.getUniqueId()) + ". They now use permissions."));
+                } else {
+                    sender.sendMessage(Component.text("§aSet max homes for " + (target.getName() != null ? target.getName() : target.getUniqueId()) + " to " + maxHomes + "."));
+                }
             } else {
-                sender.sendMessage(Component.text("§aSet max homes for " + (target.getName() != null ? target.getName() : target.getUniqueId()) + " to " + maxHomes + "."));
+                sender.sendMessage(Component.text("§cFailed to set max homes (check console)."));
             }
-        } else {
-            sender.sendMessage(Component.text("§cFailed to set max homes (check console)."));
-        }
+        });
     }
 
     private void handleDebugCommand(CommandSender sender, String[] args) {
@@ -714,6 +730,10 @@ public class Core implements CommandExecutor, TabCompleter {
             Text.sendErrorMessage(sender, "no-permission", lang);
             return;
         }
+        if (args.length >= 2 && "stats".equalsIgnoreCase(args[1])) {
+            sendDebugStats(sender);
+            return;
+        }
         // Toggle debug mode in config
         boolean currentDebugMode = plugin.getConfig().getBoolean("debug-mode", false);
         boolean newDebugMode = !currentDebugMode;
@@ -727,13 +747,33 @@ public class Core implements CommandExecutor, TabCompleter {
         Text.sendDebugLog(INFO, "Debug mode " + (newDebugMode ? "enabled" : "disabled") + " by " + sender.getName());
     }
 
+    private void sendDebugStats(CommandSender sender) {
+        if (plugin.getInventoryManager() != null) {
+            StringBuilder line = new StringBuilder("§6Inventory snapshots:§7");
+            plugin.getInventoryManager().getWriterStats()
+                .forEach((name, value) -> line.append(' ').append(name).append('=').append(value));
+            sender.sendMessage(line.toString());
+        }
+        if (plugin.getPermissionCache() != null) {
+            sender.sendMessage("§6Permission cache:§7 " + plugin.getPermissionCache().describeStats());
+        }
+    }
+
     private void handleModGuardCommand(CommandSender sender, String[] args) {
         if (!sender.hasPermission("allium.admin")) {
             Text.sendErrorMessage(sender, "no-permission", lang, "{cmd}", "core");
             return;
         }
+        if (args.length >= 3 && "lookup".equalsIgnoreCase(args[1])) {
+            OfflinePlayer target = Bukkit.getOfflinePlayer(args[2]);
+            String session = args.length >= 4 ? args[3] : null;
+            if (!codes.castled.allium.managers.security.ModGuardManager.sendEvidence(sender, target.getUniqueId(), args[2], session)) {
+                sender.sendMessage("§cModGuard is not running.");
+            }
+            return;
+        }
         if (args.length < 2 || !"reload".equalsIgnoreCase(args[1])) {
-            sender.sendMessage("§cUsage: /allium modguard reload");
+            sender.sendMessage("§cUsage: /allium modguard <reload|lookup <player> [session]>");
             return;
         }
         codes.castled.allium.managers.security.ModGuardManager.reload();
@@ -2001,6 +2041,10 @@ public class Core implements CommandExecutor, TabCompleter {
             if (args.length == 2) {
                 suggestions.add("rp");
             }
+        } else if (args.length > 1 && args[0].equalsIgnoreCase("debug")) {
+            if (args.length == 2 && sender.hasPermission("allium.admin")) {
+                suggestions.add("stats");
+            }
         } else if (args.length > 1 && args[0].equalsIgnoreCase("hide")) {
             if (args.length == 2) {
                 suggestions.addAll(List.of("creategroup", "deletegroup", "renamegroup", "group"));
@@ -49,12 +49,14 @@ public class DelWarp implements CommandExecutor, TabCompleter {
         }
 
         // Delete the warp
-        if (warpManager.deleteWarp(warpName)) {
-            sender.sendMessage(lang.get("warp.deleted")
-                    .replace("{warp}", warpName));
-        } else {
-            Text.sendErrorMessage(sender, "warp.delete-failed", lang, "{warp}", warpName);
-        }
+        warpManager.deleteWarp(sender, warpName, deleted -> {
+            if (deleted) {
+                sender.sendMessage(lang.get("warp.deleted")
+                        .replace("{warp}", warpName));
+            } else {
+                Text.sendErrorMessage(sender, "warp.delete-failed", lang, "{warp}", warpName);
+            }
+        });
 
         return true;
     }
@@ -65,14 +67,7 @@ public class DelWarp implements CommandExecutor, TabCompleter {
 
         if (args.length == 1 && sender.hasPermission("allium.delwarp")) {
             // Tab complete existing warp names
-            List<String> existingWarps = warpManager.getAllWarpNames();
-            String partial = args[0].toLowerCase();
-            
-            for (String warp : existingWarps) {
-                if (warp.toLowerCase().startsWith(partial)) {
-                    completions.add(warp);
-                }
-            }
+            completions.addAll(warpManager.getWarpNames(args[0]));
         }
 
         return completions;
@@ -19,6 +19,7 @@ import codes.castled.allium.PluginStart;
 import codes.castled.allium.listeners.jobs.CancelTeleportation;
 import codes.castled.allium.managers.DB.Database;
 import codes.castled.allium.managers.core.Text;
+import codes.castled.allium.managers.home.HomeRegistry;
 import codes.castled.allium.managers.lang.Lang;
 
 import java.util.ArrayList;
@@ -31,7 +32,7 @@ import java.util.stream.Collectors;
 
 public class Home implements CommandExecutor, TabCompleter {
     private final PluginStart plugin;
-    private final Database database;
+    private final HomeRegistry homeRegistry;
     private final Lang lang;
     private final Map<UUID, Long> cooldowns = new HashMap<>();
     private int homeCooldown;
@@ -42,7 +43,7 @@ public class Home implements CommandExecutor, TabCompleter {
 
     public Home(PluginStart plugin) {
         this.plugin = plugin;
-        this.database = plugin.getDatabase();
+        this.homeRegistry = plugin.getHomeRegistry();
         this.lang = plugin.getLangManager();
         loadConfig();
     }
@@ -64,17 +65,19 @@ public class Home implements CommandExecutor, TabCompleter {
         String commandName = command.getName().toLowerCase();
         
 
+        // Homes of a player who just joined may still be on their way in
         if (commandName.equals("sethome")) {
-            return handleSetHome(player, args);
+            homeRegistry.withHomes(player, player.getUniqueId(), () -> handleSetHome(player, args));
         } else if (commandName.equals("home")) {
-            return handleHome(player, args);
+            homeRegistry.withHomes(player, player.getUniqueId(), () -> handleHome(player, args));
         } else if (commandName.equals("homes")) {
-            return handleHomes(player);
+            homeRegistry.withHomes(player, player.getUniqueId(), () -> handleHomes(player));
         } else if (commandName.equals("delhome") || commandName.equals("removehome")) {
-            return handleDelHome(player, args);
+            homeRegistry.withHomes(player, player.getUniqueId(), () -> handleDelHome(player, args));
+        } else {
+            return false;
         }
-
-        return false;
+        return true;
     }
 
     private boolean handleSetHome(Player player, String[] args) {
@@ -98,20 +101,26 @@ public class Home implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        int maxHomes = getMaxHomes(player);
-        int currentHomes = database.getPlayerHomeCount(player.getUniqueId());
+        plugin.getAsyncDatabase().supply(player, db -> db.getPlayerMaxHomes(player.getUniqueId()), dbMax -> {
+            int maxHomes = getMaxHomes(player, dbMax);
+            int currentHomes = homeRegistry.getHomeCount(player.getUniqueId());
 
-        if (currentHomes >= maxHomes && !database.getPlayerHomes(player.getUniqueId()).contains(homeName)) {
-            Text.sendErrorMessage(player, "home.max", lang, "{max}", String.valueOf(maxHomes));
-            return true;
-        }
+            if (currentHomes >= maxHomes && !homeRegistry.getHomeNames(player.getUniqueId()).contains(homeName)) {
+                Text.sendErrorMessage(player, "home.max", lang, "{max}", String.valueOf(maxHomes));
+                return;
+            }
 
-        Location location = player.getLocation();
-        long timestamp = System.currentTimeMillis();
-        database.savePlayerHome(player.getUniqueId(), homeName, location, timestamp);
+            Location location = player.getLocation();
+            homeRegistry.setHome(player, player.getUniqueId(), homeName, location, saved -> {
+                if (!saved) {
+                    player.sendMessage(Text.colorize("&cFailed to save your home. Please try again."));
+                    return;
+                }
 
-        String locationString = showLocation ? formatLocation(location) : "current location";
-        lang.sendMessage(player, "home.set", "{home}", homeName, "{location}", locationString);
+                String locationString = showLocation ? formatLocation(location) : "current location";
+                lang.sendMessage(player, "home.set", "{home}", homeName, "{location}", locationString);
+            });
+        });
         return true;    
     }
 
@@ -129,7 +138,7 @@ public class Home implements CommandExecutor, TabCompleter {
         }
 
         if (args.length == 0) {
-            List<String> homes = database.getPlayerHomes(player.getUniqueId());
+            List<String> homes = homeRegistry.getHomeNames(player.getUniqueId());
             if (homes.size() == 1) {
                 return teleportToHome(player, player.getUniqueId(), homes.get(0));
             } else if (homes.size() > 1) {
@@ -156,7 +165,7 @@ public class Home implements CommandExecutor, TabCompleter {
             // Check if it's a player:home format for admin teleport
             if (!player.hasPermission("allium.home.others") && !player.getName().equals(targetName)) {
                 // self home list
-                List<String> homes = database.getPlayerHomes(player.getUniqueId());
+                List<String> homes = homeRegistry.getHomeNames(player.getUniqueId());
                 if (homes.size() == 1) {
                     return teleportToHome(player, player.getUniqueId(), homes.get(0));
                 } else if (homes.size() > 1) {
@@ -189,7 +198,8 @@ public class Home implements CommandExecutor, TabCompleter {
                         return true;
                     }
                 }
-                return handleOtherPlayerHomes(player, targetUUID, targetName);
+                homeRegistry.withHomes(player, targetUUID, () -> handleOtherPlayerHomes(player, targetUUID, targetName));
+                return true;
             }
             
             // If home name is 'bed', handle bed teleportation for the target player
@@ -276,7 +286,8 @@ public class Home implements CommandExecutor, TabCompleter {
                     return true;
                 }
             }
-            return teleportToHome(player, targetUUID, homeName);
+            homeRegistry.withHomes(player, targetUUID, () -> teleportToHome(player, targetUUID, homeName));
+            return true;
         } else {
             // Handle special cases like "bed"
             if (arg.equalsIgnoreCase("bed")) {
@@ -341,7 +352,7 @@ public class Home implements CommandExecutor, TabCompleter {
                 return teleportToHome(player, player.getUniqueId(), existingHome);
             } else {
                 // Home not found, show error or list of available homes
-                List<String> homes = database.getPlayerHomes(player.getUniqueId());
+                List<String> homes = homeRegistry.getHomeNames(player.getUniqueId());
                 if (homes.size() == 1) {
                     return teleportToHome(player, player.getUniqueId(), homes.get(0));
                 } else if (homes.size() > 1) {
@@ -351,11 +362,13 @@ public class Home implements CommandExecutor, TabCompleter {
                     boolean spawnIfNoHome = plugin.getConfig().getBoolean("home.spawn-if-no-home", false);
                     if (spawnIfNoHome) {
                         Spawn spawn = new Spawn(plugin);
-                        if (plugin.getDatabase().getSpawnLocation() == null) {
-                            lang.sendMessage(player, "home.no-home");
-                            return true;
-                        }
-                        spawn.teleportToSpawn(player);
+                        plugin.getAsyncDatabase().supply(player, Database::getSpawnLocation, spawnData -> {
+                            if (spawnData == null) {
+                                lang.sendMessage(player, "home.no-home");
+                                return;
+                            }
+                            spawn.teleportToSpawn(player);
+                        });
                         return true;
                     } else {
                         Text.sendErrorMessage(player, "home.no-home", lang);
@@ -372,7 +385,7 @@ public class Home implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        List<String> homes = database.getPlayerHomes(player.getUniqueId());
+        List<String> homes = homeRegistry.getHomeNames(player.getUniqueId());
         String homeList = getFormattedHomeList(player, homes, player.getUniqueId());
         if (homes.isEmpty() && !player.hasPermission("allium.home.bed")) {
             boolean spawnIfNoHome = plugin.getConfig().getBoolean("home.spawn-if-no-home", true);
@@ -389,7 +402,7 @@ public class Home implements CommandExecutor, TabCompleter {
     }
 
     private boolean handleOtherPlayerHomes(Player player, UUID targetUUID, String targetName) {
-        List<String> homes = database.getPlayerHomes(targetUUID);
+        List<String> homes = homeRegistry.getHomeNames(targetUUID);
         String homeList = getFormattedHomeList(player, homes, targetUUID);
         if (homes.isEmpty() && !player.hasPermission("allium.home.bed")) {
             boolean spawnIfNoHome = plugin.getConfig().getBoolean("home.spawn-if-no-home", true);
@@ -414,7 +427,7 @@ public class Home implements CommandExecutor, TabCompleter {
         }
 
         if (args.length == 0) {
-            List<String> homes = database.getPlayerHomes(player.getUniqueId());
+            List<String> homes = homeRegistry.getHomeNames(player.getUniqueId());
             if (homes.size() == 1) {
                 return deleteHome(player, player.getUniqueId(), homes.get(0));
                 } else if (homes.size() > 1) {
@@ -438,7 +451,7 @@ public class Home implements CommandExecutor, TabCompleter {
         if (arg.contains(":")) {
             if (!player.hasPermission("allium.delhome.others")) {
                 // list self homes
-                List<String> homes = database.getPlayerHomes(player.getUniqueId());
+                List<String> homes = homeRegistry.getHomeNames(player.getUniqueId());
                 if (homes.size() == 1) {
                     return deleteHome(player, player.getUniqueId(), homes.get(0));
                 } else if (homes.size() > 1) {
@@ -477,7 +490,8 @@ public class Home implements CommandExecutor, TabCompleter {
                 return true;
             }
 
-            return deleteHome(player, targetUUID, homeName);
+            homeRegistry.withHomes(player, targetUUID, () -> deleteHome(player, targetUUID, homeName));
+            return true;
         } else {
             if (!isValidHomeName(arg)) {
                 Text.sendErrorMessage(player, "invalid", lang, "{arg}", "home name", "Please check your syntax.", "Please use at least 2 characters (letters, numbers, underscores, or hyphens).");
@@ -489,14 +503,14 @@ public class Home implements CommandExecutor, TabCompleter {
 
     private boolean teleportToHome(Player player, UUID targetUUID, String homeName) {
         // First try exact match
-        Location home = database.getPlayerHome(targetUUID, homeName);
+        Location home = homeRegistry.getHome(targetUUID, homeName);
         String actualHomeName = homeName;
         
         // If exact match not found, try case-insensitive match
         if (home == null) {
             String foundHome = findCaseInsensitiveHome(targetUUID, homeName);
             if (foundHome != null) {
-                home = database.getPlayerHome(targetUUID, foundHome);
+                home = homeRegistry.getHome(targetUUID, foundHome);
                 actualHomeName = foundHome; // Use the actual home name with correct case
             } else {
                 Text.sendErrorMessage(player, "home.not-found", lang, "{home}", homeName);
@@ -557,7 +571,7 @@ public class Home implements CommandExecutor, TabCompleter {
 
     private boolean deleteHome(Player player, UUID targetUUID, String homeName) {
         // First try exact match
-        Location home = database.getPlayerHome(targetUUID, homeName);
+        Location home = homeRegistry.getHome(targetUUID, homeName);
         String actualHomeName = homeName;
         
         // If exact match not found, try case-insensitive match
@@ -572,14 +586,16 @@ public class Home implements CommandExecutor, TabCompleter {
         }
 
         String finalHomeName = actualHomeName;
-        boolean deleted = database.deletePlayerHome(targetUUID, finalHomeName);
-        if (deleted) {
-            lang.sendMessage(player, "home.remove", "{home}", finalHomeName);
-        } else {
-            String homeList = getFormattedHomeList(player, database.getPlayerHomes(targetUUID), targetUUID);
-            String target = targetUUID.equals(player.getUniqueId()) ? "your" : targetUUID.toString();
-            lang.sendMessage(player, "home.not-found", "{home}", finalHomeName, "{target}", target, "{homes}", homeList);
-        }
+        // The homes are only held during this call for an offline target, so list them now
+        String homeList = getFormattedHomeList(player, homeRegistry.getHomeNames(targetUUID), targetUUID);
+        homeRegistry.deleteHome(player, targetUUID, finalHomeName, deleted -> {
+            if (deleted) {
+                lang.sendMessage(player, "home.remove", "{home}", finalHomeName);
+            } else {
+                String target = targetUUID.equals(player.getUniqueId()) ? "your" : targetUUID.toString();
+                lang.sendMessage(player, "home.not-found", "{home}", finalHomeName, "{target}", target, "{homes}", homeList);
+            }
+        });
         return true;
     }
 
@@ -684,22 +700,10 @@ public class Home implements CommandExecutor, TabCompleter {
     }
     
     private String findCaseInsensitiveHome(UUID playerUUID, String homeName) {
-        List<String> homes = database.getPlayerHomes(playerUUID);
-        if (homes == null || homes.isEmpty()) {
-            return null;
-        }
-        
-        String lowerHomeName = homeName.toLowerCase();
-        for (String home : homes) {
-            if (home.toLowerCase().equals(lowerHomeName)) {
-                return home; // Return the original case version
-            }
-        }
-        return null;
+        return homeRegistry.findHome(playerUUID, homeName); // Return the original case version
     }
 
-    private int getMaxHomes(Player player) {
-        int dbMax = database.getPlayerMaxHomes(player.getUniqueId());
+    private int getMaxHomes(Player player, int dbMax) {
         if (dbMax >= 0) {
             return dbMax;
         }
@@ -762,10 +766,7 @@ public class Home implements CommandExecutor, TabCompleter {
             List<String> completions = new ArrayList<>();
             
             // Suggest self homes
-            List<String> selfHomes = database.getPlayerHomes(player.getUniqueId());
-            completions.addAll(selfHomes.stream()
-                .filter(home -> home.toLowerCase().startsWith(arg.toLowerCase()))
-                .collect(Collectors.toList()));
+            completions.addAll(homeRegistry.getHomeNames(player.getUniqueId(), arg));
             
             // Suggest bed if player has permission
             if (player.hasPermission("allium.home.bed") && "bed".startsWith(arg.toLowerCase())) {
@@ -781,9 +782,7 @@ public class Home implements CommandExecutor, TabCompleter {
                     
                     OfflinePlayer target = Bukkit.getOfflinePlayer(playerName);
                     if (target != null && target.hasPlayedBefore()) {
-                        List<String> targetHomes = database.getPlayerHomes(target.getUniqueId());
-                        return targetHomes.stream()
-                            .filter(home -> home.toLowerCase().startsWith(homePrefix.toLowerCase()))
+                        return homeRegistry.getHomeNames(target.getUniqueId(), homePrefix).stream()
                             .map(home -> playerName + ":" + home)
                             .collect(Collectors.toList());
                     }
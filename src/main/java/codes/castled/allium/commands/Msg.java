@@ -30,6 +30,7 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import codes.castled.allium.PluginStart;
+import codes.castled.allium.managers.DB.AsyncDatabase;
 import codes.castled.allium.managers.DB.Database;
 import codes.castled.allium.managers.core.Text;
 import codes.castled.allium.managers.lang.Lang;
@@ -59,7 +60,7 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
 
     private final PluginStart plugin;
     private final Lang lang;
-    private final Database database;
+    private final AsyncDatabase database;
     private final Spy spyCommand;
     private final boolean placeholderAPIEnabled;
     private final MiniMessage miniMessage;
@@ -83,7 +84,7 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
     public Msg(PluginStart plugin, Spy spyCommand) {
         this.plugin = plugin;
         this.lang = plugin.getLangManager();
-        this.database = plugin.getDatabase();
+        this.database = plugin.getAsyncDatabase();
         this.spyCommand = spyCommand;
         this.placeholderAPIEnabled = plugin.getServer().getPluginManager().getPlugin("PlaceholderAPI") != null;
         this.miniMessage = MiniMessage.miniMessage();
@@ -97,7 +98,8 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
         this.lastMessageSender = new ConcurrentHashMap<>();
         this.offlineMessages = new ConcurrentHashMap<>();
 
-        loadMailMessagesFromDatabase();
+        // Before anyone can join, so every reminder sees the mail
+        loadMailMessagesFromDatabase(plugin.getDatabase());
     }
 
     @Override
@@ -285,23 +287,28 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
                 return;
             }
 
-            // Save gift to database
-            int giftId = plugin.getDatabase().saveMailGift(
+            // Save gift off the region thread; the DAO copies the stacks first
+            pendingGifts.remove(player.getUniqueId());
+            String senderName = player.getName();
+            database.saveMailGift(
                     player.getUniqueId(),
-                    player.getName(),
+                    senderName,
                     offline.getUniqueId(),
                     contents
-            );
-
-            pendingGifts.remove(player.getUniqueId());
-
-            player.sendMessage(lang.get("msg.gift-sent")
-                    .replace("{name}", session.getRecipient()));
+            ).whenComplete((giftId, error) -> SchedulerAdapter.runAtEntity(player, () -> {
+                if (error != null) {
+                    Text.sendErrorMessage(player, "unknown-error", lang);
+                    return;
+                }
+                player.sendMessage(lang.get("msg.gift-sent")
+                        .replace("{name}", session.getRecipient()));
 
-            Player recipient = plugin.getServer().getPlayer(session.getRecipient());
-            if (recipient != null) {
-                sendGiftNotificationToRecipient(recipient, player.getName(), contents, giftId);
-            }
+                Player recipient = plugin.getServer().getPlayer(session.getRecipient());
+                if (recipient != null) {
+                    SchedulerAdapter.runAtEntity(recipient, () ->
+                            sendGiftNotificationToRecipient(recipient, senderName, contents, giftId));
+                }
+            }));
         } catch (Exception e) {
             pendingGifts.remove(player.getUniqueId());
             Text.sendDebugLog(ERROR, "Failed to save gift on inventory close", e);
@@ -442,15 +449,22 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
         }
 
         // Get the gift from the database
-        GiftEntry gift = getGiftById(giftId, player.getUniqueId());
-        if (gift == null) {
-            Text.sendErrorMessage(player, "msg.gift-not-found", lang, "{id}", String.valueOf(giftId));
-            return true;
-        }
+        UUID recipient = player.getUniqueId();
+        database.supply(player, db -> getGiftById(db, giftId, recipient), gift -> {
+            if (gift == null) {
+                Text.sendErrorMessage(player, "msg.gift-not-found", lang, "{id}", String.valueOf(giftId));
+                return;
+            }
 
-        try {
-            // Deserialize the gift items using the database utility method
-            ItemStack[] items = plugin.getDatabase().deserializeGiftItems(gift.serializedItems());
+            ItemStack[] items;
+            try {
+                // Deserialize the gift items using the database utility method
+                items = plugin.getDatabase().deserializeGiftItems(gift.serializedItems());
+            } catch (Exception e) {
+                Text.sendDebugLog(ERROR, "Failed to process gift claim", e);
+                Text.sendErrorMessage(player, "msg.gift-not-found", lang);
+                return;
+            }
 
             // Check if player has enough inventory space
             int emptySlots = getEmptySlots(player.getInventory());
@@ -458,44 +472,50 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
 
             if (emptySlots < itemCount) {
                 Text.sendErrorMessage(player, "inventory-full", lang);
-                return true;
+                return;
             }
 
-            // Add items to player's inventory
-            for (ItemStack item : items) {
-                if (item != null && item.getType() != Material.AIR) {
-                    player.getInventory().addItem(item);
+            // Mark gift as claimed first, so two claims of one gift can't both pay out
+            database.supply(player, db -> markGiftAsClaimed(db, giftId), claimed -> {
+                if (!claimed) {
+                    Text.sendErrorMessage(player, "msg.gift-not-found", lang, "{id}", String.valueOf(giftId));
+                    return;
                 }
-            }
-
-            // Mark gift as claimed
-            markGiftAsClaimed(giftId);
 
-            player.sendMessage(lang.get("msg.gift-claim").replace("{name}", gift.senderName()));
+                // Add items to player's inventory; anything that no longer fits is dropped at their feet
+                for (ItemStack item : items) {
+                    if (item != null && item.getType() != Material.AIR) {
+                        for (ItemStack left : player.getInventory().addItem(item).values()) {
+                            player.getWorld().dropItemNaturally(player.getLocation(), left);
+                        }
+                    }
+                }
 
-            return true;
-        } catch (Exception e) {
-            Text.sendDebugLog(ERROR, "Failed to process gift claim", e);
-            Text.sendErrorMessage(player, "msg.gift-not-found", lang);
-            return true;
-        }
+                player.sendMessage(lang.get("msg.gift-claim").replace("{name}", gift.senderName()));
+            });
+        });
+        return true;
     }
 
     private boolean handleMailRead(Player player) {
-        String playerName = player.getName().toLowerCase();
-        List<MailMessage> messages = offlineMessages.get(playerName);
-
         if (!player.hasPermission("allium.mail")) {
             Text.sendErrorMessage(player, "no-permission", lang, "{cmd}", "mail");
             return true;
         }
 
         // Also load unclaimed gifts for this player
-        List<GiftEntry> gifts = getGiftsFromDatabase(player.getUniqueId());
+        UUID playerId = player.getUniqueId();
+        database.supply(player, db -> getGiftsFromDatabase(db, playerId), gifts -> showMail(player, gifts));
+        return true;
+    }
+
+    private void showMail(Player player, List<GiftEntry> gifts) {
+        String playerName = player.getName().toLowerCase();
+        List<MailMessage> messages = offlineMessages.get(playerName);
 
         if ((messages == null || messages.isEmpty()) && (gifts == null || gifts.isEmpty())) {
             player.sendMessage(lang.get("msg.mail-empty"));
-            return true;
+            return;
         }
 
         // Format header with proper placeholders
@@ -544,13 +564,12 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
         String footerText = lang.get("msg.mail-footer")
                 .replace("{date}", currentDate);
         player.sendMessage(Text.parseColors(footerText));
-        return true;
     }
 
     /**
      * Gets a gift by its ID and recipient
      */
-    private GiftEntry getGiftById(int giftId, UUID recipient) {
+    private static GiftEntry getGiftById(Database database, int giftId, UUID recipient) {
         try {
             // Now get unclaimed gifts for this player
             String sql = "SELECT * FROM mail_gifts WHERE id = ? AND recipient = ? AND is_claimed = FALSE";
@@ -607,17 +626,21 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
 
     /**
      * Marks a gift as claimed in the database
+     *
+     * @return whether this call claimed it, i.e. it was still unclaimed
      */
-    private void markGiftAsClaimed(int giftId) {
+    private static boolean markGiftAsClaimed(Database database, int giftId) {
         try {
-            String sql = "UPDATE mail_gifts SET is_claimed = TRUE WHERE id = ?";
+            String sql = "UPDATE mail_gifts SET is_claimed = TRUE WHERE id = ? AND is_claimed = FALSE";
             int updated = database.executeUpdate(sql, giftId);
             
             if (updated == 0) {
                 Text.sendDebugLog(WARN, "Failed to mark gift as claimed - no rows updated for id: " + giftId);
             }
+            return updated > 0;
         } catch (Exception e) {
             Text.sendDebugLog(ERROR, "Failed to mark gift as claimed", e);
+            return false;
         }
     }
 
@@ -647,7 +670,7 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
         return count;
     }
 
-    private void loadMailMessagesFromDatabase() {
+    private void loadMailMessagesFromDatabase(Database database) {
         try (Connection conn = database.getConnection();
              PreparedStatement stmt = conn.prepareStatement("SELECT * FROM mail_messages WHERE is_read = FALSE")) {
             
@@ -711,7 +734,7 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
      * @param message The message content
      * @return The ID of the saved message
      */
-    private int saveMailMessageToDatabase(String recipient, UUID sender, String senderName, String message) {
+    private static int saveMailMessageToDatabase(Database database, String recipient, UUID sender, String senderName, String message) {
         try {
             String sql = "INSERT INTO mail_messages (recipient, sender, sender_name, message, sent_time) VALUES (?, ?, ?, ?, ?)";
             
@@ -733,7 +756,7 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
      *
      * @param recipient The recipient's UUID
      */
-    private void markMailMessagesAsRead(String recipient) {
+    private static void markMailMessagesAsRead(Database database, String recipient) {
         try {
             String sql = "UPDATE mail_messages SET is_read = TRUE WHERE recipient = ? AND is_read = FALSE";
             database.executeUpdate(sql, recipient);
@@ -845,7 +868,7 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
         UUID playerId = player.getUniqueId();
         UUID lastSender = lastMessageSender.get(playerId);
         if (lastSender != null) {
-            database.saveLastMessageSender(playerId, lastSender);
+            database.run(db -> db.saveLastMessageSender(playerId, lastSender));
         }
     }
 
@@ -925,7 +948,7 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
                 .collect(Collectors.toList());
     }
 
-    private List<GiftEntry> getGiftsFromDatabase(UUID playerName) {
+    private static List<GiftEntry> getGiftsFromDatabase(Database database, UUID playerName) {
         List<GiftEntry> gifts = new ArrayList<>();
         
         try {
@@ -1171,7 +1194,7 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
         }
 
         // Mark messages as read in database
-        markMailMessagesAsRead(playerName);
+        database.run(db -> markMailMessagesAsRead(db, playerName));
 
         // Clear from memory
         offlineMessages.remove(playerName);
@@ -1232,11 +1255,11 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
             }
             
             // Global mail broadcast to all players in database
-            try {
+            database.supply(sender, db -> {
                 String sql = "SELECT DISTINCT uuid, name FROM player_data WHERE name IS NOT NULL";
                 List<String> allPlayers = new ArrayList<>();
                 
-                database.executeQuery(sql, (ResultSet resultSet) -> {
+                db.executeQuery(sql, (ResultSet resultSet) -> {
                     try {
                         while (resultSet.next()) {
                             String playerName = resultSet.getString("name");
@@ -1248,41 +1271,52 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
                         Text.sendDebugLog(ERROR, "Error processing player names for global mail: " + e.getMessage());
                     }
                 });
-
-                int sentCount = 0;
+                return allPlayers;
+            }, allPlayers -> {
+                int directCount = 0;
+                List<String> offlineRecipients = new ArrayList<>();
                 for (String playerName : allPlayers) {
                     // Check if player is online first
                     Player onlinePlayer = plugin.getServer().getPlayer(playerName);
                     if (onlinePlayer != null && onlinePlayer.isOnline()) {
                         // Send direct message to online players
                         sendDirectMessage(sender, onlinePlayer, filteredMessage);
-                        sentCount++;
+                        directCount++;
                     } else {
-                        // Save to database for offline players
-                        int messageId = saveMailMessageToDatabase(playerName, senderUUID, senderName, filteredMessage);
+                        offlineRecipients.add(playerName);
+                    }
+                }
+
+                // Save to database for offline players, all in one trip
+                int sentDirect = directCount;
+                database.supply(sender, db -> {
+                    List<Integer> messageIds = new ArrayList<>(offlineRecipients.size());
+                    for (String playerName : offlineRecipients) {
+                        messageIds.add(saveMailMessageToDatabase(db, playerName, senderUUID, senderName, filteredMessage));
+                    }
+                    return messageIds;
+                }, messageIds -> {
+                    int sentCount = sentDirect;
+                    for (int i = 0; i < messageIds.size(); i++) {
+                        int messageId = messageIds.get(i);
                         if (messageId != -1) {
                             // Create mail message object and store in memory cache
                             MailMessage mailMessage = new MailMessage(senderUUID, senderName, filteredMessage, System.currentTimeMillis(), messageId);
-                            offlineMessages.computeIfAbsent(playerName.toLowerCase(), k -> new ArrayList<>())
+                            offlineMessages.computeIfAbsent(offlineRecipients.get(i).toLowerCase(), k -> new ArrayList<>())
                                     .add(mailMessage);
                             sentCount++;
                         }
                     }
-                }
 
-                String mailSentRaw = lang.getRaw("msg.mail-broadcast-sent");
-                String mailSentFilled = mailSentRaw
-                        .replace("{count}", String.valueOf(sentCount))
-                        .replace("{message}", filteredMessage);
-                String mailSentSafe = convertMiniMessageToLegacy(mailSentFilled);
-                sender.sendMessage(Text.parseColors(mailSentSafe));
-                return true;
-                
-            } catch (Exception e) {
-                Text.sendDebugLog(ERROR, "Failed to send global mail: " + e.getMessage());
-                Text.sendErrorMessage(sender, lang.get("contact-admin"), lang);
-                return false;
-            }
+                    String mailSentRaw = lang.getRaw("msg.mail-broadcast-sent");
+                    String mailSentFilled = mailSentRaw
+                            .replace("{count}", String.valueOf(sentCount))
+                            .replace("{message}", filteredMessage);
+                    String mailSentSafe = convertMiniMessageToLegacy(mailSentFilled);
+                    sender.sendMessage(Text.parseColors(mailSentSafe));
+                });
+            });
+            return true;
         } else {
             // Single recipient mail
             // Check if player is online
@@ -1302,26 +1336,26 @@ public class Msg implements CommandExecutor, TabCompleter, Listener {
 
             // Player exists but is offline, proceed with mail functionality
             // Save to database
-            int messageId = saveMailMessageToDatabase(recipient, senderUUID, senderName, filteredMessage);
-
-            if (messageId == -1) {
-                Text.sendErrorMessage(sender, lang.get("contact-admin"), lang);
-                return false;
-            }
+            database.supply(sender, db -> saveMailMessageToDatabase(db, recipient, senderUUID, senderName, filteredMessage), messageId -> {
+                if (messageId == -1) {
+                    Text.sendErrorMessage(sender, lang.get("contact-admin"), lang);
+                    return;
+                }
 
-            // Create mail message object
-            MailMessage mailMessage = new MailMessage(senderUUID, senderName, filteredMessage, System.currentTimeMillis(), messageId);
+                // Create mail message object
+                MailMessage mailMessage = new MailMessage(senderUUID, senderName, filteredMessage, System.currentTimeMillis(), messageId);
 
-            // Store in memory cache
-            offlineMessages.computeIfAbsent(recipient.toLowerCase(), k -> new ArrayList<>())
-                    .add(mailMessage);
+                // Store in memory cache
+                offlineMessages.computeIfAbsent(recipient.toLowerCase(), k -> new ArrayList<>())
+                        .add(mailMessage);
 
-            String mailSentRaw = lang.getRaw("msg.mail-sent");
-            String mailSentFilled = mailSentRaw
-                    .replace("{name}", recipient)
-                    .replace("{message}", filteredMessage);
-            String mailSentSafe = convertMiniMessageToLegacy(mailSentFilled);
-            sender.sendMessage(Text.parseColors(mailSentSafe));
+                String mailSentRaw = lang.getRaw("msg.mail-sent");
+                String mailSentFilled = mailSentRaw
+                        .replace("{name}", recipient)
+                        .replace("{message}", filteredMessage);
+                String mailSentSafe = convertMiniMessageToLegacy(mailSentFilled);
+                sender.sendMessage(Text.parseColors(mailSentSafe));
+            });
             return true;
         }
     }
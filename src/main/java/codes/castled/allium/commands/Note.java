@@ -8,7 +8,7 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import codes.castled.allium.PluginStart;
-import codes.castled.allium.managers.DB.Database;
+import codes.castled.allium.managers.DB.AsyncDatabase;
 import codes.castled.allium.managers.core.Text;
 import codes.castled.allium.managers.lang.Lang;
 
@@ -17,11 +17,11 @@ import java.util.UUID;
 
 public class Note implements CommandExecutor {
     private final PluginStart plugin;
-    private final Database database;
+    private final AsyncDatabase database;
 
     public Note(PluginStart plugin) {
         this.plugin = plugin;
-        this.database = plugin.getDatabase();
+        this.database = plugin.getAsyncDatabase();
     }
 
     @Override
@@ -47,10 +47,10 @@ public class Note implements CommandExecutor {
         String noteText = String.join(" ", Arrays.copyOfRange(args, 1, args.length));
         UUID staffUuid = sender instanceof Player ? ((Player) sender).getUniqueId() : null;
 
-        database.addPlayerNote(targetUuid, staffUuid, noteText);
-        sender.sendMessage(lang.get("note.success")
-                .replace("{player}", targetName)
-                .replace("{note}", noteText));
+        database.run(sender, db -> db.addPlayerNote(targetUuid, staffUuid, noteText), () ->
+                sender.sendMessage(lang.get("note.success")
+                        .replace("{player}", targetName)
+                        .replace("{note}", noteText)));
         
         return true;
     }
@@ -14,25 +14,21 @@ import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 
 import codes.castled.allium.PluginStart;
-import codes.castled.allium.managers.DB.Database;
+import codes.castled.allium.managers.DB.AsyncDatabase;
 import codes.castled.allium.managers.DB.NoteEntry;
-import codes.castled.allium.managers.core.Text;
 import codes.castled.allium.managers.lang.Lang;
 
-import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
-
-import java.sql.SQLException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
 public class Notes implements CommandExecutor {
     private final PluginStart plugin;
-    private final Database database;
+    private final AsyncDatabase database;
 
     public Notes(PluginStart plugin) {
         this.plugin = plugin;
-        this.database = plugin.getDatabase();
+        this.database = plugin.getAsyncDatabase();
     }
 
     @Override
@@ -67,18 +63,13 @@ public class Notes implements CommandExecutor {
             }
         }
 
-        try {
-            List<NoteEntry> notes = playerUuid != null 
-                ? database.getNotesForPlayer(playerUuid) 
-                : database.getAllNotes();
-            
-            sendNotesList(sender, notes, playerName);
-            return true;
-        } catch (SQLException e) {
-            sender.sendMessage(lang.get("error-prefix") + lang.get("database-error"));
-            Text.sendDebugLog(ERROR, "Failed to fetch notes: " + e.getMessage());
-            return true;
-        }
+        UUID finalPlayerUuid = playerUuid;
+        String finalPlayerName = playerName;
+        database.supply(sender, db -> finalPlayerUuid != null
+                ? db.getNotesForPlayer(finalPlayerUuid)
+                : db.getAllNotes(),
+            notes -> sendNotesList(sender, notes, finalPlayerName));
+        return true;
     }
 
     private void sendNotesList(CommandSender sender, List<NoteEntry> notes, String playerName) {
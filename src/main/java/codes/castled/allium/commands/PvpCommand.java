@@ -18,6 +18,7 @@ import codes.castled.allium.managers.lang.Lang;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.UUID;
 
 public class PvpCommand implements CommandExecutor, TabCompleter {
 
@@ -111,8 +112,9 @@ public class PvpCommand implements CommandExecutor, TabCompleter {
 
     private void applyState(CommandSender sender, Player target, boolean enabled, boolean sameSender) {
         setPvpEnabledState(plugin, target, enabled);
-        Bukkit.getAsyncScheduler().runNow(plugin, task ->
-            plugin.getDatabase().setPvpEnabled(target.getUniqueId(), target.getName(), enabled));
+        UUID targetId = target.getUniqueId();
+        String targetName = target.getName();
+        plugin.getAsyncDatabase().run(db -> db.setPvpEnabled(targetId, targetName, enabled));
 
         String stateText = enabled
             ? lang.get("styles.state.true") + "enabled"
@@ -33,6 +33,10 @@ import java.util.Date;
 
 public class Seen implements CommandExecutor {
 
+    /** What the database holds about an offline player. */
+    private record OfflineRecord(Database.PlayerLastSeenData lastSeen, Location lastLogout, GameMode gameMode,
+                                 String lastIp, List<String> sameIpAccounts) {}
+
     private final PluginStart plugin;
     private final Lang lang;
 
@@ -247,8 +251,26 @@ public class Seen implements CommandExecutor {
             .replace("{player}", targetPlayer.getName());
         player.sendMessage(Text.colorize(header));
 
+        // Everything else comes from the database; read it in one trip
+        UUID targetUuid = targetPlayer.getUniqueId();
+        String targetName = targetPlayer.getName();
+        plugin.getAsyncDatabase().supply(sender, db -> {
+            GameMode gameMode = null;
+            try {
+                gameMode = db.getPlayerGameMode(targetUuid);
+            } catch (SQLException e) {
+                Text.sendDebugLog(Text.DebugSeverity.WARN, "Failed to get gamemode for " + targetName, e);
+            }
+            String lastIp = db.getPlayerLastIp(targetUuid);
+            return new OfflineRecord(db.getPlayerLastSeen(targetUuid),
+                    db.getPlayerLocation(targetUuid, LocationType.LOGOUT),
+                    gameMode, lastIp, db.getPlayersSeenOnIp(lastIp, targetUuid));
+        }, record -> showOfflineRecord(sender, targetPlayer, record));
+    }
+
+    private void showOfflineRecord(CommandSender sender, OfflinePlayer targetPlayer, OfflineRecord record) {
         // Show offline status
-        Database.PlayerLastSeenData lastSeenData = plugin.getDatabase().getPlayerLastSeen(targetPlayer.getUniqueId());
+        Database.PlayerLastSeenData lastSeenData = record.lastSeen();
         if (lastSeenData != null && lastSeenData.lastSeenDate() != null) {
             Timestamp lastSeenTimestamp = lastSeenData.lastSeenDate();
             long durationMillis = System.currentTimeMillis() - lastSeenTimestamp.getTime();
@@ -282,7 +304,7 @@ public class Seen implements CommandExecutor {
         sender.sendMessage(Text.colorize(firstJoinRaw));
 
         // Show last location if available
-        Location lastLogoutLocation = plugin.getDatabase().getPlayerLocation(targetPlayer.getUniqueId(), LocationType.LOGOUT);
+        Location lastLogoutLocation = record.lastLogout();
         if (lastLogoutLocation != null) {
             String locationTemplate = lang.getRaw("seen.location");
             String locationRaw = locationTemplate
@@ -302,24 +324,20 @@ public class Seen implements CommandExecutor {
         }
 
         // Show last gamemode if available
-        try {
-            GameMode gameMode = plugin.getDatabase().getPlayerGameMode(targetPlayer.getUniqueId());
-            if (gameMode != null) {
-                String gamemodeDisplay = gameMode.name().toLowerCase();
-                gamemodeDisplay = gamemodeDisplay.substring(0, 1).toUpperCase() + gamemodeDisplay.substring(1);
-                sender.sendMessage(Text.colorize(lang.get("seen.gamemode").replace("{gamemode}", gamemodeDisplay)));
-            }
-        } catch (SQLException e) {
-            Text.sendDebugLog(Text.DebugSeverity.WARN, "Failed to get gamemode for " + targetPlayer.getName(), e);
+        GameMode gameMode = record.gameMode();
+        if (gameMode != null) {
+            String gamemodeDisplay = gameMode.name().toLowerCase();
+            gamemodeDisplay = gamemodeDisplay.substring(0, 1).toUpperCase() + gamemodeDisplay.substring(1);
+            sender.sendMessage(Text.colorize(lang.get("seen.gamemode").replace("{gamemode}", gamemodeDisplay)));
         }
 
         // Show IP address if sender has permission and it's available in database
-        String lastIp = plugin.getDatabase().getPlayerLastIp(targetPlayer.getUniqueId());
+        String lastIp = record.lastIp();
         if (sender.hasPermission("allium.seen.ip")) {
             sender.sendMessage(Text.colorize(lang.get("seen.ip-address").replace("{ip}", lastIp != null ? lastIp : "Not available")));
         }
 
-        appendSameIpAccounts(sender, targetPlayer.getUniqueId(), lastIp);
+        sendSameIpAccounts(sender, record.sameIpAccounts());
     }
 
     /**
@@ -341,7 +359,11 @@ public class Seen implements CommandExecutor {
     }
 
     private void appendSameIpAccounts(CommandSender sender, UUID targetUuid, String ipAddress) {
-        List<String> sameIpAccounts = plugin.getDatabase().getPlayersSeenOnIp(ipAddress, targetUuid);
+        plugin.getAsyncDatabase().supply(sender, db -> db.getPlayersSeenOnIp(ipAddress, targetUuid),
+            sameIpAccounts -> sendSameIpAccounts(sender, sameIpAccounts));
+    }
+
+    private void sendSameIpAccounts(CommandSender sender, List<String> sameIpAccounts) {
         String players = sameIpAccounts.isEmpty()
             ? lang.getRaw("seen.same-ip-none")
             : String.join(", ", sameIpAccounts);
@@ -69,17 +69,19 @@ public class SetWarp implements CommandExecutor, TabCompleter {
         }
 
         // Create the warp
-        if (warpManager.setWarp(warpName, player.getLocation(), player)) {
-            if (warpExists) {
-                player.sendMessage(lang.get("warp.updated")
-                        .replace("{warp}", warpName));
+        warpManager.setWarp(warpName, player.getLocation(), player, saved -> {
+            if (saved) {
+                if (warpExists) {
+                    player.sendMessage(lang.get("warp.updated")
+                            .replace("{warp}", warpName));
+                } else {
+                    player.sendMessage(lang.get("warp.created")
+                            .replace("{warp}", warpName));
+                }
             } else {
-                player.sendMessage(lang.get("warp.created")
-                        .replace("{warp}", warpName));
+                Text.sendErrorMessage(player, "warp.create-failed", lang, "{warp}", warpName);
             }
-        } else {
-            Text.sendErrorMessage(player, "warp.create-failed", lang, "{warp}", warpName);
-        }
+        });
 
         return true;
     }
@@ -90,12 +92,8 @@ public class SetWarp implements CommandExecutor, TabCompleter {
 
         if (args.length == 1 && sender.hasPermission("allium.setwarp")) {
             // For overwriting existing warps, suggest existing warp names
-            List<String> existingWarps = warpManager.getAllWarpNames();
-            String partial = args[0].toLowerCase();
-            
-            for (String warp : existingWarps) {
-                if (warp.toLowerCase().startsWith(partial) && 
-                    warpManager.canOverwriteWarp(sender, warp)) {
+            for (String warp : warpManager.getWarpNames(args[0])) {
+                if (warpManager.canOverwriteWarp(sender, warp)) {
                     completions.add(warp);
                 }
             }
@@ -12,6 +12,7 @@ import org.bukkit.event.HandlerList;
 
 import codes.castled.allium.PluginStart;
 import codes.castled.allium.listeners.jobs.CancelTeleportation;
+import codes.castled.allium.managers.DB.AsyncDatabase;
 import codes.castled.allium.managers.DB.Database;
 import codes.castled.allium.managers.core.Text;
 import codes.castled.allium.managers.lang.Lang;
@@ -26,7 +27,7 @@ import java.util.concurrent.ConcurrentHashMap;
 
 public class Spawn implements CommandExecutor {
     private final PluginStart plugin;
-    private final Database database;
+    private final AsyncDatabase database;
     private final Lang lang;
     private final Map<UUID, SchedulerAdapter.TaskHandle> teleportTasks = new ConcurrentHashMap<>();
     private final Map<UUID, CancelTeleportation> teleportListeners = new ConcurrentHashMap<>();
@@ -38,7 +39,7 @@ public class Spawn implements CommandExecutor {
 
     public Spawn(PluginStart plugin) {
         this.plugin = plugin;
-        this.database = plugin.getDatabase();
+        this.database = plugin.getAsyncDatabase();
         this.lang = plugin.getLangManager();
         loadConfig();
     }
@@ -148,25 +149,26 @@ public class Spawn implements CommandExecutor {
 
     private void setSpawn(Player player) {
         Location location = player.getLocation();
+        String worldName = location.getWorld().getName();
         // Ensure yaw and pitch are saved as float (not double)
         float yaw = location.getYaw();
         float pitch = location.getPitch();
-        boolean success = database.setSpawnLocation(
-                location.getWorld().getName(),
+        database.supply(player, db -> db.setSpawnLocation(
+                worldName,
                 location.getX(),
                 location.getY(),
                 location.getZ(),
                 yaw,
                 pitch
-        );
-
-        if (success) {
-            player.sendMessage(Text.colorize("&aSpawn location has been set!"));
-            Text.sendDebugLog(SUCCESS, "Set spawn location for " + player.getName() + " at " + location.getWorld().getName() + ": x" + location.getX() + ", y" + location.getY() + ", z" + location.getZ() + " yaw=" + yaw + " pitch=" + pitch);
-        } else {
-            player.sendMessage(Text.colorize("&cFailed to set spawn location. Please check the console for errors."));
-            Text.sendDebugLog(WARN, "Failed to set spawn location for " + player.getName());
-        }
+        ), success -> {
+            if (success) {
+                player.sendMessage(Text.colorize("&aSpawn location has been set!"));
+                Text.sendDebugLog(SUCCESS, "Set spawn location for " + player.getName() + " at " + worldName + ": x" + location.getX() + ", y" + location.getY() + ", z" + location.getZ() + " yaw=" + yaw + " pitch=" + pitch);
+            } else {
+                player.sendMessage(Text.colorize("&cFailed to set spawn location. Please check the console for errors."));
+                Text.sendDebugLog(WARN, "Failed to set spawn location for " + player.getName());
+            }
+        });
     }
 
     public void teleportToSpawn(Player player) {
@@ -282,20 +284,21 @@ public class Spawn implements CommandExecutor {
             }
             
             // Get spawn location data
-            Map<String, Object> spawnData = database.getSpawnLocation();
-            if (spawnData == null || spawnData.isEmpty()) {
-                player.sendMessage(Text.colorize("&cSpawn location is not set. Please ask an administrator to set it with /setspawn."));
-                Text.sendDebugLog(INFO, playerName + "tried using /spawn but it wasn't set.", true);
-                return;
-            }
-            
-            // Process the spawn data and handle teleportation
-            processSpawnData(player, spawnData);
-            
-            // Apply cooldown if needed
-            if (!player.hasPermission("allium.tpa.nocooldown")) {
-                setCooldown(player.getUniqueId());
-            }
+            database.supply(player, Database::getSpawnLocation, spawnData -> {
+                if (spawnData == null || spawnData.isEmpty()) {
+                    player.sendMessage(Text.colorize("&cSpawn location is not set. Please ask an administrator to set it with /setspawn."));
+                    Text.sendDebugLog(INFO, playerName + "tried using /spawn but it wasn't set.", true);
+                    return;
+                }
+
+                // Process the spawn data and handle teleportation
+                processSpawnData(player, spawnData);
+
+                // Apply cooldown if needed
+                if (!player.hasPermission("allium.tpa.nocooldown")) {
+                    setCooldown(player.getUniqueId());
+                }
+            });
             
         } catch (Exception e) {
             Text.sendDebugLog(ERROR, "Unexpected error during spawn teleport for " + playerName, e);
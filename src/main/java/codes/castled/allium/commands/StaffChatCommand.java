@@ -9,13 +9,14 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import codes.castled.allium.PluginStart;
-import codes.castled.allium.managers.DB.Database;
+import codes.castled.allium.managers.DB.AsyncDatabase;
 import codes.castled.allium.managers.core.Text;
 import codes.castled.allium.managers.lang.Lang;
 import codes.castled.allium.util.SchedulerAdapter;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * /a - Toggle between staff chat and default chat (ChatControl channels).
@@ -25,12 +26,12 @@ public class StaffChatCommand implements CommandExecutor, TabCompleter {
 
     private final PluginStart plugin;
     private final Lang lang;
-    private final Database database;
+    private final AsyncDatabase database;
 
     public StaffChatCommand(PluginStart plugin) {
         this.plugin = plugin;
         this.lang = plugin.getLangManager();
-        this.database = plugin.getDatabase();
+        this.database = plugin.getAsyncDatabase();
     }
 
     @Override
@@ -44,26 +45,31 @@ public class StaffChatCommand implements CommandExecutor, TabCompleter {
             return true;
         }
 
-        boolean currentlyInStaffChat = database.getStaffChatMode(player.getUniqueId());
+        UUID playerId = player.getUniqueId();
         String playerName = player.getName();
 
-        if (currentlyInStaffChat) {
-            // Switch to default channel
-            SchedulerAdapter.run(() -> {
-                Bukkit.dispatchCommand(Bukkit.getConsoleSender(), "channel join default read " + playerName);
-                Bukkit.dispatchCommand(Bukkit.getConsoleSender(), "channel join default write " + playerName);
-            });
-            database.setStaffChatMode(player.getUniqueId(), playerName, false);
-            sender.sendMessage("§8[§bStaff Chat§8] §eYou have switched back to §fglobal chat§e.");
-        } else {
-            // Switch to staff-chat channel
-            SchedulerAdapter.run(() -> {
-                Bukkit.dispatchCommand(Bukkit.getConsoleSender(), "channel join staff-chat read " + playerName);
-                Bukkit.dispatchCommand(Bukkit.getConsoleSender(), "channel join staff-chat write " + playerName);
-            });
-            database.setStaffChatMode(player.getUniqueId(), playerName, true);
-            sender.sendMessage("§8[§bStaff Chat§8] §aYou are now chatting in §bstaff chat§a.");
-        }
+        // Read and flip the mode in one trip to the database thread
+        database.supply(player, db -> {
+            boolean staffChat = !db.getStaffChatMode(playerId);
+            db.setStaffChatMode(playerId, playerName, staffChat);
+            return staffChat;
+        }, staffChat -> {
+            if (!staffChat) {
+                // Switch to default channel
+                SchedulerAdapter.run(() -> {
+                    Bukkit.dispatchCommand(Bukkit.getConsoleSender(), "channel join default read " + playerName);
+                    Bukkit.dispatchCommand(Bukkit.getConsoleSender(), "channel join default write " + playerName);
+                });
+                player.sendMessage("§8[§bStaff Chat§8] §eYou have switched back to §fglobal chat§e.");
+            } else {
+                // Switch to staff-chat channel
+                SchedulerAdapter.run(() -> {
+                    Bukkit.dispatchCommand(Bukkit.getConsoleSender(), "channel join staff-chat read " + playerName);
+                    Bukkit.dispatchCommand(Bukkit.getConsoleSender(), "channel join staff-chat write " + playerName);
+                });
+                player.sendMessage("§8[§bStaff Chat§8] §aYou are now chatting in §bstaff chat§a.");
+            }
+        });
         return true;
     }
 
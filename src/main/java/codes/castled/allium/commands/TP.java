@@ -22,6 +22,7 @@ import org.jetbrains.annotations.NotNull;
 import codes.castled.allium.PluginStart;
 import codes.castled.allium.listeners.jobs.CancelTeleportation;
 import codes.castled.allium.listeners.jobs.Death;
+import codes.castled.allium.managers.DB.AsyncDatabase;
 import codes.castled.allium.managers.DB.Database;
 import codes.castled.allium.managers.DB.Database.LocationType;
 import codes.castled.allium.managers.core.Text;
@@ -40,7 +41,7 @@ public class TP implements CommandExecutor, TabCompleter {
     private final PluginStart plugin;
     private final Lang lang;
     private final codes.castled.allium.managers.config.Config config;
-    private final Database database;
+    private final AsyncDatabase database;
 
     // Command aliases for different functionalities
     private final List<String> teleportCommandAliases;
@@ -221,7 +222,7 @@ public class TP implements CommandExecutor, TabCompleter {
         this.plugin = plugin;
         this.lang = plugin.getLangManager();
         this.config = plugin.getConfigManager();
-        this.database = plugin.getDatabase();
+        this.database = plugin.getAsyncDatabase();
 
         // Initialize command aliases
         this.teleportCommandAliases = Arrays.asList("tp", "tpo", "teleport", "back");
@@ -1952,65 +1953,71 @@ public class TP implements CommandExecutor, TabCompleter {
                         Text.sendErrorMessage(sender, "player-not-found", lang, "{name}", args[1]);
                         return true;
                     }
-                    targetLocation = database.getPlayerLocation(player2.getUniqueId(), LocationType.TELEPORT);
-                    if (targetLocation == null) {
-                        Text.sendErrorMessage(sender, "player-not-found", lang, "{name}", args[1]);
-                        return true;
-                    }
-                    targetPlayers = Collections.emptyList();
-                    resolvedTargetName = player2.getName();
+                    String targetArg = args[1];
+                    database.supply(sender, db -> db.getPlayerLocation(player2.getUniqueId(), LocationType.TELEPORT), offlineLocation -> {
+                        if (offlineLocation == null) {
+                            Text.sendErrorMessage(sender, "player-not-found", lang, "{name}", targetArg);
+                            return;
+                        }
+                        teleportAll(sender, sourcePlayers, Collections.emptyList(), offlineLocation, player2.getName(), bypassToggle);
+                    });
+                    return true;
                 }
             }
 
-            for (Player player1 : sourcePlayers) {
-                if (targetPlayers.size() == 1 && player1.getUniqueId().equals(targetPlayers.get(0).getUniqueId())) {
-                    Text.sendErrorMessage(sender, "cannot-teleport-to-self", lang);
-                    continue;
-                }
+            teleportAll(sender, sourcePlayers, targetPlayers, targetLocation, resolvedTargetName, bypassToggle);
+            return true;
+        }
 
-                if (!bypassToggle && targetPlayers.size() == 1 && teleportToggled.contains(targetPlayers.get(0).getUniqueId())) {
-                    Text.sendErrorMessage(sender, "teleport-toggled-other", lang,
-                            "{player}", player1.getName(),
-                            "{target}", targetPlayers.get(0).getName());
-                    continue;
-                }
-                final Location finalTargetLocation = targetLocation;
-                final boolean isOffline = targetPlayers.isEmpty();
-                player1.teleportAsync(finalTargetLocation).thenAccept(success -> {
-                    if (success) {
-                        if (isOffline) {
-                            lang.sendMessage(player1, "tp.success", 
-                                "{name}", "to " + resolvedTargetName + " (offline)",
-                                "{target}", "");
-                        } else {
-                            lang.sendMessage(player1, "tp.success", 
-                                "{name}", "to " + resolvedTargetName,
-                                "{target}", "");
-                        }
+    }
+
+    private void teleportAll(CommandSender sender, List<Player> sourcePlayers, List<Player> targetPlayers,
+                             Location targetLocation, String resolvedTargetName, boolean bypassToggle) {
+        for (Player player1 : sourcePlayers) {
+            if (targetPlayers.size() == 1 && player1.getUniqueId().equals(targetPlayers.get(0).getUniqueId())) {
+                Text.sendErrorMessage(sender, "cannot-teleport-to-self", lang);
+                continue;
+            }
+
+            if (!bypassToggle && targetPlayers.size() == 1 && teleportToggled.contains(targetPlayers.get(0).getUniqueId())) {
+                Text.sendErrorMessage(sender, "teleport-toggled-other", lang,
+                        "{player}", player1.getName(),
+                        "{target}", targetPlayers.get(0).getName());
+                continue;
+            }
+            final Location finalTargetLocation = targetLocation;
+            final boolean isOffline = targetPlayers.isEmpty();
+            player1.teleportAsync(finalTargetLocation).thenAccept(success -> {
+                if (success) {
+                    if (isOffline) {
+                        lang.sendMessage(player1, "tp.success", 
+                            "{name}", "to " + resolvedTargetName + " (offline)",
+                            "{target}", "");
                     } else {
-                        Text.sendErrorMessage(player1, "teleport-failed", lang);
+                        lang.sendMessage(player1, "tp.success", 
+                            "{name}", "to " + resolvedTargetName,
+                            "{target}", "");
                     }
-                });
-                
-                // Send confirmation to the command sender
-                String senderMessageName = sourcePlayers.size() > 1 ? 
-                    sourcePlayers.size() + " players" : 
-                    sourcePlayers.get(0).getName();
-                    
-                if (isOffline) {
-                    lang.sendMessage(sender, "tp.success",
-                        "{name}", senderMessageName,
-                        "{target}", "to " + resolvedTargetName + " (offline)");
                 } else {
-                    lang.sendMessage(sender, "tp.success",
-                        "{name}", senderMessageName,
-                        "{target}", "to " + resolvedTargetName);
+                    Text.sendErrorMessage(player1, "teleport-failed", lang);
                 }
+            });
+            
+            // Send confirmation to the command sender
+            String senderMessageName = sourcePlayers.size() > 1 ? 
+                sourcePlayers.size() + " players" : 
+                sourcePlayers.get(0).getName();
+                
+            if (isOffline) {
+                lang.sendMessage(sender, "tp.success",
+                    "{name}", senderMessageName,
+                    "{target}", "to " + resolvedTargetName + " (offline)");
+            } else {
+                lang.sendMessage(sender, "tp.success",
+                    "{name}", senderMessageName,
+                    "{target}", "to " + resolvedTargetName);
             }
-
-            return true;
         }
-
     }
 
     private static final long LOCATION_CACHE_TTL = 300000; // 5 minutes
@@ -2117,9 +2124,9 @@ public class TP implements CommandExecutor, TabCompleter {
     }
 
     private CompletableFuture<Location> checkDatabaseLocation(Player player, String playerName, UUID playerUUID) {
-        return CompletableFuture.supplyAsync(() -> {
+        return database.supply(db -> {
             try {
-                Location dbLoc = database.getPlayerLocation(playerUUID, LocationType.TELEPORT);
+                Location dbLoc = db.getPlayerLocation(playerUUID, LocationType.TELEPORT);
                 if (dbLoc != null && dbLoc.getWorld() != null) {
                     logBackOperation("Using database location", playerName, playerUUID, dbLoc);
                     return dbLoc;
@@ -3450,41 +3457,43 @@ public class TP implements CommandExecutor, TabCompleter {
         }
 
         // Get the player's last logout location from database
-        Location targetLocation = database.getPlayerLocation(targetUUID, Database.LocationType.LOGOUT);
-        
-        if (targetLocation == null) {
-            Text.sendErrorMessage(player, "location-not-found", lang, "{name}", resolvedName);
-            return true;
-        }
-        
-        final Location finalTargetLocation = targetLocation;
-        final String targetName = resolvedName; // capture effectively-final for lambda
+        UUID offlineUUID = targetUUID;
+        String offlineName = resolvedName;
+        database.supply(player, db -> db.getPlayerLocation(offlineUUID, Database.LocationType.LOGOUT), targetLocation -> {
+            if (targetLocation == null) {
+                Text.sendErrorMessage(player, "location-not-found", lang, "{name}", offlineName);
+                return;
+            }
 
-        // Teleport the player to the offline player's last known location
-        player.teleportAsync(finalTargetLocation).thenAccept(success -> {
-            if (success) {
-                // Send success message with sound and particles
-                lang.sendMessage(player, "tp.success", 
-                        "{name}", "", 
-                        "{target}", targetName);
+            final Location finalTargetLocation = targetLocation;
+            final String targetName = offlineName; // capture effectively-final for lambda
+
+            // Teleport the player to the offline player's last known location
+            player.teleportAsync(finalTargetLocation).thenAccept(success -> {
+                if (success) {
+                    // Send success message with sound and particles
+                    lang.sendMessage(player, "tp.success", 
+                            "{name}", "", 
+                            "{target}", targetName);
                 
-                // Log the teleport for debugging if enabled
-                if (config.getBoolean("debug-mode")) {
-                    Text.sendDebugLog(INFO, "Player " + player.getName() + " teleported to offline location of " + targetName + 
-                        " at " + finalTargetLocation.getWorld().getName() + " " + (int) finalTargetLocation.getX() + ", " + 
-                        (int) finalTargetLocation.getY() + ", " + (int) finalTargetLocation.getZ());
+                    // Log the teleport for debugging if enabled
+                    if (config.getBoolean("debug-mode")) {
+                        Text.sendDebugLog(INFO, "Player " + player.getName() + " teleported to offline location of " + targetName + 
+                            " at " + finalTargetLocation.getWorld().getName() + " " + (int) finalTargetLocation.getX() + ", " + 
+                            (int) finalTargetLocation.getY() + ", " + (int) finalTargetLocation.getZ());
+                    }
+                } else {
+                    Text.sendErrorMessage(player, "teleport-failed", lang);
                 }
-            } else {
-                Text.sendErrorMessage(player, "teleport-failed", lang);
+            });
+            
+            // Log the teleport for debugging if enabled
+            if (config.getBoolean("debug-mode")) {
+                Text.sendDebugLog(INFO, "Player " + player.getName() + " teleported to offline location of " + targetName + 
+                    " at " + targetLocation.getWorld().getName() + " " + (int) targetLocation.getX() + ", " + 
+                    (int) targetLocation.getY() + ", " + (int) targetLocation.getZ());
             }
         });
-            
-        // Log the teleport for debugging if enabled
-        if (config.getBoolean("debug-mode")) {
-            Text.sendDebugLog(INFO, "Player " + player.getName() + " teleported to offline location of " + targetName + 
-                " at " + targetLocation.getWorld().getName() + " " + (int) targetLocation.getX() + ", " + 
-                (int) targetLocation.getY() + ", " + (int) targetLocation.getZ());
-        }
         return true;
     }
 
@@ -3560,16 +3569,8 @@ public class TP implements CommandExecutor, TabCompleter {
      * @return CompletableFuture that completes with the back location or null if none found
      */
     public boolean isTeleportToggled(UUID playerUUID) {
-        if (teleportToggled.contains(playerUUID)) {
-            return true;
-        }
-        // Check database if not in memory
-        Boolean state = database.getTeleportToggleState(playerUUID);
-        if (state != null && state) {
-            teleportToggled.add(playerUUID);
-            return true;
-        }
-        return false;
+        // Loaded from the database when the player joins
+        return teleportToggled.contains(playerUUID);
     }
 
     /**
@@ -3584,8 +3585,8 @@ public class TP implements CommandExecutor, TabCompleter {
             teleportToggled.remove(playerId);
         }
         // Save to database
-        database.saveTeleportToggleState(playerId, state);
-        Text.sendDebugLog(INFO, "Saved teleport toggle state for UUID " + playerId + ": " + state);
+        database.run(db -> db.saveTeleportToggleState(playerId, state))
+                .thenRun(() -> Text.sendDebugLog(INFO, "Saved teleport toggle state for UUID " + playerId + ": " + state));
     }
 
     @Override
@@ -3649,28 +3650,15 @@ public class TP implements CommandExecutor, TabCompleter {
     }
 
     private CompletableFuture<Void> saveCurrentLocation(Player player) {
-        CompletableFuture<Void> future = new CompletableFuture<>();
-
-        // Save the current location asynchronously
-        plugin.getServer().getScheduler().runTaskAsynchronously(plugin, () -> {
-            try {
-                Location currentLoc = player.getLocation();
-                database.savePlayerLocation(
-                    player.getUniqueId(),
-                    LocationType.TELEPORT,
-                    currentLoc,
-                    System.currentTimeMillis()
-                );
-                // Update in-memory cache
-                lastLocation.put(player.getUniqueId(), currentLoc);
-                future.complete(null);
-            } catch (Exception e) {
-                Text.sendDebugLog(ERROR, "Error saving current location for " + player.getName(), e);
-                future.completeExceptionally(e);
-            }
+        // Read where they are on their own thread; save it on the database thread
+        UUID playerId = player.getUniqueId();
+        Location currentLoc = player.getLocation();
+        long now = System.currentTimeMillis();
+        return database.run(db -> {
+            db.savePlayerLocation(playerId, LocationType.TELEPORT, currentLoc, now);
+            // Update in-memory cache
+            lastLocation.put(playerId, currentLoc);
         });
-
-        return future;
     }
 
     // Companion teleportation on teleport events is handled by TeleportBackListener.
@@ -1,8 +1,5 @@
 package codes.castled.allium.commands;
 
-import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
-
-import java.sql.SQLException;
 import java.util.UUID;
 import org.bukkit.Bukkit;
 import org.bukkit.command.Command;
@@ -12,18 +9,17 @@ import org.bukkit.entity.Player;
 import org.jetbrains.annotations.NotNull;
 
 import codes.castled.allium.PluginStart;
-import codes.castled.allium.managers.DB.Database;
+import codes.castled.allium.managers.DB.AsyncDatabase;
 import codes.castled.allium.managers.DB.NoteEntry;
-import codes.castled.allium.managers.core.Text;
 import codes.castled.allium.managers.lang.Lang;
 
 public class Unnote implements CommandExecutor {
     private final PluginStart plugin;
-    private final Database database;
+    private final AsyncDatabase database;
 
     public Unnote(PluginStart plugin) {
         this.plugin = plugin;
-        this.database = plugin.getDatabase();
+        this.database = plugin.getAsyncDatabase();
     }
 
     @Override
@@ -39,35 +35,34 @@ public class Unnote implements CommandExecutor {
             return true;
         }
 
+        int noteId;
         try {
-            int noteId = Integer.parseInt(args[0]);
-            UUID staffUuid = sender instanceof Player ? ((Player) sender).getUniqueId() : null;
-            
-            // Get note first to get player name
-            NoteEntry note = database.getNoteById(noteId);
-            if (note == null) {
-                sender.sendMessage(lang.get("error-prefix") + lang.get("unnote.not-found"));
-                return true;
+            noteId = Integer.parseInt(args[0]);
+        } catch (NumberFormatException e) {
+            sender.sendMessage(lang.get("error-prefix") + lang.get("unnote.invalid-id"));
+            return true;
+        }
+        UUID staffUuid = sender instanceof Player ? ((Player) sender).getUniqueId() : null;
+        boolean isAdmin = sender.hasPermission("allium.admin") || sender.hasPermission("allium.unnote");
+
+        // Get note first to get player name; null if it is missing or could not be deleted
+        database.supply(sender, db -> {
+            NoteEntry note = db.getNoteById(noteId);
+            if (note == null || !db.deleteNote(noteId, staffUuid, isAdmin)) {
+                return null;
             }
-            
-            String targetName = Bukkit.getOfflinePlayer(note.getPlayerUuid()).getName();
-            
-            if (!database.deleteNote(noteId, staffUuid, sender.hasPermission("allium.admin") || sender.hasPermission("allium.unnote"))) {
+            return note;
+        }, note -> {
+            if (note == null) {
                 sender.sendMessage(lang.get("error-prefix") + lang.get("unnote.not-found"));
-                return true;
+                return;
             }
 
+            String targetName = Bukkit.getOfflinePlayer(note.getPlayerUuid()).getName();
             sender.sendMessage(lang.get("unnote.success")
                 .replace("{id}", String.valueOf(noteId))
                 .replace("{player}", targetName != null ? targetName : "Unknown"));
-            return true;
-        } catch (NumberFormatException e) {
-            sender.sendMessage(lang.get("error-prefix") + lang.get("unnote.invalid-id"));
-            return true;
-        } catch (SQLException e) {
-            sender.sendMessage(lang.get("error-prefix") + lang.get("database-error"));
-            Text.sendDebugLog(ERROR, "Failed to delete note: " + e.getMessage());
-            return true;
-        }
+        });
+        return true;
     }
 }
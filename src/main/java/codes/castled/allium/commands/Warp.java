@@ -229,14 +229,7 @@ public class Warp implements CommandExecutor, TabCompleter {
 
         if (args.length == 1) {
             // Tab complete warp names that the player has access to
-            List<String> accessibleWarps = warpManager.getAccessibleWarps(sender);
-            String partial = args[0].toLowerCase();
-            
-            for (String warp : accessibleWarps) {
-                if (warp.toLowerCase().startsWith(partial)) {
-                    completions.add(warp);
-                }
-            }
+            completions.addAll(warpManager.getAccessibleWarps(sender, args[0]));
         } else if (args.length == 2 && sender.hasPermission("allium.warp.others")) {
             // Tab complete player names for teleporting others
             String partial = args[1].toLowerCase();
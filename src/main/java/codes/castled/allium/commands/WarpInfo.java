@@ -69,14 +69,7 @@ public class WarpInfo implements CommandExecutor, TabCompleter {
 
         if (args.length == 1 && sender.hasPermission("allium.warpinfo")) {
             // Tab complete warps that the player has access to
-            List<String> accessibleWarps = warpManager.getAccessibleWarps(sender);
-            String partial = args[0].toLowerCase();
-            
-            for (String warp : accessibleWarps) {
-                if (warp.toLowerCase().startsWith(partial)) {
-                    completions.add(warp);
-                }
-            }
+            completions.addAll(warpManager.getAccessibleWarps(sender, args[0]));
         }
 
         return completions;
@@ -34,6 +34,10 @@ import java.util.UUID;
 @SuppressWarnings("deprecation") // Suppress deprecation for OfflinePlayer.getLastPlayed() and getFirstPlayed()
 public class Whois implements CommandExecutor {
 
+    /** What the database holds about an offline player. */
+    private record OfflineRecord(Database.PlayerLastSeenData lastSeen, PlayerFlightData flight, GameMode gameMode,
+                                 Location lastLogout, Map<String, Object> spawn) {}
+
     private final PluginStart plugin;
     private final Lang lang;
 
@@ -93,6 +97,30 @@ public class Whois implements CommandExecutor {
         OfflinePlayer effectiveTarget = (targetOnlinePlayer != null) ? targetOnlinePlayer : targetOfflinePlayer;
         UUID targetUUID = effectiveTarget.getUniqueId();
 
+        if (targetOnlinePlayer != null) {
+            sendWhois(sender, targetName, targetOnlinePlayer, effectiveTarget, null);
+            return true;
+        }
+
+        // What is known of an offline player comes from the database; read it in one trip
+        plugin.getAsyncDatabase().supply(sender, db -> {
+            GameMode gameMode = null;
+            try {
+                gameMode = db.getPlayerGameMode(targetUUID);
+            } catch (SQLException e) {
+                Text.sendDebugLog(WARN, "Failed to get gamemode for " + targetName, e);
+            }
+            Location lastLogout = db.getPlayerLocation(targetUUID, LocationType.LOGOUT);
+            return new OfflineRecord(db.getPlayerLastSeen(targetUUID), db.getPlayerFlightStatus(targetUUID),
+                    gameMode, lastLogout, lastLogout == null ? db.getSpawnLocation() : null);
+        }, record -> sendWhois(sender, targetName, null, effectiveTarget, record));
+        return true;
+    }
+
+    private void sendWhois(CommandSender sender, String targetName, Player targetOnlinePlayer,
+                           OfflinePlayer effectiveTarget, OfflineRecord record) {
+        UUID targetUUID = effectiveTarget.getUniqueId();
+
         // Send header with player name
         lang.sendMessage(sender, "whois.header", "player_name", effectiveTarget.getName());
 
@@ -175,7 +203,7 @@ public class Whois implements CommandExecutor {
             
             // Try to get last seen date from database first
             java.sql.Timestamp lastSeenTimestamp = null;
-            Database.PlayerLastSeenData lastSeenData = plugin.getDatabase().getPlayerLastSeen(targetUUID);
+            Database.PlayerLastSeenData lastSeenData = record.lastSeen();
             if (lastSeenData != null && lastSeenData.lastSeenDate() != null) {
                 lastSeenTimestamp = lastSeenData.lastSeenDate();
                 durationMillis = System.currentTimeMillis() - lastSeenTimestamp.getTime();
@@ -207,7 +235,7 @@ public class Whois implements CommandExecutor {
         if (targetOnlinePlayer != null) {
             allowFlight = targetOnlinePlayer.getAllowFlight();
         } else {
-            PlayerFlightData flightData = plugin.getDatabase().getPlayerFlightStatus(targetUUID);
+            PlayerFlightData flightData = record.flight();
             if (flightData != null) {
                 allowFlight = flightData.allowFlight();
             }
@@ -236,11 +264,7 @@ public class Whois implements CommandExecutor {
         if (targetOnlinePlayer != null) {
             gameMode = targetOnlinePlayer.getGameMode();
         } else {
-            try {
-                gameMode = plugin.getDatabase().getPlayerGameMode(targetOfflinePlayer.getUniqueId());
-            } catch (SQLException e) {
-                Text.sendDebugLog(WARN, "Failed to get gamemode for " + targetName, e);
-            }
+            gameMode = record.gameMode();
         }
         String gamemodeDisplay;
         if (gameMode != null) {
@@ -265,7 +289,7 @@ public class Whois implements CommandExecutor {
             sender.sendMessage(worldPosMsg);
         } else {
             // For offline players, try to get their last logout location from database
-            Location lastLogoutLocation = plugin.getDatabase().getPlayerLocation(targetUUID, LocationType.LOGOUT);
+            Location lastLogoutLocation = record.lastLogout();
             if (lastLogoutLocation != null) {
                 String worldPosMsgTemplate = lang.getRaw("whois.world-position");
                 if (worldPosMsgTemplate.equals("whois.world-position")) {
@@ -288,7 +312,7 @@ public class Whois implements CommandExecutor {
                 }
             } else {
                 // No logout location found in database
-                Map<String, Object> spawnLocationData = plugin.getDatabase().getSpawnLocation();
+                Map<String, Object> spawnLocationData = record.spawn();
                 String unknownLocationTemplate = "&eLocation: &f" + spawnLocationData.get("world") + " &7(Spawn)";
                 sender.sendMessage(Text.colorize(unknownLocationTemplate));
             }
@@ -339,8 +363,6 @@ public class Whois implements CommandExecutor {
 
         String footerRaw = lang.getRaw("whois.footer");
         sender.sendMessage(Text.colorize(footerRaw));
-
-        return true;
     }
     
     /**
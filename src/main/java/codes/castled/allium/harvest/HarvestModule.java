@@ -29,6 +29,8 @@ import codes.castled.allium.harvest.storage.HarvestDatabase;
 import codes.castled.allium.harvest.storage.SoilStorage;
 import codes.castled.allium.harvest.storage.SpawnerStorage;
 import codes.castled.allium.harvest.storage.SprinklerStorage;
+import codes.castled.allium.harvest.visual.VirtualCropRenderer;
+import codes.castled.allium.packetevents.PacketEventsLoader;
 import codes.castled.allium.scheduler.SchedulerAdapter;
 import codes.castled.allium.scheduler.TaskHandle;
 import java.io.File;
@@ -106,7 +108,7 @@ public final class HarvestModule {
                 + "] Could not initialize storage — module disabled", e);
             return;
         }
-        cropStorage = new CropStorage(database);
+        cropStorage = new CropStorage(database, config.growthEngine().maxPendingWrites());
         spawnerStorage = new SpawnerStorage(database);
         soilStorage = new SoilStorage(database);
         sprinklerStorage = new SprinklerStorage(database);
@@ -121,7 +123,7 @@ public final class HarvestModule {
         reportIssues(loadSprinklers(dataFolder));
         sprinklers = new SprinklerService(sprinklerModels, sprinklerStorage, soils, config.sprinklers());
 
-        visuals = new CropVisualService(logger, registry, items, config.visuals());
+        visuals = new CropVisualService(logger, registry, items, config.visuals(), createVirtualRenderer());
         instances = new CropInstanceService(plugin, registry, cropStorage, visuals);
         placement = new CropPlacementService(registry, instances, cropStorage, visuals,
             soils, sprinklers, ThreadLocalRandom.current());
@@ -132,9 +134,10 @@ public final class HarvestModule {
         reportIssues(loadSpawnerModels(dataFolder));
         spawnerTracking = new SpawnerTrackingService(plugin, spawnerModels, spawnerStorage, items, config.spawners());
 
-        Bukkit.getPluginManager().registerEvents(
-            new CropListeners(registry, instances, placement, harvests, cropStorage, items,
-                soils, sprinklers), plugin);
+        CropListeners cropListeners = new CropListeners(registry, instances, placement, harvests, cropStorage, items,
+            soils, sprinklers);
+        Bukkit.getPluginManager().registerEvents(cropListeners, plugin);
+        visuals.setVirtualClickHandler(cropListeners::onVirtualClick);
         Bukkit.getPluginManager().registerEvents(
             new SprinklerListeners(sprinklerModels, sprinklers, soils, items), plugin);
         // One shared periodic pass covers sprinkler soil upkeep and pruning of
@@ -145,8 +148,9 @@ public final class HarvestModule {
             soils.purgeExhausted(now);
         }, 1200L, 1200L);
         if (config.spawners().enabled()) {
-            Bukkit.getPluginManager().registerEvents(new SpawnerListeners(plugin, spawnerTracking), plugin);
-            spawnerSweepTask = SchedulerAdapter.runAsyncRepeating(plugin, spawnerTracking::sweep, 100L, 100L);
+            Bukkit.getPluginManager().registerEvents(new SpawnerListeners(spawnerTracking), plugin);
+            // Hands each region section with pending work one bounded task on its own thread.
+            spawnerSweepTask = SchedulerAdapter.runAsyncRepeating(plugin, spawnerTracking::sweep, 1L, 1L);
         }
         growthEngine.start();
 
@@ -185,6 +189,7 @@ public final class HarvestModule {
         if (upkeepTask != null) {
             upkeepTask.cancel();
         }
+        visuals.shutdown();
         instances.persistAll();
         database.flushAndWait(cropStorage::flush);
         database.close();
@@ -215,6 +220,7 @@ public final class HarvestModule {
         issues.addAll(loadSpawnerModels(dataFolder));
         issues.addAll(loadSprinklers(dataFolder));
         reportIssues(issues);
+        sprinklers.rebuildCoverage();
 
         // Models that previously failed to resolve get another chance: the
         // item may have been added to the pack, or the entry removed.
@@ -235,6 +241,19 @@ public final class HarvestModule {
 
     // ==================== internals ====================
 
+    /** The packet-only renderer for PACKET render mode, or null for real entities. */
+    private VirtualCropRenderer createVirtualRenderer() {
+        if (config.visuals().renderMode() != HarvestConfig.RenderMode.PACKET) {
+            return null;
+        }
+        VirtualCropRenderer renderer = PacketEventsLoader.createVirtualCropRenderer(plugin, config.visuals());
+        if (renderer == null) {
+            logger.warning("[" + HarvestBranding.DISPLAY_NAME
+                + "] crop-visuals.render-mode is PACKET but PacketEvents is not available; using entities");
+        }
+        return renderer;
+    }
+
     private ItemResolverChain buildResolverChain() {
         ItemResolverChain chain = new ItemResolverChain();
         if (Bukkit.getPluginManager().isPluginEnabled("Nexo")) {
@@ -332,12 +332,26 @@ public final class HarvestCommand implements CommandExecutor, TabCompleter {
             var w = Bukkit.getWorld(world);
             msg(sender, "<gray>  " + (w != null ? w.getName() : world) + ": </gray>" + count);
         });
-        msg(sender, "<gray>Due picked last pass: </gray>" + module.growthEngine().duePickedLastPass());
+        msg(sender, "<gray>Growing crops queued: </gray>" + module.instances().queuedCount());
+        msg(sender, "<gray>Due picked last pass: </gray>" + module.growthEngine().duePickedLastPass()
+            + "<gray> in </gray>" + module.growthEngine().batchesLastPass() + "<gray> chunk batches</gray>"
+            + "<gray> (throttled passes: </gray>" + module.growthEngine().throttledPasses() + "<gray>)</gray>");
         msg(sender, "<gray>Growth pass time: </gray>"
             + (module.growthEngine().lastPassNanos() / 1_000_000.0) + " ms");
-        msg(sender, "<gray>Pending crop writes: </gray>" + module.cropStorage().pendingWrites());
-        msg(sender, "<gray>Crop visuals — duplicates removed: </gray>" + module.visuals().duplicatesRemoved()
-            + "<gray>, orphans removed: </gray>" + module.visuals().orphansRemoved());
+        var cropStorage = module.cropStorage();
+        msg(sender, "<gray>Pending crop writes: </gray>" + cropStorage.pendingWrites()
+            + "<gray> (early flushes: </gray>" + cropStorage.earlyFlushes() + "<gray>)</gray>");
+        msg(sender, "<gray>Crop flushes: </gray>" + cropStorage.flushCount()
+            + "<gray>, rows: </gray>" + cropStorage.flushedRows()
+            + "<gray>, last: </gray>" + cropStorage.lastFlushRows() + "<gray> rows in </gray>"
+            + (cropStorage.lastFlushNanos() / 1_000_000.0) + " ms"
+            + "<gray>, slowest: </gray>" + (cropStorage.maxFlushNanos() / 1_000_000.0) + " ms");
+        if (module.visuals().isVirtual()) {
+            msg(sender, "<gray>Crop visuals — packet-only, registered: </gray>" + module.visuals().virtualCount());
+        } else {
+            msg(sender, "<gray>Crop visuals — duplicates removed: </gray>" + module.visuals().duplicatesRemoved()
+                + "<gray>, orphans removed: </gray>" + module.visuals().orphansRemoved());
+        }
         if (module.spawnerTracking() != null) {
             msg(sender, "<gray>Tracked spawners (loaded): </gray>" + module.spawnerTracking().trackedCount());
             msg(sender, "<gray>Spawner visuals — duplicates removed: </gray>"
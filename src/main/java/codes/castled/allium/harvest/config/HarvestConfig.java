@@ -21,10 +21,15 @@ public record HarvestConfig(
     Sprinklers sprinklers
 ) {
 
+    /**
+     * @param maxPendingWrites queued crop writes that trigger an early flush; twice this pauses growth
+     *                         instead of waiting for the next interval
+     */
     public record Growth(
         int checkIntervalTicks,
         int checksPerTick,
-        int flushIntervalTicks
+        int flushIntervalTicks,
+        int maxPendingWrites
     ) {}
 
     /**
@@ -40,6 +45,10 @@ public record HarvestConfig(
      *                         reached through the block under it.
      * @param interactionWidth hitbox width in blocks
      * @param interactionHeight hitbox height in blocks
+     * @param renderMode       real entities, or packets sent only to nearby
+     *                         players (see {@link RenderMode})
+     * @param packetViewDistance radius in blocks within which a player is sent
+     *                         a crop in {@link RenderMode#PACKET} mode
      */
     public record Visuals(
         float viewRange,
@@ -48,9 +57,21 @@ public record HarvestConfig(
         ItemDisplayTransform displayTransform,
         boolean clickable,
         float interactionWidth,
-        float interactionHeight
+        float interactionHeight,
+        RenderMode renderMode,
+        int packetViewDistance
     ) {}
 
+    /**
+     * How crops are put on screen.
+     *
+     * <p>{@code ENTITY} spawns a real display and hitbox per crop. {@code PACKET}
+     * spawns nothing on the server: each nearby player is sent fake entities
+     * and clicks are read back from the interaction packets, so a crop costs no
+     * entity ticking, tracking or chunk saving. Needs PacketEvents.
+     */
+    public enum RenderMode { ENTITY, PACKET }
+
     /**
      * Soil lifecycle settings.
      *
@@ -108,7 +129,8 @@ public record HarvestConfig(
         Growth growthEngine = new Growth(
             clamp(growth == null ? 20 : growth.getInt("check-interval-ticks", 20), 1, 1200),
             clamp(growth == null ? 100 : growth.getInt("checks-per-tick", 100), 1, 10_000),
-            clamp(growth == null ? 100 : growth.getInt("flush-interval-ticks", 100), 20, 12_000)
+            clamp(growth == null ? 100 : growth.getInt("flush-interval-ticks", 100), 20, 12_000),
+            clamp(growth == null ? 5000 : growth.getInt("max-pending-writes", 5000), 100, 1_000_000)
         );
 
         ConfigurationSection visualsSection = yaml.getConfigurationSection("crop-visuals");
@@ -121,7 +143,10 @@ public record HarvestConfig(
             (float) clampDouble(visualsSection == null ? 0.7
                 : visualsSection.getDouble("interaction-width", 0.7), 0.1, 4.0),
             (float) clampDouble(visualsSection == null ? 1.0
-                : visualsSection.getDouble("interaction-height", 1.0), 0.1, 4.0)
+                : visualsSection.getDouble("interaction-height", 1.0), 0.1, 4.0),
+            "packet".equalsIgnoreCase(visualsSection == null ? null : visualsSection.getString("render-mode"))
+                ? RenderMode.PACKET : RenderMode.ENTITY,
+            clamp(visualsSection == null ? 48 : visualsSection.getInt("packet-view-distance", 48), 8, 256)
         );
 
         ConfigurationSection spawnerSection = yaml.getConfigurationSection("spawner-models");
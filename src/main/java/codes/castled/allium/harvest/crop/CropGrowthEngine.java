@@ -9,10 +9,16 @@ import codes.castled.allium.harvest.crop.def.CropRegistry;
 import codes.castled.allium.harvest.event.CropGrowEvent;
 import codes.castled.allium.harvest.storage.CropStorage;
 import codes.castled.allium.harvest.util.BlockPositionKey;
+import codes.castled.allium.harvest.util.ChunkKey;
 import codes.castled.allium.scheduler.SchedulerAdapter;
 import codes.castled.allium.scheduler.TaskHandle;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.World;
@@ -20,11 +26,13 @@ import org.bukkit.plugin.Plugin;
 
 /**
  * Due-time growth processing. There is no task per crop: a single repeating
- * scheduler task scans the in-memory chunk index for crops whose
- * {@code nextGrowthAt} has passed (bounded by {@code checks-per-tick}) and
- * dispatches each stage advance to the scheduler owning the crop's region, so
+ * scheduler task takes crops whose {@code nextGrowthAt} has passed off the
+ * instance service's due queue (bounded by {@code checks-per-tick}) and
+ * dispatches them, batched per chunk, to the scheduler owning that region, so
  * block/entity work is always Folia-safe. Unloaded chunks are untouched —
- * their crops catch up when the chunk loads.
+ * their crops catch up when the chunk loads. While crop writes back up in
+ * {@link CropStorage} passes are skipped; due crops stay queued and grow
+ * late rather than piling more rows onto a database that is behind.
  */
 public final class CropGrowthEngine {
 
@@ -39,6 +47,8 @@ public final class CropGrowthEngine {
     private TaskHandle flushTask;
     private volatile long lastPassNanos;
     private volatile long dueLastPass;
+    private volatile int batchesLastPass;
+    private final LongAdder throttledPasses = new LongAdder();
 
     public CropGrowthEngine(
         Plugin plugin,
@@ -68,22 +78,59 @@ public final class CropGrowthEngine {
         if (flushTask != null) flushTask.cancel();
     }
 
-    /** One scan pass; runs off-thread, only reads the concurrent index. */
+    /**
+     * One pass over the due queue; runs off-thread. Due crops are grouped by
+     * anchor chunk and each group is advanced in a single task on the region
+     * owning that chunk, so a field maturing together costs one scheduler
+     * task per chunk rather than one per crop.
+     */
     private void pass() {
+        if (storage.isBackedUp()) {
+            throttledPasses.increment();
+            storage.flush();
+            return;
+        }
         long started = System.nanoTime();
         long now = System.currentTimeMillis();
         List<CropInstance> due = instances.collectDue(now, settings.checksPerTick());
         dueLastPass = due.size();
+        Map<ChunkKey, List<CropInstance>> byChunk = new HashMap<>();
         for (CropInstance crop : due) {
-            World world = Bukkit.getWorld(crop.position().worldId());
-            if (world == null) continue;
-            BlockPositionKey position = crop.position();
-            Location location = new Location(world, position.x(), position.y(), position.z());
-            SchedulerAdapter.runAtLocation(plugin, location, () -> advance(world, crop));
+            byChunk.computeIfAbsent(crop.position().chunkKey(), k -> new ArrayList<>()).add(crop);
+        }
+        int batches = 0;
+        for (Map.Entry<ChunkKey, List<CropInstance>> entry : byChunk.entrySet()) {
+            ChunkKey chunk = entry.getKey();
+            List<CropInstance> crops = entry.getValue();
+            World world = Bukkit.getWorld(chunk.worldId());
+            if (world == null) {
+                crops.forEach(instances::requeue);
+                continue;
+            }
+            Location anchor = new Location(world, (chunk.chunkX() << 4) + 8, world.getMinHeight(), (chunk.chunkZ() << 4) + 8);
+            SchedulerAdapter.runAtLocation(plugin, anchor, () -> advanceBatch(world, crops));
+            batches++;
         }
+        batchesLastPass = batches;
         lastPassNanos = System.nanoTime() - started;
     }
 
+    /** Advances every crop of one chunk's due batch. Region thread of the chunk. */
+    private void advanceBatch(World world, List<CropInstance> crops) {
+        for (CropInstance crop : crops) {
+            try {
+                advance(world, crop);
+            } catch (RuntimeException e) {
+                plugin.getLogger().log(Level.WARNING, "[AlliumHarvest] Failed advancing crop " + crop.cropId()
+                    + " at " + crop.position(), e);
+            } finally {
+                // Early-outs and failures in advance() leave the due time
+                // untouched, so the crop would otherwise never be picked up again.
+                instances.requeue(crop);
+            }
+        }
+    }
+
     /** Advances one crop by one stage. Region thread of the crop. */
     private void advance(World world, CropInstance crop) {
         long now = System.currentTimeMillis();
@@ -172,4 +219,7 @@ public final class CropGrowthEngine {
 
     public long lastPassNanos() { return lastPassNanos; }
     public long duePickedLastPass() { return dueLastPass; }
+    public int batchesLastPass() { return batchesLastPass; }
+    /** Passes skipped because crop writes were backed up. */
+    public long throttledPasses() { return throttledPasses.sum(); }
 }
@@ -47,6 +47,13 @@ public final class CropInstance {
     private double speedMultiplier = 1.0D;
     /** All cells currently reserved by this crop (anchor first). */
     private List<BlockPositionKey> cells;
+    /**
+     * Due-time index this crop is registered in, and its slot there. Owned by
+     * {@link DueQueue}; set while the crop is loaded so that due-time and
+     * state changes reorder the queue without every caller having to.
+     */
+    DueQueue dueQueue;
+    int dueSlot = -1;
 
     public CropInstance(
         UUID instanceId, String cropId, String pathId, BlockPositionKey position,
@@ -89,9 +96,15 @@ public final class CropInstance {
     public List<BlockPositionKey> cells() { return cells; }
 
     public void setStage(int stage) { this.stage = stage; }
-    public void setState(CropState state) { this.state = state; }
+    public void setState(CropState state) {
+        this.state = state;
+        reschedule();
+    }
     public void setStageStartedAt(long stageStartedAt) { this.stageStartedAt = stageStartedAt; }
-    public void setNextGrowthAt(long nextGrowthAt) { this.nextGrowthAt = nextGrowthAt; }
+    public void setNextGrowthAt(long nextGrowthAt) {
+        this.nextGrowthAt = nextGrowthAt;
+        reschedule();
+    }
     public void setRemainingMs(long remainingMs) { this.remainingMs = remainingMs; }
     public void setVisualEntityId(UUID visualEntityId) { this.visualEntityId = visualEntityId; }
     public void setHitboxEntityId(UUID hitboxEntityId) { this.hitboxEntityId = hitboxEntityId; }
@@ -103,6 +116,13 @@ public final class CropInstance {
         this.cells = cells == null || cells.isEmpty() ? List.of(position) : List.copyOf(cells);
     }
 
+    private void reschedule() {
+        DueQueue queue = dueQueue;
+        if (queue != null) {
+            queue.reschedule(this);
+        }
+    }
+
     public boolean isDue(long now) {
         return state == CropState.GROWING && nextGrowthAt > 0 && now >= nextGrowthAt;
     }
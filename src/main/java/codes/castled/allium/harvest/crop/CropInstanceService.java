@@ -7,9 +7,11 @@ import codes.castled.allium.harvest.crop.def.CropRegistry;
 import codes.castled.allium.harvest.storage.CropStorage;
 import codes.castled.allium.harvest.util.BlockPositionKey;
 import codes.castled.allium.harvest.util.ChunkKey;
+import codes.castled.allium.harvest.util.PositionIndex;
 import codes.castled.allium.scheduler.SchedulerAdapter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -38,12 +40,14 @@ public final class CropInstanceService {
     private final CropStorage storage;
     private final CropVisualService visuals;
 
-    /** Crops by anchor chunk; values keyed by instance id. */
-    private final Map<ChunkKey, Map<UUID, CropInstance>> byChunk = new ConcurrentHashMap<>();
-    /** Every occupied cell (anchor + footprint) of loaded crops. */
-    private final Map<BlockPositionKey, CropInstance> byCell = new ConcurrentHashMap<>();
+    /** Crops by anchor chunk (packed chunk key); values keyed by instance id. */
+    private final PositionIndex<Map<UUID, CropInstance>> byChunk = new PositionIndex<>();
+    /** Every occupied cell (anchor + footprint) of loaded crops, by packed block key. */
+    private final PositionIndex<CropInstance> byCell = new PositionIndex<>();
     /** Guards double-processing when load events race. */
     private final Map<ChunkKey, Boolean> loadingOrLoaded = new ConcurrentHashMap<>();
+    /** Loaded growing crops ordered by due time; see {@link DueQueue}. */
+    private final DueQueue dueQueue = new DueQueue();
 
     public CropInstanceService(Plugin plugin, CropRegistry registry, CropStorage storage, CropVisualService visuals) {
         this.plugin = plugin;
@@ -56,11 +60,20 @@ public final class CropInstanceService {
     // ==================== lookup ====================
 
     public Optional<CropInstance> at(BlockPositionKey cell) {
-        return Optional.ofNullable(byCell.get(cell));
+        return Optional.ofNullable(byCell.get(cell.worldId(), PositionIndex.blockKey(cell)));
+    }
+
+    /** Allocation-free lookup of the crop occupying a block, or {@code null}. */
+    public CropInstance at(UUID worldId, int x, int y, int z) {
+        return byCell.get(worldId, PositionIndex.blockKey(x, y, z));
     }
 
     public boolean isOccupied(BlockPositionKey cell) {
-        return byCell.containsKey(cell);
+        return at(cell.worldId(), cell.x(), cell.y(), cell.z()) != null;
+    }
+
+    public boolean isOccupied(UUID worldId, int x, int y, int z) {
+        return at(worldId, x, y, z) != null;
     }
 
     /**
@@ -74,8 +87,9 @@ public final class CropInstanceService {
         if (instanceId == null) {
             return Optional.empty();
         }
-        for (CropInstance crop : byCell.values()) {
-            if (crop.instanceId().equals(instanceId)) {
+        for (Map<UUID, CropInstance> crops : byChunk.values()) {
+            CropInstance crop = crops.get(instanceId);
+            if (crop != null) {
                 return Optional.of(crop);
             }
         }
@@ -83,68 +97,92 @@ public final class CropInstanceService {
     }
 
     public int loadedCount() {
-        return byCell.values().stream().collect(java.util.stream.Collectors.toSet()).size();
+        int count = 0;
+        for (Map<UUID, CropInstance> crops : byChunk.values()) {
+            count += crops.size();
+        }
+        return count;
     }
 
     public Map<UUID, Integer> countsByWorld() {
         Map<UUID, Integer> counts = new ConcurrentHashMap<>();
-        byChunk.forEach((chunk, crops) ->
-            counts.merge(chunk.worldId(), crops.size(), Integer::sum));
+        for (UUID worldId : byChunk.worlds()) {
+            int count = 0;
+            for (Map<UUID, CropInstance> crops : byChunk.values(worldId)) {
+                count += crops.size();
+            }
+            counts.put(worldId, count);
+        }
         return counts;
     }
 
-    /** Iterates due crops across loaded chunks, up to {@code limit}. */
+    /**
+     * Takes up to {@code limit} due crops off the due queue, earliest first.
+     * Cost tracks the number of due crops, not the number loaded. A taken
+     * crop is queued again as soon as its advance sets a new due time; a
+     * caller that ends up not advancing it must hand it to {@link #requeue}.
+     */
     public List<CropInstance> collectDue(long now, int limit) {
-        List<CropInstance> due = new ArrayList<>();
-        outer:
-        for (Map<UUID, CropInstance> crops : byChunk.values()) {
-            for (CropInstance crop : crops.values()) {
-                if (crop.isDue(now)) {
-                    due.add(crop);
-                    if (due.size() >= limit) break outer;
-                }
-            }
-        }
-        return due;
+        return dueQueue.pollDue(now, limit, new ArrayList<>());
+    }
+
+    /** Puts a loaded crop back on the due queue according to its current state. */
+    public void requeue(CropInstance crop) {
+        dueQueue.reschedule(crop);
+    }
+
+    /** Number of loaded crops currently waiting on a due time. */
+    public int queuedCount() {
+        return dueQueue.size();
     }
 
     public void forEachLoaded(Consumer<CropInstance> consumer) {
-        byChunk.values().forEach(crops -> crops.values().forEach(consumer));
+        byChunk.forEach(crops -> crops.values().forEach(consumer));
     }
 
     // ==================== mutation ====================
 
     /** Registers a crop in the loaded indexes (region thread of the crop). */
     public void register(CropInstance crop) {
-        byChunk.computeIfAbsent(crop.position().chunkKey(), k -> new ConcurrentHashMap<>())
+        BlockPositionKey anchor = crop.position();
+        byChunk.computeIfAbsent(anchor.worldId(), anchorChunk(anchor), k -> new ConcurrentHashMap<>())
             .put(crop.instanceId(), crop);
         for (BlockPositionKey cell : crop.cells()) {
-            byCell.put(cell, crop);
+            byCell.put(cell.worldId(), PositionIndex.blockKey(cell), crop);
         }
+        dueQueue.attach(crop);
     }
 
     /** Removes a crop from the loaded indexes only (not the database). */
     public void unregister(CropInstance crop) {
-        Map<UUID, CropInstance> crops = byChunk.get(crop.position().chunkKey());
+        BlockPositionKey anchor = crop.position();
+        Map<UUID, CropInstance> crops = byChunk.get(anchor.worldId(), anchorChunk(anchor));
         if (crops != null) {
             crops.remove(crop.instanceId());
         }
-        for (BlockPositionKey cell : crop.cells()) {
-            byCell.remove(cell, crop);
-        }
+        unindexCells(crop);
+        dueQueue.detach(crop);
     }
 
     /** Re-indexes a crop's cells after a footprint change. */
     public void reindexCells(CropInstance crop, List<BlockPositionKey> newCells) {
+        unindexCells(crop);
+        crop.setCells(newCells);
         for (BlockPositionKey cell : crop.cells()) {
-            byCell.remove(cell, crop);
+            byCell.put(cell.worldId(), PositionIndex.blockKey(cell), crop);
         }
-        crop.setCells(newCells);
+    }
+
+    private void unindexCells(CropInstance crop) {
         for (BlockPositionKey cell : crop.cells()) {
-            byCell.put(cell, crop);
+            byCell.remove(cell.worldId(), PositionIndex.blockKey(cell), crop);
         }
     }
 
+    private static long anchorChunk(BlockPositionKey anchor) {
+        return PositionIndex.chunkKey(anchor.x() >> 4, anchor.z() >> 4);
+    }
+
     // ==================== chunk lifecycle ====================
 
     public void onChunkLoad(Chunk chunk) {
@@ -228,13 +266,14 @@ public final class CropInstanceService {
 
     public void onChunkUnload(Chunk chunk) {
         ChunkKey key = new ChunkKey(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
-        Map<UUID, CropInstance> crops = byChunk.remove(key);
+        Map<UUID, CropInstance> crops = byChunk.remove(key.worldId(), PositionIndex.chunkKey(key));
         loadingOrLoaded.remove(key);
         if (crops == null) {
             return;
         }
         long now = System.currentTimeMillis();
         for (CropInstance crop : crops.values()) {
+            dueQueue.detach(crop);
             registry.crop(crop.cropId()).ifPresent(definition -> {
                 boolean pausedOffline = definition.growth().clock() == CropClock.LOADED_TIME
                     || !definition.growth().growWhileUnloaded();
@@ -242,25 +281,19 @@ public final class CropInstanceService {
                     crop.setRemainingMs(Math.max(0L, crop.nextGrowthAt() - now));
                 }
             });
-            for (BlockPositionKey cell : crop.cells()) {
-                byCell.remove(cell, crop);
-            }
+            unindexCells(crop);
+            visuals.release(crop);
             storage.saveLater(crop);
         }
     }
 
     public void onWorldUnload(UUID worldId) {
-        List<ChunkKey> keys = byChunk.keySet().stream()
-            .filter(key -> key.worldId().equals(worldId))
-            .toList();
-        for (ChunkKey key : keys) {
-            Map<UUID, CropInstance> crops = byChunk.remove(key);
-            loadingOrLoaded.remove(key);
-            if (crops == null) continue;
+        loadingOrLoaded.keySet().removeIf(key -> key.worldId().equals(worldId));
+        byCell.removeWorld(worldId);
+        for (Map<UUID, CropInstance> crops : byChunk.removeWorld(worldId)) {
             for (CropInstance crop : crops.values()) {
-                for (BlockPositionKey cell : crop.cells()) {
-                    byCell.remove(cell, crop);
-                }
+                dueQueue.detach(crop);
+                visuals.release(crop);
                 storage.saveLater(crop);
             }
         }
@@ -269,6 +302,7 @@ public final class CropInstanceService {
     /** Persists everything currently loaded; called on plugin disable. */
     public void persistAll() {
         forEachLoaded(storage::saveLater);
+        forEachLoaded(dueQueue::detach);
         byChunk.clear();
         byCell.clear();
         loadingOrLoaded.clear();
@@ -283,7 +317,18 @@ public final class CropInstanceService {
         }
     }
 
+    /** Snapshot of the loaded crops of every chunk, for debugging and tooling. */
     public Map<ChunkKey, Map<UUID, CropInstance>> loadedChunksView() {
-        return Collections.unmodifiableMap(byChunk);
+        Map<ChunkKey, Map<UUID, CropInstance>> view = new HashMap<>();
+        for (UUID worldId : byChunk.worlds()) {
+            byChunk.forEachKey(worldId, key -> {
+                Map<UUID, CropInstance> crops = byChunk.get(worldId, key);
+                if (crops != null) {
+                    view.put(new ChunkKey(worldId, PositionIndex.chunkX(key), PositionIndex.chunkZ(key)),
+                        Collections.unmodifiableMap(crops));
+                }
+            });
+        }
+        return Collections.unmodifiableMap(view);
     }
 }
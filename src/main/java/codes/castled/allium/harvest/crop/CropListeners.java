@@ -12,6 +12,7 @@ import codes.castled.allium.harvest.util.BlockPositionKey;
 import codes.castled.allium.harvest.util.Durations;
 import codes.castled.allium.harvest.visual.VisualTags;
 import java.util.Optional;
+import java.util.UUID;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 import org.bukkit.GameMode;
 import org.bukkit.block.Block;
@@ -239,7 +240,47 @@ public final class CropListeners implements Listener {
             return;
         }
         event.setCancelled(true);
-        Player player = event.getPlayer();
+        rightClickCrop(event.getPlayer(), crop);
+    }
+
+    /**
+     * Punching a crop's hitbox destroys it, returning its configured break
+     * drops. This is what removes the need for a real block to stand in for
+     * the plant just so it can be broken.
+     */
+    @EventHandler(ignoreCancelled = true)
+    public void onDamageEntity(EntityDamageByEntityEvent event) {
+        if (!(event.getDamager() instanceof Player player)) {
+            return;
+        }
+        CropInstance crop = cropOfEntity(event.getEntity());
+        if (crop == null) {
+            return;
+        }
+        event.setCancelled(true);
+        punchCrop(player, crop);
+    }
+
+    /**
+     * A click on a packet-only hitbox (PACKET render mode). There is no
+     * entity, so no Bukkit event fires; the renderer calls this on the crop's
+     * region thread instead and it behaves like the two handlers above.
+     */
+    public void onVirtualClick(Player player, UUID instanceId, boolean attack) {
+        CropInstance crop = instances.byInstanceId(instanceId)
+            .filter(candidate -> candidate.state() != CropState.REMOVED)
+            .orElse(null);
+        if (crop == null) {
+            return;
+        }
+        if (attack) {
+            punchCrop(player, crop);
+        } else {
+            rightClickCrop(player, crop);
+        }
+    }
+
+    private void rightClickCrop(Player player, CropInstance crop) {
         ItemStack held = player.getInventory().getItemInMainHand();
 
         if (tryFertilize(player, crop, held)) {
@@ -259,21 +300,7 @@ public final class CropListeners implements Listener {
         }
     }
 
-    /**
-     * Punching a crop's hitbox destroys it, returning its configured break
-     * drops. This is what removes the need for a real block to stand in for
-     * the plant just so it can be broken.
-     */
-    @EventHandler(ignoreCancelled = true)
-    public void onDamageEntity(EntityDamageByEntityEvent event) {
-        if (!(event.getDamager() instanceof Player player)) {
-            return;
-        }
-        CropInstance crop = cropOfEntity(event.getEntity());
-        if (crop == null) {
-            return;
-        }
-        event.setCancelled(true);
+    private void punchCrop(Player player, CropInstance crop) {
         if (!player.hasPermission(HarvestBranding.PERMISSION_ROOT + ".crop.harvest")) {
             return;
         }
@@ -295,7 +322,7 @@ public final class CropListeners implements Listener {
 
     @EventHandler(priority = EventPriority.HIGH, ignoreCancelled = true)
     public void onPlace(BlockPlaceEvent event) {
-        if (instances.isOccupied(keyOf(event.getBlock()))) {
+        if (occupied(event.getBlock())) {
             event.setCancelled(true);
         }
     }
@@ -304,7 +331,7 @@ public final class CropListeners implements Listener {
     public void onPistonExtend(BlockPistonExtendEvent event) {
         for (Block block : event.getBlocks()) {
             Block destination = block.getRelative(event.getDirection());
-            if (instances.isOccupied(keyOf(block)) || instances.isOccupied(keyOf(destination))) {
+            if (occupied(block) || occupied(destination)) {
                 event.setCancelled(true);
                 return;
             }
@@ -315,7 +342,7 @@ public final class CropListeners implements Listener {
     public void onPistonRetract(BlockPistonRetractEvent event) {
         for (Block block : event.getBlocks()) {
             Block destination = block.getRelative(event.getDirection());
-            if (instances.isOccupied(keyOf(block)) || instances.isOccupied(keyOf(destination))) {
+            if (occupied(block) || occupied(destination)) {
                 event.setCancelled(true);
                 return;
             }
@@ -345,6 +372,11 @@ public final class CropListeners implements Listener {
         sprinklers.onWorldUnload(event.getWorld());
     }
 
+    /** Occupancy check without building a position key; piston events hit this per block. */
+    private boolean occupied(Block block) {
+        return instances.isOccupied(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
+    }
+
     private static BlockPositionKey keyOf(Block block) {
         return new BlockPositionKey(
             block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
@@ -6,6 +6,7 @@ import codes.castled.allium.harvest.crop.def.CropRegistry;
 import codes.castled.allium.harvest.crop.def.StageDefinition;
 import codes.castled.allium.harvest.item.ItemResolverChain;
 import codes.castled.allium.harvest.util.BlockPositionKey;
+import codes.castled.allium.harvest.visual.VirtualCropRenderer;
 import codes.castled.allium.harvest.visual.VisualTags;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -35,6 +36,11 @@ import org.joml.Vector3f;
  * (e.g. from a crash before an unload persisted) and recreates missing ones,
  * so duplicates converge to exactly one display per crop.</p>
  *
+ * <p>With {@code render-mode: PACKET} none of that applies: a
+ * {@link VirtualCropRenderer} shows each crop to nearby players as
+ * client-only entities, nothing is spawned or tagged, and chunk
+ * reconciliation only registers the loaded crops with the renderer.</p>
+ *
  * <p>All methods must be called on the thread owning the crop's region.</p>
  */
 public final class CropVisualService {
@@ -43,15 +49,35 @@ public final class CropVisualService {
     private final CropRegistry registry;
     private final ItemResolverChain items;
     private final HarvestConfig.Visuals settings;
+    /** Set in PACKET render mode; {@code null} when crops are real entities. */
+    private final VirtualCropRenderer virtual;
 
     private long duplicatesRemoved;
     private long orphansRemoved;
 
-    public CropVisualService(Logger logger, CropRegistry registry, ItemResolverChain items, HarvestConfig.Visuals settings) {
+    public CropVisualService(Logger logger, CropRegistry registry, ItemResolverChain items,
+                             HarvestConfig.Visuals settings, VirtualCropRenderer virtual) {
         this.logger = logger;
         this.registry = registry;
         this.items = items;
         this.settings = settings;
+        this.virtual = virtual;
+    }
+
+    public boolean isVirtual() {
+        return virtual != null;
+    }
+
+    /** Receives clicks on packet-only hitboxes; ignored in ENTITY mode. */
+    public void setVirtualClickHandler(VirtualCropRenderer.ClickHandler handler) {
+        if (virtual != null) {
+            virtual.setClickHandler(handler);
+        }
+    }
+
+    /** Crops currently known to the packet renderer, or -1 in ENTITY mode. */
+    public int virtualCount() {
+        return virtual == null ? -1 : virtual.shownCount();
     }
 
     /**
@@ -72,6 +98,10 @@ public final class CropVisualService {
             return;
         }
         String modelRef = stage.get().model().toString();
+        if (virtual != null) {
+            showVirtual(crop, stage.get(), modelRef);
+            return;
+        }
 
         ItemDisplay display = findDisplay(world, crop);
         if (display != null) {
@@ -128,6 +158,10 @@ public final class CropVisualService {
     }
 
     public void removeVisual(World world, CropInstance crop) {
+        if (virtual != null) {
+            virtual.hide(crop.instanceId());
+            return;
+        }
         ItemDisplay display = findDisplay(world, crop);
         if (display != null) {
             display.remove();
@@ -140,6 +174,43 @@ public final class CropVisualService {
         crop.setHitboxEntityId(null);
     }
 
+    /**
+     * Drops a crop's visual because its chunk or world is going away. Real
+     * displays are non-persistent and leave with the chunk on their own; a
+     * packet-only one has to be taken off the clients.
+     */
+    public void release(CropInstance crop) {
+        if (virtual != null) {
+            virtual.hide(crop.instanceId());
+        }
+    }
+
+    /** Takes every packet-only crop off every client; called on disable. */
+    public void shutdown() {
+        if (virtual != null) {
+            virtual.shutdown();
+        }
+    }
+
+    private void showVirtual(CropInstance crop, StageDefinition stage, String modelRef) {
+        if (modelRef.equals(virtual.modelOf(crop.instanceId()))) {
+            return;
+        }
+        ItemStack item = items.create(stage.model(), 1).orElse(null);
+        if (item == null) {
+            logger.warning("[AlliumHarvest] Cannot render crop " + crop.cropId()
+                + ": model item " + stage.model() + " does not resolve");
+            return;
+        }
+        StageDefinition.VisualOverride visual = stage.visual();
+        virtual.show(crop.instanceId(), crop.position(), new VirtualCropRenderer.Appearance(
+            modelRef,
+            item,
+            visual.transformOr(settings.displayTransform()),
+            visual.scaleOr(settings.scale()),
+            visual.yOffsetOr(settings.yOffset())));
+    }
+
     private ItemDisplay findDisplay(World world, CropInstance crop) {
         UUID visualId = crop.visualEntityId();
         if (visualId != null) {
@@ -221,6 +292,13 @@ public final class CropVisualService {
      * crop has its display. Safe to call repeatedly.
      */
     public void reconcileChunk(Chunk chunk, Map<UUID, CropInstance> cropsInChunk) {
+        if (virtual != null) {
+            // No entities exist to reconcile; just register the crops.
+            for (CropInstance crop : cropsInChunk.values()) {
+                ensureVisual(chunk.getWorld(), crop);
+            }
+            return;
+        }
         Map<UUID, ItemDisplay> kept = new HashMap<>();
         Set<UUID> claimedVisuals = new HashSet<>();
         // Hitboxes are reconciled in the same pass as displays: they are just
@@ -0,0 +1,197 @@
+package codes.castled.allium.harvest.crop;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index of loaded, growing crops ordered by {@code nextGrowthAt}, so a growth
+ * pass only touches crops that are actually due instead of walking every
+ * loaded chunk.
+ *
+ * <p>An indexed binary min-heap: each queued crop remembers its own slot, so
+ * rescheduling and removal are O(log n) in place rather than leaving stale
+ * entries behind. The due time is copied into the heap when a crop is
+ * (re)scheduled, so the ordering never depends on a field another thread is
+ * writing. Crops attach on register and detach on unregister; while attached,
+ * every {@link CropInstance#setNextGrowthAt} / {@link CropInstance#setState}
+ * keeps the heap in step. Only crops that are {@code GROWING} with a due time
+ * are queued — mature crops cost nothing here.
+ *
+ * <p>All operations take the queue's monitor; they are short and the only
+ * contenders are region threads rescheduling single crops and the one async
+ * growth pass.
+ */
+public final class DueQueue {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private CropInstance[] heap = new CropInstance[INITIAL_CAPACITY];
+    private long[] dueAt = new long[INITIAL_CAPACITY];
+    private int size;
+
+    /** Attaches a crop to this queue and schedules it by its current state. */
+    public synchronized void attach(CropInstance crop) {
+        if (crop.dueQueue != null && crop.dueQueue != this) {
+            crop.dueQueue.detach(crop);
+        }
+        crop.dueQueue = this;
+        scheduleLocked(crop);
+    }
+
+    /** Removes a crop from the queue; later mutations no longer reschedule it. */
+    public synchronized void detach(CropInstance crop) {
+        if (crop.dueQueue != this) {
+            return;
+        }
+        removeLocked(crop);
+        crop.dueQueue = null;
+    }
+
+    /**
+     * Re-reads a crop's state and due time and moves it to the matching heap
+     * position, queueing or dropping it as needed. A no-op for crops that are
+     * not attached to this queue.
+     */
+    public synchronized void reschedule(CropInstance crop) {
+        if (crop.dueQueue != this) {
+            return;
+        }
+        scheduleLocked(crop);
+    }
+
+    /**
+     * Removes and returns up to {@code limit} crops whose due time has
+     * passed, earliest first. Returned crops stay attached: the stage advance
+     * that follows sets a new due time, which queues them again.
+     */
+    public synchronized List<CropInstance> pollDue(long now, int limit, List<CropInstance> into) {
+        while (size > 0 && into.size() < limit && dueAt[0] <= now) {
+            CropInstance crop = heap[0];
+            removeAt(0);
+            if (crop.isDue(now)) {
+                into.add(crop);
+            }
+        }
+        return into;
+    }
+
+    /** Due time of the earliest queued crop, or 0 when nothing is queued. */
+    public synchronized long nextDueAt() {
+        return size == 0 ? 0L : dueAt[0];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /** Detaches every crop; used when the whole loaded set is dropped. */
+    public synchronized void clear() {
+        for (int i = 0; i < size; i++) {
+            heap[i].dueSlot = -1;
+            heap[i].dueQueue = null;
+            heap[i] = null;
+        }
+        size = 0;
+    }
+
+    // ==================== heap internals ====================
+
+    private void scheduleLocked(CropInstance crop) {
+        long next = crop.nextGrowthAt();
+        if (crop.state() != CropState.GROWING || next <= 0L) {
+            removeLocked(crop);
+            return;
+        }
+        int slot = crop.dueSlot;
+        if (slot < 0) {
+            ensureCapacity();
+            slot = size++;
+            heap[slot] = crop;
+            dueAt[slot] = next;
+            crop.dueSlot = slot;
+            siftUp(slot);
+            return;
+        }
+        long previous = dueAt[slot];
+        dueAt[slot] = next;
+        if (next < previous) {
+            siftUp(slot);
+        } else if (next > previous) {
+            siftDown(slot);
+        }
+    }
+
+    private void removeLocked(CropInstance crop) {
+        int slot = crop.dueSlot;
+        if (slot >= 0 && slot < size && heap[slot] == crop) {
+            removeAt(slot);
+        }
+    }
+
+    private void removeAt(int slot) {
+        CropInstance removed = heap[slot];
+        removed.dueSlot = -1;
+        int last = --size;
+        if (slot != last) {
+            move(last, slot);
+            heap[last] = null;
+            siftDown(slot);
+            siftUp(slot);
+        } else {
+            heap[last] = null;
+        }
+    }
+
+    private void siftUp(int slot) {
+        CropInstance crop = heap[slot];
+        long key = dueAt[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (dueAt[parent] <= key) {
+                break;
+            }
+            move(parent, slot);
+            slot = parent;
+        }
+        place(crop, key, slot);
+    }
+
+    private void siftDown(int slot) {
+        CropInstance crop = heap[slot];
+        long key = dueAt[slot];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = (slot << 1) + 1;
+            int right = child + 1;
+            if (right < size && dueAt[right] < dueAt[child]) {
+                child = right;
+            }
+            if (key <= dueAt[child]) {
+                break;
+            }
+            move(child, slot);
+            slot = child;
+        }
+        place(crop, key, slot);
+    }
+
+    private void move(int from, int to) {
+        heap[to] = heap[from];
+        dueAt[to] = dueAt[from];
+        heap[to].dueSlot = to;
+    }
+
+    private void place(CropInstance crop, long key, int slot) {
+        heap[slot] = crop;
+        dueAt[slot] = key;
+        crop.dueSlot = slot;
+    }
+
+    private void ensureCapacity() {
+        if (size == heap.length) {
+            int grown = heap.length << 1;
+            heap = Arrays.copyOf(heap, grown);
+            dueAt = Arrays.copyOf(dueAt, grown);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package codes.castled.allium.harvest.spawner;
+
+import codes.castled.allium.harvest.util.BlockPositionKey;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.bukkit.Location;
+import org.bukkit.World;
+
+/**
+ * Revalidation state for the tracked spawners of one region section.
+ *
+ * <p>A section is a fixed square of {@code 2^SHIFT} chunks per side. Folia
+ * assigns whole sections to regions, so every spawner in a section is owned
+ * by the same region thread and one task at {@link #anchor} can check all of
+ * them. On Paper there is a single region and the split only bounds the work
+ * done per task.
+ *
+ * <p>{@link #members}, {@link #cursor} and the anchor position are touched
+ * only on the owning region thread. {@link #dirty} and {@link #nextLapTick}
+ * are also read by the async dispatcher deciding whether the section has
+ * work this tick.
+ */
+final class RevalidationRegion {
+
+    /** Folia's default region section size: 16 x 16 chunks. */
+    static final int SHIFT = 4;
+
+    final World world;
+    final long key;
+    /** Tracked positions in this section, walked round-robin by {@link #cursor}. */
+    final List<BlockPositionKey> members = new ArrayList<>();
+    private final Map<BlockPositionKey, Integer> slots = new HashMap<>();
+    int cursor;
+    /** Positions touched by block events, with the tick they may be checked from. */
+    final Map<BlockPositionKey, Long> dirty = new ConcurrentHashMap<>();
+    /** Dispatcher tick at which the next round-robin lap may start. */
+    volatile long nextLapTick;
+    /** Set while a task for this section is queued or running. */
+    final AtomicBoolean scheduled = new AtomicBoolean();
+    /** Where the section's task is scheduled; always inside a loaded chunk of the section. */
+    volatile Location anchor;
+
+    RevalidationRegion(World world, long key) {
+        this.world = world;
+        this.key = key;
+    }
+
+    void add(BlockPositionKey position) {
+        if (slots.putIfAbsent(position, members.size()) == null) {
+            members.add(position);
+        }
+        ensureAnchor(position);
+    }
+
+    void markDirty(BlockPositionKey position, long readyTick) {
+        dirty.put(position, readyTick);
+        ensureAnchor(position);
+    }
+
+    /** Swap-remove; a lap in progress may skip the moved entry once, the next lap checks it. */
+    void remove(BlockPositionKey position) {
+        Integer slot = slots.remove(position);
+        if (slot == null) {
+            return;
+        }
+        BlockPositionKey last = members.remove(members.size() - 1);
+        if (slot < members.size()) {
+            members.set(slot, last);
+            slots.put(last, slot);
+        }
+    }
+
+    boolean isEmpty() {
+        return members.isEmpty() && dirty.isEmpty();
+    }
+
+    /** Moves the anchor off a chunk that is unloading, or clears it if nothing else is loaded. */
+    void reanchorAwayFrom(int chunkX, int chunkZ) {
+        Location current = anchor;
+        if (current == null || current.getBlockX() >> 4 != chunkX || current.getBlockZ() >> 4 != chunkZ) {
+            return;
+        }
+        for (BlockPositionKey member : members) {
+            if (member.x() >> 4 != chunkX || member.z() >> 4 != chunkZ) {
+                anchor = new Location(world, member.x(), member.y(), member.z());
+                return;
+            }
+        }
+        for (BlockPositionKey pending : dirty.keySet()) {
+            if (pending.x() >> 4 != chunkX || pending.z() >> 4 != chunkZ) {
+                anchor = new Location(world, pending.x(), pending.y(), pending.z());
+                return;
+            }
+        }
+        anchor = null;
+    }
+
+    private void ensureAnchor(BlockPositionKey position) {
+        if (anchor == null) {
+            anchor = new Location(world, position.x(), position.y(), position.z());
+        }
+    }
+
+    static int sectionOf(int blockCoordinate) {
+        return blockCoordinate >> (4 + SHIFT);
+    }
+}
@@ -1,7 +1,6 @@
 package codes.castled.allium.harvest.spawner;
 
 import codes.castled.allium.harvest.util.BlockPositionKey;
-import codes.castled.allium.scheduler.SchedulerAdapter;
 import org.bukkit.Material;
 import org.bukkit.block.Block;
 import org.bukkit.event.EventHandler;
@@ -15,7 +14,6 @@ import org.bukkit.event.player.PlayerInteractEvent;
 import org.bukkit.event.world.ChunkLoadEvent;
 import org.bukkit.event.world.ChunkUnloadEvent;
 import org.bukkit.event.world.WorldUnloadEvent;
-import org.bukkit.plugin.Plugin;
 
 /**
  * Keeps the spawner tracking index in sync with world changes. All paths
@@ -24,21 +22,19 @@ import org.bukkit.plugin.Plugin;
  */
 public final class SpawnerListeners implements Listener {
 
-    private final Plugin plugin;
     private final SpawnerTrackingService tracking;
 
-    public SpawnerListeners(Plugin plugin, SpawnerTrackingService tracking) {
-        this.plugin = plugin;
+    public SpawnerListeners(SpawnerTrackingService tracking) {
         this.tracking = tracking;
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onPlace(BlockPlaceEvent event) {
         if (event.getBlockPlaced().getType() == Material.SPAWNER) {
-            // Delay one tick so the spawned type set by placement logic
-            // (e.g. spawner items with stored types) is visible.
-            SchedulerAdapter.runAtLocationLater(plugin, event.getBlockPlaced().getLocation(),
-                () -> tracking.refresh(event.getBlockPlaced()), 1L);
+            // Refreshed by the section's revalidation task once the spawned
+            // type set by placement logic (e.g. spawner items with stored
+            // types) is visible.
+            tracking.markDirty(event.getBlockPlaced());
         }
     }
 
@@ -69,14 +65,13 @@ public final class SpawnerListeners implements Listener {
 
     /**
      * Interacting with a spawner (spawn eggs, spawner-changer items) may
-     * change its type; re-converge shortly after.
+     * change its type; mark it so it re-converges shortly after.
      */
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
     public void onInteract(PlayerInteractEvent event) {
         Block block = event.getClickedBlock();
         if (block != null && block.getType() == Material.SPAWNER) {
-            SchedulerAdapter.runAtLocationLater(plugin, block.getLocation(),
-                () -> tracking.refresh(block), 2L);
+            tracking.markDirty(block);
         }
     }
 
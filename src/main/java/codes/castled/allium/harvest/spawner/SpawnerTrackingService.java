@@ -8,14 +8,15 @@ import codes.castled.allium.harvest.item.ItemResolverChain;
 import codes.castled.allium.harvest.storage.SpawnerStorage;
 import codes.castled.allium.harvest.util.BlockPositionKey;
 import codes.castled.allium.harvest.util.ChunkKey;
+import codes.castled.allium.harvest.util.PositionIndex;
 import codes.castled.allium.harvest.visual.VisualTags;
 import codes.castled.allium.scheduler.SchedulerAdapter;
-import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -51,9 +52,23 @@ import org.joml.Vector3f;
  * called any number of times, from tracking events, chunk loads, the periodic
  * revalidation sweep or admin commands, and always ends in the correct state
  * (spawner + configured model = one tagged display; anything else = none).</p>
+ *
+ * <p>Revalidation is split by region section ({@link RevalidationRegion}).
+ * Each section keeps its own round-robin cursor and gets at most one task per
+ * tick on its own region thread. Block events mark positions dirty for a full
+ * refresh; every other spawner only gets a cheap "still the same?" check, and
+ * is refreshed only if the answer is no.</p>
  */
 public final class SpawnerTrackingService {
 
+    /** Ticks between the starts of two round-robin laps over one section. */
+    private static final long LAP_INTERVAL_TICKS = 100L;
+    /**
+     * Ticks a dirty position waits before its refresh, so a type set by
+     * placement logic or a spawner-changer item after the event is visible.
+     */
+    private static final long DIRTY_SETTLE_TICKS = 2L;
+
     private final Plugin plugin;
     private final Logger logger;
     private final SpawnerModelRegistry models;
@@ -62,10 +77,16 @@ public final class SpawnerTrackingService {
     private final HarvestConfig.Spawners settings;
     private final VanillaSpawnerProvider vanillaProvider = new VanillaSpawnerProvider();
 
-    private final Map<BlockPositionKey, TrackedSpawner> tracked = new ConcurrentHashMap<>();
-    private final Map<ChunkKey, Set<BlockPositionKey>> byChunk = new ConcurrentHashMap<>();
-    /** Round-robin revalidation queue over loaded tracked spawners. */
-    private final ArrayDeque<BlockPositionKey> sweepQueue = new ArrayDeque<>();
+    /** Loaded tracked spawners by packed block key. */
+    private final PositionIndex<TrackedSpawner> tracked = new PositionIndex<>();
+    /** Tracked positions by packed chunk key. */
+    private final PositionIndex<Set<BlockPositionKey>> byChunk = new PositionIndex<>();
+    /** Revalidation state by packed region-section key. */
+    private final PositionIndex<RevalidationRegion> regions = new PositionIndex<>();
+    /** The same sections, for the dispatcher to walk without copying the index every tick. */
+    private final Set<RevalidationRegion> activeRegions = ConcurrentHashMap.newKeySet();
+    /** Ticks counted by {@link #sweep()}; only that task writes it. */
+    private volatile long sweepTick;
 
     private long duplicatesRemoved;
     private long orphansRemoved;
@@ -110,7 +131,12 @@ public final class SpawnerTrackingService {
     }
 
     public Optional<TrackedSpawner> trackedAt(BlockPositionKey position) {
-        return Optional.ofNullable(tracked.get(position));
+        return Optional.ofNullable(trackedAt(position.worldId(), position.x(), position.y(), position.z()));
+    }
+
+    /** Allocation-free lookup of the tracked spawner at a block, or {@code null}. */
+    public TrackedSpawner trackedAt(UUID worldId, int x, int y, int z) {
+        return tracked.get(worldId, PositionIndex.blockKey(x, y, z));
     }
 
     public int trackedCount() {
@@ -138,14 +164,15 @@ public final class SpawnerTrackingService {
             .orElse(null);
         int stackSize = Math.max(1, provider.getStackSize(block));
 
-        TrackedSpawner spawner = tracked.get(position);
+        TrackedSpawner spawner = tracked.get(position.worldId(), PositionIndex.blockKey(position));
         boolean isNew = spawner == null;
         String typeName = type == null ? "" : type.name();
         if (isNew) {
             spawner = new TrackedSpawner(position, typeName, null, System.currentTimeMillis());
-            tracked.put(position, spawner);
-            byChunk.computeIfAbsent(position.chunkKey(), k -> ConcurrentHashMap.newKeySet()).add(position);
-            sweepQueue.add(position);
+            tracked.put(position.worldId(), PositionIndex.blockKey(position), spawner);
+            byChunk.computeIfAbsent(position.worldId(), chunkOf(position), k -> ConcurrentHashMap.newKeySet())
+                .add(position);
+            regionOf(block.getWorld(), position).add(position);
         } else if (!typeName.equals(spawner.entityType())) {
             spawner.setEntityType(typeName);
         }
@@ -159,11 +186,15 @@ public final class SpawnerTrackingService {
 
     /** Removes tracking, persistence and any tagged visuals for a position. */
     public void untrack(World world, BlockPositionKey position) {
-        TrackedSpawner spawner = tracked.remove(position);
-        Set<BlockPositionKey> chunkSet = byChunk.get(position.chunkKey());
+        TrackedSpawner spawner = tracked.remove(position.worldId(), PositionIndex.blockKey(position));
+        Set<BlockPositionKey> chunkSet = byChunk.get(position.worldId(), chunkOf(position));
         if (chunkSet != null) {
             chunkSet.remove(position);
         }
+        RevalidationRegion region = regions.get(position.worldId(), sectionOf(position));
+        if (region != null) {
+            region.remove(position);
+        }
         boolean removedVisual = removeVisualsAt(world, position, null) > 0;
         if (spawner != null || removedVisual) {
             storage.delete(position);
@@ -187,6 +218,7 @@ public final class SpawnerTrackingService {
         if (modelOpt.isEmpty()) {
             removeVisualsAt(world, position, null);
             spawner.setVisualEntityId(null);
+            spawner.setVisualModelRef(null);
             return;
         }
         SpawnerModelRegistry.Model model = modelOpt.get();
@@ -197,6 +229,7 @@ public final class SpawnerTrackingService {
         if (unresolvableModels.contains(modelRef)) {
             removeVisualsAt(world, position, null);
             spawner.setVisualEntityId(null);
+            spawner.setVisualModelRef(null);
             return;
         }
 
@@ -224,6 +257,7 @@ public final class SpawnerTrackingService {
             }
         }
         spawner.setVisualEntityId(keep == null ? null : keep.getUniqueId());
+        spawner.setVisualModelRef(keep == null ? null : modelRef);
     }
 
     private List<ItemDisplay> taggedDisplaysAt(World world, BlockPositionKey position) {
@@ -329,36 +363,45 @@ public final class SpawnerTrackingService {
         for (BlockState state : chunk.getTileEntities()) {
             if (budget-- <= 0) break;
             if (!(state instanceof CreatureSpawner)) continue;
-            BlockPositionKey position = new BlockPositionKey(
-                chunk.getWorld().getUID(), state.getX(), state.getY(), state.getZ());
-            if (alreadySeen.contains(position) || tracked.containsKey(position)) continue;
+            UUID worldId = chunk.getWorld().getUID();
+            if (trackedAt(worldId, state.getX(), state.getY(), state.getZ()) != null) continue;
+            BlockPositionKey position = new BlockPositionKey(worldId, state.getX(), state.getY(), state.getZ());
+            if (alreadySeen.contains(position)) continue;
             refresh(state.getBlock());
         }
     }
 
     public void onChunkUnload(Chunk chunk) {
-        ChunkKey key = new ChunkKey(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
-        Set<BlockPositionKey> positions = byChunk.remove(key);
-        if (positions == null) return;
-        for (BlockPositionKey position : positions) {
-            TrackedSpawner spawner = tracked.remove(position);
+        UUID worldId = chunk.getWorld().getUID();
+        Set<BlockPositionKey> positions = byChunk.remove(worldId, PositionIndex.chunkKey(chunk.getX(), chunk.getZ()));
+        RevalidationRegion region = regions.get(worldId, PositionIndex.chunkKey(
+            chunk.getX() >> RevalidationRegion.SHIFT, chunk.getZ() >> RevalidationRegion.SHIFT));
+        for (BlockPositionKey position : positions == null ? Set.<BlockPositionKey>of() : positions) {
+            TrackedSpawner spawner = tracked.remove(worldId, PositionIndex.blockKey(position));
             if (spawner != null) {
                 storage.save(spawner);
             }
+            if (region != null) {
+                region.remove(position);
+            }
+        }
+        if (region != null) {
+            region.reanchorAwayFrom(chunk.getX(), chunk.getZ());
+            if (region.anchor == null) {
+                // Nothing loaded left in the section; it is rebuilt when something is tracked again.
+                regions.remove(worldId, region.key, region);
+                activeRegions.remove(region);
+            }
         }
         // Non-persistent visuals vanish with the chunk on their own.
     }
 
     public void onWorldUnload(UUID worldId) {
-        byChunk.keySet().removeIf(key -> key.worldId().equals(worldId));
-        tracked.keySet().removeIf(position -> position.worldId().equals(worldId));
+        byChunk.removeWorld(worldId);
+        tracked.removeWorld(worldId);
+        activeRegions.removeAll(regions.removeWorld(worldId));
     }
 
-    /**
-     * Periodic bounded revalidation of loaded tracked spawners — catches
-     * spawner type changes made by other plugins (spawner changer items,
-     * stacking plugins) without any per-spawner tasks.
-     */
     /**
      * Stops all visual work ahead of shutdown.
      *
@@ -380,33 +423,127 @@ public final class SpawnerTrackingService {
         unresolvableModels.clear();
     }
 
+    // ==================== revalidation ====================
+
+    /**
+     * Asks for a full refresh of a spawner a couple of ticks from now, e.g.
+     * after it was placed or clicked. Must run on the region thread owning
+     * the block.
+     */
+    public void markDirty(Block block) {
+        BlockPositionKey position = keyOf(block);
+        regionOf(block.getWorld(), position).markDirty(position, sweepTick + DIRTY_SETTLE_TICKS);
+    }
+
+    /**
+     * Runs every tick off the main thread and hands each section with work
+     * one task on its own region thread. A section has work when it has
+     * dirty positions, or when its next round-robin lap is due — which
+     * catches spawner changes made by other plugins (spawner changer items,
+     * stacking plugins) that fire no event we listen to.
+     */
     public void sweep() {
         if (shuttingDown) {
             return;
         }
-        int budget = Math.min(settings.maxBlockEntitiesPerTick(), tracked.size());
-        for (int i = 0; i < budget; i++) {
-            BlockPositionKey position;
-            synchronized (sweepQueue) {
-                position = sweepQueue.poll();
+        long tick = ++sweepTick;
+        for (RevalidationRegion region : activeRegions) {
+            Location anchor = region.anchor;
+            if (anchor == null || (region.dirty.isEmpty() && tick < region.nextLapTick)) {
+                continue;
+            }
+            if (!region.scheduled.compareAndSet(false, true)) {
+                continue;
             }
-            if (position == null) {
-                synchronized (sweepQueue) {
-                    sweepQueue.addAll(tracked.keySet());
+            SchedulerAdapter.runAtLocation(plugin, anchor, () -> {
+                try {
+                    revalidate(region, tick);
+                } finally {
+                    region.scheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /** One bounded pass over a section, on the region thread owning it. */
+    private void revalidate(RevalidationRegion region, long tick) {
+        if (shuttingDown) {
+            return;
+        }
+        World world = region.world;
+        int budget = settings.maxBlockEntitiesPerTick();
+
+        for (Map.Entry<BlockPositionKey, Long> entry : region.dirty.entrySet()) {
+            if (budget <= 0) break;
+            if (entry.getValue() > tick) continue;
+            BlockPositionKey position = entry.getKey();
+            region.dirty.remove(position, entry.getValue());
+            if (!world.isChunkLoaded(position.x() >> 4, position.z() >> 4)) continue;
+            refresh(world.getBlockAt(position.x(), position.y(), position.z()));
+            budget--;
+        }
+
+        if (tick >= region.nextLapTick) {
+            SpawnerProvider provider = provider();
+            while (budget > 0 && region.cursor < region.members.size()) {
+                BlockPositionKey position = region.members.get(region.cursor++);
+                budget--;
+                TrackedSpawner spawner = tracked.get(position.worldId(), PositionIndex.blockKey(position));
+                if (spawner == null || !world.isChunkLoaded(position.x() >> 4, position.z() >> 4)) continue;
+                Block block = world.getBlockAt(position.x(), position.y(), position.z());
+                if (!isUnchanged(block, spawner, provider)) {
+                    refresh(block);
                 }
-                return;
             }
-            TrackedSpawner spawner = tracked.get(position);
-            if (spawner == null) continue;
-            World world = Bukkit.getWorld(position.worldId());
-            if (world == null || !world.isChunkLoaded(position.x() >> 4, position.z() >> 4)) continue;
-            Location location = new Location(world, position.x(), position.y(), position.z());
-            SchedulerAdapter.runAtLocation(plugin, location,
-                () -> refresh(world.getBlockAt(position.x(), position.y(), position.z())));
-            synchronized (sweepQueue) {
-                sweepQueue.add(position);
+            if (region.cursor >= region.members.size()) {
+                region.cursor = 0;
+                region.nextLapTick = tick + LAP_INTERVAL_TICKS;
             }
         }
+
+        if (region.isEmpty()) {
+            regions.remove(world.getUID(), region.key, region);
+            activeRegions.remove(region);
+        }
+    }
+
+    /**
+     * Whether a tracked spawner still matches what it was last converged to:
+     * same block, same type, same model for its stack size, and that model's
+     * display still alive. Reads the block and looks up one entity; it never
+     * walks the chunk's entities or touches storage the way {@link #refresh}
+     * does.
+     */
+    private boolean isUnchanged(Block block, TrackedSpawner spawner, SpawnerProvider provider) {
+        if (block.getType() != Material.SPAWNER) {
+            return false;
+        }
+        EntityType type = provider.getEntityType(block)
+            .or(() -> vanillaProvider.getEntityType(block))
+            .orElse(null);
+        if (!(type == null ? "" : type.name()).equals(spawner.entityType())) {
+            return false;
+        }
+        String expected = models.modelFor(type)
+            .map(model -> model.itemForStack(Math.max(1, provider.getStackSize(block))).toString())
+            .filter(modelRef -> !unresolvableModels.contains(modelRef))
+            .orElse(null);
+        if (!Objects.equals(expected, spawner.visualModelRef())) {
+            return false;
+        }
+        if (expected == null) {
+            return true;
+        }
+        Entity visual = spawner.visualEntityId() == null ? null : Bukkit.getEntity(spawner.visualEntityId());
+        return visual != null && visual.isValid();
+    }
+
+    private RevalidationRegion regionOf(World world, BlockPositionKey position) {
+        return regions.computeIfAbsent(position.worldId(), sectionOf(position), key -> {
+            RevalidationRegion region = new RevalidationRegion(world, key);
+            activeRegions.add(region);
+            return region;
+        });
     }
 
     /** Rescans a bounded cube of loaded chunks around a location (admin command). */
@@ -438,6 +575,15 @@ public final class SpawnerTrackingService {
         }
     }
 
+    private static long chunkOf(BlockPositionKey position) {
+        return PositionIndex.chunkKey(position.x() >> 4, position.z() >> 4);
+    }
+
+    private static long sectionOf(BlockPositionKey position) {
+        return PositionIndex.chunkKey(
+            RevalidationRegion.sectionOf(position.x()), RevalidationRegion.sectionOf(position.z()));
+    }
+
     private static BlockPositionKey keyOf(Block block) {
         return new BlockPositionKey(block.getWorld().getUID(), block.getX(), block.getY(), block.getZ());
     }
@@ -10,6 +10,8 @@ public final class TrackedSpawner {
     private String entityType;
     private UUID visualEntityId;
     private long updatedAt;
+    /** Model the live visual shows, or {@code null}; not persisted, rebuilt on every refresh. */
+    private String visualModelRef;
 
     public TrackedSpawner(BlockPositionKey position, String entityType, UUID visualEntityId, long updatedAt) {
         this.position = position;
@@ -22,6 +24,7 @@ public final class TrackedSpawner {
     public String entityType() { return entityType; }
     public UUID visualEntityId() { return visualEntityId; }
     public long updatedAt() { return updatedAt; }
+    public String visualModelRef() { return visualModelRef; }
 
     public void setEntityType(String entityType) {
         this.entityType = entityType;
@@ -32,4 +35,8 @@ public final class TrackedSpawner {
         this.visualEntityId = visualEntityId;
         this.updatedAt = System.currentTimeMillis();
     }
+
+    public void setVisualModelRef(String visualModelRef) {
+        this.visualModelRef = visualModelRef;
+    }
 }
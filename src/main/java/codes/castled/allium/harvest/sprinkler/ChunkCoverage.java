@@ -0,0 +1,79 @@
+package codes.castled.allium.harvest.sprinkler;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed sprinkler coverage of one chunk's 16×16 block columns.
+ *
+ * <p>Coverage is a square around the sprinkler's column and ignores height,
+ * so one entry per column is enough. Each column holds the combined speed
+ * multiplier of every sprinkler reaching it and whether any of them keeps
+ * soil moist, so answering "how fast does this crop grow?" is an array read
+ * instead of a walk over nearby sprinklers.
+ *
+ * <p>Built once by stamping every sprinkler that reaches the chunk, then
+ * treated as immutable: {@link SprinklerService} swaps in a freshly built grid
+ * whenever a sprinkler nearby changes, so readers never see a half-built one.
+ */
+public final class ChunkCoverage {
+
+    private final int chunkX;
+    private final int chunkZ;
+    private final double[] speed = new double[256];
+    /** One bit per column: covered by a sprinkler that keeps soil moist. */
+    private final long[] watered = new long[4];
+    private boolean empty = true;
+
+    public ChunkCoverage(int chunkX, int chunkZ) {
+        this.chunkX = chunkX;
+        this.chunkZ = chunkZ;
+        Arrays.fill(speed, 1.0D);
+    }
+
+    /**
+     * Folds one sprinkler into the grid, clipped to this chunk.
+     *
+     * @param originX block x of the sprinkler
+     * @param originZ block z of the sprinkler
+     */
+    public void stamp(int originX, int originZ, SprinklerDefinition definition) {
+        int baseX = chunkX << 4;
+        int baseZ = chunkZ << 4;
+        int minX = Math.max(originX - definition.radius(), baseX);
+        int maxX = Math.min(originX + definition.radius(), baseX + 15);
+        int minZ = Math.max(originZ - definition.radius(), baseZ);
+        int maxZ = Math.min(originZ + definition.radius(), baseZ + 15);
+        if (minX > maxX || minZ > maxZ) {
+            return;
+        }
+        empty = false;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                int index = index(x, z);
+                speed[index] *= definition.speedMultiplier();
+                if (definition.keepsSoilMoist()) {
+                    watered[index >>> 6] |= 1L << index;
+                }
+            }
+        }
+    }
+
+    /** Whether no sprinkler reaches any column of this chunk. */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    /** Combined multiplier at a block column; {@code 1.0} when uncovered. */
+    public double speedAt(int blockX, int blockZ) {
+        return speed[index(blockX, blockZ)];
+    }
+
+    public boolean wateredAt(int blockX, int blockZ) {
+        int index = index(blockX, blockZ);
+        return (watered[index >>> 6] & (1L << index)) != 0L;
+    }
+
+    private static int index(int blockX, int blockZ) {
+        return ((blockX & 15) << 4) | (blockZ & 15);
+    }
+}
@@ -5,10 +5,13 @@ import codes.castled.allium.harvest.soil.SoilService;
 import codes.castled.allium.harvest.storage.SprinklerStorage;
 import codes.castled.allium.harvest.util.BlockPositionKey;
 import codes.castled.allium.harvest.util.ChunkKey;
+import codes.castled.allium.harvest.util.PositionIndex;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import org.bukkit.Chunk;
@@ -17,11 +20,13 @@ import org.bukkit.World;
 /**
  * Tracks placed sprinklers and answers coverage questions about them.
  *
- * <p>Coverage is resolved by looking at the chunks a position could be reached
- * from, never by scanning the world: sprinklers are indexed by chunk, and a
- * lookup only visits the chunks within the largest configured radius. With a
- * radius of one or two blocks that is a handful of map lookups, so asking "is
- * this crop watered?" stays cheap enough to do on every plant.
+ * <p>Coverage is precomputed per chunk: every loaded chunk that any sprinkler
+ * reaches has a {@link ChunkCoverage} grid holding the combined speed
+ * multiplier and watering of each block column, so asking "is this crop
+ * watered?" or "how fast does it grow?" is one map lookup and an array read.
+ * Grids are rebuilt only for the chunks a change can reach — a sprinkler
+ * placed or removed, or a chunk of sprinklers loading or unloading — and all
+ * of them after a reload, since tiers may have changed radius or multiplier.
  *
  * <p>There is no per-sprinkler task. Speed is folded into a crop's cached
  * multiplier when it is planted or when coverage changes, and soil upkeep runs
@@ -34,7 +39,13 @@ public final class SprinklerService {
     private final SoilService soils;
     private final HarvestConfig.Sprinklers config;
 
-    private final Map<ChunkKey, Map<BlockPositionKey, PlacedSprinkler>> byChunk = new ConcurrentHashMap<>();
+    /** Loaded sprinklers by packed chunk key. */
+    private final PositionIndex<Map<BlockPositionKey, PlacedSprinkler>> byChunk = new PositionIndex<>();
+    /** Coverage grids of chunks reached by at least one loaded sprinkler, by packed chunk key. */
+    private final PositionIndex<ChunkCoverage> coverage = new PositionIndex<>();
+    /** Serialises grid rebuilds so a stale build can never overwrite a newer one. */
+    private final Object coverageLock = new Object();
+    private volatile int maxRadius;
 
     public SprinklerService(SprinklerRegistry registry, SprinklerStorage storage,
                             SoilService soils, HarvestConfig.Sprinklers config) {
@@ -42,6 +53,7 @@ public final class SprinklerService {
         this.storage = storage;
         this.soils = soils;
         this.config = config;
+        this.maxRadius = computeMaxRadius();
     }
 
     public boolean isEnabled() {
@@ -51,7 +63,7 @@ public final class SprinklerService {
     // ==================== coverage ====================
 
     /** The largest radius any configured tier reaches, used to bound lookups. */
-    private int maxRadius() {
+    private int computeMaxRadius() {
         int max = 0;
         for (SprinklerDefinition definition : registry.all()) {
             max = Math.max(max, definition.radius());
@@ -59,22 +71,27 @@ public final class SprinklerService {
         return max;
     }
 
-    /** Every sprinkler whose coverage includes the given position. */
+    /**
+     * Every sprinkler whose coverage includes the given position. Walks the
+     * nearby sprinklers; hot paths use the precomputed grids through
+     * {@link #speedMultiplierAt} and {@link #isWatered} instead.
+     */
     public List<SprinklerDefinition> coveringDefinitions(BlockPositionKey position) {
         if (!config.enabled() || byChunk.isEmpty()) {
             return List.of();
         }
-        int radius = maxRadius();
+        int radius = maxRadius;
         if (radius <= 0) {
             return List.of();
         }
         List<SprinklerDefinition> covering = new ArrayList<>();
         int chunkSpan = (radius >> 4) + 1;
-        ChunkKey origin = position.chunkKey();
+        int originX = position.x() >> 4;
+        int originZ = position.z() >> 4;
         for (int dcx = -chunkSpan; dcx <= chunkSpan; dcx++) {
             for (int dcz = -chunkSpan; dcz <= chunkSpan; dcz++) {
                 Map<BlockPositionKey, PlacedSprinkler> chunk = byChunk.get(
-                    new ChunkKey(origin.worldId(), origin.chunkX() + dcx, origin.chunkZ() + dcz));
+                    position.worldId(), PositionIndex.chunkKey(originX + dcx, originZ + dcz));
                 if (chunk == null) continue;
                 for (PlacedSprinkler sprinkler : chunk.values()) {
                     registry.get(sprinkler.sprinklerId()).ifPresent(definition -> {
@@ -96,22 +113,89 @@ public final class SprinklerService {
      * clamp in {@code GrowthSpeed} keeps a stack of them from reaching zero.
      */
     public double speedMultiplierAt(BlockPositionKey position) {
-        double combined = 1.0D;
-        for (SprinklerDefinition definition : coveringDefinitions(position)) {
-            combined *= definition.speedMultiplier();
-        }
-        return combined;
+        ChunkCoverage grid = gridAt(position);
+        return grid == null ? 1.0D : grid.speedAt(position.x(), position.z());
     }
 
     /** Whether any covering sprinkler satisfies a crop's water requirement. */
     public boolean isWatered(BlockPositionKey position) {
-        return coveringDefinitions(position).stream().anyMatch(SprinklerDefinition::keepsSoilMoist);
+        ChunkCoverage grid = gridAt(position);
+        return grid != null && grid.wateredAt(position.x(), position.z());
+    }
+
+    private ChunkCoverage gridAt(BlockPositionKey position) {
+        if (!config.enabled()) {
+            return null;
+        }
+        return coverage.get(position.worldId(), PositionIndex.chunkKey(position.x() >> 4, position.z() >> 4));
+    }
+
+    // ==================== coverage grids ====================
+
+    /** Rebuilds every grid; call after the sprinkler tiers are reloaded. */
+    public void rebuildCoverage() {
+        synchronized (coverageLock) {
+            maxRadius = computeMaxRadius();
+            coverage.clear();
+            Set<ChunkKey> reached = new HashSet<>();
+            int span = chunkSpan();
+            for (UUID worldId : byChunk.worlds()) {
+                byChunk.forEachKey(worldId, key -> {
+                    int chunkX = PositionIndex.chunkX(key);
+                    int chunkZ = PositionIndex.chunkZ(key);
+                    for (int dcx = -span; dcx <= span; dcx++) {
+                        for (int dcz = -span; dcz <= span; dcz++) {
+                            reached.add(new ChunkKey(worldId, chunkX + dcx, chunkZ + dcz));
+                        }
+                    }
+                });
+            }
+            reached.forEach(this::rebuildChunk);
+        }
+    }
+
+    /** Rebuilds the grids of every chunk a sprinkler in {@code origin}'s chunk could reach. */
+    private void refreshAround(ChunkKey origin) {
+        synchronized (coverageLock) {
+            int span = chunkSpan();
+            for (int dcx = -span; dcx <= span; dcx++) {
+                for (int dcz = -span; dcz <= span; dcz++) {
+                    rebuildChunk(new ChunkKey(origin.worldId(), origin.chunkX() + dcx, origin.chunkZ() + dcz));
+                }
+            }
+        }
+    }
+
+    private void rebuildChunk(ChunkKey target) {
+        ChunkCoverage grid = new ChunkCoverage(target.chunkX(), target.chunkZ());
+        int span = chunkSpan();
+        for (int dcx = -span; dcx <= span; dcx++) {
+            for (int dcz = -span; dcz <= span; dcz++) {
+                Map<BlockPositionKey, PlacedSprinkler> chunk = byChunk.get(
+                    target.worldId(), PositionIndex.chunkKey(target.chunkX() + dcx, target.chunkZ() + dcz));
+                if (chunk == null) continue;
+                for (PlacedSprinkler sprinkler : chunk.values()) {
+                    registry.get(sprinkler.sprinklerId()).ifPresent(definition -> grid.stamp(
+                        sprinkler.position().x(), sprinkler.position().z(), definition));
+                }
+            }
+        }
+        if (grid.isEmpty()) {
+            coverage.remove(target.worldId(), PositionIndex.chunkKey(target));
+        } else {
+            coverage.put(target.worldId(), PositionIndex.chunkKey(target), grid);
+        }
+    }
+
+    /** How many chunks out from its own a sprinkler can reach. */
+    private int chunkSpan() {
+        return (maxRadius + 15) >> 4;
     }
 
     // ==================== mutations ====================
 
     public Optional<PlacedSprinkler> at(BlockPositionKey position) {
-        Map<BlockPositionKey, PlacedSprinkler> chunk = byChunk.get(position.chunkKey());
+        Map<BlockPositionKey, PlacedSprinkler> chunk = byChunk.get(position.worldId(), chunkOf(position));
         return chunk == null ? Optional.empty() : Optional.ofNullable(chunk.get(position));
     }
 
@@ -119,20 +203,21 @@ public final class SprinklerService {
     public Optional<PlacedSprinkler> place(BlockPositionKey position, SprinklerDefinition definition,
                                            UUID owner, long now) {
         Map<BlockPositionKey, PlacedSprinkler> chunk =
-            byChunk.computeIfAbsent(position.chunkKey(), key -> new ConcurrentHashMap<>());
+            byChunk.computeIfAbsent(position.worldId(), chunkOf(position), key -> new ConcurrentHashMap<>());
         if (!chunk.containsKey(position) && chunk.size() >= config.maxPerChunk()) {
             return Optional.empty();
         }
         PlacedSprinkler placed = new PlacedSprinkler(position, definition.id(), now, owner, null);
         chunk.put(position, placed);
+        refreshAround(position.chunkKey());
         storage.save(placed);
         return Optional.of(placed);
     }
 
     public void remove(BlockPositionKey position) {
-        Map<BlockPositionKey, PlacedSprinkler> chunk = byChunk.get(position.chunkKey());
-        if (chunk != null) {
-            chunk.remove(position);
+        Map<BlockPositionKey, PlacedSprinkler> chunk = byChunk.get(position.worldId(), chunkOf(position));
+        if (chunk != null && chunk.remove(position) != null) {
+            refreshAround(position.chunkKey());
         }
         storage.delete(position);
     }
@@ -183,19 +268,28 @@ public final class SprinklerService {
             for (PlacedSprinkler sprinkler : records) {
                 loaded.put(sprinkler.position(), sprinkler);
             }
-            byChunk.put(key, loaded);
+            byChunk.put(key.worldId(), PositionIndex.chunkKey(key), loaded);
+            refreshAround(key);
         });
     }
 
     public void onChunkUnload(Chunk chunk) {
-        byChunk.remove(new ChunkKey(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ()));
+        ChunkKey key = new ChunkKey(chunk.getWorld().getUID(), chunk.getX(), chunk.getZ());
+        if (byChunk.remove(key.worldId(), PositionIndex.chunkKey(key)) != null) {
+            refreshAround(key);
+        }
     }
 
     public void onWorldUnload(World world) {
-        byChunk.keySet().removeIf(key -> key.worldId().equals(world.getUID()));
+        byChunk.removeWorld(world.getUID());
+        coverage.removeWorld(world.getUID());
     }
 
     public int loadedCount() {
         return byChunk.values().stream().mapToInt(Map::size).sum();
     }
+
+    private static long chunkOf(BlockPositionKey position) {
+        return PositionIndex.chunkKey(position.x() >> 4, position.z() >> 4);
+    }
 }
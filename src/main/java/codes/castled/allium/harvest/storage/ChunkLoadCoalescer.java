@@ -0,0 +1,141 @@
+package codes.castled.allium.harvest.storage;
+
+import codes.castled.allium.harvest.util.ChunkKey;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gathers per-chunk load requests that arrive within a few milliseconds of
+ * each other and answers them with one range query per region instead of one
+ * query per chunk.
+ *
+ * <p>When a player flies into a farm district hundreds of chunks load at
+ * once; each would otherwise cost its own round-trip per table. Requests are
+ * held for a short window (or until the batch is full), grouped by world and
+ * 32×32-chunk region, and handed to the bulk loader as the bounding box of the
+ * requested chunks in that region. Rows come back bucketed by chunk and each
+ * caller's future completes with just its own chunk's rows; rows for chunks
+ * inside the box that nobody asked for are dropped.
+ */
+final class ChunkLoadCoalescer<T> {
+
+    /** How long the first request of a batch waits for company. */
+    static final long WINDOW_MILLIS = 5L;
+    /** A batch this large is sent without waiting out the window. */
+    static final int MAX_BATCH = 256;
+    /** Region edge in chunks, as a shift: 5 means 32×32 chunks. */
+    private static final int REGION_SHIFT = 5;
+
+    /**
+     * Inclusive chunk-coordinate bounds of one query, with the block ranges
+     * the tables are indexed on.
+     */
+    record Bounds(UUID worldId, int minChunkX, int maxChunkX, int minChunkZ, int maxChunkZ) {
+        int minBlockX() { return minChunkX << 4; }
+        int maxBlockX() { return (maxChunkX << 4) + 15; }
+        int minBlockZ() { return minChunkZ << 4; }
+        int maxBlockZ() { return (maxChunkZ << 4) + 15; }
+    }
+
+    @FunctionalInterface
+    interface BulkLoader<T> {
+        /** Loads every row inside the bounds, keyed by the chunk it belongs to. */
+        CompletableFuture<Map<ChunkKey, List<T>>> load(Bounds bounds);
+    }
+
+    private record RegionKey(UUID worldId, int regionX, int regionZ) {}
+
+    private final BulkLoader<T> loader;
+    private final Executor delayed = CompletableFuture.delayedExecutor(WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+    private final Object lock = new Object();
+    private Map<ChunkKey, CompletableFuture<List<T>>> pending = new HashMap<>();
+    private boolean flushScheduled;
+
+    ChunkLoadCoalescer(BulkLoader<T> loader) {
+        this.loader = loader;
+    }
+
+    /** Loads one chunk's rows as part of the next batch. */
+    CompletableFuture<List<T>> load(ChunkKey chunk) {
+        CompletableFuture<List<T>> future;
+        boolean flushNow = false;
+        boolean schedule = false;
+        synchronized (lock) {
+            future = pending.computeIfAbsent(chunk, k -> new CompletableFuture<>());
+            if (pending.size() >= MAX_BATCH) {
+                flushNow = true;
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                schedule = true;
+            }
+        }
+        if (flushNow) {
+            flush();
+        } else if (schedule) {
+            delayed.execute(this::flush);
+        }
+        return future;
+    }
+
+    private void flush() {
+        Map<ChunkKey, CompletableFuture<List<T>>> batch;
+        synchronized (lock) {
+            batch = pending;
+            pending = new HashMap<>();
+            flushScheduled = false;
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        Map<RegionKey, List<ChunkKey>> byRegion = new HashMap<>();
+        for (ChunkKey chunk : batch.keySet()) {
+            byRegion.computeIfAbsent(
+                new RegionKey(chunk.worldId(), chunk.chunkX() >> REGION_SHIFT, chunk.chunkZ() >> REGION_SHIFT),
+                k -> new ArrayList<>()).add(chunk);
+        }
+        for (Map.Entry<RegionKey, List<ChunkKey>> region : byRegion.entrySet()) {
+            List<ChunkKey> chunks = region.getValue();
+            CompletableFuture<Map<ChunkKey, List<T>>> rows;
+            try {
+                rows = loader.load(bounds(region.getKey().worldId(), chunks));
+            } catch (RuntimeException e) {
+                // Thrown before the loader had a future to fail; the callers must still hear about it
+                complete(batch, chunks, null, e);
+                continue;
+            }
+            rows.whenComplete((loaded, error) -> complete(batch, chunks, loaded, error));
+        }
+    }
+
+    private static <T> void complete(Map<ChunkKey, CompletableFuture<List<T>>> batch, List<ChunkKey> chunks,
+                                     Map<ChunkKey, List<T>> rows, Throwable error) {
+        for (ChunkKey chunk : chunks) {
+            CompletableFuture<List<T>> future = batch.get(chunk);
+            if (error != null) {
+                future.completeExceptionally(error);
+            } else {
+                future.complete(rows.getOrDefault(chunk, List.of()));
+            }
+        }
+    }
+
+    private static Bounds bounds(UUID worldId, List<ChunkKey> chunks) {
+        int minX = Integer.MAX_VALUE;
+        int maxX = Integer.MIN_VALUE;
+        int minZ = Integer.MAX_VALUE;
+        int maxZ = Integer.MIN_VALUE;
+        for (ChunkKey chunk : chunks) {
+            minX = Math.min(minX, chunk.chunkX());
+            maxX = Math.max(maxX, chunk.chunkX());
+            minZ = Math.min(minZ, chunk.chunkZ());
+            maxZ = Math.max(maxZ, chunk.chunkZ());
+        }
+        return new Bounds(worldId, minX, maxX, minZ, maxZ);
+    }
+}
@@ -10,33 +10,57 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Asynchronous persistence for crop instances and their occupied cells.
- * Saves are coalesced per instance in a pending queue and flushed in batches;
- * deletes and inserts of new instances are written immediately so a crash
- * cannot resurrect a harvested crop or lose a planted one.
+ *
+ * <p>Routine saves are written behind: {@link #saveLater} copies the crop on
+ * the caller's (region) thread into a lock-free buffer keyed by instance id,
+ * so any number of changes to one crop between flushes cost a single row and
+ * the database thread never reads a crop a region thread is changing. {@link #flush()} drains the buffer
+ * on the database thread and writes it as multi-row upserts sized for the
+ * dialect, in one transaction. Draining on the database thread also orders
+ * every flushed row before any delete queued after it, so a harvested crop
+ * can never be resurrected by a late save. When the backlog passes the
+ * configured threshold a flush starts early instead of waiting for the next
+ * interval; if it keeps growing to twice the threshold the flushes are not
+ * keeping up, and {@link #isBackedUp()} tells the growth engine to stop
+ * producing writes until they catch up. Deletes and inserts of new instances are written immediately so a
+ * crash cannot resurrect a harvested crop or lose a planted one.
  */
 public final class CropStorage {
 
     private final HarvestDatabase db;
-    private final Map<UUID, CropInstance> pendingSaves = new LinkedHashMap<>();
-    private final Object pendingLock = new Object();
+    private final int maxPendingWrites;
+    private final Map<UUID, CropSnapshot> pendingSaves = new ConcurrentHashMap<>();
+    /** The flush submitted but not yet started, shared by every caller meanwhile. */
+    private final AtomicReference<CompletableFuture<Void>> queuedFlush = new AtomicReference<>();
+    private final ChunkLoadCoalescer<CropInstance> chunkLoads = new ChunkLoadCoalescer<>(this::loadRegion);
 
-    public CropStorage(HarvestDatabase db) {
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder earlyFlushes = new LongAdder();
+    private volatile int lastFlushRows;
+    private volatile long lastFlushNanos;
+    private volatile long maxFlushNanos;
+
+    public CropStorage(HarvestDatabase db, int maxPendingWrites) {
         this.db = db;
+        this.maxPendingWrites = maxPendingWrites;
     }
 
     // ==================== write path ====================
 
     /** Immediate durable write — used for planting and stage transitions. */
     public CompletableFuture<Void> saveNow(CropInstance crop) {
-        CropSnapshot snapshot = snapshot(crop);
+        List<CropSnapshot> snapshot = List.of(snapshot(crop));
         return db.run(connection -> {
             upsert(connection, snapshot);
             writeCells(connection, snapshot);
@@ -45,38 +69,110 @@ public final class CropStorage {
 
     /** Queued write — coalesced until the next {@link #flush()}. */
     public void saveLater(CropInstance crop) {
-        synchronized (pendingLock) {
-            pendingSaves.put(crop.instanceId(), crop);
+        if (pendingSaves.put(crop.instanceId(), snapshot(crop)) == null
+            && pendingSaves.size() >= maxPendingWrites
+            && queuedFlush.get() == null) {
+            earlyFlushes.increment();
+            flush();
         }
     }
 
     public int pendingWrites() {
-        synchronized (pendingLock) {
-            return pendingSaves.size();
-        }
+        return pendingSaves.size();
+    }
+
+    /**
+     * Whether the buffer has outgrown early flushes, i.e. writes arrive faster
+     * than the database takes them. Producers that can wait should hold off.
+     */
+    public boolean isBackedUp() {
+        return pendingSaves.size() >= 2L * maxPendingWrites;
     }
 
     public CompletableFuture<Void> flush() {
-        List<CropSnapshot> batch;
-        synchronized (pendingLock) {
-            if (pendingSaves.isEmpty()) {
-                return CompletableFuture.completedFuture(null);
-            }
-            batch = pendingSaves.values().stream().map(CropStorage::snapshot).toList();
-            pendingSaves.clear();
+        if (pendingSaves.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
         }
-        return db.run(connection -> {
-            for (CropSnapshot snapshot : batch) {
-                upsert(connection, snapshot);
-                writeCells(connection, snapshot);
+        CompletableFuture<Void> next = new CompletableFuture<>();
+        CompletableFuture<Void> queued = queuedFlush.compareAndExchange(null, next);
+        if (queued != null) {
+            // A flush that has not started yet will pick up everything
+            // buffered so far; piggyback on it instead of queueing another.
+            return queued;
+        }
+        db.run(connection -> {
+            queuedFlush.compareAndSet(next, null);
+            drain(connection);
+        }).whenComplete((ignored, error) -> {
+            queuedFlush.compareAndSet(next, null);
+            if (error != null) {
+                next.completeExceptionally(error);
+            } else {
+                next.complete(null);
             }
         });
+        return next;
     }
 
-    public CompletableFuture<Void> delete(UUID instanceId) {
-        synchronized (pendingLock) {
-            pendingSaves.remove(instanceId);
+    /** Database thread: writes everything buffered right now. */
+    private void drain(Connection connection) throws SQLException {
+        long started = System.nanoTime();
+        List<CropSnapshot> drained = new ArrayList<>(pendingSaves.size());
+        for (UUID instanceId : pendingSaves.keySet()) {
+            CropSnapshot crop = pendingSaves.remove(instanceId);
+            if (crop != null) {
+                drained.add(crop);
+            }
         }
+        if (drained.isEmpty()) {
+            return;
+        }
+        int rowsPerStatement = db.dialect().upsertRows();
+        boolean autoCommit = connection.getAutoCommit();
+        try {
+            connection.setAutoCommit(false);
+            for (int from = 0; from < drained.size(); from += rowsPerStatement) {
+                List<CropSnapshot> batch = drained
+                    .subList(from, Math.min(drained.size(), from + rowsPerStatement));
+                upsert(connection, batch);
+                writeCells(connection, batch);
+            }
+            connection.commit();
+        } catch (SQLException e) {
+            connection.rollback();
+            // Put the crops back unless a newer save (or a delete) has
+            // superseded them, so a transient failure only delays the write.
+            for (CropSnapshot crop : drained) {
+                if (!CropState.REMOVED.name().equals(crop.state())) {
+                    pendingSaves.putIfAbsent(crop.instanceId(), crop);
+                }
+            }
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        long elapsed = System.nanoTime() - started;
+        flushes.increment();
+        flushedRows.add(drained.size());
+        lastFlushRows = drained.size();
+        lastFlushNanos = elapsed;
+        if (elapsed > maxFlushNanos) {
+            maxFlushNanos = elapsed;
+        }
+    }
+
+    // ==================== write metrics ====================
+
+    public int lastFlushRows() { return lastFlushRows; }
+    public long lastFlushNanos() { return lastFlushNanos; }
+    public long maxFlushNanos() { return maxFlushNanos; }
+    public long flushCount() { return flushes.sum(); }
+    public long flushedRows() { return flushedRows.sum(); }
+    /** Flushes started early because the backlog passed the threshold. */
+    public long earlyFlushes() { return earlyFlushes.sum(); }
+
+    public CompletableFuture<Void> delete(UUID instanceId) {
+        pendingSaves.remove(instanceId);
         return db.run(connection -> {
             try (PreparedStatement ps = connection.prepareStatement(
                 "DELETE FROM " + db.table("harvest_crops") + " WHERE instance_uuid = ?")) {
@@ -93,23 +189,25 @@ public final class CropStorage {
 
     // ==================== read path ====================
 
-    /** Loads all crops anchored inside one chunk, including their cells. */
+    /**
+     * Loads all crops anchored inside one chunk, including their cells.
+     * Batched with other chunks loading at the same time, so a burst of chunk
+     * loads costs two range queries (cells, then crops) per region.
+     */
     public CompletableFuture<List<CropInstance>> loadChunk(ChunkKey chunk) {
-        int minX = chunk.chunkX() << 4;
-        int minZ = chunk.chunkZ() << 4;
+        return chunkLoads.load(chunk);
+    }
+
+    private CompletableFuture<Map<ChunkKey, List<CropInstance>>> loadRegion(ChunkLoadCoalescer.Bounds bounds) {
         return db.supply(connection -> {
-            List<CropInstance> crops = new ArrayList<>();
+            Map<ChunkKey, List<CropInstance>> crops = new HashMap<>();
             Map<UUID, List<BlockPositionKey>> cellsByInstance = new HashMap<>();
             try (PreparedStatement ps = connection.prepareStatement(
                 "SELECT c.instance_uuid, c.world_uuid, c.x, c.y, c.z FROM "
                     + db.table("harvest_crop_cells") + " c JOIN " + db.table("harvest_crops") + " r"
                     + " ON c.instance_uuid = r.instance_uuid"
                     + " WHERE r.world_uuid = ? AND r.x BETWEEN ? AND ? AND r.z BETWEEN ? AND ?")) {
-                ps.setString(1, chunk.worldId().toString());
-                ps.setInt(2, minX);
-                ps.setInt(3, minX + 15);
-                ps.setInt(4, minZ);
-                ps.setInt(5, minZ + 15);
+                bindBounds(ps, bounds);
                 try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) {
                         UUID instance = UUID.fromString(rs.getString(1));
@@ -124,14 +222,11 @@ public final class CropStorage {
                     + " planted_at, stage_started_at, next_growth_at, remaining_ms,"
                     + " planter_uuid, visual_uuid, fertilizer_id, speed_multiplier FROM " + db.table("harvest_crops")
                     + " WHERE world_uuid = ? AND x BETWEEN ? AND ? AND z BETWEEN ? AND ?")) {
-                ps.setString(1, chunk.worldId().toString());
-                ps.setInt(2, minX);
-                ps.setInt(3, minX + 15);
-                ps.setInt(4, minZ);
-                ps.setInt(5, minZ + 15);
+                bindBounds(ps, bounds);
                 try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) {
-                        crops.add(read(rs, cellsByInstance));
+                        CropInstance crop = read(rs, cellsByInstance);
+                        crops.computeIfAbsent(crop.position().chunkKey(), k -> new ArrayList<>()).add(crop);
                     }
                 }
             }
@@ -139,6 +234,14 @@ public final class CropStorage {
         });
     }
 
+    private static void bindBounds(PreparedStatement ps, ChunkLoadCoalescer.Bounds bounds) throws SQLException {
+        ps.setString(1, bounds.worldId().toString());
+        ps.setInt(2, bounds.minBlockX());
+        ps.setInt(3, bounds.maxBlockX());
+        ps.setInt(4, bounds.minBlockZ());
+        ps.setInt(5, bounds.maxBlockZ());
+    }
+
     /** Loads the crop that occupies (owns a cell at) the given position, if any. */
     public CompletableFuture<CropInstance> loadAt(BlockPositionKey position) {
         return db.supply(connection -> {
@@ -205,72 +308,84 @@ public final class CropStorage {
             crop.fertilizerId(), crop.speedMultiplier(), crop.cells());
     }
 
-    private void upsert(Connection connection, CropSnapshot crop) throws SQLException {
-        String table = db.table("harvest_crops");
-        String update = "crop_id = ?, path_id = ?, stage = ?, state = ?, stage_started_at = ?,"
-            + " next_growth_at = ?, remaining_ms = ?, visual_uuid = ?, fertilizer_id = ?,"
-            + " speed_multiplier = ?";
-        String sql = db.dialect() == HarvestDatabase.Dialect.SQLITE
-            ? "INSERT INTO " + table + " (instance_uuid, crop_id, path_id, world_uuid, x, y, z,"
-                + " stage, state, planted_at, stage_started_at, next_growth_at, remaining_ms,"
-                + " planter_uuid, visual_uuid, fertilizer_id, speed_multiplier)"
-                + " VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)"
-                + " ON CONFLICT(instance_uuid) DO UPDATE SET " + update
-            : "INSERT INTO " + table + " (instance_uuid, crop_id, path_id, world_uuid, x, y, z,"
-                + " stage, state, planted_at, stage_started_at, next_growth_at, remaining_ms,"
-                + " planter_uuid, visual_uuid, fertilizer_id, speed_multiplier)"
-                + " VALUES (?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)"
-                + " ON DUPLICATE KEY UPDATE " + update;
-        try (PreparedStatement ps = connection.prepareStatement(sql)) {
+    private static final String COLUMNS = "instance_uuid, crop_id, path_id, world_uuid, x, y, z,"
+        + " stage, state, planted_at, stage_started_at, next_growth_at, remaining_ms,"
+        + " planter_uuid, visual_uuid, fertilizer_id, speed_multiplier";
+    private static final String ROW_PLACEHOLDERS = "(?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?,?)";
+    /** Columns rewritten when the row already exists; identity and position never change. */
+    private static final List<String> UPDATED_COLUMNS = List.of(
+        "crop_id", "path_id", "stage", "state", "stage_started_at", "next_growth_at",
+        "remaining_ms", "visual_uuid", "fertilizer_id", "speed_multiplier");
+
+    /** Writes all given crops with a single multi-row upsert statement. */
+    private void upsert(Connection connection, List<CropSnapshot> crops) throws SQLException {
+        StringBuilder sql = new StringBuilder(128 + crops.size() * 36)
+            .append("INSERT INTO ").append(db.table("harvest_crops"))
+            .append(" (").append(COLUMNS).append(") VALUES ");
+        for (int row = 0; row < crops.size(); row++) {
+            if (row > 0) sql.append(',');
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        boolean sqlite = db.dialect() == HarvestDatabase.Dialect.SQLITE;
+        sql.append(sqlite ? " ON CONFLICT(instance_uuid) DO UPDATE SET " : " ON DUPLICATE KEY UPDATE ");
+        for (int i = 0; i < UPDATED_COLUMNS.size(); i++) {
+            String column = UPDATED_COLUMNS.get(i);
+            if (i > 0) sql.append(", ");
+            sql.append(column).append(" = ")
+                .append(sqlite ? "excluded." + column : "VALUES(" + column + ")");
+        }
+        try (PreparedStatement ps = connection.prepareStatement(sql.toString())) {
             int i = 1;
-            ps.setString(i++, crop.instanceId().toString());
-            ps.setString(i++, crop.cropId());
-            ps.setString(i++, crop.pathId());
-            ps.setString(i++, crop.position().worldId().toString());
-            ps.setInt(i++, crop.position().x());
-            ps.setInt(i++, crop.position().y());
-            ps.setInt(i++, crop.position().z());
-            ps.setInt(i++, crop.stage());
-            ps.setString(i++, crop.state());
-            ps.setLong(i++, crop.plantedAt());
-            ps.setLong(i++, crop.stageStartedAt());
-            ps.setLong(i++, crop.nextGrowthAt());
-            ps.setLong(i++, crop.remainingMs());
-            ps.setString(i++, crop.planter() == null ? null : crop.planter().toString());
-            ps.setString(i++, crop.visual() == null ? null : crop.visual().toString());
-            ps.setString(i++, crop.fertilizerId());
-            ps.setDouble(i++, crop.speedMultiplier());
-            // update clause
-            ps.setString(i++, crop.cropId());
-            ps.setString(i++, crop.pathId());
-            ps.setInt(i++, crop.stage());
-            ps.setString(i++, crop.state());
-            ps.setLong(i++, crop.stageStartedAt());
-            ps.setLong(i++, crop.nextGrowthAt());
-            ps.setLong(i++, crop.remainingMs());
-            ps.setString(i++, crop.visual() == null ? null : crop.visual().toString());
-            ps.setString(i++, crop.fertilizerId());
-            ps.setDouble(i, crop.speedMultiplier());
+            for (CropSnapshot crop : crops) {
+                ps.setString(i++, crop.instanceId().toString());
+                ps.setString(i++, crop.cropId());
+                ps.setString(i++, crop.pathId());
+                ps.setString(i++, crop.position().worldId().toString());
+                ps.setInt(i++, crop.position().x());
+                ps.setInt(i++, crop.position().y());
+                ps.setInt(i++, crop.position().z());
+                ps.setInt(i++, crop.stage());
+                ps.setString(i++, crop.state());
+                ps.setLong(i++, crop.plantedAt());
+                ps.setLong(i++, crop.stageStartedAt());
+                ps.setLong(i++, crop.nextGrowthAt());
+                ps.setLong(i++, crop.remainingMs());
+                ps.setString(i++, crop.planter() == null ? null : crop.planter().toString());
+                ps.setString(i++, crop.visual() == null ? null : crop.visual().toString());
+                ps.setString(i++, crop.fertilizerId());
+                ps.setDouble(i++, crop.speedMultiplier());
+            }
             ps.executeUpdate();
         }
     }
 
-    private void writeCells(Connection connection, CropSnapshot crop) throws SQLException {
+    /** Replaces the cell rows of all given crops: one delete, one insert batch. */
+    private void writeCells(Connection connection, List<CropSnapshot> crops) throws SQLException {
         String table = db.table("harvest_crop_cells");
-        try (PreparedStatement ps = connection.prepareStatement(
-            "DELETE FROM " + table + " WHERE instance_uuid = ?")) {
-            ps.setString(1, crop.instanceId().toString());
+        StringBuilder delete = new StringBuilder("DELETE FROM ").append(table)
+            .append(" WHERE instance_uuid IN (");
+        for (int row = 0; row < crops.size(); row++) {
+            delete.append(row == 0 ? "?" : ",?");
+        }
+        delete.append(')');
+        try (PreparedStatement ps = connection.prepareStatement(delete.toString())) {
+            int i = 1;
+            for (CropSnapshot crop : crops) {
+                ps.setString(i++, crop.instanceId().toString());
+            }
             ps.executeUpdate();
         }
         try (PreparedStatement ps = connection.prepareStatement(
             "INSERT INTO " + table + " (instance_uuid, world_uuid, x, y, z) VALUES (?,?,?,?,?)")) {
-            for (BlockPositionKey cell : crop.cells()) {
-                ps.setString(1, crop.instanceId().toString());
-                ps.setString(2, cell.worldId().toString());
-                ps.setInt(3, cell.x());
-                ps.setInt(4, cell.y());
-                ps.setInt(5, cell.z());
-                ps.addBatch();
+            for (CropSnapshot crop : crops) {
+                for (BlockPositionKey cell : crop.cells()) {
+                    ps.setString(1, crop.instanceId().toString());
+                    ps.setString(2, cell.worldId().toString());
+                    ps.setInt(3, cell.x());
+                    ps.setInt(4, cell.y());
+                    ps.setInt(5, cell.z());
+                    ps.addBatch();
+                }
             }
             ps.executeBatch();
         }
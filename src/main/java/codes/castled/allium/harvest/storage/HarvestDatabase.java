@@ -26,7 +26,25 @@ import java.util.logging.Logger;
  */
 public final class HarvestDatabase implements AutoCloseable {
 
-    public enum Dialect { H2, SQLITE, MYSQL }
+    /**
+     * Supported backends. {@code upsertRows} caps how many rows go into one
+     * multi-row upsert: SQLite builds without a raised variable limit accept
+     * only 999 bind parameters per statement, while H2 and MySQL take far
+     * larger statements and benefit from fewer round-trips.
+     */
+    public enum Dialect {
+        H2(200), SQLITE(50), MYSQL(500);
+
+        private final int upsertRows;
+
+        Dialect(int upsertRows) {
+            this.upsertRows = upsertRows;
+        }
+
+        public int upsertRows() {
+            return upsertRows;
+        }
+    }
 
     /** Connection settings parsed from harvest/config.yml. */
     public record Settings(
@@ -6,7 +6,9 @@ import codes.castled.allium.harvest.util.ChunkKey;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -14,6 +16,7 @@ import java.util.concurrent.CompletableFuture;
 public final class SoilStorage {
 
     private final HarvestDatabase db;
+    private final ChunkLoadCoalescer<SoilState> chunkLoads = new ChunkLoadCoalescer<>(this::loadRegion);
 
     public SoilStorage(HarvestDatabase db) {
         this.db = db;
@@ -63,28 +66,32 @@ public final class SoilStorage {
         });
     }
 
+    /** Loads one chunk's soil; batched with other chunks loading at the same time. */
     public CompletableFuture<List<SoilState>> loadChunk(ChunkKey chunk) {
-        int minX = chunk.chunkX() << 4;
-        int minZ = chunk.chunkZ() << 4;
+        return chunkLoads.load(chunk);
+    }
+
+    private CompletableFuture<Map<ChunkKey, List<SoilState>>> loadRegion(ChunkLoadCoalescer.Bounds bounds) {
         return db.supply(connection -> {
-            List<SoilState> soils = new ArrayList<>();
+            Map<ChunkKey, List<SoilState>> soils = new HashMap<>();
             try (PreparedStatement ps = connection.prepareStatement(
                 "SELECT world_uuid, x, y, z, established_at, exhausted_at, fertilizer_id FROM "
                     + db.table("harvest_soil")
                     + " WHERE world_uuid = ? AND x BETWEEN ? AND ? AND z BETWEEN ? AND ?")) {
-                ps.setString(1, chunk.worldId().toString());
-                ps.setInt(2, minX);
-                ps.setInt(3, minX + 15);
-                ps.setInt(4, minZ);
-                ps.setInt(5, minZ + 15);
+                ps.setString(1, bounds.worldId().toString());
+                ps.setInt(2, bounds.minBlockX());
+                ps.setInt(3, bounds.maxBlockX());
+                ps.setInt(4, bounds.minBlockZ());
+                ps.setInt(5, bounds.maxBlockZ());
                 try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) {
-                        soils.add(new SoilState(
+                        SoilState soil = new SoilState(
                             new BlockPositionKey(UUID.fromString(rs.getString("world_uuid")),
                                 rs.getInt("x"), rs.getInt("y"), rs.getInt("z")),
                             rs.getLong("established_at"),
                             rs.getLong("exhausted_at"),
-                            rs.getString("fertilizer_id")));
+                            rs.getString("fertilizer_id"));
+                        soils.computeIfAbsent(soil.position().chunkKey(), k -> new ArrayList<>()).add(soil);
                     }
                 }
             }
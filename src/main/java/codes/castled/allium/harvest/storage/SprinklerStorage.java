@@ -6,7 +6,9 @@ import codes.castled.allium.harvest.util.ChunkKey;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 
@@ -14,6 +16,7 @@ import java.util.concurrent.CompletableFuture;
 public final class SprinklerStorage {
 
     private final HarvestDatabase db;
+    private final ChunkLoadCoalescer<PlacedSprinkler> chunkLoads = new ChunkLoadCoalescer<>(this::loadRegion);
 
     public SprinklerStorage(HarvestDatabase db) {
         this.db = db;
@@ -64,31 +67,36 @@ public final class SprinklerStorage {
         });
     }
 
+    /** Loads one chunk's sprinklers; batched with other chunks loading at the same time. */
     public CompletableFuture<List<PlacedSprinkler>> loadChunk(ChunkKey chunk) {
-        int minX = chunk.chunkX() << 4;
-        int minZ = chunk.chunkZ() << 4;
+        return chunkLoads.load(chunk);
+    }
+
+    private CompletableFuture<Map<ChunkKey, List<PlacedSprinkler>>> loadRegion(ChunkLoadCoalescer.Bounds bounds) {
         return db.supply(connection -> {
-            List<PlacedSprinkler> sprinklers = new ArrayList<>();
+            Map<ChunkKey, List<PlacedSprinkler>> sprinklers = new HashMap<>();
             try (PreparedStatement ps = connection.prepareStatement(
                 "SELECT world_uuid, x, y, z, sprinkler_id, visual_uuid, placed_at, owner_uuid FROM "
                     + db.table("harvest_sprinklers")
                     + " WHERE world_uuid = ? AND x BETWEEN ? AND ? AND z BETWEEN ? AND ?")) {
-                ps.setString(1, chunk.worldId().toString());
-                ps.setInt(2, minX);
-                ps.setInt(3, minX + 15);
-                ps.setInt(4, minZ);
-                ps.setInt(5, minZ + 15);
+                ps.setString(1, bounds.worldId().toString());
+                ps.setInt(2, bounds.minBlockX());
+                ps.setInt(3, bounds.maxBlockX());
+                ps.setInt(4, bounds.minBlockZ());
+                ps.setInt(5, bounds.maxBlockZ());
                 try (ResultSet rs = ps.executeQuery()) {
                     while (rs.next()) {
                         String visualRaw = rs.getString("visual_uuid");
                         String ownerRaw = rs.getString("owner_uuid");
-                        sprinklers.add(new PlacedSprinkler(
+                        PlacedSprinkler sprinkler = new PlacedSprinkler(
                             new BlockPositionKey(UUID.fromString(rs.getString("world_uuid")),
                                 rs.getInt("x"), rs.getInt("y"), rs.getInt("z")),
                             rs.getString("sprinkler_id"),
                             rs.getLong("placed_at"),
                             ownerRaw == null ? null : UUID.fromString(ownerRaw),
-                            visualRaw == null ? null : UUID.fromString(visualRaw)));
+                            visualRaw == null ? null : UUID.fromString(visualRaw));
+                        sprinklers.computeIfAbsent(sprinkler.position().chunkKey(), k -> new ArrayList<>())
+                            .add(sprinkler);
                     }
                 }
             }
@@ -0,0 +1,242 @@
+package codes.castled.allium.harvest.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Thread-safe index of values by world and packed position.
+ *
+ * <p>Each world gets its own {@link LongKeyedMap} keyed by a packed block
+ * position ({@link #blockKey}) or chunk position ({@link #chunkKey}), so a
+ * lookup is one world-map hit plus an allocation-free probe — no
+ * {@link BlockPositionKey} or {@link ChunkKey} record has to be built and no
+ * UUID has to be hashed per cell. Callers pick one key kind per index.
+ *
+ * <p>Reads use an optimistic {@link StampedLock} stamp and only fall back to
+ * the read lock when a writer got in the way, so region threads checking
+ * occupancy never block each other. Bulk iteration copies the values out
+ * under the read lock and runs the callback afterwards: callbacks are free to
+ * mutate the index.
+ */
+public final class PositionIndex<V> {
+
+    private final Map<UUID, Shard<V>> worlds = new ConcurrentHashMap<>();
+
+    // ==================== key packing ====================
+
+    /**
+     * Packs a block position into 64 bits: 26 bits each for x and z, 12 for
+     * y. Covers the full ±30,000,000 world border and every build height.
+     */
+    public static long blockKey(int x, int y, int z) {
+        return ((long) (x & 0x3FFFFFF) << 38) | ((long) (z & 0x3FFFFFF) << 12) | (y & 0xFFF);
+    }
+
+    public static long blockKey(BlockPositionKey position) {
+        return blockKey(position.x(), position.y(), position.z());
+    }
+
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    public static long chunkKey(ChunkKey chunk) {
+        return chunkKey(chunk.chunkX(), chunk.chunkZ());
+    }
+
+    public static int chunkX(long chunkKey) {
+        return (int) (chunkKey >> 32);
+    }
+
+    public static int chunkZ(long chunkKey) {
+        return (int) chunkKey;
+    }
+
+    // ==================== access ====================
+
+    public V get(UUID worldId, long key) {
+        Shard<V> shard = worlds.get(worldId);
+        if (shard == null) {
+            return null;
+        }
+        long stamp = shard.lock.tryOptimisticRead();
+        V value = shard.map.get(key);
+        if (shard.lock.validate(stamp)) {
+            return value;
+        }
+        stamp = shard.lock.readLock();
+        try {
+            return shard.map.get(key);
+        } finally {
+            shard.lock.unlockRead(stamp);
+        }
+    }
+
+    public V put(UUID worldId, long key, V value) {
+        Shard<V> shard = worlds.computeIfAbsent(worldId, id -> new Shard<>());
+        long stamp = shard.lock.writeLock();
+        try {
+            return shard.map.put(key, value);
+        } finally {
+            shard.lock.unlockWrite(stamp);
+        }
+    }
+
+    public V computeIfAbsent(UUID worldId, long key, LongFunction<? extends V> factory) {
+        V existing = get(worldId, key);
+        if (existing != null) {
+            return existing;
+        }
+        Shard<V> shard = worlds.computeIfAbsent(worldId, id -> new Shard<>());
+        long stamp = shard.lock.writeLock();
+        try {
+            return shard.map.computeIfAbsent(key, factory);
+        } finally {
+            shard.lock.unlockWrite(stamp);
+        }
+    }
+
+    public V remove(UUID worldId, long key) {
+        Shard<V> shard = worlds.get(worldId);
+        if (shard == null) {
+            return null;
+        }
+        long stamp = shard.lock.writeLock();
+        try {
+            return shard.map.remove(key);
+        } finally {
+            shard.lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Removes a key only while it still maps to exactly {@code value}. */
+    public boolean remove(UUID worldId, long key, V value) {
+        Shard<V> shard = worlds.get(worldId);
+        if (shard == null) {
+            return false;
+        }
+        long stamp = shard.lock.writeLock();
+        try {
+            return shard.map.remove(key, value);
+        } finally {
+            shard.lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Drops a whole world and returns what it held. */
+    public List<V> removeWorld(UUID worldId) {
+        Shard<V> shard = worlds.remove(worldId);
+        if (shard == null) {
+            return List.of();
+        }
+        long stamp = shard.lock.readLock();
+        try {
+            List<V> values = new ArrayList<>(shard.map.size());
+            shard.map.forEachValue(values::add);
+            return values;
+        } finally {
+            shard.lock.unlockRead(stamp);
+        }
+    }
+
+    public boolean isEmpty() {
+        for (Shard<V> shard : worlds.values()) {
+            if (shard.size() > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int size() {
+        int size = 0;
+        for (Shard<V> shard : worlds.values()) {
+            size += shard.size();
+        }
+        return size;
+    }
+
+    public int size(UUID worldId) {
+        Shard<V> shard = worlds.get(worldId);
+        return shard == null ? 0 : shard.size();
+    }
+
+    public Iterable<UUID> worlds() {
+        return worlds.keySet();
+    }
+
+    /** Snapshot of every value across all worlds. */
+    public List<V> values() {
+        List<V> values = new ArrayList<>();
+        for (Shard<V> shard : worlds.values()) {
+            long stamp = shard.lock.readLock();
+            try {
+                shard.map.forEachValue(values::add);
+            } finally {
+                shard.lock.unlockRead(stamp);
+            }
+        }
+        return values;
+    }
+
+    /** Snapshot of the values of one world. */
+    public List<V> values(UUID worldId) {
+        Shard<V> shard = worlds.get(worldId);
+        if (shard == null) {
+            return List.of();
+        }
+        long stamp = shard.lock.readLock();
+        try {
+            List<V> values = new ArrayList<>(shard.map.size());
+            shard.map.forEachValue(values::add);
+            return values;
+        } finally {
+            shard.lock.unlockRead(stamp);
+        }
+    }
+
+    public void forEach(Consumer<? super V> consumer) {
+        values().forEach(consumer);
+    }
+
+    /** Calls back with every key of one world, from a snapshot. */
+    public void forEachKey(UUID worldId, Consumer<Long> consumer) {
+        Shard<V> shard = worlds.get(worldId);
+        if (shard == null) {
+            return;
+        }
+        List<Long> keys;
+        long stamp = shard.lock.readLock();
+        try {
+            keys = new ArrayList<>(shard.map.size());
+            shard.map.forEach((key, value) -> keys.add(key));
+        } finally {
+            shard.lock.unlockRead(stamp);
+        }
+        keys.forEach(consumer);
+    }
+
+    public void clear() {
+        worlds.clear();
+    }
+
+    private static final class Shard<V> {
+        final StampedLock lock = new StampedLock();
+        final LongKeyedMap<V> map = new LongKeyedMap<>();
+
+        int size() {
+            long stamp = lock.readLock();
+            try {
+                return map.size();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package codes.castled.allium.harvest.visual;
+
+import codes.castled.allium.harvest.util.BlockPositionKey;
+import java.util.UUID;
+import org.bukkit.entity.ItemDisplay.ItemDisplayTransform;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+
+/**
+ * Crop visuals that exist only on clients.
+ *
+ * <p>Instead of spawning an {@code ItemDisplay} and an {@code Interaction}
+ * per crop, an implementation sends fake ones straight to the players near
+ * the crop and reads clicks on them back out of the interaction packets. The
+ * server never holds an entity, so nothing is ticked, tracked or saved with
+ * the chunk; in exchange, nothing is tagged with {@link VisualTags} and
+ * there is nothing to reconcile on chunk load.
+ *
+ * <p>The PacketEvents implementation lives with the rest of the packet code
+ * and is loaded reflectively, so this module still runs without it.
+ */
+public interface VirtualCropRenderer {
+
+    /** What a crop looks like at its current stage. */
+    record Appearance(
+        String modelRef,
+        ItemStack item,
+        ItemDisplayTransform transform,
+        float scale,
+        double yOffset
+    ) {}
+
+    @FunctionalInterface
+    interface ClickHandler {
+        /**
+         * A player right-clicked ({@code attack == false}) or punched a
+         * crop's hitbox. Called on the region thread owning the crop.
+         */
+        void onClick(Player player, UUID instanceId, boolean attack);
+    }
+
+    /** Model reference currently shown for a crop, or {@code null} if it is not shown. */
+    String modelOf(UUID instanceId);
+
+    /**
+     * Shows a crop to every player in range, or updates it for everyone
+     * already seeing it. Players that come into range later get it from the
+     * renderer's own view culling.
+     */
+    void show(UUID instanceId, BlockPositionKey anchor, Appearance appearance);
+
+    /** Removes a crop from every client that has it. */
+    void hide(UUID instanceId);
+
+    void setClickHandler(ClickHandler handler);
+
+    /** Number of crops currently registered with the renderer. */
+    int shownCount();
+
+    /** Removes everything from every client and stops view culling. */
+    void shutdown();
+}
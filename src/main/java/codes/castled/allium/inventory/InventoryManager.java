@@ -18,6 +18,7 @@ public class InventoryManager {
     private final ConcurrentHashMap<UUID, CopyOnWriteArrayList<InventorySnapshot>> playerSnapshots = new ConcurrentHashMap<>();
     private static final int SNAPSHOTS_PER_PAGE = 45; // 5 rows (9 * 5)
     private final ScheduledExecutorService executorService;
+    private final SnapshotWriter writer;
 
     public InventoryManager(PluginStart plugin) {
         this.plugin = plugin;
@@ -27,6 +28,10 @@ public class InventoryManager {
             thread.setDaemon(true);
             return thread;
         });
+        this.writer = new SnapshotWriter(database, snapshot -> playerSnapshots.computeIfAbsent(
+            snapshot.getPlayerId(),
+            k -> new CopyOnWriteArrayList<>()
+        ).add(0, snapshot));
         
         // Schedule periodic cleanup of old snapshots (once per day)
         this.executorService.scheduleAtFixedRate(
@@ -59,37 +64,42 @@ public class InventoryManager {
             Text.sendDebugLog(INFO, "Autosave completed for " + playerCount + " online players");
         });
     }
+    /**
+     * Copies the player's items and queues the snapshot for the writer; must
+     * run on the player's region thread. Serializing and saving happen on
+     * the writer, which may fold routine snapshots taken in quick succession
+     * into one.
+     * @return true once saved; false if dropped or the save failed
+     */
     public CompletableFuture<Boolean> saveSnapshot(Player player, String reason) {
-        CompletableFuture<Boolean> future = new CompletableFuture<>();
-        
         try {
-            InventorySnapshot snapshot = new InventorySnapshot(player, reason);
-            
-            // Run database operation async
-            executorService.execute(() -> {
-                try {
-                    if (database.saveInventorySnapshot(snapshot)) {
-                        // Cache the snapshot on success
-                        playerSnapshots.computeIfAbsent(
-                            player.getUniqueId(), 
-                            k -> new CopyOnWriteArrayList<>()
-                        ).add(0, snapshot);
-                        future.complete(true);
-                    } else {
-                        Text.sendDebugLog(WARN, "Failed to save inventory snapshot for " + player.getName());
-                        future.complete(false);
-                    }
-                } catch (Exception e) {
-                    Text.sendDebugLog(ERROR, "Error saving inventory snapshot for " + player.getName(), e);
-                    future.completeExceptionally(e);
-                }
-            });
+            SnapshotWriter.Capture capture = SnapshotWriter.Capture.of(player, reason);
+            return writer.submit(capture, isRoutine(reason)).thenApply(Objects::nonNull);
         } catch (Exception e) {
             Text.sendDebugLog(ERROR, "Error creating inventory snapshot for " + player.getName(), e);
-            future.completeExceptionally(e);
+            return CompletableFuture.failedFuture(e);
         }
-        
-        return future;
+    }
+
+    /** Snapshots a newer one of the same player may replace while both are queued. */
+    private static boolean isRoutine(String reason) {
+        return reason.equals("Teleport") || reason.equals("AUTOSAVE") || reason.startsWith("World Change");
+    }
+
+    /**
+     * Queue and outcome counters of the snapshot writer.
+     * @return Queued, submitted, coalesced, dropped, written and failed counts
+     */
+    public Map<String, Long> getWriterStats() {
+        SnapshotWriter.Stats stats = writer.stats();
+        Map<String, Long> values = new LinkedHashMap<>();
+        values.put("queued", (long) stats.queued());
+        values.put("submitted", stats.submitted());
+        values.put("coalesced", stats.coalesced());
+        values.put("dropped", stats.dropped());
+        values.put("written", stats.written());
+        values.put("failed", stats.failed());
+        return values;
     }
     
     private void createTable() {
@@ -249,6 +259,7 @@ public class InventoryManager {
      * Shutdown the executor service when the plugin disables
      */
     public void shutdown() {
+        writer.shutdown(TimeUnit.SECONDS.toMillis(10));
         executorService.shutdown();
         try {
             if (!executorService.awaitTermination(5, TimeUnit.SECONDS)) {
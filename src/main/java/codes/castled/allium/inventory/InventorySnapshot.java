@@ -25,6 +25,10 @@ public class InventorySnapshot {
     private String extraData;
     private String offhandData;
     private String enderChestData;
+    private byte[] inventorySection;
+    private byte[] armorSection;
+    private byte[] offhandSection;
+    private byte[] enderChestSection;
     private int experience;
     private Location location;
     private String worldName;
@@ -33,10 +37,10 @@ public class InventorySnapshot {
         this(player.getUniqueId(), 
              System.currentTimeMillis(), 
              reason,
-             toBase64(player.getInventory().getContents()),
-             toBase64(player.getInventory().getArmorContents()),
-             toBase64(new ItemStack[]{player.getInventory().getItemInOffHand()}),
-             toBase64(player.getEnderChest().getContents()),
+             SnapshotSectionCodec.encode(player.getInventory().getContents()),
+             SnapshotSectionCodec.encode(player.getInventory().getArmorContents()),
+             SnapshotSectionCodec.encode(new ItemStack[]{player.getInventory().getItemInOffHand()}),
+             SnapshotSectionCodec.encode(player.getEnderChest().getContents()),
              player.getTotalExperience(),
              player.getLocation(),
              player.getWorld().getName());
@@ -58,6 +62,21 @@ public class InventorySnapshot {
         this.extraData = "";
     }
 
+    /**
+     * Snapshot whose sections are in {@link SnapshotSectionCodec} form, as
+     * taken from a player or loaded from {@code inventory_blobs}. The legacy
+     * Base64 fields stay empty.
+     */
+    public InventorySnapshot(UUID playerId, long timestamp, String reason,
+                           byte[] inventorySection, byte[] armorSection, byte[] offhandSection, byte[] enderChestSection,
+                           int experience, Location location, String worldName) {
+        this(playerId, timestamp, reason, "", "", "", "", experience, location, worldName);
+        this.inventorySection = inventorySection;
+        this.armorSection = armorSection;
+        this.offhandSection = offhandSection;
+        this.enderChestSection = enderChestSection;
+    }
+
     // Getters and serialization methods
     public UUID getPlayerId() { return playerId; }
     public long getTimestamp() { return timestamp; }
@@ -72,16 +91,27 @@ public class InventorySnapshot {
 
     public String getEnderChestData() { return enderChestData; }
 
+    /** Whether this snapshot carries encoded sections rather than legacy Base64 data. */
+    public boolean hasSections() { return inventorySection != null; }
+
+    public byte[] getInventorySection() { return inventorySection; }
+
+    public byte[] getArmorSection() { return armorSection; }
+
+    public byte[] getOffhandSection() { return offhandSection; }
+
+    public byte[] getEnderChestSection() { return enderChestSection; }
+
     public ItemStack[] getInventoryContents() {
-        return fromBase64(inventoryData);
+        return hasSections() ? SnapshotSectionCodec.decode(inventorySection) : fromBase64(inventoryData);
     }
 
     public ItemStack[] getArmorContents() {
-        return fromBase64(armorData);
+        return hasSections() ? SnapshotSectionCodec.decode(armorSection) : fromBase64(armorData);
     }
 
     public ItemStack[] getEnderChestContents() {
-        ItemStack[] contents = fromBase64(enderChestData);
+        ItemStack[] contents = hasSections() ? SnapshotSectionCodec.decode(enderChestSection) : fromBase64(enderChestData);
         if (contents.length == 27) {
             return contents;
         }
@@ -91,7 +121,7 @@ public class InventorySnapshot {
     public String getOffhandData() { return offhandData; }
 
     public ItemStack getOffhandItem() {
-        ItemStack[] offhand = fromBase64(offhandData);
+        ItemStack[] offhand = hasSections() ? SnapshotSectionCodec.decode(offhandSection) : fromBase64(offhandData);
         return offhand.length > 0 ? offhand[0] : null;
     }
 
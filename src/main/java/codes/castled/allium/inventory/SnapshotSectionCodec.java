@@ -0,0 +1,155 @@
+package codes.castled.allium.inventory;
+
+import org.bukkit.inventory.ItemStack;
+
+import codes.castled.allium.managers.core.Text;
+
+import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Binary form of one snapshot section (inventory, armor, offhand or ender
+ * chest) as stored in the {@code inventory_blobs} table.
+ *
+ * <p>A section is the slot count followed by each slot as a length-prefixed
+ * {@link ItemStack#serializeAsBytes()} payload, {@code -1} marking an empty
+ * slot, Deflate-compressed as a whole. The same contents always encode to the
+ * same bytes, so {@link #hash} of a section is its key in the blob table and
+ * identical sections across snapshots are stored once.
+ */
+public final class SnapshotSectionCodec {
+
+    private static final int EMPTY_SLOT = -1;
+
+    private SnapshotSectionCodec() {}
+
+    public static byte[] encode(ItemStack[] items) {
+        if (items == null) {
+            items = new ItemStack[0];
+        }
+        byte[][] slots = new byte[items.length][];
+        for (int i = 0; i < items.length; i++) {
+            ItemStack item = items[i];
+            if (item != null && !item.getType().isAir() && item.getAmount() > 0) {
+                slots[i] = item.serializeAsBytes();
+            }
+        }
+        return pack(slots);
+    }
+
+    public static ItemStack[] decode(byte[] section) {
+        if (section == null || section.length == 0) {
+            return new ItemStack[0];
+        }
+        byte[][] slots;
+        try {
+            slots = unpack(section);
+        } catch (IOException e) {
+            Text.sendDebugLog(ERROR, "Error while decoding inventory section: " + e.getMessage());
+            return new ItemStack[0];
+        }
+        ItemStack[] items = new ItemStack[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] == null) continue;
+            try {
+                items[i] = ItemStack.deserializeBytes(slots[i]);
+            } catch (Exception e) {
+                Text.sendDebugLog(WARN, "Error deserializing item at index " + i + ": " + e.getMessage());
+            }
+        }
+        return items;
+    }
+
+    /** Hex SHA-256 of an encoded section; the primary key of its blob row. */
+    public static String hash(byte[] section) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(section);
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /** Frames and compresses already serialized slots; {@code null} entries are empty slots. */
+    static byte[] pack(byte[][] slots) {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(raw)) {
+            out.writeInt(slots.length);
+            for (byte[] slot : slots) {
+                if (slot == null) {
+                    out.writeInt(EMPTY_SLOT);
+                } else {
+                    out.writeInt(slot.length);
+                    out.write(slot);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to save item stacks.", e);
+        }
+
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION);
+        try {
+            deflater.setInput(raw.toByteArray());
+            deflater.finish();
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, raw.size() / 2));
+            byte[] buffer = new byte[4096];
+            while (!deflater.finished()) {
+                compressed.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return compressed.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    static byte[][] unpack(byte[] section) throws IOException {
+        Inflater inflater = new Inflater();
+        ByteArrayOutputStream raw = new ByteArrayOutputStream(section.length * 4);
+        try {
+            inflater.setInput(section);
+            byte[] buffer = new byte[4096];
+            while (!inflater.finished()) {
+                int inflated = inflater.inflate(buffer);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated inventory section");
+                }
+                raw.write(buffer, 0, inflated);
+            }
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt inventory section", e);
+        } finally {
+            inflater.end();
+        }
+
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw.toByteArray()))) {
+            int length = in.readInt();
+            if (length < 0 || length > raw.size()) {
+                throw new IOException("Invalid slot count " + length);
+            }
+            byte[][] slots = new byte[length][];
+            for (int i = 0; i < length; i++) {
+                int size = in.readInt();
+                if (size == EMPTY_SLOT) continue;
+                if (size < 0 || size > in.available()) {
+                    throw new IOException("Invalid item length " + size + " at index " + i);
+                }
+                slots[i] = in.readNBytes(size);
+            }
+            return slots;
+        }
+    }
+}
@@ -0,0 +1,309 @@
+package codes.castled.allium.inventory;
+
+import org.bukkit.Location;
+import org.bukkit.entity.Player;
+import org.bukkit.inventory.ItemStack;
+import org.bukkit.inventory.PlayerInventory;
+
+import codes.castled.allium.managers.DB.Database;
+import codes.castled.allium.managers.core.Text;
+
+import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Write pipeline for inventory snapshots.
+ *
+ * <p>Taking a snapshot on the player's region thread only copies the item
+ * stacks into a {@link Capture}. Captures wait in a bounded queue for a single
+ * writer thread, which encodes them and inserts up to {@link #MAX_BATCH} at a
+ * time with {@link Database#saveInventorySnapshots} on one connection. Failed
+ * batches are retried after a backoff taken without a connection in hand, so
+ * a burst of teleports never ties up the pool chat and economy also use. A
+ * batch that still fails is written one snapshot at a time, so one bad row
+ * does not take the rest of the batch with it.
+ *
+ * <p>A routine capture (teleport, world change, autosave) of a player whose
+ * previous routine capture is still queued and younger than
+ * {@link #COALESCE_WINDOW_MILLIS} replaces that one's contents rather than
+ * taking another slot. Deaths, logins and logouts are never folded away. When
+ * the queue is full the new capture is dropped and counted instead of making
+ * the region thread wait.
+ */
+final class SnapshotWriter {
+
+    static final int QUEUE_CAPACITY = 4096;
+    static final int MAX_BATCH = 128;
+    static final long COALESCE_WINDOW_MILLIS = 5000;
+    /** How long the writer lets a burst collect before writing the first capture of it. */
+    private static final long LINGER_MILLIS = 250;
+    private static final int MAX_ATTEMPTS = 3;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final long DROP_LOG_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    /** Copy of a player's items and position taken on their region thread. */
+    record Capture(
+        UUID playerId,
+        long timestamp,
+        String reason,
+        ItemStack[] inventory,
+        ItemStack[] armor,
+        ItemStack[] offhand,
+        ItemStack[] enderChest,
+        int experience,
+        Location location,
+        String worldName
+    ) {
+        static Capture of(Player player, String reason) {
+            PlayerInventory items = player.getInventory();
+            return new Capture(
+                player.getUniqueId(),
+                System.currentTimeMillis(),
+                reason,
+                copy(items.getContents()),
+                copy(items.getArmorContents()),
+                copy(new ItemStack[]{items.getItemInOffHand()}),
+                copy(player.getEnderChest().getContents()),
+                player.getTotalExperience(),
+                player.getLocation(),
+                player.getWorld().getName()
+            );
+        }
+
+        /** Serializes and compresses the sections; runs on the writer thread. */
+        InventorySnapshot encode() {
+            return new InventorySnapshot(
+                playerId,
+                timestamp,
+                reason,
+                SnapshotSectionCodec.encode(inventory),
+                SnapshotSectionCodec.encode(armor),
+                SnapshotSectionCodec.encode(offhand),
+                SnapshotSectionCodec.encode(enderChest),
+                experience,
+                location,
+                worldName
+            );
+        }
+
+        // Inventory getters hand out mirrors of the live stacks
+        private static ItemStack[] copy(ItemStack[] items) {
+            ItemStack[] copies = new ItemStack[items.length];
+            for (int i = 0; i < items.length; i++) {
+                copies[i] = items[i] != null ? items[i].clone() : null;
+            }
+            return copies;
+        }
+    }
+
+    /** Counters since startup, plus the current queue length. */
+    record Stats(int queued, long submitted, long coalesced, long dropped, long written, long failed) {}
+
+    /** One queue slot. Its capture can be replaced until the writer claims it. */
+    private static final class Pending {
+        final boolean routine;
+        final long firstCapturedAt;
+        final CompletableFuture<InventorySnapshot> result = new CompletableFuture<>();
+        private Capture capture;
+        private boolean claimed;
+
+        Pending(Capture capture, boolean routine) {
+            this.capture = capture;
+            this.routine = routine;
+            this.firstCapturedAt = capture.timestamp();
+        }
+
+        synchronized boolean replace(Capture newer) {
+            if (claimed || newer.timestamp() - firstCapturedAt > COALESCE_WINDOW_MILLIS) {
+                return false;
+            }
+            capture = newer;
+            return true;
+        }
+
+        synchronized Capture claim() {
+            claimed = true;
+            return capture;
+        }
+    }
+
+    private final Database database;
+    /** Told about every snapshot once it is in the database. */
+    private final Consumer<InventorySnapshot> written;
+    private final BlockingQueue<Pending> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    /** Each player's queued routine capture, the one a newer routine capture may replace. */
+    private final Map<UUID, Pending> queuedRoutine = new ConcurrentHashMap<>();
+    private final AtomicLong submittedCount = new AtomicLong();
+    private final AtomicLong coalescedCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong writtenCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private volatile long lastDropLog;
+    private volatile boolean running = true;
+    private final Thread thread;
+
+    SnapshotWriter(Database database, Consumer<InventorySnapshot> written) {
+        this.database = database;
+        this.written = written;
+        this.thread = new Thread(this::run, "Allium-InventorySnapshot-Writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Queues a capture.
+     * @return Completes on the writer thread with the stored snapshot, or
+     *         {@code null} if it was dropped or could not be written
+     */
+    CompletableFuture<InventorySnapshot> submit(Capture capture, boolean routine) {
+        submittedCount.incrementAndGet();
+        UUID playerId = capture.playerId();
+        if (routine) {
+            Pending queued = queuedRoutine.get(playerId);
+            if (queued != null) {
+                if (queued.replace(capture)) {
+                    coalescedCount.incrementAndGet();
+                    return queued.result;
+                }
+                queuedRoutine.remove(playerId, queued);
+            }
+        } else {
+            // Keep later routine captures from folding into one taken before this
+            queuedRoutine.remove(playerId);
+        }
+
+        Pending pending = new Pending(capture, routine);
+        if (!running || !queue.offer(pending)) {
+            recordDrop(capture);
+            return CompletableFuture.completedFuture(null);
+        }
+        if (routine) {
+            queuedRoutine.put(playerId, pending);
+        }
+        return pending.result;
+    }
+
+    Stats stats() {
+        return new Stats(queue.size(), submittedCount.get(), coalescedCount.get(),
+            droppedCount.get(), writtenCount.get(), failedCount.get());
+    }
+
+    /** Stops accepting captures and waits for the queue to be written. */
+    void shutdown(long timeoutMillis) {
+        running = false;
+        try {
+            thread.join(timeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive() || !queue.isEmpty()) {
+            Text.sendDebugLog(WARN, "Inventory snapshot writer did not finish; " + queue.size() + " snapshots were not written");
+        }
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                if (running) {
+                    Thread.sleep(LINGER_MILLIS);
+                }
+            } catch (InterruptedException e) {
+                // Only shutdown stops the writer; write what was taken
+            }
+            queue.drainTo(batch, MAX_BATCH - batch.size());
+            if (!batch.isEmpty()) {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        List<Pending> encoded = new ArrayList<>(batch.size());
+        List<InventorySnapshot> snapshots = new ArrayList<>(batch.size());
+        for (Pending pending : batch) {
+            Capture capture = pending.claim();
+            if (pending.routine) {
+                queuedRoutine.remove(capture.playerId(), pending);
+            }
+            try {
+                snapshots.add(capture.encode());
+                encoded.add(pending);
+            } catch (Exception e) {
+                failedCount.incrementAndGet();
+                Text.sendDebugLog(ERROR, "Error encoding inventory snapshot for " + capture.playerId(), e);
+                pending.result.complete(null);
+            }
+        }
+        if (snapshots.isEmpty()) {
+            return;
+        }
+
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            if (database.saveInventorySnapshots(snapshots)) {
+                for (int i = 0; i < snapshots.size(); i++) {
+                    stored(encoded.get(i), snapshots.get(i));
+                }
+                return;
+            }
+            if (attempt < MAX_ATTEMPTS) {
+                try {
+                    Thread.sleep(RETRY_DELAY_MILLIS << (attempt - 1));
+                } catch (InterruptedException e) {
+                    break;
+                }
+            }
+        }
+
+        // The batch is one transaction, so nothing of it was stored. Write the
+        // snapshots one by one so a single bad row only loses itself.
+        int failed = 0;
+        for (int i = 0; i < snapshots.size(); i++) {
+            InventorySnapshot snapshot = snapshots.get(i);
+            if (snapshots.size() > 1 && database.saveInventorySnapshots(List.of(snapshot))) {
+                stored(encoded.get(i), snapshot);
+            } else {
+                failed++;
+                encoded.get(i).result.complete(null);
+            }
+        }
+        if (failed > 0) {
+            failedCount.addAndGet(failed);
+            Text.sendDebugLog(ERROR, "Giving up on " + failed + " of a batch of " + snapshots.size()
+                + " inventory snapshots after " + MAX_ATTEMPTS + " attempts");
+        }
+    }
+
+    private void stored(Pending pending, InventorySnapshot snapshot) {
+        writtenCount.incrementAndGet();
+        written.accept(snapshot);
+        pending.result.complete(snapshot);
+    }
+
+    private void recordDrop(Capture capture) {
+        long dropped = droppedCount.incrementAndGet();
+        long now = System.currentTimeMillis();
+        if (now - lastDropLog >= DROP_LOG_INTERVAL_MILLIS) {
+            lastDropLog = now;
+            Text.sendDebugLog(WARN, "Inventory snapshot queue is full; dropped " + capture.reason() + " snapshot for "
+                + capture.playerId() + " (" + dropped + " dropped since startup)");
+        }
+    }
+}
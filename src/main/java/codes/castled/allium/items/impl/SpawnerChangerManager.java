@@ -29,10 +29,10 @@ import org.bukkit.persistence.PersistentDataType;
 import org.bukkit.plugin.Plugin;
 
 import codes.castled.allium.items.CustomItemRegistry;
+import codes.castled.allium.managers.core.DataFileStore;
 import codes.castled.allium.util.SchedulerAdapter;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.EnumSet;
@@ -41,6 +41,7 @@ import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manager for Spawner Type Changer. Hopper intake menu, confirm menu,
@@ -83,12 +84,15 @@ public class SpawnerChangerManager implements Listener {
     private final Map<UUID, Long> lastSpawnEggMessage = new HashMap<>();
     private static final long MESSAGE_COOLDOWN_MS = 10000;
 
-    private final Set<String> changedSpawners = new HashSet<>();
+    // Read by the data file writer thread when saving
+    private final Set<String> changedSpawners = ConcurrentHashMap.newKeySet();
     private final File dataFile;
+    private final DataFileStore dataFiles;
 
-    public SpawnerChangerManager(Plugin plugin, CustomItemRegistry registry) {
+    public SpawnerChangerManager(Plugin plugin, CustomItemRegistry registry, DataFileStore dataFiles) {
         this.plugin = plugin;
         this.registry = registry;
+        this.dataFiles = dataFiles;
         this.changedSpawnerKey = new NamespacedKey(plugin, "changed_spawner");
         this.dataFile = new File(plugin.getDataFolder(), "changed_spawners.yml");
         loadChangedSpawners();
@@ -533,13 +537,11 @@ public class SpawnerChangerManager implements Listener {
     }
 
     private void saveChangedSpawners() {
-        YamlConfiguration config = new YamlConfiguration();
-        config.set("spawners", new ArrayList<>(changedSpawners));
-        try {
-            config.save(dataFile);
-        } catch (IOException e) {
-            plugin.getLogger().warning("Failed to save changed spawners: " + e.getMessage());
-        }
+        dataFiles.markDirty(dataFile, () -> {
+            YamlConfiguration config = new YamlConfiguration();
+            config.set("spawners", new ArrayList<>(changedSpawners));
+            return config.saveToString();
+        });
     }
 
     public void openIntakeMenuFromBlock(Player player, Location spawnerLocation) {
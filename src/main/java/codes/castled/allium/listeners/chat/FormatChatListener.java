@@ -3,6 +3,7 @@ package codes.castled.allium.listeners.chat;
 import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
 
 import codes.castled.allium.PluginStart;
+import codes.castled.allium.managers.DB.PermissionCache;
 import codes.castled.allium.managers.chat.ChatMessageManager;
 import codes.castled.allium.managers.config.Config;
 import codes.castled.allium.managers.core.Text;
@@ -291,7 +292,7 @@ public class FormatChatListener implements Listener {
         }
 
         if (text.contains("%gradientdisplayname%")) {
-            if (player.hasPermission("allium.gradientname")) {
+            if (PermissionCache.check(plugin, player, "allium.gradientname")) {
                 text = text.replace(
                     "%gradientdisplayname%",
                     buildAnimatedGradientDisplayName(player)
@@ -878,9 +879,9 @@ public class FormatChatListener implements Listener {
         if (player == null) return false;
         String permission = "chat.minimessage." + tagType.toLowerCase();
         return (
-            player.hasPermission(permission) ||
-            player.hasPermission("chat.minimessage.*") ||
-            player.hasPermission(permission + ".*")
+            PermissionCache.check(plugin, player, permission) ||
+            PermissionCache.check(plugin, player, "chat.minimessage.*") ||
+            PermissionCache.check(plugin, player, permission + ".*")
         );
     }
 
@@ -986,7 +987,7 @@ public class FormatChatListener implements Listener {
         boolean debugMode = config.getBoolean("debug-mode");
 
         // Unicode check and cleanup
-        if (blockUnicode && !player.hasPermission("chat.unicode")) {
+        if (blockUnicode && !PermissionCache.check(plugin, player, "chat.unicode")) {
             if (containsUnicode(originalMessage)) {
                 String cleanedMessage = originalMessage.replaceAll(
                     "[^-\u007F]+",
@@ -1043,7 +1044,7 @@ public class FormatChatListener implements Listener {
                             player.getName()
                     );
                 }
-            } else if (player.hasPermission("chat.minimessage")) {
+            } else if (PermissionCache.check(plugin, player, "chat.minimessage")) {
                 if (!validateMiniMessage(player, messageContent)) {
                     messageContent = miniMessage.stripTags(messageContent);
                     if (debugMode) {
@@ -1244,9 +1245,9 @@ public class FormatChatListener implements Listener {
             if (viewer instanceof Player) {
                 Player v = (Player) viewer;
                 if (
-                    v.hasPermission("allium.deletemsg") ||
-                    v.hasPermission("allium.delmsg") ||
-                    v.hasPermission("allium.staff")
+                    PermissionCache.check(plugin, v, "allium.deletemsg") ||
+                    PermissionCache.check(plugin, v, "allium.delmsg") ||
+                    PermissionCache.check(plugin, v, "allium.staff")
                 ) {
                     String mode = config
                         .getString("chat-hover.delete-hover-mode", "prefix")
@@ -1695,13 +1696,13 @@ public class FormatChatListener implements Listener {
         }
 
         boolean allowAnyColor =
-            player.hasPermission("chat.color") ||
-            player.hasPermission("chat.color.*");
+            PermissionCache.check(plugin, player, "chat.color") ||
+            PermissionCache.check(plugin, player, "chat.color.*");
         boolean allowAnyFormat =
-            player.hasPermission("chat.format") ||
-            player.hasPermission("chat.format.*");
+            PermissionCache.check(plugin, player, "chat.format") ||
+            PermissionCache.check(plugin, player, "chat.format.*");
         boolean allowHex =
-            allowAnyColor || player.hasPermission("chat.color.hex");
+            allowAnyColor || PermissionCache.check(plugin, player, "chat.color.hex");
 
         StringBuilder filteredMessage = new StringBuilder();
         int i = 0;
@@ -1718,112 +1719,112 @@ public class FormatChatListener implements Listener {
                     case '0':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.black");
+                            PermissionCache.check(plugin, player, "chat.color.black");
                         break;
                     case '1':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.dark_blue");
+                            PermissionCache.check(plugin, player, "chat.color.dark_blue");
                         break;
                     case '2':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.dark_green");
+                            PermissionCache.check(plugin, player, "chat.color.dark_green");
                         break;
                     case '3':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.dark_aqua");
+                            PermissionCache.check(plugin, player, "chat.color.dark_aqua");
                         break;
                     case '4':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.dark_red");
+                            PermissionCache.check(plugin, player, "chat.color.dark_red");
                         break;
                     case '5':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.dark_purple");
+                            PermissionCache.check(plugin, player, "chat.color.dark_purple");
                         break;
                     case '6':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.gold");
+                            PermissionCache.check(plugin, player, "chat.color.gold");
                         break;
                     case '7':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.gray");
+                            PermissionCache.check(plugin, player, "chat.color.gray");
                         break;
                     case '8':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.dark_gray");
+                            PermissionCache.check(plugin, player, "chat.color.dark_gray");
                         break;
                     case '9':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.blue");
+                            PermissionCache.check(plugin, player, "chat.color.blue");
                         break;
                     case 'a':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.green");
+                            PermissionCache.check(plugin, player, "chat.color.green");
                         break;
                     case 'b':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.aqua");
+                            PermissionCache.check(plugin, player, "chat.color.aqua");
                         break;
                     case 'c':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.red");
+                            PermissionCache.check(plugin, player, "chat.color.red");
                         break;
                     case 'd':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.light_purple");
+                            PermissionCache.check(plugin, player, "chat.color.light_purple");
                         break;
                     case 'e':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.yellow");
+                            PermissionCache.check(plugin, player, "chat.color.yellow");
                         break;
                     case 'f':
                         keepCode =
                             allowAnyColor ||
-                            player.hasPermission("chat.color.white");
+                            PermissionCache.check(plugin, player, "chat.color.white");
                         break;
                     case 'l':
                         keepCode =
                             allowAnyFormat ||
-                            player.hasPermission("chat.format.bold");
+                            PermissionCache.check(plugin, player, "chat.format.bold");
                         break;
                     case 'o':
                         keepCode =
                             allowAnyFormat ||
-                            player.hasPermission("chat.format.italic");
+                            PermissionCache.check(plugin, player, "chat.format.italic");
                         break;
                     case 'n':
                         keepCode =
                             allowAnyFormat ||
-                            player.hasPermission("chat.format.underline");
+                            PermissionCache.check(plugin, player, "chat.format.underline");
                         break;
                     case 'm':
                         keepCode =
                             allowAnyFormat ||
-                            player.hasPermission("chat.format.strikethrough");
+                            PermissionCache.check(plugin, player, "chat.format.strikethrough");
                         break;
                     case 'k':
                         keepCode =
                             allowAnyFormat ||
-                            player.hasPermission("chat.format.magic");
+                            PermissionCache.check(plugin, player, "chat.format.magic");
                         break;
                     case 'r':
                         keepCode =
                             allowAnyFormat ||
-                            player.hasPermission("chat.format.reset");
+                            PermissionCache.check(plugin, player, "chat.format.reset");
                         break;
                     default:
                         keepCode = false;
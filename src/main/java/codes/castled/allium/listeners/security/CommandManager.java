@@ -28,6 +28,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import codes.castled.allium.PluginStart;
+import codes.castled.allium.managers.DB.PermissionCache;
 import codes.castled.allium.managers.core.Text;
 import codes.castled.allium.managers.lang.Lang;
 import codes.castled.allium.permissions.command.CommandPermissionResolver;
@@ -43,6 +44,7 @@ import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
@@ -63,6 +65,7 @@ public class CommandManager implements Listener {
     private Map<String, Command> knownCommandsCache;
     private long knownCommandsCacheTime;
     private static final long KNOWN_COMMANDS_CACHE_TTL = 2000;
+    private volatile VisibilityIndex visibilityIndex;
 
     public CommandManager(PluginStart plugin) {
         this.plugin = plugin;
@@ -143,6 +146,7 @@ public class CommandManager implements Listener {
         blockNamespacedCommands = config.getBoolean("settings.block-namespaced-commands-for-ops", blockNamespacedCommands);
         enabled = config.getBoolean("settings.enabled", enabled);
         loadGroups();
+        visibilityIndex = null;
         
         // Force refresh command state for all online players (Folia-safe)
         for (Player player : Bukkit.getOnlinePlayers()) {
@@ -561,6 +565,17 @@ public class CommandManager implements Listener {
         return getKnownCommands();
     }
 
+    /** Rebuilt after a reload and whenever plugins register or remove commands. */
+    private VisibilityIndex getVisibilityIndex() {
+        Map<String, Command> knownCommands = getKnownCommands();
+        VisibilityIndex index = visibilityIndex;
+        if (index == null || index.sourceSize() != knownCommands.size()) {
+            index = new VisibilityIndex(knownCommands.keySet(), commandGroups.values());
+            visibilityIndex = index;
+        }
+        return index;
+    }
+
     private boolean isCommandFromPlugin(Command command, Plugin targetPlugin) {
         if (command instanceof PluginCommand) {
             return ((PluginCommand) command).getPlugin() == targetPlugin;
@@ -580,7 +595,7 @@ public class CommandManager implements Listener {
     private boolean playerBelongsToGroup(Player player, String groupName) {
         if (vaultPermission == null) {
             // Fallback to permission-based check if Vault is not available
-            return player.hasPermission("group." + groupName);
+            return PermissionCache.check(plugin, player, "group." + groupName);
         }
 
         try {
@@ -588,7 +603,7 @@ public class CommandManager implements Listener {
             // Check if the player is in the specified group using Vault (global context)
             return vaultPerm.hasGroupSupport() && vaultPerm.playerInGroup((String) null, player.getName(), groupName);
         } catch (Exception e) {
-            return player.hasPermission("group." + groupName);
+            return PermissionCache.check(plugin, player, "group." + groupName);
         }
     }
 
@@ -605,7 +620,7 @@ public class CommandManager implements Listener {
             if (Math.abs(lowerCmd.length() - attemptedLen) > 3) continue;
 
             if (lowerCmd.contains(":")) {
-                if (player.hasPermission("allium.hide.bypass") || player.isOp()) {
+                if (PermissionCache.check(plugin, player, "allium.hide.bypass") || player.isOp()) {
                     if (hideNamespacedCommandsForBypass) continue;
                 } else {
                     continue;
@@ -666,7 +681,7 @@ public class CommandManager implements Listener {
     private List<CommandGroup> getPlayerGroups(Player player) {
         List<CommandGroup> groups = new ArrayList<>();
 
-        if (player.hasPermission("allium.hide.bypass")) {
+        if (PermissionCache.check(plugin, player, "allium.hide.bypass")) {
             CommandGroup wildcardGroup = getWildcardGroup();
             groups.add(wildcardGroup);
         }
@@ -831,8 +846,8 @@ public class CommandManager implements Listener {
             baseCommand = baseCommand.substring(colonIndex + 1);
         }
         return (baseCommand.equals("fly")
-                && (player.hasPermission("allium.fly") || player.hasPermission("allium.tfly")))
-                || (baseCommand.equals("ping") && player.hasPermission("allium.ping"));
+                && (PermissionCache.check(plugin, player, "allium.fly") || PermissionCache.check(plugin, player, "allium.tfly")))
+                || (baseCommand.equals("ping") && PermissionCache.check(plugin, player, "allium.ping"));
     }
 
 
@@ -893,6 +908,13 @@ public class CommandManager implements Listener {
             return true;
         }
 
+        VisibilityIndex index = getVisibilityIndex();
+        int id = index.idOf(commandName);
+        BitSet allowed = id >= 0 ? index.tabCompletions(groups) : null;
+        if (allowed != null) {
+            return allowed.get(id);
+        }
+
         // First check if any blacklist group denies the command
         for (CommandGroup group : groups) {
             if (!group.whitelist() && !group.isTabCompletionAllowed(commandName)) {
@@ -920,7 +942,7 @@ public class CommandManager implements Listener {
         }
         Player player = event.getPlayer();
 
-        if (player.hasPermission("allium.hide.bypass")) {
+        if (PermissionCache.check(plugin, player, "allium.hide.bypass")) {
             if (plugin.getConfig().getBoolean("debug-mode")) {
                 Text.sendDebugLog(INFO, "Bypassing command filtering for " + player.getName() + " due to allium.hide.bypass");
             }
@@ -934,56 +956,45 @@ public class CommandManager implements Listener {
             return;
         }
 
-        boolean hasWhitelistGroup = groups.stream().anyMatch(CommandGroup::whitelist);
+        boolean showNamespaced = player.isOp() && !hideNamespacedCommandsForBypass;
+        VisibilityIndex index = getVisibilityIndex();
+        BitSet visible = index.visibleCommands(groups);
 
-        Set<String> filteredCommands = new LinkedHashSet<>();
-        for (String command : event.getCommands()) {
+        event.getCommands().removeIf(command -> {
             if (command == null) {
-                continue;
+                return true;
             }
+            int id = index.idOf(command);
+            if (id < 0 || visible == null) {
+                return !isCommandVisible(groups, command.toLowerCase(Locale.ROOT), showNamespaced);
+            }
+            return (index.isNamespaced(id) && !showNamespaced) || !visible.get(id);
+        });
+    }
 
-            String lowerCommand = command.toLowerCase(Locale.ROOT);
+    /** The per-group check for commands the visibility index does not cover. */
+    private boolean isCommandVisible(List<CommandGroup> groups, String lowerCommand, boolean showNamespaced) {
+        if (lowerCommand.contains(":") && !showNamespaced) {
+            return false;
+        }
 
-            if (lowerCommand.contains(":")) {
-                if (player.isOp()) {
-                    if (hideNamespacedCommandsForBypass) {
-                        continue;
-                    }
-                } else {
-                    continue;
-                }
+        // First check if any blacklist group denies the command
+        for (CommandGroup group : groups) {
+            if (!group.whitelist() && !group.isCommandAllowed(lowerCommand)) {
+                return false;
             }
+        }
 
-            boolean allowed;
-            // First check if any blacklist group denies the command
-            boolean blacklisted = false;
-            for (CommandGroup group : groups) {
-                if (!group.whitelist() && !group.isCommandAllowed(lowerCommand)) {
-                    blacklisted = true;
-                    break;
-                }
-            }
-            if (blacklisted) {
-                allowed = false;
-            } else if (hasWhitelistGroup) {
-                allowed = false;
-                for (CommandGroup group : groups) {
-                    if (group.whitelist() && group.isCommandAllowed(lowerCommand)) {
-                        allowed = true;
-                        break;
-                    }
+        boolean hasWhitelistGroup = false;
+        for (CommandGroup group : groups) {
+            if (group.whitelist()) {
+                hasWhitelistGroup = true;
+                if (group.isCommandAllowed(lowerCommand)) {
+                    return true;
                 }
-            } else {
-                allowed = true;
-            }
-
-            if (allowed) {
-                filteredCommands.add(command);
             }
         }
-
-        event.getCommands().clear();
-        event.getCommands().addAll(filteredCommands);
+        return !hasWhitelistGroup;
     }
 
     @EventHandler(priority = EventPriority.LOWEST)
@@ -995,7 +1006,7 @@ public class CommandManager implements Listener {
 
         Player player = (Player) event.getSender();
 
-        if (player.hasPermission("allium.hide.bypass")) {
+        if (PermissionCache.check(plugin, player, "allium.hide.bypass")) {
             if (!hideNamespacedCommandsForBypass) {
                 return;
             }
@@ -1017,7 +1028,7 @@ public class CommandManager implements Listener {
                     event.setCompletions(new ArrayList<>());
                     return;
                 }
-            } else if (!player.hasPermission("allium.hide.bypass")) {
+            } else if (!PermissionCache.check(plugin, player, "allium.hide.bypass")) {
                 event.setCompletions(new ArrayList<>());
                 return;
             }
@@ -1114,6 +1125,119 @@ public class CommandManager implements Listener {
         }
     }
 
+    /**
+     * Known commands interned to indexes, with every configured group compiled
+     * to bitsets of the commands it lets a player see and tab complete. A
+     * player's result is the AND of their blacklist groups with the OR of
+     * their whitelist groups, computed once per distinct set of groups and
+     * shared by every player who has that set.
+     */
+    private static final class VisibilityIndex {
+        private final int sourceSize;
+        private final Map<String, Integer> ids;
+        private final int size;
+        private final BitSet namespaced;
+        private final Map<CommandGroup, BitSet> commandBits = new IdentityHashMap<>();
+        private final Map<CommandGroup, BitSet> tabBits = new IdentityHashMap<>();
+        private final Map<String, BitSet> visibleByGroups = new ConcurrentHashMap<>();
+        private final Map<String, BitSet> tabByGroups = new ConcurrentHashMap<>();
+
+        private VisibilityIndex(Collection<String> knownCommands, Collection<CommandGroup> groups) {
+            this.sourceSize = knownCommands.size();
+            this.ids = new HashMap<>(knownCommands.size() * 2);
+            List<String> names = new ArrayList<>(knownCommands.size());
+            for (String command : knownCommands) {
+                String lower = command.toLowerCase(Locale.ROOT);
+                if (ids.putIfAbsent(lower, names.size()) == null) {
+                    names.add(lower);
+                }
+            }
+            this.size = names.size();
+
+            this.namespaced = new BitSet(size);
+            for (int i = 0; i < size; i++) {
+                if (names.get(i).indexOf(':') != -1) {
+                    namespaced.set(i);
+                }
+            }
+
+            for (CommandGroup group : groups) {
+                BitSet commands = new BitSet(size);
+                BitSet tabCompletes = new BitSet(size);
+                for (int i = 0; i < size; i++) {
+                    String name = names.get(i);
+                    if (group.isCommandAllowed(name)) {
+                        commands.set(i);
+                    }
+                    if (group.isTabCompletionAllowed(name)) {
+                        tabCompletes.set(i);
+                    }
+                }
+                commandBits.put(group, commands);
+                tabBits.put(group, tabCompletes);
+            }
+        }
+
+        /** Number of known commands the index was built from, to notice when it is stale. */
+        private int sourceSize() {
+            return sourceSize;
+        }
+
+        /** @return The command's index, or -1 if it was not a known command at build time */
+        private int idOf(String command) {
+            Integer id = ids.get(command);
+            if (id == null) {
+                id = ids.get(command.toLowerCase(Locale.ROOT));
+            }
+            return id != null ? id : -1;
+        }
+
+        private boolean isNamespaced(int id) {
+            return namespaced.get(id);
+        }
+
+        /** @return The shared result for these groups, or null if one was not compiled (e.g. the bypass group) */
+        private @Nullable BitSet visibleCommands(List<CommandGroup> groups) {
+            return combine(groups, commandBits, visibleByGroups);
+        }
+
+        private @Nullable BitSet tabCompletions(List<CommandGroup> groups) {
+            return combine(groups, tabBits, tabByGroups);
+        }
+
+        private @Nullable BitSet combine(List<CommandGroup> groups, Map<CommandGroup, BitSet> bits, Map<String, BitSet> results) {
+            String[] names = new String[groups.size()];
+            for (int i = 0; i < names.length; i++) {
+                CommandGroup group = groups.get(i);
+                if (!bits.containsKey(group)) {
+                    return null;
+                }
+                names[i] = group.name().toLowerCase(Locale.ROOT);
+            }
+            Arrays.sort(names);
+
+            return results.computeIfAbsent(String.join("\n", names), key -> {
+                BitSet result = new BitSet(size);
+                result.set(0, size);
+                BitSet whitelisted = null;
+                for (CommandGroup group : groups) {
+                    if (group.whitelist()) {
+                        if (whitelisted == null) {
+                            whitelisted = new BitSet(size);
+                        }
+                        whitelisted.or(bits.get(group));
+                    } else {
+                        result.and(bits.get(group));
+                    }
+                }
+                if (whitelisted != null) {
+                    result.and(whitelisted);
+                }
+                return result;
+            });
+        }
+    }
+
     private record RawCommandGroup(String name, boolean whitelist, List<String> commands,
                                    List<String> tabCompletes, List<String> inheritedCommands,
                                    List<String> inheritedTabCompletes) {
@@ -201,6 +201,7 @@ public class ConnectionManager implements Listener {
         // Save logout location for offline whois command
         Location logoutLocation = player.getLocation();
         plugin.getDatabase().savePlayerLocation(player.getUniqueId(), LocationType.LOGOUT, logoutLocation, System.currentTimeMillis());
+        plugin.getDatabase().flushPlayerLocations();
         Text.sendDebugLog(INFO, "Saved logout location to database for " + player.getName() +
             " at " + logoutLocation.getWorld().getName() + " (" +
             String.format("%.2f, %.2f, %.2f", logoutLocation.getX(), logoutLocation.getY(), logoutLocation.getZ()) + ")");
@@ -19,7 +19,6 @@ import net.milkbowl.vault.permission.Permission;
 import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
@@ -38,7 +37,7 @@ public class MaintenanceManager implements Listener {
     public MaintenanceManager(PluginStart plugin, Object perms) {
         this.plugin = plugin;
         this.perms = perms;
-        this.permissionCache = new PermissionCache(plugin);
+        this.permissionCache = plugin.getPermissionCache() != null ? plugin.getPermissionCache() : new PermissionCache(plugin);
         loadMaintenanceConfig();
     }
 
@@ -110,11 +109,8 @@ public class MaintenanceManager implements Listener {
     }
 
     private void saveConfig() {
-        try {
-            maintenanceConfig.save(configFile);
-        } catch (IOException e) {
-            Text.sendDebugLog(ERROR, "Could not save maintenance config: " + e.getMessage());
-        }
+        // Rendered now so the writer thread never reads the live config
+        plugin.getDataFileStore().save(configFile, maintenanceConfig.saveToString());
     }
 
     /**
@@ -173,7 +169,7 @@ public class MaintenanceManager implements Listener {
         if (plugin.isDebugMode()) {
             Text.sendDebugLog(INFO, "=== Starting maintenance bypass check for " + playerName + " (" + playerUUID + ") ===");
             Text.sendDebugLog(INFO, "Vault Permission Service: " + (perms != null ? "Available" : "Not available"));
-            Text.sendDebugLog(INFO, "Permission Cache: " + (permissionCache != null ? "Available" : "Not available"));
+            Text.sendDebugLog(INFO, "Permission Cache: " + (permissionCache != null ? "Available (" + permissionCache.describeStats() + ")" : "Not available"));
         }
     
         // Check if player is OP first (bypasses all permission checks)
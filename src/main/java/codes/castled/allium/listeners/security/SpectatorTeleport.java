@@ -386,7 +386,8 @@ public class SpectatorTeleport implements Listener {
         // Save to database
         try {
             database.executeUpdate(
-                    "MERGE INTO player_spectator_locations KEY(player_uuid) VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)",
+                    "REPLACE INTO player_spectator_locations (player_uuid, world, x, y, z, yaw, pitch, last_updated) " +
+                            "VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)",
                     playerUUID.toString(),
                     location.getWorld().getName(),
                     location.getX(),
@@ -0,0 +1,151 @@
+package codes.castled.allium.managers.DB;
+
+import org.bukkit.command.BlockCommandSender;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Entity;
+import org.bukkit.inventory.ItemStack;
+
+import codes.castled.allium.PluginStart;
+import codes.castled.allium.managers.core.Text;
+import codes.castled.allium.scheduler.SchedulerAdapter;
+
+import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Asynchronous front for {@link Database}.
+ *
+ * <p>Every {@link Database} method is blocking JDBC, and against a shared
+ * MySQL or MariaDB server each one is at least a network round trip. Region
+ * threads should come through here instead: calls run one at a time on a
+ * dedicated thread, in the order they were submitted, so a write followed by
+ * a read of the same row sees the write. Results come back as a
+ * {@link CompletableFuture} that completes on that thread; hop back to the
+ * player's region with the scheduler before touching the world, or use
+ * {@link #supply(CommandSender, Call, Consumer)}, which does the hop.
+ */
+public final class AsyncDatabase {
+
+    /** A blocking call against the database, run on the database thread. */
+    @FunctionalInterface
+    public interface Call<T> {
+        T apply(Database database) throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface Task {
+        void run(Database database) throws Exception;
+    }
+
+    private final PluginStart plugin;
+    private final Database database;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Allium-Core-DB");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AsyncDatabase(PluginStart plugin, Database database) {
+        this.plugin = plugin;
+        this.database = database;
+    }
+
+    public <T> CompletableFuture<T> supply(Call<T> call) {
+        if (executor.isShutdown()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Database is closed"));
+        }
+        CompletableFuture<T> future = new CompletableFuture<>();
+        executor.execute(() -> {
+            try {
+                future.complete(call.apply(database));
+            } catch (Throwable t) {
+                Text.sendDebugLog(ERROR, "Asynchronous database call failed", t);
+                future.completeExceptionally(t);
+            }
+        });
+        return future;
+    }
+
+    public CompletableFuture<Void> run(Task task) {
+        return supply(db -> {
+            task.run(db);
+            return null;
+        });
+    }
+
+    /**
+     * Runs a call on the database thread and hands its result to
+     * {@code then} on the sender's own scheduler: the player's region, the
+     * command block's region, or the global region for the console. If the
+     * call fails the sender is told and {@code then} does not run.
+     */
+    public <T> void supply(CommandSender sender, Call<T> call, Consumer<T> then) {
+        supply(call).whenComplete((result, error) -> onSenderThread(sender, () -> {
+            if (error != null) {
+                Text.sendErrorMessage(sender, "unknown-error", plugin.getLangManager());
+                return;
+            }
+            then.accept(result);
+        }));
+    }
+
+    /** {@link #supply(CommandSender, Call, Consumer)} for a call with no result. */
+    public void run(CommandSender sender, Task task, Runnable then) {
+        supply(sender, db -> {
+            task.run(db);
+            return null;
+        }, ignored -> then.run());
+    }
+
+    private void onSenderThread(CommandSender sender, Runnable task) {
+        if (sender instanceof Entity entity) {
+            SchedulerAdapter.runEntity(plugin, entity, task, null);
+        } else if (sender instanceof BlockCommandSender block) {
+            SchedulerAdapter.runAtLocation(plugin, block.getBlock().getLocation(), task);
+        } else {
+            SchedulerAdapter.runGlobal(plugin, task);
+        }
+    }
+
+    // ==================== homes ====================
+
+    public CompletableFuture<List<Database.StoredHome>> getPlayerHomeRecords(UUID playerUUID) {
+        return supply(db -> db.getPlayerHomeRecords(playerUUID));
+    }
+
+    // ==================== mail ====================
+
+    /**
+     * Stores a mail gift. The stacks are copied here, on the caller's
+     * thread, because the inventory they came from may change before the
+     * write runs.
+     */
+    public CompletableFuture<Integer> saveMailGift(UUID sender, String senderName, UUID recipient, ItemStack[] items) {
+        ItemStack[] copies = new ItemStack[items.length];
+        for (int i = 0; i < items.length; i++) {
+            copies[i] = items[i] != null ? items[i].clone() : null;
+        }
+        return supply(db -> db.saveMailGift(sender, senderName, recipient, copies));
+    }
+
+    /** Runs what is already queued, then stops. Call before {@link Database#close}. */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                Text.sendDebugLog(WARN, "Timed out waiting for queued database calls");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
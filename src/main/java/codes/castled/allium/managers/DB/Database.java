@@ -5,6 +5,7 @@ import org.bukkit.GameMode;
 import org.bukkit.Location;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.World;
+import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.entity.Player;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.util.io.BukkitObjectInputStream;
@@ -32,6 +33,7 @@ import org.h2.Driver;
 
 import codes.castled.allium.PluginStart;
 import codes.castled.allium.inventory.InventorySnapshot;
+import codes.castled.allium.inventory.SnapshotSectionCodec;
 import codes.castled.allium.inventory.OfflineInventoryData;
 import codes.castled.allium.managers.core.Item;
 import codes.castled.allium.managers.core.Text;
@@ -41,6 +43,7 @@ import codes.castled.allium.managers.lang.Lang;
 public class Database {
     private final PluginStart plugin;
     private final HikariDataSource dataSource;
+    private final PlayerLocationJournal locationJournal;
     
     /**
      * Checks if the database connection is ready to be used
@@ -55,6 +58,9 @@ public class Database {
      * This should be called when the plugin is disabled.
      */
     public void close() {
+        if (locationJournal != null) {
+            locationJournal.shutdown();
+        }
         if (dataSource != null && !dataSource.isClosed()) {
             try {
                 dataSource.close();
@@ -70,36 +76,77 @@ public class Database {
     private final boolean debugMode;
     private final Lang lang;
     private final String jdbcUrl;
+    private final Settings settings;
+    private final DatabaseDialect dialect;
     private static final int MAX_POOL_SIZE = 5;  // Further reduced to prevent memory issues
     private static final int MIN_IDLE = 1;
     private static final long CONNECTION_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(10);
     private static final long MAX_LIFETIME_MS = TimeUnit.MINUTES.toMillis(30);
 
+    /**
+     * Connection settings from the {@code database} section of config.yml.
+     * Host, port, name and credentials are only used by MySQL and MariaDB.
+     */
+    public record Settings(
+        DatabaseDialect dialect,
+        String host,
+        int port,
+        String database,
+        String username,
+        String password,
+        int poolSize
+    ) {
+        static Settings from(FileConfiguration config) {
+            return new Settings(
+                DatabaseDialect.parse(config.getString("database.type", "H2")),
+                config.getString("database.host", "localhost"),
+                config.getInt("database.port", 3306),
+                config.getString("database.name", "allium"),
+                config.getString("database.username", "allium"),
+                config.getString("database.password", ""),
+                Math.max(2, config.getInt("database.pool-size", 10))
+            );
+        }
+    }
+
     public Database(PluginStart plugin) {
         this.plugin = plugin;
         this.debugMode = plugin.getConfig().getBoolean("debug-mode", false);
         this.lang = plugin.getLangManager();
-
-        File dataFolder = new File(plugin.getDataFolder(), "database");
-        if (!dataFolder.exists()) {
-            dataFolder.mkdirs();
-        }
-
-        // Configure H2 logging
-        System.setProperty("java.util.logging.config.file", 
-            new File(plugin.getDataFolder().getParentFile().getParentFile(), 
-                   "h2.log.properties").getAbsolutePath());
-            
-        String dbPath = new File(dataFolder, "sfcore").getAbsolutePath();
-        this.jdbcUrl = "jdbc:h2:" + dbPath + ";MODE=MySQL;DB_CLOSE_ON_EXIT=FALSE;TRACE_LEVEL_SYSTEM_OUT=0;CACHE_SIZE=1024";
+        this.settings = Settings.from(plugin.getConfig());
+        this.dialect = settings.dialect();
 
         HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(jdbcUrl);
-        config.setUsername("sa");
-        config.setPassword("");
-        config.setDriverClassName(org.h2.Driver.class.getName());
+        if (dialect == DatabaseDialect.H2) {
+            File dataFolder = new File(plugin.getDataFolder(), "database");
+            if (!dataFolder.exists()) {
+                dataFolder.mkdirs();
+            }
+
+            // Configure H2 logging
+            System.setProperty("java.util.logging.config.file", 
+                new File(plugin.getDataFolder().getParentFile().getParentFile(), 
+                       "h2.log.properties").getAbsolutePath());
+                
+            String dbPath = new File(dataFolder, "sfcore").getAbsolutePath();
+            this.jdbcUrl = "jdbc:h2:" + dbPath + ";MODE=MySQL;DB_CLOSE_ON_EXIT=FALSE;TRACE_LEVEL_SYSTEM_OUT=0;CACHE_SIZE=1024";
+            config.setJdbcUrl(jdbcUrl);
+            config.setUsername("sa");
+            config.setPassword("");
+            config.setDriverClassName(org.h2.Driver.class.getName());
+            config.setMaximumPoolSize(MAX_POOL_SIZE);
+        } else {
+            // Shared schema: every server pointed at it reads and writes the same rows
+            this.jdbcUrl = dialect.jdbcUrl(settings.host(), settings.port(), settings.database());
+            config.setJdbcUrl(jdbcUrl);
+            config.setUsername(settings.username());
+            config.setPassword(settings.password());
+            config.setDriverClassName(requireDriver(dialect));
+            config.setMaximumPoolSize(settings.poolSize());
+            Text.sendDebugLog(INFO, "Using " + dialect + " database " + settings.database() + " at " + settings.host() + ":" + settings.port());
+        }
+        config.setPoolName("Allium-Core");
         // Connection pool configuration
-        config.setMaximumPoolSize(MAX_POOL_SIZE);
         config.setMinimumIdle(MIN_IDLE);
         config.setConnectionTimeout(CONNECTION_TIMEOUT_MS);
         config.setIdleTimeout(TimeUnit.MINUTES.toMillis(10));
@@ -129,9 +176,30 @@ public class Database {
         
         // Initialize database schema
         initialize();
+        this.locationJournal = new PlayerLocationJournal(this::getConnection, uuid -> Bukkit.getPlayer(uuid) != null);
     }
     
 
+    /**
+     * Only H2 ships inside Allium. Failing here with instructions beats a
+     * connection-pool error about a missing driver class.
+     */
+    private static String requireDriver(DatabaseDialect dialect) {
+        try {
+            Class.forName(dialect.driverClass());
+            return dialect.driverClass();
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(
+                "JDBC driver " + dialect.driverClass() + " is not on the classpath. Allium bundles only H2;"
+                    + " to use " + dialect + ", drop the driver jar into the server's libraries/ folder"
+                    + " and restart, or set database.type to H2 in config.yml.", e);
+        }
+    }
+
+    public DatabaseDialect getDialect() {
+        return dialect;
+    }
+
     private void initialize() {
         Text.sendDebugLog(INFO, "Initializing database connection pool...");
         try (Connection connection = dataSource.getConnection();
@@ -249,7 +317,7 @@ public class Database {
         return -1; // Return -1 if no generated key was returned
     }
 
-    private static final int CURRENT_DB_VERSION = 8;
+    private static final int CURRENT_DB_VERSION = 9;
 
     private void createTables(Connection connection) throws SQLException {
         try (Statement statement = connection.createStatement()) {
@@ -330,7 +398,7 @@ public class Database {
                             "PRIMARY KEY (player_uuid, ip_address)" +
                             ")"
             );
-            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_player_ip_history_ip ON player_ip_history (ip_address)");
+            createIndexIfMissing(connection, statement, "idx_player_ip_history_ip", "player_ip_history", "ip_address");
 
             Text.sendDebugLog(INFO, "Creating player_inventories table...");
             statement.executeUpdate(
@@ -410,6 +478,10 @@ public class Database {
                 "armor_data LONGTEXT NOT NULL, " +
                 "offhand_data LONGTEXT NOT NULL, " +
                 "enderchest_data LONGTEXT NOT NULL, " +
+                "inventory_hash CHAR(64), " +
+                "armor_hash CHAR(64), " +
+                "offhand_hash CHAR(64), " +
+                "enderchest_hash CHAR(64), " +
                 "experience INT NOT NULL, " +
                 "world VARCHAR(64) NOT NULL, " +
                 "x DOUBLE NOT NULL, " +
@@ -423,6 +495,17 @@ public class Database {
                 ")"
             );
 
+            // Snapshot sections, keyed by content hash and shared by every snapshot row referencing them
+            Text.sendDebugLog(INFO, "Creating inventory_blobs table...");
+            statement.executeUpdate(
+                "CREATE TABLE IF NOT EXISTS inventory_blobs (" +
+                "hash CHAR(64) PRIMARY KEY, " +
+                "data LONGBLOB NOT NULL, " +
+                "ref_count INT NOT NULL, " +
+                "created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP" +
+                ")"
+            );
+
             Text.sendDebugLog(INFO, "Creating offline_inventory_state table...");
             statement.executeUpdate(
                     "CREATE TABLE IF NOT EXISTS offline_inventory_state (" +
@@ -494,7 +577,7 @@ public class Database {
 
             Text.sendDebugLog(INFO, "Creating server_data table...");
             statement.executeUpdate(
-                    "CREATE TABLE IF NOT EXISTS server_data (\"key\" VARCHAR(255) PRIMARY KEY, \"value\" TEXT)"
+                    "CREATE TABLE IF NOT EXISTS server_data (" + dialect.quote("key") + " VARCHAR(255) PRIMARY KEY, " + dialect.quote("value") + " TEXT)"
             );
 
             Text.sendDebugLog(INFO, "Creating player_notes table...");
@@ -575,7 +658,7 @@ public class Database {
             try (Connection connection = getConnection()) {
                 if (tableExists(connection, "inventory_snapshots") && !columnExists(connection, "inventory_snapshots", "offhand_data")) {
                     Text.sendDebugLog(INFO, "Adding offhand_data column to inventory_snapshots table...");
-                    statement.executeUpdate("ALTER TABLE inventory_snapshots ADD COLUMN IF NOT EXISTS offhand_data LONGTEXT");
+                    statement.executeUpdate(dialect.addColumn("inventory_snapshots", "offhand_data LONGTEXT"));
                     Text.sendDebugLog(INFO, "Successfully added offhand_data column to inventory_snapshots table");
                 }
             }
@@ -587,7 +670,7 @@ public class Database {
             try (Connection connection = getConnection()) {
                 if (tableExists(connection, "inventory_snapshots") && !columnExists(connection, "inventory_snapshots", "enderchest_data")) {
                     Text.sendDebugLog(INFO, "Adding enderchest_data column to inventory_snapshots table...");
-                    statement.executeUpdate("ALTER TABLE inventory_snapshots ADD COLUMN IF NOT EXISTS enderchest_data LONGTEXT DEFAULT ''");
+                    statement.executeUpdate(dialect.addColumn("inventory_snapshots", "enderchest_data LONGTEXT DEFAULT ''"));
                     Text.sendDebugLog(INFO, "Successfully added enderchest_data column to inventory_snapshots table");
                 }
             }
@@ -599,7 +682,7 @@ public class Database {
             try (Connection connection = getConnection()) {
                 if (tableExists(connection, "player_data") && !columnExists(connection, "player_data", "vanish_level")) {
                     Text.sendDebugLog(INFO, "Adding vanish_level column to player_data table...");
-                    statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS vanish_level INT DEFAULT 0");
+                    statement.executeUpdate(dialect.addColumn("player_data", "vanish_level INT DEFAULT 0"));
                     Text.sendDebugLog(INFO, "Successfully added vanish_level column to player_data table");
                 }
             }
@@ -611,7 +694,7 @@ public class Database {
             try (Connection connection = getConnection()) {
                 if (tableExists(connection, "player_data") && !columnExists(connection, "player_data", "last_ip")) {
                     Text.sendDebugLog(INFO, "Adding last_ip column to player_data table...");
-                    statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS last_ip VARCHAR(64)");
+                    statement.executeUpdate(dialect.addColumn("player_data", "last_ip VARCHAR(64)"));
                     Text.sendDebugLog(INFO, "Successfully added last_ip column to player_data table");
                 }
 
@@ -627,7 +710,7 @@ public class Database {
                         "PRIMARY KEY (player_uuid, ip_address)" +
                         ")"
                     );
-                    statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_player_ip_history_ip ON player_ip_history (ip_address)");
+                    createIndexIfMissing(connection, statement, "idx_player_ip_history_ip", "player_ip_history", "ip_address");
                     Text.sendDebugLog(INFO, "Successfully created player_ip_history table");
                 }
             }
@@ -639,7 +722,7 @@ public class Database {
             try (Connection connection = getConnection()) {
                 if (tableExists(connection, "player_data") && !columnExists(connection, "player_data", "pvp_enabled")) {
                     Text.sendDebugLog(INFO, "Adding pvp_enabled column to player_data table...");
-                    statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS pvp_enabled BOOLEAN DEFAULT TRUE");
+                    statement.executeUpdate(dialect.addColumn("player_data", "pvp_enabled BOOLEAN DEFAULT TRUE"));
                     Text.sendDebugLog(INFO, "Successfully added pvp_enabled column to player_data table");
                 }
             }
@@ -651,12 +734,12 @@ public class Database {
             try (Connection connection = getConnection()) {
                 if (tableExists(connection, "player_data") && !columnExists(connection, "player_data", "tfly_time")) {
                     Text.sendDebugLog(INFO, "Adding tfly_time column to player_data table...");
-                    statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS tfly_time BIGINT DEFAULT 0");
+                    statement.executeUpdate(dialect.addColumn("player_data", "tfly_time BIGINT DEFAULT 0"));
                     Text.sendDebugLog(INFO, "Successfully added tfly_time column to player_data table");
                 }
                 if (tableExists(connection, "player_data") && !columnExists(connection, "player_data", "tfly_enabled")) {
                     Text.sendDebugLog(INFO, "Adding tfly_enabled column to player_data table...");
-                    statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS tfly_enabled BOOLEAN DEFAULT FALSE");
+                    statement.executeUpdate(dialect.addColumn("player_data", "tfly_enabled BOOLEAN DEFAULT FALSE"));
                     Text.sendDebugLog(INFO, "Successfully added tfly_enabled column to player_data table");
                 }
             }
@@ -682,6 +765,20 @@ public class Database {
 
             Text.sendDebugLog(INFO, "Applied migration to version 8");
         }
+
+        if (currentVersion < 9) {
+            try (Connection connection = getConnection()) {
+                for (String column : SNAPSHOT_HASH_COLUMNS) {
+                    if (tableExists(connection, "inventory_snapshots") && !columnExists(connection, "inventory_snapshots", column)) {
+                        Text.sendDebugLog(INFO, "Adding " + column + " column to inventory_snapshots table...");
+                        statement.executeUpdate(dialect.addColumn("inventory_snapshots", column + " CHAR(64)"));
+                        Text.sendDebugLog(INFO, "Successfully added " + column + " column to inventory_snapshots table");
+                    }
+                }
+            }
+
+            Text.sendDebugLog(INFO, "Applied migration to version 9");
+        }
     }
 
     /**
@@ -693,72 +790,72 @@ public class Database {
             // Check and add home_name column (unchanged)
             if (!columnExists(connection, "player_locations", "home_name")) {
                 Text.sendDebugLog(INFO, "Adding home_name column to player_locations table...");
-                statement.executeUpdate("ALTER TABLE player_locations ADD COLUMN IF NOT EXISTS home_name VARCHAR(50)");
-                statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_home ON player_locations (player_uuid, location_type, home_name)");
+                statement.executeUpdate(dialect.addColumn("player_locations", "home_name VARCHAR(50)"));
+                createIndexIfMissing(connection, statement, "idx_home", "player_locations", "player_uuid, location_type, home_name");
                 Text.sendDebugLog(INFO, "Successfully added home_name column and index to player_locations table");
             }
 
             // Check and add migrated_perms column to player_data
             if (!columnExists(connection, "player_data", "migrated_perms")) {
                 Text.sendDebugLog(INFO, "Adding migrated_perms column to player_data table...");
-                statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS migrated_perms BOOLEAN DEFAULT FALSE");
+                statement.executeUpdate(dialect.addColumn("player_data", "migrated_perms BOOLEAN DEFAULT FALSE"));
                 Text.sendDebugLog(INFO, "Successfully added migrated_perms column to player_data table");
             }
 
             // Check and add walk_speed and fly_speed columns to player_data
             if (!columnExists(connection, "player_data", "walk_speed")) {
                 Text.sendDebugLog(INFO, "Adding walk_speed column to player_data table...");
-                statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS walk_speed FLOAT DEFAULT 0.2");
+                statement.executeUpdate(dialect.addColumn("player_data", "walk_speed FLOAT DEFAULT 0.2"));
                 Text.sendDebugLog(INFO, "Successfully added walk_speed column to player_data table");
             }
 
             if (!columnExists(connection, "player_data", "fly_speed")) {
                 Text.sendDebugLog(INFO, "Adding fly_speed column to player_data table...");
-                statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS fly_speed FLOAT DEFAULT 0.1");
+                statement.executeUpdate(dialect.addColumn("player_data", "fly_speed FLOAT DEFAULT 0.1"));
                 Text.sendDebugLog(INFO, "Successfully added fly_speed column to player_data table");
             }
 
             if (!columnExists(connection, "inventory_snapshots", "enderchest_data")) {
                 Text.sendDebugLog(INFO, "Adding enderchest_data column to inventory_snapshots table (final pass)...");
-                statement.executeUpdate("ALTER TABLE inventory_snapshots ADD COLUMN IF NOT EXISTS enderchest_data LONGTEXT DEFAULT ''");
+                statement.executeUpdate(dialect.addColumn("inventory_snapshots", "enderchest_data LONGTEXT DEFAULT ''"));
                 Text.sendDebugLog(INFO, "Successfully added enderchest_data column to inventory_snapshots table (final pass)");
             }
 
             // Add player_displayname column to player_data if it doesn't exist
             if (!columnExists(connection, "player_data", "player_displayname")) {
                 Text.sendDebugLog(INFO, "Adding player_displayname column to player_data table...");
-                statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS player_displayname VARCHAR(100)");
+                statement.executeUpdate(dialect.addColumn("player_data", "player_displayname VARCHAR(100)"));
                 Text.sendDebugLog(INFO, "Successfully added player_displayname column to player_data table");
             }
 
             // Add staff_chat column for /a (ChatControl channel toggle) persistence
             if (!columnExists(connection, "player_data", "staff_chat")) {
                 Text.sendDebugLog(INFO, "Adding staff_chat column to player_data table...");
-                statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS staff_chat BOOLEAN DEFAULT FALSE");
+                statement.executeUpdate(dialect.addColumn("player_data", "staff_chat BOOLEAN DEFAULT FALSE"));
                 Text.sendDebugLog(INFO, "Successfully added staff_chat column to player_data table");
             }
 
             if (!columnExists(connection, "player_data", "last_ip")) {
                 Text.sendDebugLog(INFO, "Adding last_ip column to player_data table...");
-                statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS last_ip VARCHAR(64)");
+                statement.executeUpdate(dialect.addColumn("player_data", "last_ip VARCHAR(64)"));
                 Text.sendDebugLog(INFO, "Successfully added last_ip column to player_data table");
             }
 
             if (!columnExists(connection, "player_data", "pvp_enabled")) {
                 Text.sendDebugLog(INFO, "Adding pvp_enabled column to player_data table...");
-                statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS pvp_enabled BOOLEAN DEFAULT TRUE");
+                statement.executeUpdate(dialect.addColumn("player_data", "pvp_enabled BOOLEAN DEFAULT TRUE"));
                 Text.sendDebugLog(INFO, "Successfully added pvp_enabled column to player_data table");
             }
 
             if (!columnExists(connection, "player_data", "tfly_time")) {
                 Text.sendDebugLog(INFO, "Adding tfly_time column to player_data table...");
-                statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS tfly_time BIGINT DEFAULT 0");
+                statement.executeUpdate(dialect.addColumn("player_data", "tfly_time BIGINT DEFAULT 0"));
                 Text.sendDebugLog(INFO, "Successfully added tfly_time column to player_data table");
             }
 
             if (!columnExists(connection, "player_data", "tfly_enabled")) {
                 Text.sendDebugLog(INFO, "Adding tfly_enabled column to player_data table...");
-                statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS tfly_enabled BOOLEAN DEFAULT FALSE");
+                statement.executeUpdate(dialect.addColumn("player_data", "tfly_enabled BOOLEAN DEFAULT FALSE"));
                 Text.sendDebugLog(INFO, "Successfully added tfly_enabled column to player_data table");
             }
 
@@ -776,7 +873,7 @@ public class Database {
                 );
                 Text.sendDebugLog(INFO, "Successfully created player_ip_history table");
             }
-            statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_player_ip_history_ip ON player_ip_history (ip_address)");
+            createIndexIfMissing(connection, statement, "idx_player_ip_history_ip", "player_ip_history", "ip_address");
 
             // Table for staff-set / migrated max homes per player (-1 or missing = use permissions)
             if (!tableExists(connection, "player_max_homes")) {
@@ -841,22 +938,128 @@ public class Database {
         return executeUpdate(sql, amount, playerUUID.toString()) > 0;
     }
 
+    /**
+     * Adds to a player's balance in a single statement, creating the row when
+     * the player has none yet. The arithmetic happens in the database, so
+     * concurrent callers cannot overwrite each other's changes.
+     */
     public boolean addToPlayerBalance(UUID playerUUID, BigDecimal amount) {
-        BigDecimal currentBalance = getPlayerBalance(playerUUID);
-        if (currentBalance == null) {
-            return createDefaultPlayerBalance(playerUUID, amount);
+        try (Connection connection = getConnection()) {
+            return creditBalance(connection, playerUUID, amount);
+        } catch (SQLException e) {
+            Text.sendDebugLog(ERROR, "Failed to add to player balance", e);
+            return false;
         }
-        BigDecimal newBalance = currentBalance.add(amount);
-        return setPlayerBalance(playerUUID, newBalance);
     }
 
     public boolean subtractFromPlayerBalance(UUID playerUUID, BigDecimal amount) {
-        BigDecimal currentBalance = getPlayerBalance(playerUUID);
-        if (currentBalance == null) {
+        return subtractFromPlayerBalance(playerUUID, amount, true);
+    }
+
+    /**
+     * Subtracts from a player's balance in a single statement. Unless
+     * {@code allowNegative} is set the statement only matches while the
+     * balance covers the amount, so the funds check and the debit cannot be
+     * separated by another writer.
+     *
+     * @return true if the balance was debited
+     */
+    public boolean subtractFromPlayerBalance(UUID playerUUID, BigDecimal amount, boolean allowNegative) {
+        try (Connection connection = getConnection()) {
+            return debitBalance(connection, playerUUID, amount, allowNegative);
+        } catch (SQLException e) {
+            Text.sendDebugLog(ERROR, "Failed to subtract from player balance", e);
             return false;
         }
-        BigDecimal newBalance = currentBalance.subtract(amount);
-        return setPlayerBalance(playerUUID, newBalance);
+    }
+
+    /**
+     * Moves money between two players in one transaction: either both
+     * balances change or neither does.
+     *
+     * @return true if the transfer was applied, false if the sender could not
+     *         cover it or the database failed
+     */
+    public boolean transferBalance(UUID fromUUID, UUID toUUID, BigDecimal amount, boolean allowNegative) {
+        Boolean result = executeInTransaction(connection -> {
+            if (!debitBalance(connection, fromUUID, amount, allowNegative)) {
+                return false;
+            }
+            if (!creditBalance(connection, toUUID, amount)) {
+                throw new SQLException("Failed to credit " + toUUID + " during transfer");
+            }
+            return true;
+        }, -1);
+        return Boolean.TRUE.equals(result);
+    }
+
+    /**
+     * Applies a batch of balance deltas in one transaction, using
+     * {@code balance = balance + ?} so rows changed elsewhere in the meantime
+     * keep those changes. Used by the economy ledger's write-behind flush.
+     *
+     * @return true if every delta was written
+     */
+    public boolean applyBalanceDeltas(Map<UUID, BigDecimal> deltas) {
+        if (deltas.isEmpty()) {
+            return true;
+        }
+        Boolean result = executeInTransaction(connection -> {
+            List<UUID> missing = new ArrayList<>();
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "UPDATE player_balances SET balance = balance + ?, last_updated = CURRENT_TIMESTAMP WHERE uuid = ?")) {
+                List<UUID> order = new ArrayList<>(deltas.keySet());
+                for (UUID uuid : order) {
+                    stmt.setBigDecimal(1, deltas.get(uuid));
+                    stmt.setString(2, uuid.toString());
+                    stmt.addBatch();
+                }
+                int[] counts = stmt.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    if (counts[i] == 0) {
+                        missing.add(order.get(i));
+                    }
+                }
+            }
+            for (UUID uuid : missing) {
+                if (!creditBalance(connection, uuid, deltas.get(uuid))) {
+                    throw new SQLException("Failed to create balance row for " + uuid);
+                }
+            }
+            return true;
+        }, -1);
+        return Boolean.TRUE.equals(result);
+    }
+
+    private boolean creditBalance(Connection connection, UUID playerUUID, BigDecimal amount) throws SQLException {
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "UPDATE player_balances SET balance = balance + ?, last_updated = CURRENT_TIMESTAMP WHERE uuid = ?")) {
+            stmt.setBigDecimal(1, amount);
+            stmt.setString(2, playerUUID.toString());
+            if (stmt.executeUpdate() > 0) {
+                return true;
+            }
+        }
+        try (PreparedStatement stmt = connection.prepareStatement(
+                "INSERT INTO player_balances (uuid, balance) VALUES (?, ?)")) {
+            stmt.setString(1, playerUUID.toString());
+            stmt.setBigDecimal(2, amount);
+            return stmt.executeUpdate() > 0;
+        }
+    }
+
+    private boolean debitBalance(Connection connection, UUID playerUUID, BigDecimal amount,
+                                 boolean allowNegative) throws SQLException {
+        String sql = "UPDATE player_balances SET balance = balance - ?, last_updated = CURRENT_TIMESTAMP WHERE uuid = ?"
+                + (allowNegative ? "" : " AND balance >= ?");
+        try (PreparedStatement stmt = connection.prepareStatement(sql)) {
+            stmt.setBigDecimal(1, amount);
+            stmt.setString(2, playerUUID.toString());
+            if (!allowNegative) {
+                stmt.setBigDecimal(3, amount);
+            }
+            return stmt.executeUpdate() > 0;
+        }
     }
 
     public boolean hasEnoughBalance(UUID playerUUID, BigDecimal amount) {
@@ -894,6 +1097,33 @@ public class Database {
         return topBalances;
     }
 
+    /**
+     * Every balance row with the player's last known name (null when unknown),
+     * unsorted, or null when the read failed. Read at startup to build the
+     * in-memory leaderboard.
+     */
+    public List<BalanceEntry> getAllBalances() {
+        List<BalanceEntry> balances = new ArrayList<>();
+        String sql = "SELECT b.uuid, p.name, b.balance FROM player_balances b " +
+                "LEFT JOIN player_data p ON b.uuid = p.uuid";
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql);
+             ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                try {
+                    UUID uuid = UUID.fromString(resultSet.getString("uuid"));
+                    balances.add(new BalanceEntry(uuid, resultSet.getString("name"), resultSet.getBigDecimal("balance")));
+                } catch (IllegalArgumentException e) {
+                    Text.sendDebugLog(WARN, "Skipping balance row with invalid UUID: " + resultSet.getString("uuid"));
+                }
+            }
+        } catch (SQLException e) {
+            Text.sendDebugLog(ERROR, "Failed to load balances", e);
+            return null;
+        }
+        return balances;
+    }
+
     /**
      * Saves the player's current state for handcuffs system
      */
@@ -1207,13 +1437,14 @@ public class Database {
     }
 
     public String getServerData(String key) {
-        return queryString("SELECT \"value\" FROM server_data WHERE \"key\" = ?", key);
+        return queryString("SELECT " + dialect.quote("value") + " FROM server_data WHERE " + dialect.quote("key") + " = ?", key);
     }
 
     public void setServerData(String key, String value) {
         try {
-            String sql = "INSERT INTO server_data (\"key\", \"value\") VALUES (?, ?) " +
-                         "ON DUPLICATE KEY UPDATE \"value\" = VALUES(\"value\")";
+            String value = dialect.quote("value");
+            String sql = "INSERT INTO server_data (" + dialect.quote("key") + ", " + value + ") VALUES (?, ?) " +
+                         "ON DUPLICATE KEY UPDATE " + value + " = VALUES(" + value + ")";
             try (Connection connection = getConnection();
                  PreparedStatement statement = connection.prepareStatement(sql)) {
                 statement.setString(1, key);
@@ -1241,34 +1472,22 @@ public class Database {
         DEATH, TELEPORT, COMMAND, LOGIN, LOGOUT, HOME
     }
 
+    /**
+     * Records a player's latest location of a type. Only memory is updated
+     * here; {@link PlayerLocationJournal} writes it with its next flush.
+     */
     public void savePlayerLocation(UUID playerUUID, LocationType locationType, Location location, long timestamp) {
-        try (Connection connection = getConnection()) {
-            // Use REPLACE to ensure only one entry per player/location type
-            String sql = "REPLACE INTO player_locations " +
-                    "(player_uuid, location_type, world, x, y, z, yaw, pitch, timestamp, last_updated) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
-            try (PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerUUID.toString());
-                statement.setString(2, locationType.name());
-                statement.setString(3, location.getWorld().getName());
-                statement.setDouble(4, location.getX());
-                statement.setDouble(5, location.getY());
-                statement.setDouble(6, location.getZ());
-                statement.setFloat(7, location.getYaw());
-                statement.setFloat(8, location.getPitch());
-                statement.setLong(9, timestamp);
-                statement.executeUpdate();
-                
-                if (debugMode) {
-                    Text.sendDebugLog(INFO, String.format(
-                        "[Database] Saved %s location for %s at %s (%.1f, %.1f, %.1f)",
-                        locationType, playerUUID, location.getWorld().getName(),
-                        location.getX(), location.getY(), location.getZ()
-                    ));
-                }
-            }
-        } catch (SQLException e) {
-            Text.sendDebugLog(WARN, "Failed to save " + locationType + " location for player UUID: " + playerUUID, e);
+        requireJournaled(locationType);
+        locationJournal.record(playerUUID, locationType, new PlayerLocationJournal.Row(
+            location.getWorld().getName(), location.getX(), location.getY(), location.getZ(),
+            location.getYaw(), location.getPitch(), timestamp));
+
+        if (debugMode) {
+            Text.sendDebugLog(INFO, String.format(
+                "[Database] Saved %s location for %s at %s (%.1f, %.1f, %.1f)",
+                locationType, playerUUID, location.getWorld().getName(),
+                location.getX(), location.getY(), location.getZ()
+            ));
         }
     }
 
@@ -1276,9 +1495,33 @@ public class Database {
         for (Player player : Bukkit.getOnlinePlayers()) {
             savePlayerLocation(player.getUniqueId(), LocationType.LOGOUT, player.getLocation(), System.currentTimeMillis());
         }
+        locationJournal.flushSoon();
+    }
+
+    /** Writes pending locations without waiting for the periodic flush, e.g. when a player quits. */
+    public void flushPlayerLocations() {
+        locationJournal.flushSoon();
+    }
+
+    // Homes share the table but are keyed by name; they go through savePlayerHome and deletePlayerHome
+    private static void requireJournaled(LocationType locationType) {
+        if (locationType == LocationType.HOME) {
+            throw new IllegalArgumentException("Homes are stored with savePlayerHome");
+        }
+    }
+
+    private Location toLocation(PlayerLocationJournal.Row row) {
+        if (row == null) {
+            return null;
+        }
+        World world = plugin.getServer().getWorld(row.world());
+        return world != null ? new Location(world, row.x(), row.y(), row.z(), row.yaw(), row.pitch()) : null;
     }
 
-    public void savePlayerHome(UUID playerUUID, String homeName, Location location, long timestamp) {
+    /** A home as stored, with the world by name so it can be held while the world is unloaded. */
+    public record StoredHome(String name, String world, double x, double y, double z, float yaw, float pitch) {}
+
+    public boolean savePlayerHome(UUID playerUUID, String homeName, Location location, long timestamp) {
         try {
             String sql = "INSERT INTO player_locations (player_uuid, location_type, home_name, world, x, y, z, yaw, pitch, timestamp, last_updated) " +
                     "VALUES (?, 'HOME', ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
@@ -1302,9 +1545,11 @@ public class Database {
                 statement.setFloat(15, location.getPitch());
                 statement.setLong(16, timestamp);
                 statement.executeUpdate();
+                return true;
             }
         } catch (SQLException e) {
             Text.sendDebugLog(WARN, "Failed to save home '" + homeName + "' for player UUID: " + playerUUID, e);
+            return false;
         }
     }
 
@@ -1358,6 +1603,34 @@ public class Database {
         return homes;
     }
 
+    /**
+     * Reads every home of a player in one query. Returns null if the query
+     * failed, so callers can tell that apart from having no homes.
+     */
+    public List<StoredHome> getPlayerHomeRecords(UUID playerUUID) {
+        List<StoredHome> homes = new ArrayList<>();
+        String sql = "SELECT home_name, world, x, y, z, yaw, pitch FROM player_locations " +
+                "WHERE player_uuid = ? AND location_type = 'HOME'";
+        try (Connection connection = getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setString(1, playerUUID.toString());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    String homeName = resultSet.getString("home_name");
+                    if (homeName != null) {
+                        homes.add(new StoredHome(homeName, resultSet.getString("world"),
+                                resultSet.getDouble("x"), resultSet.getDouble("y"), resultSet.getDouble("z"),
+                                resultSet.getFloat("yaw"), resultSet.getFloat("pitch")));
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            Text.sendDebugLog(WARN, "Failed to get homes for player UUID: " + playerUUID, e);
+            return null;
+        }
+        return homes;
+    }
+
     public int getPlayerHomeCount(UUID playerUUID) {
         String sql = "SELECT COUNT(*) FROM player_locations WHERE player_uuid = ? AND location_type = 'HOME'";
         try (Connection connection = getConnection();
@@ -1423,8 +1696,8 @@ public class Database {
                     return stmt.executeUpdate() >= 0;
                 }
             }
-            // MERGE for H2 (upsert)
-            String sql = "MERGE INTO player_max_homes (uuid, max_homes) KEY(uuid) VALUES (?, ?)";
+            String sql = "INSERT INTO player_max_homes (uuid, max_homes) VALUES (?, ?) " +
+                         "ON DUPLICATE KEY UPDATE max_homes = VALUES(max_homes)";
             try (PreparedStatement stmt = connection.prepareStatement(sql)) {
                 stmt.setString(1, playerUUID.toString());
                 stmt.setInt(2, maxHomes);
@@ -1437,59 +1710,19 @@ public class Database {
     }
 
     public Location getPlayerLocation(UUID playerUUID, LocationType locationType) {
-        String sql = "SELECT world, x, y, z, yaw, pitch FROM player_locations " +
-                "WHERE player_uuid = ? AND location_type = ? " +
-                "ORDER BY timestamp DESC, last_updated DESC LIMIT 1";
-                
-        try (Connection connection = getConnection();
-             PreparedStatement statement = connection.prepareStatement(sql)) {
-            
-            statement.setString(1, playerUUID.toString());
-            statement.setString(2, locationType.name());
-            
-            try (ResultSet resultSet = statement.executeQuery()) {
-                if (resultSet.next()) {
-                    String worldName = resultSet.getString("world");
-                    double x = resultSet.getDouble("x");
-                    double y = resultSet.getDouble("y");
-                    double z = resultSet.getDouble("z");
-                    float yaw = resultSet.getFloat("yaw");
-                    float pitch = resultSet.getFloat("pitch");
-                    World world = plugin.getServer().getWorld(worldName);
-                    if (world != null) {
-                        return new Location(world, x, y, z, yaw, pitch);
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            Text.sendDebugLog(WARN, "Failed to get " + locationType + 
-                " location for player UUID: " + playerUUID, e);
-        }
-        return null;
+        requireJournaled(locationType);
+        return toLocation(locationJournal.get(playerUUID, locationType));
     }
 
     public long getPlayerLocationTimestamp(UUID playerUUID, LocationType locationType) {
-        try {
-            String sql = "SELECT timestamp FROM player_locations " +
-                    "WHERE player_uuid = ? AND location_type = ? " +
-                    "ORDER BY timestamp DESC, last_updated DESC LIMIT 1";
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerUUID.toString());
-                statement.setString(2, locationType.name());
-                try (ResultSet resultSet = statement.executeQuery()) {
-                    if (resultSet.next()) {
-                        return resultSet.getLong("timestamp");
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            Text.sendDebugLog(WARN, "Failed to get " + locationType + " timestamp for player UUID: " + playerUUID, e);
-        }
-        return 0L;
+        requireJournaled(locationType);
+        PlayerLocationJournal.Row row = locationJournal.get(playerUUID, locationType);
+        return row != null ? row.timestamp() : 0L;
     }
 
     public Map<String, Object> getLastPlayerLocation(UUID playerUUID) {
+        // Reads the table directly, so it has to see what is still only in memory
+        locationJournal.flush();
         try {
             String sql = "SELECT location_type, world, x, y, z, yaw, pitch, timestamp " +
                     "FROM player_locations WHERE player_uuid = ? " +
@@ -1519,32 +1752,7 @@ public class Database {
     }
 
     public Location getLastNonDeathLocation(UUID playerUUID) {
-        try {
-            String sql = "SELECT world, x, y, z, yaw, pitch FROM player_locations " +
-                    "WHERE player_uuid = ? AND location_type != 'DEATH' " +
-                    "ORDER BY timestamp DESC, last_updated DESC LIMIT 1";
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerUUID.toString());
-                try (ResultSet resultSet = statement.executeQuery()) {
-                    if (resultSet.next()) {
-                        String worldName = resultSet.getString("world");
-                        double x = resultSet.getDouble("x");
-                        double y = resultSet.getDouble("y");
-                        double z = resultSet.getDouble("z");
-                        float yaw = resultSet.getFloat("yaw");
-                        float pitch = resultSet.getFloat("pitch");
-                        World world = plugin.getServer().getWorld(worldName);
-                        if (world != null) {
-                            return new Location(world, x, y, z, yaw, pitch);
-                        }
-                    }
-                }
-            }
-        } catch (SQLException e) {
-            Text.sendDebugLog(WARN, "Failed to get last non-death location for player UUID: " + playerUUID, e);
-        }
-        return null;
+        return toLocation(locationJournal.latestExceptDeath(playerUUID));
     }
 
     public void saveTeleportToggleState(UUID playerUuid, boolean state) {
@@ -1594,19 +1802,9 @@ public class Database {
     }
 
     public boolean deletePlayerLocation(UUID playerUUID, LocationType locationType) {
-        try {
-            String sql = "DELETE FROM player_locations WHERE player_uuid = ? AND location_type = ?";
-            try (Connection connection = getConnection();
-                 PreparedStatement statement = connection.prepareStatement(sql)) {
-                statement.setString(1, playerUUID.toString());
-                statement.setString(2, locationType.name());
-                statement.executeUpdate();
-                return true;
-            }
-        } catch (SQLException e) {
-            Text.sendDebugLog(WARN, "Failed to delete " + locationType + " location for player UUID: " + playerUUID);
-            return false;
-        }
+        requireJournaled(locationType);
+        locationJournal.delete(playerUUID, locationType);
+        return true;
     }
 
     public void savePlayerFlightStatus(Player player) {
@@ -2120,7 +2318,7 @@ public class Database {
         try (Connection connection = getConnection()) {
             if (!columnExists(connection, "player_data", "last_ip")) {
                 try (Statement statement = connection.createStatement()) {
-                    statement.executeUpdate("ALTER TABLE player_data ADD COLUMN IF NOT EXISTS last_ip VARCHAR(64)");
+                    statement.executeUpdate(dialect.addColumn("player_data", "last_ip VARCHAR(64)"));
                 }
             }
 
@@ -2136,7 +2334,7 @@ public class Database {
                         "PRIMARY KEY (player_uuid, ip_address)" +
                         ")"
                     );
-                    statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_player_ip_history_ip ON player_ip_history (ip_address)");
+                    createIndexIfMissing(connection, statement, "idx_player_ip_history_ip", "player_ip_history", "ip_address");
                 }
             }
 
@@ -2741,7 +2939,7 @@ public class Database {
     }
 
     /**
-     * Gets all warp information
+     * Gets all warp information, or null when the read failed
      */
     public List<Map<String, Object>> getAllWarps() {
         List<Map<String, Object>> warps = new ArrayList<>();
@@ -2768,6 +2966,7 @@ public class Database {
             }
         } catch (SQLException e) {
             Text.sendDebugLog(ERROR, "Failed to get all warps", e);
+            return null;
         }
         return warps;
     }
@@ -2818,7 +3017,7 @@ public class Database {
                 shouldClose = true;
             }
             DatabaseMetaData metaData = connection.getMetaData();
-            try (ResultSet tables = metaData.getTables(null, null, tableName.toUpperCase(), null)) {
+            try (ResultSet tables = metaData.getTables(catalog(connection), null, dialect.metadataName(tableName), null)) {
                 return tables.next();
             }
         } catch (SQLException e) {
@@ -2850,7 +3049,7 @@ public class Database {
                 shouldClose = true;
             }
             DatabaseMetaData metaData = connection.getMetaData();
-            try (ResultSet columns = metaData.getColumns(null, null, tableName.toUpperCase(), columnName.toUpperCase())) {
+            try (ResultSet columns = metaData.getColumns(catalog(connection), null, dialect.metadataName(tableName), dialect.metadataName(columnName))) {
                 return columns.next();
             }
         } catch (SQLException e) {
@@ -2867,6 +3066,36 @@ public class Database {
         }
     }
     
+    /**
+     * Creates an index unless it exists. MySQL has no IF NOT EXISTS for
+     * indexes, so there the catalog is asked first.
+     */
+    private void createIndexIfMissing(Connection connection, Statement statement, String index, String table, String columns) throws SQLException {
+        if (!dialect.supportsDdlIfNotExists() && indexExists(connection, table, index)) {
+            return;
+        }
+        statement.executeUpdate(dialect.createIndex(index, table, columns));
+    }
+
+    private boolean indexExists(Connection connection, String table, String index) throws SQLException {
+        try (ResultSet indexes = connection.getMetaData().getIndexInfo(catalog(connection), null, dialect.metadataName(table), false, false)) {
+            while (indexes.next()) {
+                if (index.equalsIgnoreCase(indexes.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Catalog to search in metadata lookups. A shared server may hold other
+     * schemas with the same table names; H2 has only this one.
+     */
+    private String catalog(Connection connection) throws SQLException {
+        return dialect.isShared() ? connection.getCatalog() : null;
+    }
+
     /**
      * Checks if a column exists in a table (creates a new connection)
      * @param tableName The name of the table to check
@@ -2905,34 +3134,25 @@ public class Database {
                     createTables(conn);
                 }
 
-                String sql = "INSERT INTO inventory_snapshots (player_uuid, timestamp, reason, inventory_data, " +
-                            "armor_data, offhand_data, enderchest_data, experience, world, x, y, z, yaw, pitch) " +
-                            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-
-                try (PreparedStatement stmt = conn.prepareStatement(sql)) {
-                    Location loc = snapshot.getLocation();
-                    stmt.setString(1, snapshot.getPlayerId().toString());
-                    stmt.setLong(2, snapshot.getTimestamp());
-                    stmt.setString(3, snapshot.getReason());
-                    stmt.setString(4, snapshot.getInventoryData());
-                    stmt.setString(5, snapshot.getArmorData());
-                    stmt.setString(6, snapshot.getOffhandData() != null ? snapshot.getOffhandData() : "");
-                    stmt.setString(7, snapshot.getEnderChestData() != null ? snapshot.getEnderChestData() : "");
-                    stmt.setInt(8, snapshot.getExperience());
-                    stmt.setString(9, snapshot.getWorldName());
-                    stmt.setDouble(10, loc.getX());
-                    stmt.setDouble(11, loc.getY());
-                    stmt.setDouble(12, loc.getZ());
-                    stmt.setFloat(13, loc.getYaw());
-                    stmt.setFloat(14, loc.getPitch());
+                // Blob references and the row that holds them commit together
+                conn.setAutoCommit(false);
+                try (PreparedStatement stmt = conn.prepareStatement(INSERT_INVENTORY_SNAPSHOT_SQL)) {
+                    Map<String, BlobRef> blobs = new TreeMap<>();
+                    bindInventorySnapshot(stmt, snapshot, blobs);
+                    retainInventoryBlobs(conn, blobs);
 
                     int affectedRows = stmt.executeUpdate();
                     if (affectedRows > 0) {
+                        conn.commit();
                         Text.sendDebugLog(INFO, "Successfully saved inventory snapshot for player: " + snapshot.getPlayerId());
                         return true;
                     } else {
+                        conn.rollback();
                         Text.sendDebugLog(WARN, "No rows affected when saving inventory snapshot for " + snapshot.getPlayerId());
                     }
+                } catch (SQLException e) {
+                    conn.rollback();
+                    throw e;
                 }
             } catch (SQLException e) {
                 Text.sendDebugLog(ERROR, String.format("Attempt %d/%d - Database error saving inventory snapshot for player: %s - %s", 
@@ -2969,6 +3189,80 @@ public class Database {
         return false;
     }
 
+    /**
+     * Saves a batch of inventory snapshots in one transaction: one batched
+     * upsert for the blob references of every distinct section, then one
+     * batched insert for the rows. Unlike {@link #saveInventorySnapshot}
+     * this neither checks for the table nor retries: the caller decides when
+     * to try again, so no pooled connection is held while it waits.
+     * @param snapshots The snapshots to save
+     * @return true if every snapshot was saved, false if none were
+     */
+    public boolean saveInventorySnapshots(List<InventorySnapshot> snapshots) {
+        if (snapshots.isEmpty()) {
+            return true;
+        }
+        try (Connection conn = getConnection()) {
+            conn.setAutoCommit(false);
+            try (PreparedStatement stmt = conn.prepareStatement(INSERT_INVENTORY_SNAPSHOT_SQL)) {
+                Map<String, BlobRef> blobs = new TreeMap<>();
+                for (InventorySnapshot snapshot : snapshots) {
+                    bindInventorySnapshot(stmt, snapshot, blobs);
+                    stmt.addBatch();
+                }
+                retainInventoryBlobs(conn, blobs);
+                stmt.executeBatch();
+                conn.commit();
+                return true;
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            Text.sendDebugLog(ERROR, "Database error saving a batch of " + snapshots.size() + " inventory snapshots - " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static final String INSERT_INVENTORY_SNAPSHOT_SQL =
+        "INSERT INTO inventory_snapshots (player_uuid, timestamp, reason, inventory_data, " +
+        "armor_data, offhand_data, enderchest_data, experience, world, x, y, z, yaw, pitch, " +
+        "inventory_hash, armor_hash, offhand_hash, enderchest_hash) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    /**
+     * Fills {@link #INSERT_INVENTORY_SNAPSHOT_SQL} and records the blob
+     * reference each encoded section needs in {@code blobs}, for
+     * {@link #retainInventoryBlobs} to take before the row is written.
+     */
+    private void bindInventorySnapshot(PreparedStatement stmt, InventorySnapshot snapshot, Map<String, BlobRef> blobs) throws SQLException {
+        if (snapshot.hasSections()) {
+            stmt.setString(15, addBlobRef(blobs, snapshot.getInventorySection()));
+            stmt.setString(16, addBlobRef(blobs, snapshot.getArmorSection()));
+            stmt.setString(17, addBlobRef(blobs, snapshot.getOffhandSection()));
+            stmt.setString(18, addBlobRef(blobs, snapshot.getEnderChestSection()));
+        } else {
+            for (int index = 15; index <= 18; index++) {
+                stmt.setNull(index, Types.CHAR);
+            }
+        }
+        Location loc = snapshot.getLocation();
+        stmt.setString(1, snapshot.getPlayerId().toString());
+        stmt.setLong(2, snapshot.getTimestamp());
+        stmt.setString(3, snapshot.getReason());
+        stmt.setString(4, snapshot.getInventoryData());
+        stmt.setString(5, snapshot.getArmorData());
+        stmt.setString(6, snapshot.getOffhandData() != null ? snapshot.getOffhandData() : "");
+        stmt.setString(7, snapshot.getEnderChestData() != null ? snapshot.getEnderChestData() : "");
+        stmt.setInt(8, snapshot.getExperience());
+        stmt.setString(9, snapshot.getWorldName());
+        stmt.setDouble(10, loc.getX());
+        stmt.setDouble(11, loc.getY());
+        stmt.setDouble(12, loc.getZ());
+        stmt.setFloat(13, loc.getYaw());
+        stmt.setFloat(14, loc.getPitch());
+    }
+
     /**
      * Loads all inventory snapshots for a player, ordered by timestamp (newest first)
      * @param playerId The UUID of the player
@@ -2976,7 +3270,14 @@ public class Database {
      */
     public List<InventorySnapshot> getPlayerInventorySnapshots(UUID playerId) {
         List<InventorySnapshot> snapshots = new ArrayList<>();
-        String sql = "SELECT * FROM inventory_snapshots WHERE player_uuid = ? ORDER BY timestamp DESC";
+        String sql = "SELECT s.*, bi.data AS inventory_blob, ba.data AS armor_blob, " +
+                     "bo.data AS offhand_blob, be.data AS enderchest_blob " +
+                     "FROM inventory_snapshots s " +
+                     "LEFT JOIN inventory_blobs bi ON bi.hash = s.inventory_hash " +
+                     "LEFT JOIN inventory_blobs ba ON ba.hash = s.armor_hash " +
+                     "LEFT JOIN inventory_blobs bo ON bo.hash = s.offhand_hash " +
+                     "LEFT JOIN inventory_blobs be ON be.hash = s.enderchest_hash " +
+                     "WHERE s.player_uuid = ? ORDER BY s.timestamp DESC";
         
         Text.sendDebugLog(INFO, "=== Starting to fetch inventory snapshots for player: " + playerId + " ===");
         
@@ -3066,18 +3367,34 @@ public class Database {
                                 "armorData length: " + (armorData != null ? armorData.length() : "null") + ", " +
                                 "offhandData length: " + (offhandData != null ? offhandData.length() : "null"));
                             
-                            InventorySnapshot snapshot = new InventorySnapshot(
-                                playerId,
-                                timestamp,
-                                reason,
-                                inventoryData,
-                                armorData,
-                                offhandData != null ? offhandData : "", // Use empty string for backward compatibility
-                                enderChestData != null ? enderChestData : "",
-                                experience,
-                                location,
-                                worldName
-                            );
+                            InventorySnapshot snapshot;
+                            if (rs.getString("inventory_hash") != null) {
+                                snapshot = new InventorySnapshot(
+                                    playerId,
+                                    timestamp,
+                                    reason,
+                                    rs.getBytes("inventory_blob"),
+                                    rs.getBytes("armor_blob"),
+                                    rs.getBytes("offhand_blob"),
+                                    rs.getBytes("enderchest_blob"),
+                                    experience,
+                                    location,
+                                    worldName
+                                );
+                            } else {
+                                snapshot = new InventorySnapshot(
+                                    playerId,
+                                    timestamp,
+                                    reason,
+                                    inventoryData,
+                                    armorData,
+                                    offhandData != null ? offhandData : "", // Use empty string for backward compatibility
+                                    enderChestData != null ? enderChestData : "",
+                                    experience,
+                                    location,
+                                    worldName
+                                );
+                            }
                             
                             snapshots.add(snapshot);
                             Text.sendDebugLog(INFO, "Successfully loaded snapshot: " + 
@@ -3146,14 +3463,8 @@ public class Database {
      * @return true if the snapshot was deleted, false otherwise
      */
     public boolean deleteInventorySnapshot(long snapshotId) {
-        String sql = "DELETE FROM inventory_snapshots WHERE id = ?";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setLong(1, snapshotId);
-            return stmt.executeUpdate() > 0;
-            
+        try (Connection conn = getConnection()) {
+            return deleteSnapshotsReleasingBlobs(conn, "id = ?", snapshotId) > 0;
         } catch (SQLException e) {
             Text.sendDebugLog(ERROR, "Failed to delete inventory snapshot: " + snapshotId, e);
             return false;
@@ -3166,20 +3477,129 @@ public class Database {
      * @return Number of snapshots deleted
      */
     public int cleanupOldSnapshots(long olderThan) {
-        String sql = "DELETE FROM inventory_snapshots WHERE timestamp < ?";
-        
-        try (Connection conn = getConnection();
-             PreparedStatement stmt = conn.prepareStatement(sql)) {
-            
-            stmt.setLong(1, olderThan);
-            return stmt.executeUpdate();
-            
+        try (Connection conn = getConnection()) {
+            return deleteSnapshotsReleasingBlobs(conn, "timestamp < ?", olderThan);
         } catch (SQLException e) {
             Text.sendDebugLog(ERROR, "Failed to clean up old inventory snapshots", e);
             return 0;
         }
     }
 
+    private static final String[] SNAPSHOT_HASH_COLUMNS = {"inventory_hash", "armor_hash", "offhand_hash", "enderchest_hash"};
+    /** Hashes per blob delete, keeping the IN list well under driver parameter limits. */
+    private static final int BLOB_SWEEP_CHUNK = 500;
+
+    /** One distinct section a batch of snapshots refers to, and how many times. */
+    private static final class BlobRef {
+        final byte[] data;
+        int count;
+
+        BlobRef(byte[] data) {
+            this.data = data;
+        }
+    }
+
+    /** @return The section's hash, to be stored in the snapshot row */
+    private static String addBlobRef(Map<String, BlobRef> blobs, byte[] section) {
+        String hash = SnapshotSectionCodec.hash(section);
+        blobs.computeIfAbsent(hash, key -> new BlobRef(section)).count++;
+        return hash;
+    }
+
+    /**
+     * Takes the references collected by {@link #bindInventorySnapshot} in one
+     * batched upsert, storing any contents no snapshot has referenced before.
+     * An upsert rather than UPDATE-then-INSERT, so two writers storing the
+     * same new contents both count instead of one failing on the primary key.
+     * Pass a sorted map: concurrent batches then lock blob rows in the same
+     * order and cannot deadlock on each other.
+     */
+    private void retainInventoryBlobs(Connection conn, Map<String, BlobRef> blobs) throws SQLException {
+        if (blobs.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement upsert = conn.prepareStatement(
+                "INSERT INTO inventory_blobs (hash, data, ref_count) VALUES (?, ?, ?) " +
+                "ON DUPLICATE KEY UPDATE ref_count = ref_count + VALUES(ref_count)")) {
+            for (Map.Entry<String, BlobRef> entry : blobs.entrySet()) {
+                upsert.setString(1, entry.getKey());
+                upsert.setBytes(2, entry.getValue().data);
+                upsert.setInt(3, entry.getValue().count);
+                upsert.addBatch();
+            }
+            upsert.executeBatch();
+        }
+    }
+
+    /**
+     * Deletes the snapshot rows matching a condition on one parameter, drops
+     * one blob reference per hash they held and removes blobs nothing refers
+     * to any more, all in one transaction.
+     * @return Number of snapshots deleted
+     */
+    private int deleteSnapshotsReleasingBlobs(Connection conn, String condition, long value) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            Map<String, Integer> released = new HashMap<>();
+            try (PreparedStatement select = conn.prepareStatement(
+                    "SELECT " + String.join(", ", SNAPSHOT_HASH_COLUMNS) + " FROM inventory_snapshots WHERE " + condition)) {
+                select.setLong(1, value);
+                try (ResultSet rs = select.executeQuery()) {
+                    while (rs.next()) {
+                        for (String column : SNAPSHOT_HASH_COLUMNS) {
+                            String hash = rs.getString(column);
+                            if (hash != null) {
+                                released.merge(hash, 1, Integer::sum);
+                            }
+                        }
+                    }
+                }
+            }
+
+            int deleted;
+            try (PreparedStatement delete = conn.prepareStatement("DELETE FROM inventory_snapshots WHERE " + condition)) {
+                delete.setLong(1, value);
+                deleted = delete.executeUpdate();
+            }
+
+            if (!released.isEmpty()) {
+                try (PreparedStatement release = conn.prepareStatement(
+                        "UPDATE inventory_blobs SET ref_count = ref_count - ? WHERE hash = ?")) {
+                    for (Map.Entry<String, Integer> entry : released.entrySet()) {
+                        release.setInt(1, entry.getValue());
+                        release.setString(2, entry.getKey());
+                        release.addBatch();
+                    }
+                    release.executeBatch();
+                }
+                // Only blobs released here can have dropped to zero; don't scan the rest
+                int freed = 0;
+                List<String> hashes = new ArrayList<>(released.keySet());
+                for (int from = 0; from < hashes.size(); from += BLOB_SWEEP_CHUNK) {
+                    List<String> chunk = hashes.subList(from, Math.min(from + BLOB_SWEEP_CHUNK, hashes.size()));
+                    try (PreparedStatement sweep = conn.prepareStatement(
+                            "DELETE FROM inventory_blobs WHERE hash IN ("
+                                    + String.join(", ", Collections.nCopies(chunk.size(), "?"))
+                                    + ") AND ref_count <= 0")) {
+                        for (int i = 0; i < chunk.size(); i++) {
+                            sweep.setString(i + 1, chunk.get(i));
+                        }
+                        freed += sweep.executeUpdate();
+                    }
+                }
+                if (freed > 0) {
+                    Text.sendDebugLog(INFO, "Freed " + freed + " unreferenced inventory blobs");
+                }
+            }
+
+            conn.commit();
+            return deleted;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        }
+    }
+
     /**
      * Saves a restrained player to the database for restoration after restart
      */
@@ -3275,7 +3695,7 @@ public class Database {
 
         // Get records older than 1 day (24 hours)
         String sql = "SELECT restrained_uuid, handcuffer_uuid, handcuffer_location, created_at FROM restrained_players " +
-                    "WHERE created_at < DATEADD('DAY', -1, CURRENT_TIMESTAMP)";
+                    "WHERE created_at < " + dialect.daysAgo(1);
 
         try (Connection connection = dataSource.getConnection();
              PreparedStatement stmt = connection.prepareStatement(sql);
@@ -3490,8 +3910,11 @@ public class Database {
     }
 
     private boolean saveOfflineInventoryData(String tableName, UUID playerUUID, String playerName, OfflineInventoryData data) {
-        String sql = "MERGE INTO " + tableName + " (uuid, name, inventory_data, armor_data, offhand_data, enderchest_data, experience, last_updated) " +
-                "KEY (uuid) VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)";
+        String sql = "INSERT INTO " + tableName + " (uuid, name, inventory_data, armor_data, offhand_data, enderchest_data, experience, last_updated) " +
+                "VALUES (?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP) " +
+                "ON DUPLICATE KEY UPDATE name = VALUES(name), inventory_data = VALUES(inventory_data), armor_data = VALUES(armor_data), " +
+                "offhand_data = VALUES(offhand_data), enderchest_data = VALUES(enderchest_data), experience = VALUES(experience), " +
+                "last_updated = CURRENT_TIMESTAMP";
 
         try (Connection conn = getConnection();
              PreparedStatement stmt = conn.prepareStatement(sql)) {
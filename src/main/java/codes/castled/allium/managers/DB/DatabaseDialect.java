@@ -0,0 +1,87 @@
+package codes.castled.allium.managers.DB;
+
+import java.util.Locale;
+
+/**
+ * SQL differences between the backends {@link Database} can run on.
+ *
+ * <p>The schema is written for MySQL and H2 runs it in MySQL mode, so nearly
+ * every statement is shared. What differs is collected here: whether DDL
+ * takes {@code IF NOT EXISTS}, identifier quoting, how the catalog reports
+ * names, and date arithmetic. MySQL and MariaDB point several servers at one
+ * schema; H2 is a file private to this server.
+ */
+public enum DatabaseDialect {
+    H2(true, '"', "org.h2.Driver"),
+    MYSQL(false, '`', "com.mysql.cj.jdbc.Driver"),
+    MARIADB(true, '`', "org.mariadb.jdbc.Driver");
+
+    private final boolean ddlIfNotExists;
+    private final char quote;
+    private final String driverClass;
+
+    DatabaseDialect(boolean ddlIfNotExists, char quote, String driverClass) {
+        this.ddlIfNotExists = ddlIfNotExists;
+        this.quote = quote;
+        this.driverClass = driverClass;
+    }
+
+    /** Reads {@code database.type}; anything unknown falls back to H2. */
+    public static DatabaseDialect parse(String raw) {
+        if (raw == null) {
+            return H2;
+        }
+        return switch (raw.trim().toUpperCase(Locale.ROOT)) {
+            case "MYSQL" -> MYSQL;
+            case "MARIADB" -> MARIADB;
+            default -> H2;
+        };
+    }
+
+    public boolean isShared() {
+        return this != H2;
+    }
+
+    public String driverClass() {
+        return driverClass;
+    }
+
+    public String jdbcUrl(String host, int port, String database) {
+        String scheme = this == MARIADB ? "mariadb" : "mysql";
+        return "jdbc:" + scheme + "://" + host + ":" + port + "/" + database
+            + "?useSSL=false&allowPublicKeyRetrieval=true&characterEncoding=utf8";
+    }
+
+    /** MySQL 8 rejects {@code IF NOT EXISTS} on ADD COLUMN and CREATE INDEX; callers check the catalog first. */
+    public boolean supportsDdlIfNotExists() {
+        return ddlIfNotExists;
+    }
+
+    /**
+     * Quotes an identifier that is also a keyword. H2 keeps the exact case of
+     * a double-quoted name, which existing H2 files were created with.
+     */
+    public String quote(String identifier) {
+        return quote + identifier + quote;
+    }
+
+    /** A table or column name as {@link java.sql.DatabaseMetaData} reports it. */
+    public String metadataName(String name) {
+        return this == H2 ? name.toUpperCase(Locale.ROOT) : name;
+    }
+
+    public String addColumn(String table, String definition) {
+        return "ALTER TABLE " + table + " ADD COLUMN " + (ddlIfNotExists ? "IF NOT EXISTS " : "") + definition;
+    }
+
+    public String createIndex(String index, String table, String columns) {
+        return "CREATE INDEX " + (ddlIfNotExists ? "IF NOT EXISTS " : "") + index + " ON " + table + " (" + columns + ")";
+    }
+
+    /** Expression for the current timestamp minus a number of days. */
+    public String daysAgo(int days) {
+        return this == H2
+            ? "DATEADD('DAY', -" + days + ", CURRENT_TIMESTAMP)"
+            : "DATE_SUB(CURRENT_TIMESTAMP, INTERVAL " + days + " DAY)";
+    }
+}
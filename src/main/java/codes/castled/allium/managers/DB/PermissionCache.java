@@ -1,142 +1,203 @@
 package codes.castled.allium.managers.DB;
 
-import net.milkbowl.vault.permission.Permission;
-
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 import codes.castled.allium.PluginStart;
 import codes.castled.allium.managers.core.Text;
+import codes.castled.allium.scheduler.SchedulerAdapter;
+import codes.castled.allium.scheduler.TaskHandle;
 
 import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
 
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Per-player snapshots of every permission node Allium checks.
+ *
+ * <p>Each online player has one immutable map from node to result. Readers
+ * take it from a {@link ConcurrentHashMap} and look the node up without any
+ * lock; a rebuild produces a whole new map and swaps it in, so a reader sees
+ * either the old snapshot or the new one, never a half-built one.
+ *
+ * <p>A snapshot covers the nodes below plus every node anybody has asked
+ * about since startup: a miss answers from the permission plugin, adds the
+ * node to the known set and copies it into the player's snapshot, so each
+ * node misses at most once per player. Snapshots are rebuilt only when a
+ * player's permissions can have changed — on join, on world change (for
+ * per-world permissions), when LuckPerms recalculates the user, and when
+ * Allium reloads its own permission tree. Without LuckPerms nothing reports
+ * changes, so every snapshot is also rebuilt on a timer.
+ */
+public class PermissionCache implements Listener {
+
+    /** How often snapshots are rebuilt when nothing tells us permissions changed. */
+    private static final long FALLBACK_REFRESH_TICKS = 20L * 30;
+
+    /** Hot-path nodes every snapshot starts with: commands, tab list and chat formats. */
+    private static final String[] CORE_NODES = {
+        "allium.admin", "allium.lockdown.bypass", "allium.*", "core.lockdown.bypass", "core.admin",
+        "allium.hide.bypass", "allium.fly", "allium.tfly", "allium.ping",
+        "allium.gamemode.spectator", "allium.gradientname",
+        "allium.deletemsg", "allium.delmsg", "allium.staff",
+        "chat.unicode", "chat.minimessage", "chat.minimessage.*",
+        "chat.color", "chat.color.*", "chat.color.hex", "chat.format", "chat.format.*",
+        "chat.color.black", "chat.color.dark_blue", "chat.color.dark_green", "chat.color.dark_aqua",
+        "chat.color.dark_red", "chat.color.dark_purple", "chat.color.gold", "chat.color.gray",
+        "chat.color.dark_gray", "chat.color.blue", "chat.color.green", "chat.color.aqua",
+        "chat.color.red", "chat.color.light_purple", "chat.color.yellow", "chat.color.white",
+        "chat.format.bold", "chat.format.italic", "chat.format.underline",
+        "chat.format.strikethrough", "chat.format.magic", "chat.format.reset"
+    };
 
-public class PermissionCache {
     private final Database database;
     private final PluginStart plugin;
-    private final Map<UUID, Map<String, Boolean>> permissionCache = new HashMap<>();
-    private final ReadWriteLock lock = new ReentrantReadWriteLock();
-    private final ExecutorService executorService = Executors.newCachedThreadPool();
+    private final Set<String> knownNodes = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, Map<String, Boolean>> snapshots = new ConcurrentHashMap<>();
+    /** One thread, so rebuilds for a player land in the order they were asked for. */
+    private final ExecutorService rebuilds = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Allium-PermissionCache");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rebuildCount = new LongAdder();
+    /** Periodic rebuild, only when no LuckPerms hook is active. */
+    private volatile TaskHandle fallbackRefresh;
 
     public PermissionCache(PluginStart plugin) {
         this.plugin = plugin;
         this.database = plugin.getDatabase();
+        knownNodes.addAll(Arrays.asList(CORE_NODES));
     }
 
     private Object getVaultPermission() {
         return plugin.getVaultPermission();
     }
 
-    private void updateCache(UUID playerId, String permission, boolean hasPermission) {
-        lock.writeLock().lock();
-        try {
-            permissionCache.computeIfAbsent(playerId, k -> new HashMap<>())
-                          .put(permission, hasPermission);
-        } finally {
-            lock.writeLock().unlock();
-        }
+    // ==================== snapshots ====================
+
+    /** Adds nodes to every future snapshot, e.g. ones built from config. */
+    public void registerNodes(Collection<String> nodes) {
+        knownNodes.addAll(nodes);
     }
-    
-    @SuppressWarnings("deprecation")
+
+    /** Rebuilds a player's snapshot in the background; the old one stays live until then. */
     public void cachePermissions(Player player) {
         if (player == null || !player.isOnline()) {
             return;
         }
-        
         final UUID playerId = player.getUniqueId();
-        final String playerName = player.getName();
-        
-        // Use the global region scheduler for async tasks in Folia
-        Bukkit.getGlobalRegionScheduler().runDelayed(plugin, task -> {
+        try {
+            rebuilds.execute(() -> rebuild(playerId));
+        } catch (RejectedExecutionException ignored) {
+            // Shutting down
+        }
+    }
+
+    /** Rebuilds every online player's snapshot, e.g. after Allium's permission tree changed. */
+    public void refreshAll() {
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            cachePermissions(player);
+        }
+    }
+
+    private void rebuild(UUID playerId) {
+        Player player = Bukkit.getPlayer(playerId);
+        if (player == null || !player.isOnline()) {
+            snapshots.remove(playerId);
+            return;
+        }
+        Map<String, Boolean> built = new HashMap<>(knownNodes.size() * 2);
+        for (String node : knownNodes) {
             try {
-                Object vaultPermission = getVaultPermission();
-                
-                // Cache critical permissions
-                String[] criticalPermissions = {"allium.lockdown.bypass", "allium.admin"};
-                
-                // Use CompletableFuture to run database operations async
-                CompletableFuture<Map<String, Boolean>> future = CompletableFuture.supplyAsync(() -> {
-                    Map<String, Boolean> permissions = new HashMap<>();
-                    
-                    for (String perm : criticalPermissions) {
-                        boolean hasPerm = false;
-                        try {
-                            // Check if player is still online
-                            Player onlinePlayer = Bukkit.getPlayer(playerId);
-                            if (onlinePlayer == null || !onlinePlayer.isOnline()) {
-                                return null; // Player went offline, abort
-                            }
-                            
-                            // Use the synchronous version with the online player
-                            if (vaultPermission != null) {
-                                hasPerm = ((net.milkbowl.vault.permission.Permission) vaultPermission).playerHas("", onlinePlayer, perm);
-                            } else {
-                                // Run database operation async to avoid blocking
-                                try {
-                                    hasPerm = database.playerHasPermission(playerId, perm);
-                                } catch (Exception dbEx) {
-                                    if (plugin.isDebugMode()) {
-                                        Text.sendDebugLog(WARN, "Database permission check failed for " + perm + ": " + dbEx.getMessage());
-                                    }
-                                    hasPerm = false;
-                                }
-                            }
-                        } catch (Exception e) {
-                            if (plugin.isDebugMode()) {
-                                Text.sendDebugLog(WARN, "Error checking permission " + perm + " for " + playerName + ": " + e.getMessage());
-                            }
-                        }
-                        permissions.put(perm, hasPerm);
-                    }
-                    return permissions;
-                }, executorService);
-                
-                // Handle the result when complete
-                future.thenAccept(permissions -> {
-                    if (permissions != null) {
-                        // Update the cache with write lock
-                        lock.writeLock().lock();
-                        try {
-                            permissionCache.put(playerId, permissions);
-                            Text.sendDebugLog(INFO, "Cached permissions for player: " + playerName);
-                        } finally {
-                            lock.writeLock().unlock();
-                        }
-                    }
-                });
-                
+                built.put(node, player.hasPermission(node));
             } catch (Exception e) {
-                Text.sendDebugLog(ERROR, "Failed to cache permissions for " + playerName, e);
+                if (plugin.isDebugMode()) {
+                    Text.sendDebugLog(WARN, "Error checking permission " + node + " for " + player.getName() + ": " + e.getMessage());
+                }
             }
-        }, 1L); // 1 tick delay to ensure we're on the right thread
+        }
+        snapshots.put(playerId, Map.copyOf(built));
+        rebuildCount.increment();
+    }
+
+    /** Copies a freshly resolved node into the player's snapshot, if they have one. */
+    private void remember(UUID playerId, String permission, boolean value) {
+        knownNodes.add(permission);
+        snapshots.computeIfPresent(playerId, (id, snapshot) -> {
+            if (snapshot.containsKey(permission)) {
+                return snapshot;
+            }
+            Map<String, Boolean> extended = new HashMap<>(snapshot);
+            extended.put(permission, value);
+            return Map.copyOf(extended);
+        });
+    }
+
+    // ==================== lookups ====================
+
+    /**
+     * Checks a permission for an online player. Use this over
+     * {@link Player#hasPermission(String)} on chat, tab and command paths.
+     */
+    public boolean hasPermission(Player player, String permission) {
+        Map<String, Boolean> snapshot = snapshots.get(player.getUniqueId());
+        Boolean cached = snapshot == null ? null : snapshot.get(permission);
+        if (cached != null) {
+            hits.increment();
+            return cached;
+        }
+        misses.increment();
+        boolean result = player.hasPermission(permission);
+        remember(player.getUniqueId(), permission, result);
+        return result;
+    }
+
+    /**
+     * Checks a permission through the plugin's cache, or directly while the
+     * cache does not exist yet during startup. Hot paths call this rather
+     * than {@link Player#hasPermission(String)}.
+     */
+    public static boolean check(PluginStart plugin, Player player, String permission) {
+        PermissionCache cache = plugin.getPermissionCache();
+        return cache != null ? cache.hasPermission(player, permission) : player.hasPermission(permission);
     }
 
     @SuppressWarnings("deprecation")
     public boolean hasPermission(UUID playerId, String permission) {
-        // Try read lock first to check cache
-        lock.readLock().lock();
-        try {
-            Map<String, Boolean> permissions = permissionCache.get(playerId);
-            if (permissions != null && permissions.containsKey(permission)) {
-                return permissions.get(permission);
-            }
-        } finally {
-            lock.readLock().unlock();
+        Map<String, Boolean> snapshot = snapshots.get(playerId);
+        Boolean cached = snapshot == null ? null : snapshot.get(permission);
+        if (cached != null) {
+            hits.increment();
+            return cached;
         }
+        misses.increment();
 
-        // If not in cache, do a direct check (this should be rare)
+        // Not in a snapshot: ask the permission plugin directly
         Object vaultPermission = getVaultPermission();
         boolean hasPermission;
-        
+
         try {
             if (vaultPermission != null) {
                 net.milkbowl.vault.permission.Permission perm = (net.milkbowl.vault.permission.Permission) vaultPermission;
@@ -173,11 +234,11 @@ public class PermissionCache {
                     hasPermission = false;
                 }
             }
-            
-            // Update cache with the result
-            updateCache(playerId, permission, hasPermission);
+
+            // Only online players have a snapshot to extend
+            remember(playerId, permission, hasPermission);
             return hasPermission;
-            
+
         } catch (Exception e) {
             Text.sendDebugLog(WARN, "Error checking permission " + permission + " for " + playerId + ": " + e.getMessage());
             return false;
@@ -185,10 +246,106 @@ public class PermissionCache {
     }
 
     public void clearCache(UUID playerId) {
-        permissionCache.remove(playerId);
+        snapshots.remove(playerId);
     }
 
     public void clearAllCaches() {
-        permissionCache.clear();
+        snapshots.clear();
+    }
+
+    // ==================== invalidation ====================
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent event) {
+        cachePermissions(event.getPlayer());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        clearCache(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent event) {
+        cachePermissions(event.getPlayer());
+    }
+
+    /**
+     * Rebuilds a player's snapshot whenever LuckPerms recalculates their
+     * data. LuckPerms is optional, so the subscription is made reflectively,
+     * against its API interfaces. Without it, or if the hook fails, every
+     * snapshot is rebuilt every {@link #FALLBACK_REFRESH_TICKS} ticks
+     * instead, so grants and revokes still show up within that time.
+     */
+    public void hookLuckPerms() {
+        if (subscribeLuckPerms()) {
+            return;
+        }
+        fallbackRefresh = SchedulerAdapter.runAsyncRepeating(plugin, this::refreshAll,
+            FALLBACK_REFRESH_TICKS, FALLBACK_REFRESH_TICKS);
+        Text.sendDebugLog(INFO, "PermissionCache has no recalculation hook; rebuilding snapshots every "
+            + FALLBACK_REFRESH_TICKS / 20 + "s.");
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private boolean subscribeLuckPerms() {
+        Class<?> luckPermsClass;
+        try {
+            luckPermsClass = Class.forName("net.luckperms.api.LuckPerms");
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+        try {
+            Object luckPerms = Bukkit.getServicesManager().load((Class) luckPermsClass);
+            if (luckPerms == null) {
+                Text.sendDebugLog(WARN, "LuckPerms API is present but not registered; cannot listen for recalculations.");
+                return false;
+            }
+            Class<?> eventBusClass = Class.forName("net.luckperms.api.event.EventBus");
+            Class<?> eventClass = Class.forName("net.luckperms.api.event.user.UserDataRecalculateEvent");
+            Class<?> userClass = Class.forName("net.luckperms.api.model.user.User");
+            Method subscribe = eventBusClass.getMethod("subscribe", Object.class, Class.class, Consumer.class);
+            Method getUser = eventClass.getMethod("getUser");
+            Method getUniqueId = userClass.getMethod("getUniqueId");
+            Object eventBus = luckPermsClass.getMethod("getEventBus").invoke(luckPerms);
+            Consumer<Object> handler = event -> {
+                try {
+                    UUID playerId = (UUID) getUniqueId.invoke(getUser.invoke(event));
+                    cachePermissions(Bukkit.getPlayer(playerId));
+                } catch (ReflectiveOperationException | RuntimeException e) {
+                    Text.sendDebugLog(WARN, "Failed to read LuckPerms recalculation event", e);
+                }
+            };
+            subscribe.invoke(eventBus, plugin, eventClass, handler);
+            Text.sendDebugLog(INFO, "PermissionCache listening for LuckPerms recalculations.");
+            return true;
+        } catch (ReflectiveOperationException | LinkageError | RuntimeException e) {
+            Text.sendDebugLog(WARN, "Failed to hook LuckPerms recalculations", e);
+            return false;
+        }
+    }
+
+    public void shutdown() {
+        if (fallbackRefresh != null) {
+            fallbackRefresh.cancel();
+        }
+        rebuilds.shutdownNow();
+        snapshots.clear();
+    }
+
+    // ==================== metrics ====================
+
+    public long hits() { return hits.sum(); }
+    public long misses() { return misses.sum(); }
+    public long rebuilds() { return rebuildCount.sum(); }
+    public int knownNodeCount() { return knownNodes.size(); }
+
+    /** One-line summary for debug output. */
+    public String describeStats() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        String rate = total == 0 ? "n/a" : String.format("%.1f%%", hitCount * 100.0 / total);
+        return "hits=" + hitCount + " misses=" + (total - hitCount) + " (" + rate + ")"
+            + " rebuilds=" + rebuildCount.sum() + " nodes=" + knownNodes.size() + " players=" + snapshots.size();
     }
 }
\ No newline at end of file
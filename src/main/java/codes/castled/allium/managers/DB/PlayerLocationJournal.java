@@ -0,0 +1,294 @@
+package codes.castled.allium.managers.DB;
+
+import codes.castled.allium.managers.DB.Database.LocationType;
+import codes.castled.allium.managers.core.Text;
+
+import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Latest location of each player per {@link LocationType}, held in memory in
+ * front of {@code player_locations}.
+ *
+ * <p>Saving a location only updates memory and marks it dirty. Every
+ * {@link #FLUSH_INTERVAL_SECONDS} seconds, and when asked to on quit and
+ * shutdown, all dirty rows are written in one transaction: a batched delete
+ * of the player's rows of that type followed by a batched insert, so the
+ * table ends up with exactly one row per player and type. The first read
+ * about a player loads all their rows with one query; after that reads never
+ * touch the database. Homes live in the same table but are not journaled.
+ *
+ * <p>Each player's record is guarded by its own monitor. Records of players
+ * who are offline and have nothing left to write are dropped after a flush.
+ */
+final class PlayerLocationJournal {
+
+    static final long FLUSH_INTERVAL_SECONDS = 5;
+
+    /** One stored location. The world is kept by name and resolved when read. */
+    record Row(String world, double x, double y, double z, float yaw, float pitch, long timestamp) {}
+
+    @FunctionalInterface
+    interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    private static final class PlayerRecord {
+        final Map<LocationType, Row> rows = new EnumMap<>(LocationType.class);
+        final Set<LocationType> dirty = EnumSet.noneOf(LocationType.class);
+        final Set<LocationType> deleted = EnumSet.noneOf(LocationType.class);
+        /** Whether the player's rows have been read from the table. */
+        boolean loaded;
+        /** Set when the record is dropped; a caller holding it must fetch a new one. */
+        boolean evicted;
+    }
+
+    private record Change(UUID player, LocationType type, Row row) {}
+
+    private final ConnectionSource connections;
+    private final Predicate<UUID> online;
+    private final Map<UUID, PlayerRecord> players = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Allium-LocationJournal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    PlayerLocationJournal(ConnectionSource connections, Predicate<UUID> online) {
+        this.connections = connections;
+        this.online = online;
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    void record(UUID player, LocationType type, Row row) {
+        withRecord(player, record -> {
+            record.rows.put(type, row);
+            record.dirty.add(type);
+            record.deleted.remove(type);
+            return null;
+        });
+    }
+
+    void delete(UUID player, LocationType type) {
+        withRecord(player, record -> {
+            record.rows.remove(type);
+            record.dirty.remove(type);
+            record.deleted.add(type);
+            return null;
+        });
+    }
+
+    Row get(UUID player, LocationType type) {
+        return withLoaded(player, record -> record.rows.get(type));
+    }
+
+    /** The most recent row of any type except {@link LocationType#DEATH}. */
+    Row latestExceptDeath(UUID player) {
+        return withLoaded(player, record -> {
+            Row latest = null;
+            for (Map.Entry<LocationType, Row> entry : record.rows.entrySet()) {
+                Row row = entry.getValue();
+                if (entry.getKey() != LocationType.DEATH && (latest == null || row.timestamp() > latest.timestamp())) {
+                    latest = row;
+                }
+            }
+            return latest;
+        });
+    }
+
+    /** Queues a flush on the journal thread without waiting for it. */
+    void flushSoon() {
+        if (!flusher.isShutdown()) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    /** Stops the periodic flush and writes what is left on the calling thread. */
+    void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    synchronized void flush() {
+        List<Change> writes = new ArrayList<>();
+        List<Change> deletes = new ArrayList<>();
+        for (Map.Entry<UUID, PlayerRecord> entry : players.entrySet()) {
+            PlayerRecord record = entry.getValue();
+            synchronized (record) {
+                for (LocationType type : record.dirty) {
+                    writes.add(new Change(entry.getKey(), type, record.rows.get(type)));
+                }
+                for (LocationType type : record.deleted) {
+                    deletes.add(new Change(entry.getKey(), type, null));
+                }
+                record.dirty.clear();
+                record.deleted.clear();
+            }
+        }
+
+        if (!writes.isEmpty() || !deletes.isEmpty()) {
+            try {
+                write(writes, deletes);
+            } catch (SQLException e) {
+                Text.sendDebugLog(WARN, "Failed to write " + (writes.size() + deletes.size()) + " player locations; retrying with the next flush", e);
+                requeue(writes, deletes);
+                return;
+            }
+        }
+        evictIdle();
+    }
+
+    private void write(List<Change> writes, List<Change> deletes) throws SQLException {
+        try (Connection connection = connections.get()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement delete = connection.prepareStatement(
+                     "DELETE FROM player_locations WHERE player_uuid = ? AND location_type = ?");
+                 PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO player_locations (player_uuid, location_type, world, x, y, z, yaw, pitch, timestamp, last_updated) " +
+                     "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)")) {
+                for (Change change : deletes) {
+                    delete.setString(1, change.player().toString());
+                    delete.setString(2, change.type().name());
+                    delete.addBatch();
+                }
+                for (Change change : writes) {
+                    // Also clears duplicates left by the old per-call REPLACE, which had no unique key to replace on
+                    delete.setString(1, change.player().toString());
+                    delete.setString(2, change.type().name());
+                    delete.addBatch();
+
+                    Row row = change.row();
+                    insert.setString(1, change.player().toString());
+                    insert.setString(2, change.type().name());
+                    insert.setString(3, row.world());
+                    insert.setDouble(4, row.x());
+                    insert.setDouble(5, row.y());
+                    insert.setDouble(6, row.z());
+                    insert.setFloat(7, row.yaw());
+                    insert.setFloat(8, row.pitch());
+                    insert.setLong(9, row.timestamp());
+                    insert.addBatch();
+                }
+                delete.executeBatch();
+                if (!writes.isEmpty()) {
+                    insert.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+    }
+
+    /** Marks failed changes dirty again unless something newer replaced them meanwhile. */
+    private void requeue(List<Change> writes, List<Change> deletes) {
+        for (Change change : writes) {
+            PlayerRecord record = players.get(change.player());
+            if (record == null) continue;
+            synchronized (record) {
+                if (record.rows.get(change.type()) == change.row()
+                        && !record.dirty.contains(change.type()) && !record.deleted.contains(change.type())) {
+                    record.dirty.add(change.type());
+                }
+            }
+        }
+        for (Change change : deletes) {
+            PlayerRecord record = players.get(change.player());
+            if (record == null) continue;
+            synchronized (record) {
+                if (!record.rows.containsKey(change.type()) && !record.dirty.contains(change.type())) {
+                    record.deleted.add(change.type());
+                }
+            }
+        }
+    }
+
+    private void evictIdle() {
+        for (Map.Entry<UUID, PlayerRecord> entry : players.entrySet()) {
+            if (online.test(entry.getKey())) continue;
+            PlayerRecord record = entry.getValue();
+            synchronized (record) {
+                if (record.dirty.isEmpty() && record.deleted.isEmpty()) {
+                    record.evicted = true;
+                    players.remove(entry.getKey(), record);
+                }
+            }
+        }
+    }
+
+    private <T> T withLoaded(UUID player, Function<PlayerRecord, T> action) {
+        return withRecord(player, record -> {
+            if (!record.loaded) {
+                load(player, record);
+            }
+            return action.apply(record);
+        });
+    }
+
+    private <T> T withRecord(UUID player, Function<PlayerRecord, T> action) {
+        while (true) {
+            PlayerRecord record = players.computeIfAbsent(player, id -> new PlayerRecord());
+            synchronized (record) {
+                if (!record.evicted) {
+                    return action.apply(record);
+                }
+            }
+        }
+    }
+
+    /** Reads the player's stored rows; anything saved or deleted in memory since wins. */
+    private void load(UUID player, PlayerRecord record) {
+        Map<LocationType, Row> stored = new EnumMap<>(LocationType.class);
+        try (Connection connection = connections.get();
+             PreparedStatement statement = connection.prepareStatement(
+                 "SELECT location_type, world, x, y, z, yaw, pitch, timestamp FROM player_locations " +
+                 "WHERE player_uuid = ? AND location_type <> 'HOME' ORDER BY timestamp, last_updated")) {
+            statement.setString(1, player.toString());
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    LocationType type;
+                    try {
+                        type = LocationType.valueOf(rs.getString("location_type"));
+                    } catch (IllegalArgumentException e) {
+                        continue;
+                    }
+                    // Ascending order, so the newest duplicate is the one kept
+                    stored.put(type, new Row(rs.getString("world"), rs.getDouble("x"), rs.getDouble("y"), rs.getDouble("z"),
+                        rs.getFloat("yaw"), rs.getFloat("pitch"), rs.getLong("timestamp")));
+                }
+            }
+        } catch (SQLException e) {
+            Text.sendDebugLog(WARN, "Failed to load locations for player UUID: " + player, e);
+            return;
+        }
+        for (Map.Entry<LocationType, Row> entry : stored.entrySet()) {
+            if (!record.deleted.contains(entry.getKey())) {
+                record.rows.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+        record.loaded = true;
+    }
+}
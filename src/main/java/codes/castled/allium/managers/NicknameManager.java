@@ -422,6 +422,9 @@ public class NicknameManager {
         // The delay in ConnectionManager ensures this runs AFTER Essentials sets their display name
         player.displayName(displayComponent);
         player.playerListName(displayComponent);
+        if (plugin.getGradientNameManager() != null) {
+            plugin.getGradientNameManager().invalidate(player);
+        }
     }
 
     private void applyPlayerListName(Player player, Component displayComponent) {
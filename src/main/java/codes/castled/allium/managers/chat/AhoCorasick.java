@@ -0,0 +1,149 @@
+package codes.castled.allium.managers.chat;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+/**
+ * Aho-Corasick automaton over a fixed list of patterns.
+ *
+ * <p>One left-to-right pass over a text reports every pattern that occurs in
+ * it, no matter how many patterns there are, so checking a message against a
+ * large blocklist costs the length of the message rather than the size of the
+ * list. Patterns are identified by their index in the list given to
+ * {@link #build}.
+ *
+ * <p>Transitions are stored per state as a sorted label array searched with
+ * {@link Arrays#binarySearch(char[], char)}, which keeps a scan free of boxing
+ * and allocation. Instances are immutable and safe to share between threads.
+ */
+final class AhoCorasick {
+
+    private static final int[] NO_PATTERNS = new int[0];
+
+    /** Outgoing edge labels of each state, sorted. */
+    private final char[][] labels;
+    /** Target state for each label in {@link #labels}. */
+    private final int[][] targets;
+    private final int[] fail;
+    /** Nearest state on the failure chain that ends a pattern, or -1. */
+    private final int[] outputLink;
+    /** Patterns ending exactly at each state. */
+    private final int[][] outputs;
+
+    private AhoCorasick(char[][] labels, int[][] targets, int[] fail, int[] outputLink, int[][] outputs) {
+        this.labels = labels;
+        this.targets = targets;
+        this.fail = fail;
+        this.outputLink = outputLink;
+        this.outputs = outputs;
+    }
+
+    /** Builds the automaton; empty patterns never match. */
+    static AhoCorasick build(List<String> patterns) {
+        List<TreeMap<Character, Integer>> edges = new ArrayList<>();
+        List<List<Integer>> ends = new ArrayList<>();
+        edges.add(new TreeMap<>());
+        ends.add(new ArrayList<>());
+
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            if (pattern == null || pattern.isEmpty()) {
+                continue;
+            }
+            int state = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer next = edges.get(state).get(pattern.charAt(i));
+                if (next == null) {
+                    next = edges.size();
+                    edges.add(new TreeMap<>());
+                    ends.add(new ArrayList<>());
+                    edges.get(state).put(pattern.charAt(i), next);
+                }
+                state = next;
+            }
+            ends.get(state).add(id);
+        }
+
+        int count = edges.size();
+        char[][] labels = new char[count][];
+        int[][] targets = new int[count][];
+        int[][] outputs = new int[count][];
+        for (int state = 0; state < count; state++) {
+            TreeMap<Character, Integer> out = edges.get(state);
+            labels[state] = new char[out.size()];
+            targets[state] = new int[out.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : out.entrySet()) {
+                labels[state][i] = edge.getKey();
+                targets[state][i] = edge.getValue();
+                i++;
+            }
+            List<Integer> ending = ends.get(state);
+            outputs[state] = ending.isEmpty() ? NO_PATTERNS : ending.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        // Breadth-first, so every state's failure target is finished before its children need it.
+        int[] fail = new int[count];
+        int[] outputLink = new int[count];
+        outputLink[0] = -1;
+        Deque<Integer> queue = new ArrayDeque<>();
+        for (int child : targets[0]) {
+            fail[child] = 0;
+            outputLink[child] = -1;
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            for (int i = 0; i < labels[state].length; i++) {
+                char c = labels[state][i];
+                int child = targets[state][i];
+                int f = fail[state];
+                int next;
+                while ((next = step(labels, targets, f, c)) < 0 && f != 0) {
+                    f = fail[f];
+                }
+                fail[child] = next < 0 ? 0 : next;
+                outputLink[child] = outputs[fail[child]].length > 0 ? fail[child] : outputLink[fail[child]];
+                queue.add(child);
+            }
+        }
+
+        return new AhoCorasick(labels, targets, fail, outputLink, outputs);
+    }
+
+    boolean isEmpty() {
+        return labels[0].length == 0;
+    }
+
+    /**
+     * Calls back with the id of every pattern occurring in {@code text}, once
+     * per occurrence, in order of where the occurrence ends.
+     */
+    void scan(CharSequence text, IntConsumer onMatch) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next;
+            while ((next = step(labels, targets, state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = next < 0 ? 0 : next;
+            for (int hit = outputs[state].length > 0 ? state : outputLink[state]; hit >= 0; hit = outputLink[hit]) {
+                for (int id : outputs[hit]) {
+                    onMatch.accept(id);
+                }
+            }
+        }
+    }
+
+    private static int step(char[][] labels, int[][] targets, int state, char c) {
+        int index = Arrays.binarySearch(labels[state], c);
+        return index < 0 ? -1 : targets[state][index];
+    }
+}
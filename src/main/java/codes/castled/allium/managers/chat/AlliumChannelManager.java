@@ -19,18 +19,27 @@ import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import net.milkbowl.vault.chat.Chat;
 
 import org.bukkit.Bukkit;
+import org.bukkit.Location;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Entity;
 import org.bukkit.entity.Player;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
+import org.bukkit.event.entity.EntityDismountEvent;
+import org.bukkit.event.entity.EntityMountEvent;
 import org.bukkit.event.player.AsyncPlayerChatEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
+import org.bukkit.event.vehicle.VehicleMoveEvent;
 import org.bukkit.plugin.Plugin;
 
 import codes.castled.allium.PluginStart;
@@ -46,6 +55,7 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
@@ -71,13 +81,17 @@ public final class AlliumChannelManager implements Listener {
     private final Map<String, ChannelDefinition> channels = new LinkedHashMap<>();
     private final Map<UUID, String> writeChannels = new ConcurrentHashMap<>();
     private final Map<UUID, Set<String>> readChannels = new ConcurrentHashMap<>();
+    // Reverse of readChannels, so a message only visits the channel's readers
+    private final Map<String, Set<UUID>> channelReaders = new ConcurrentHashMap<>();
+    private final ChatProximityIndex localPositions = new ChatProximityIndex();
     private final Map<String, String> aliasToChannel = new ConcurrentHashMap<>();
     private final Map<Integer, Long> suppressedDiscordEventIds = new ConcurrentHashMap<>();
     private final Map<String, Long> handledDiscordMessageIds = new ConcurrentHashMap<>();
     private final Map<UUID, RecentOutboundChat> recentOutboundChats = new ConcurrentHashMap<>();
     private final Set<UUID> staffChatActive = ConcurrentHashMap.newKeySet();
     private final File playerChannelsFile;
-    private FileConfiguration playerChannelsConfig;
+    // Saved write channel per player, mirrored to player-channels.yml
+    private final Map<UUID, String> savedChannels = new ConcurrentHashMap<>();
     
     // Track recent staff-chat messages for Dynmap filtering (UUID -> timestamp)
     private static final Map<UUID, Long> recentStaffChatMessages = new ConcurrentHashMap<>();
@@ -110,6 +124,9 @@ public final class AlliumChannelManager implements Listener {
         loadPlayerChannels();
         reload();
         hookDiscordSrvIfAvailable();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            trackPosition(player, player.getLocation());
+        }
     }
 
     public void shutdown() {
@@ -125,6 +142,8 @@ public final class AlliumChannelManager implements Listener {
         discordHooked = false;
         writeChannels.clear();
         readChannels.clear();
+        channelReaders.clear();
+        localPositions.clear();
         suppressedDiscordEventIds.clear();
         handledDiscordMessageIds.clear();
         recentOutboundChats.clear();
@@ -132,36 +151,39 @@ public final class AlliumChannelManager implements Listener {
 
     private void loadPlayerChannels() {
         if (!playerChannelsFile.exists()) {
-            playerChannelsConfig = new YamlConfiguration();
             return;
         }
         try {
-            playerChannelsConfig = YamlConfiguration.loadConfiguration(playerChannelsFile);
+            ConfigurationSection section = YamlConfiguration.loadConfiguration(playerChannelsFile).getConfigurationSection("channels");
+            if (section == null) {
+                return;
+            }
+            for (String key : section.getKeys(false)) {
+                String channel = section.getString(key);
+                if (channel == null) continue;
+                try {
+                    savedChannels.put(UUID.fromString(key), channel);
+                } catch (IllegalArgumentException ignored) {
+                    // Not a player entry
+                }
+            }
         } catch (Exception e) {
             plugin.getLogger().warning("[Channels] Failed to load player-channels.yml: " + e.getMessage());
-            playerChannelsConfig = new YamlConfiguration();
         }
     }
 
     private void savePlayerChannels() {
-        if (playerChannelsConfig == null) {
-            playerChannelsConfig = new YamlConfiguration();
-        }
-        try {
-            playerChannelsConfig.save(playerChannelsFile);
-        } catch (Exception e) {
-            plugin.getLogger().warning("[Channels] Failed to save player-channels.yml: " + e.getMessage());
-        }
+        plugin.getDataFileStore().markDirty(playerChannelsFile, () -> {
+            YamlConfiguration config = new YamlConfiguration();
+            for (Map.Entry<UUID, String> entry : savedChannels.entrySet()) {
+                config.set("channels." + entry.getKey(), entry.getValue());
+            }
+            return config.saveToString();
+        });
     }
 
     private String getSavedChannel(UUID playerId) {
-        if (playerChannelsConfig == null) {
-            if (plugin.isDebugMode()) {
-                Text.sendDebugLog(INFO, "[Channels] getSavedChannel: playerChannelsConfig is null for " + playerId);
-            }
-            return null;
-        }
-        String channel = playerChannelsConfig.getString("channels." + playerId.toString());
+        String channel = savedChannels.get(playerId);
         if (plugin.isDebugMode()) {
             Text.sendDebugLog(INFO, "[Channels] getSavedChannel: " + playerId + " -> '" + channel + "'");
         }
@@ -169,10 +191,9 @@ public final class AlliumChannelManager implements Listener {
     }
 
     private void setSavedChannel(UUID playerId, String channel) {
-        if (playerChannelsConfig == null) {
-            playerChannelsConfig = new YamlConfiguration();
+        if (channel.equals(savedChannels.put(playerId, channel))) {
+            return;
         }
-        playerChannelsConfig.set("channels." + playerId.toString(), channel);
         savePlayerChannels();
         if (plugin.isDebugMode()) {
             Text.sendDebugLog(INFO, "[Channels] setSavedChannel: saved " + playerId + " -> '" + channel + "' to " + playerChannelsFile.getAbsolutePath());
@@ -180,9 +201,9 @@ public final class AlliumChannelManager implements Listener {
     }
 
     private void clearSavedChannel(UUID playerId) {
-        if (playerChannelsConfig == null) return;
-        playerChannelsConfig.set("channels." + playerId.toString(), null);
-        savePlayerChannels();
+        if (savedChannels.remove(playerId) != null) {
+            savePlayerChannels();
+        }
     }
 
     public void reload() {
@@ -390,7 +411,7 @@ public final class AlliumChannelManager implements Listener {
     public void applyAutojoin(Player player, boolean skipWriteChannel) {
         UUID playerId = player.getUniqueId();
         writeChannels.remove(playerId);
-        readChannels.remove(playerId);
+        clearReadChannels(playerId);
 
         String chosenWrite = null;
         for (ChannelDefinition channel : channels.values()) {
@@ -432,6 +453,20 @@ public final class AlliumChannelManager implements Listener {
 
     private void addReadChannel(UUID playerId, String channel) {
         readChannels.computeIfAbsent(playerId, ignored -> ConcurrentHashMap.newKeySet()).add(channel);
+        channelReaders.computeIfAbsent(channel, ignored -> ConcurrentHashMap.newKeySet()).add(playerId);
+    }
+
+    private void clearReadChannels(UUID playerId) {
+        Set<String> removed = readChannels.remove(playerId);
+        if (removed == null) {
+            return;
+        }
+        for (String channel : removed) {
+            channelReaders.computeIfPresent(channel, (ignored, readers) -> {
+                readers.remove(playerId);
+                return readers.isEmpty() ? null : readers;
+            });
+        }
     }
 
     public boolean setWriteChannel(Player player, String requestedChannel) {
@@ -469,6 +504,7 @@ public final class AlliumChannelManager implements Listener {
     @EventHandler(priority = EventPriority.MONITOR)
     public void onJoin(PlayerJoinEvent event) {
         Player player = event.getPlayer();
+        trackPosition(player, player.getLocation());
 
         // Always log entry for debugging
         plugin.getLogger().info("[Channels] onJoin fired for " + player.getName() + " enabled=" + enabled);
@@ -547,7 +583,70 @@ public final class AlliumChannelManager implements Listener {
         }
 
         writeChannels.remove(playerId);
-        readChannels.remove(playerId);
+        clearReadChannels(playerId);
+        localPositions.remove(playerId);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent event) {
+        Location to = event.getTo();
+        Location from = event.getFrom();
+        // Head rotation and sub-block movement don't change who hears local chat
+        if (to.getBlockX() == from.getBlockX() && to.getBlockY() == from.getBlockY() && to.getBlockZ() == from.getBlockZ()) {
+            return;
+        }
+        trackPosition(event.getPlayer(), to);
+    }
+
+    /** Riders don't fire {@link PlayerMoveEvent}; follow them through their vehicle. */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onVehicleMove(VehicleMoveEvent event) {
+        Location to = event.getTo();
+        Location from = event.getFrom();
+        if (to.getBlockX() == from.getBlockX() && to.getBlockY() == from.getBlockY() && to.getBlockZ() == from.getBlockZ()) {
+            return;
+        }
+        for (Entity passenger : event.getVehicle().getPassengers()) {
+            if (passenger instanceof Player player) {
+                trackPosition(player, to);
+            }
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMount(EntityMountEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            trackPosition(player, event.getMount().getLocation());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDismount(EntityDismountEvent event) {
+        if (event.getEntity() instanceof Player player) {
+            trackPosition(player, player.getLocation());
+        }
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(PlayerTeleportEvent event) {
+        trackPosition(event.getPlayer(), event.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onChangedWorld(PlayerChangedWorldEvent event) {
+        trackPosition(event.getPlayer(), event.getPlayer().getLocation());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onRespawn(PlayerRespawnEvent event) {
+        trackPosition(event.getPlayer(), event.getRespawnLocation());
+    }
+
+    private void trackPosition(Player player, Location location) {
+        if (location == null || location.getWorld() == null) {
+            return;
+        }
+        localPositions.update(player.getUniqueId(), location.getWorld().getUID(), location.getX(), location.getY(), location.getZ());
     }
 
     @EventHandler(priority = EventPriority.LOWEST, ignoreCancelled = false)
@@ -739,27 +838,17 @@ public final class AlliumChannelManager implements Listener {
             plugin.getDiscordSrvMessageBridge().noteOutgoingPlayerChat(messageId, sender, Component.text(message), formatted);
         }
 
-        // Handle local channel radius-based broadcasting
-        boolean isLocalChannel = channel.isLocal();
-        int radius = isLocalChannel ? channel.radius() : 0;
-        
-        for (Player recipient : Bukkit.getOnlinePlayers()) {
-            if (!isReading(recipient.getUniqueId(), channel.name())) {
+        // Only two views exist: the plain message, and the staff one with the delete hover
+        Component staffView = null;
+        for (Player recipient : resolveRecipients(sender, channel)) {
+            if (!canDeleteMessages(recipient)) {
+                recipient.sendMessage(formatted);
                 continue;
             }
-            
-            // For local channels, check if recipient is within radius
-            if (isLocalChannel && radius > 0) {
-                if (!sender.getWorld().equals(recipient.getWorld())) {
-                    continue; // Different worlds - can't hear local chat
-                }
-                double distance = sender.getLocation().distance(recipient.getLocation());
-                if (distance > radius) {
-                    continue; // Too far away - can't hear local chat
-                }
+            if (staffView == null) {
+                staffView = renderStaffView(messageId, rendered);
             }
-            
-            recipient.sendMessage(applyStaffHoverForViewer(recipient, sender, messageId, rendered));
+            recipient.sendMessage(staffView);
         }
         
         // Track if we're in staff-chat mode so we can suppress DiscordSRV global relay
@@ -784,6 +873,35 @@ public final class AlliumChannelManager implements Listener {
         }
     }
 
+    private Collection<Player> resolveRecipients(Player sender, ChannelDefinition channel) {
+        if (channel.isLocal()) {
+            if (channel.radius() <= 0) {
+                // Local channel is readable by all players; no radius means everyone hears it
+                return new ArrayList<>(Bukkit.getOnlinePlayers());
+            }
+            if (!localPositions.contains(sender.getUniqueId())) {
+                trackPosition(sender, sender.getLocation());
+            }
+            // A set, since a player moving between chunks mid-query can be seen twice
+            Set<UUID> nearby = new HashSet<>();
+            localPositions.forEachNear(sender.getUniqueId(), channel.radius(), nearby::add);
+            return toOnlinePlayers(nearby);
+        }
+        Set<UUID> readers = channelReaders.get(channel.name());
+        return readers == null ? List.of() : toOnlinePlayers(readers);
+    }
+
+    private static List<Player> toOnlinePlayers(Collection<UUID> playerIds) {
+        List<Player> players = new ArrayList<>(playerIds.size());
+        for (UUID playerId : playerIds) {
+            Player player = Bukkit.getPlayer(playerId);
+            if (player != null) {
+                players.add(player);
+            }
+        }
+        return players;
+    }
+
     private boolean isReading(UUID playerId, String channel) {
         // Local channel is readable by all players (radius filters recipients)
         if (channel.equals(localChannelName)) {
@@ -852,14 +970,14 @@ public final class AlliumChannelManager implements Listener {
         return plugin.getSpamBlockerManager().rewriteForDiscordRelay(message);
     }
 
-    private Component applyStaffHoverForViewer(Player viewer, Player sender, long messageId, RenderedPlayerMessage rendered) {
-        boolean canDelete = viewer.hasPermission("allium.deletemsg")
+    private static boolean canDeleteMessages(Player viewer) {
+        return viewer.hasPermission("allium.deletemsg")
                 || viewer.hasPermission("allium.delmsg")
                 || viewer.hasPermission("allium.staff");
-        if (!canDelete) {
-            return rendered.formatted();
-        }
+    }
 
+    /** The message as shown to viewers who may delete it. */
+    private Component renderStaffView(long messageId, RenderedPlayerMessage rendered) {
         String mode = plugin.getConfig().getString("chat-hover.delete-hover-mode", "prefix").toLowerCase(Locale.ROOT);
         String effectiveMode = mode;
         if (("prefix".equals(effectiveMode) || "suffix".equals(effectiveMode))
@@ -22,6 +22,8 @@ import java.io.File;
 import java.io.IOException;
 import java.text.Normalizer;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.EnumMap;
@@ -32,6 +34,8 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.StringJoiner;
+import java.util.TreeMap;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
@@ -44,6 +48,7 @@ import java.util.regex.Pattern;
 public final class ChatFilterManager implements Listener {
 
     private static final Pattern TOKEN_PATTERN = Pattern.compile("[\\p{L}\\p{N}']+");
+    private static final Pattern NON_WORD_PATTERN = Pattern.compile("[^\\p{L}\\p{N}']+");
     private static final long SUPPRESS_DISCORD_RELAY_WINDOW_MS = 15_000L;
     private static final List<String> DEFAULT_CHAT_RESOURCES = List.of(
             "chat/modules.yml",
@@ -67,6 +72,22 @@ public final class ChatFilterManager implements Listener {
             "chat/modules/command-spy.yml"
     );
 
+    /** Leetspeak substitutions indexed by character; 0 means none. */
+    private static final char[] SUBSTITUTIONS = new char['z' + 1];
+
+    static {
+        SUBSTITUTIONS['@'] = 'a';
+        SUBSTITUTIONS['4'] = 'a';
+        SUBSTITUTIONS['3'] = 'e';
+        SUBSTITUTIONS['0'] = 'o';
+        SUBSTITUTIONS['1'] = 'i';
+        SUBSTITUTIONS['!'] = 'i';
+        SUBSTITUTIONS['5'] = 's';
+        SUBSTITUTIONS['$'] = 's';
+        SUBSTITUTIONS['7'] = 't';
+        SUBSTITUTIONS['+'] = 't';
+    }
+
     private final PluginStart plugin;
     private final File chatFolder;
     private final File modulesFolder;
@@ -75,7 +96,7 @@ public final class ChatFilterManager implements Listener {
 
     private volatile boolean enabled;
     private volatile Settings settings = Settings.disabled();
-    private volatile List<Entry> entries = List.of();
+    private volatile CompiledFilter filter = CompiledFilter.EMPTY;
 
     public ChatFilterManager(PluginStart plugin) {
         this.plugin = plugin;
@@ -94,7 +115,7 @@ public final class ChatFilterManager implements Listener {
         if (moduleRoot == null || !moduleRoot.getBoolean("enabled", true)) {
             enabled = false;
             settings = Settings.disabled();
-            entries = List.of();
+            filter = CompiledFilter.EMPTY;
             return;
         }
 
@@ -106,11 +127,13 @@ public final class ChatFilterManager implements Listener {
 
         YamlConfiguration filterConfig = YamlConfiguration.loadConfiguration(filterFile);
         enabled = filterConfig.getBoolean("enabled", true);
-        settings = loadSettings(filterConfig);
-        entries = loadEntries(filterConfig, settings);
+        Settings loadedSettings = loadSettings(filterConfig);
+        CompiledFilter compiled = CompiledFilter.compile(loadEntries(filterConfig, loadedSettings));
+        settings = loadedSettings;
+        filter = compiled;
 
         if (plugin.isDebugMode()) {
-            Text.sendDebugLog(INFO, "[ChatFilter] Loaded " + entries.size() + " word/phrase entries from " + filterFile.getName());
+            Text.sendDebugLog(INFO, "[ChatFilter] Loaded " + compiled.size() + " word/phrase entries from " + filterFile.getName());
         }
     }
 
@@ -127,13 +150,7 @@ public final class ChatFilterManager implements Listener {
         }
 
         PreparedMessage prepared = PreparedMessage.from(message, settings);
-        List<MatchHit> hits = new ArrayList<>();
-        for (Entry entry : entries) {
-            MatchHit hit = entry.match(prepared);
-            if (hit != null) {
-                hits.add(hit);
-            }
-        }
+        List<MatchHit> hits = filter.match(prepared);
 
         if (hits.isEmpty()) {
             return EvaluationResult.allow(message, context, settings, prepared);
@@ -642,101 +659,265 @@ public final class ChatFilterManager implements Listener {
 
             String normalizedValue = normalizeToken(value, strength, settings);
             if (normalizedValue.isBlank()) {
+                // An empty substring would be found in every message; never load one
+                Text.sendDebugLog(WARN, "[ChatFilter] Skipped " + matchType.name().toLowerCase(Locale.ROOT)
+                        + " entry '" + id + "': nothing left of '" + value + "' after normalization");
                 return null;
             }
             return new Entry(id, value, matchType, strength, target, normalizedValue, List.of(),
                     normalizeExceptionList(exceptions, strength, settings), null);
         }
+    }
 
-        MatchHit match(PreparedMessage prepared) {
-            if (isExcepted(prepared)) {
-                return null;
+    /**
+     * Every entry compiled for a single pass over a message.
+     *
+     * <p>Entries are grouped by {@link Strength} because the strength decides
+     * how message tokens are normalized. The message is normalized once per
+     * strength in use. Token entries are then a hash lookup per token, phrases
+     * are walked through a token trie, and substrings and exceptions each go
+     * through one {@link AhoCorasick} automaton, so the cost no longer grows
+     * with the size of the blocklist. Only regex entries are still checked one
+     * by one. Hits come back in entry order with the same details the
+     * per-entry checks produced, so {@code dryRun} output is unchanged.
+     */
+    private static final class CompiledFilter {
+
+        static final CompiledFilter EMPTY = compile(List.of());
+
+        private final List<Entry> entries;
+        private final List<StrengthIndex> indexes;
+        private final int[] regexEntries;
+
+        private CompiledFilter(List<Entry> entries, List<StrengthIndex> indexes, int[] regexEntries) {
+            this.entries = entries;
+            this.indexes = indexes;
+            this.regexEntries = regexEntries;
+        }
+
+        static CompiledFilter compile(List<Entry> entries) {
+            Map<Strength, StrengthIndex.Builder> builders = new EnumMap<>(Strength.class);
+            int[] regexEntries = new int[0];
+            for (int i = 0; i < entries.size(); i++) {
+                Entry entry = entries.get(i);
+                builders.computeIfAbsent(entry.strength(), StrengthIndex.Builder::new).add(i, entry);
+                if (entry.matchType() == MatchType.REGEX) {
+                    regexEntries = append(regexEntries, i);
+                }
+            }
+            List<StrengthIndex> indexes = new ArrayList<>(builders.size());
+            for (StrengthIndex.Builder builder : builders.values()) {
+                indexes.add(builder.build(entries));
             }
+            return new CompiledFilter(List.copyOf(entries), List.copyOf(indexes), regexEntries);
+        }
 
-            return switch (matchType) {
-                case TOKEN -> matchToken(prepared);
-                case PHRASE -> matchPhrase(prepared);
-                case SUBSTRING -> matchSubstring(prepared);
-                case REGEX -> matchRegex(prepared);
-            };
+        int size() {
+            return entries.size();
         }
 
-        private MatchHit matchToken(PreparedMessage prepared) {
-            for (String token : prepared.tokens()) {
-                String normalized = normalizeToken(token, strength, prepared.settings());
-                if (normalizedValue.equals(normalized)) {
-                    return new MatchHit(id, matchType, value, "token=" + token);
+        List<MatchHit> match(PreparedMessage prepared) {
+            Map<Integer, MatchHit> found = new TreeMap<>();
+            BitSet excepted = new BitSet();
+            String[] normalizedByStrength = new String[Strength.values().length];
+            for (StrengthIndex index : indexes) {
+                normalizedByStrength[index.strength.ordinal()] = index.match(prepared, found, excepted);
+            }
+
+            for (int entryIndex : regexEntries) {
+                if (excepted.get(entryIndex)) {
+                    continue;
+                }
+                Entry entry = entries.get(entryIndex);
+                String subject = entry.target() == EvaluationTarget.RAW
+                        ? prepared.raw()
+                        : normalizedByStrength[entry.strength().ordinal()];
+                if (entry.regexPattern().matcher(subject).find()) {
+                    found.put(entryIndex, new MatchHit(entry.id(), entry.matchType(), entry.value(), "regex"));
                 }
             }
-            for (String run : prepared.joinedLetterRuns()) {
-                String normalized = normalizeToken(run, strength, prepared.settings());
-                if (normalizedValue.equals(normalized)) {
-                    return new MatchHit(id, matchType, value, "joined-run=" + run);
+
+            if (found.isEmpty()) {
+                return List.of();
+            }
+            List<MatchHit> hits = new ArrayList<>(found.size());
+            for (Map.Entry<Integer, MatchHit> hit : found.entrySet()) {
+                if (!excepted.get(hit.getKey())) {
+                    hits.add(hit.getValue());
                 }
             }
-            return null;
-        }
+            return hits;
+        }
+    }
+
+    /** The token, phrase, substring and exception entries of one strength. */
+    private static final class StrengthIndex {
+
+        private final Strength strength;
+        private final List<Entry> entries;
+        private final Map<String, int[]> tokenEntries;
+        private final PhraseNode phrases;
+        private final AhoCorasick substrings;
+        private final int[][] substringEntries;
+        private final AhoCorasick exceptions;
+        private final int[][] exceptionEntries;
+
+        private StrengthIndex(Builder builder, List<Entry> entries) {
+            this.strength = builder.strength;
+            this.entries = entries;
+            this.tokenEntries = Map.copyOf(builder.tokenEntries);
+            this.phrases = builder.phrases;
+            this.substrings = AhoCorasick.build(new ArrayList<>(builder.substringEntries.keySet()));
+            this.substringEntries = builder.substringEntries.values().toArray(new int[0][]);
+            this.exceptions = AhoCorasick.build(new ArrayList<>(builder.exceptionEntries.keySet()));
+            this.exceptionEntries = builder.exceptionEntries.values().toArray(new int[0][]);
+        }
+
+        /**
+         * Records every hit of this strength into {@code found} and every
+         * excepted entry into {@code excepted}; returns the message normalized
+         * at this strength for regex entries.
+         */
+        String match(PreparedMessage prepared, Map<Integer, MatchHit> found, BitSet excepted) {
+            Settings settings = prepared.settings();
+            List<String> rawTokens = prepared.tokens();
+            String[] tokens = new String[rawTokens.size()];
+            StringJoiner normalizedMessage = new StringJoiner(" ");
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = normalizeToken(rawTokens.get(i), strength, settings);
+                if (!tokens[i].isBlank()) {
+                    normalizedMessage.add(tokens[i]);
+                }
+            }
+            String normalized = normalizedMessage.toString();
 
-        private MatchHit matchPhrase(PreparedMessage prepared) {
-            if (prepared.tokens().size() < normalizedPhraseTokens.size()) {
-                return null;
+            if (!exceptions.isEmpty()) {
+                exceptions.scan(normalized, id -> {
+                    for (int entryIndex : exceptionEntries[id]) {
+                        excepted.set(entryIndex);
+                    }
+                });
             }
-            for (int i = 0; i <= prepared.tokens().size() - normalizedPhraseTokens.size(); i++) {
-                boolean match = true;
-                for (int j = 0; j < normalizedPhraseTokens.size(); j++) {
-                    String token = normalizeToken(prepared.tokens().get(i + j), strength, prepared.settings());
-                    if (!normalizedPhraseTokens.get(j).equals(token)) {
-                        match = false;
-                        break;
+
+            boolean matchRuns = !tokenEntries.isEmpty() || !substrings.isEmpty();
+            String[] runs = matchRuns ? prepared.joinedLetterRuns().toArray(new String[0]) : new String[0];
+            String[] normalizedRuns = new String[runs.length];
+            for (int i = 0; i < runs.length; i++) {
+                normalizedRuns[i] = normalizeToken(runs[i], strength, settings);
+            }
+
+            if (!tokenEntries.isEmpty()) {
+                for (int i = 0; i < tokens.length; i++) {
+                    int[] hits = tokenEntries.get(tokens[i]);
+                    if (hits != null) {
+                        record(found, hits, "token=", rawTokens.get(i));
                     }
                 }
-                if (match) {
-                    return new MatchHit(id, matchType, value, "phrase@" + i);
+                for (int i = 0; i < runs.length; i++) {
+                    int[] hits = tokenEntries.get(normalizedRuns[i]);
+                    if (hits != null) {
+                        record(found, hits, "joined-run=", runs[i]);
+                    }
                 }
             }
-            return null;
-        }
 
-        private MatchHit matchSubstring(PreparedMessage prepared) {
-            for (String token : prepared.tokens()) {
-                String normalized = normalizeToken(token, strength, prepared.settings());
-                if (normalized.contains(normalizedValue)) {
-                    return new MatchHit(id, matchType, value, "substring-token=" + token);
+            if (!phrases.children.isEmpty()) {
+                for (int start = 0; start < tokens.length; start++) {
+                    PhraseNode node = phrases;
+                    for (int i = start; i < tokens.length; i++) {
+                        node = node.children.get(tokens[i]);
+                        if (node == null) {
+                            break;
+                        }
+                        if (node.entries.length > 0) {
+                            record(found, node.entries, "phrase@", start);
+                        }
+                    }
                 }
             }
-            for (String run : prepared.joinedLetterRuns()) {
-                String normalized = normalizeToken(run, strength, prepared.settings());
-                if (normalized.contains(normalizedValue)) {
-                    return new MatchHit(id, matchType, value, "substring-run=" + run);
+
+            if (!substrings.isEmpty()) {
+                for (int i = 0; i < tokens.length; i++) {
+                    String token = rawTokens.get(i);
+                    substrings.scan(tokens[i], id -> record(found, substringEntries[id], "substring-token=", token));
+                }
+                for (int i = 0; i < runs.length; i++) {
+                    String run = runs[i];
+                    substrings.scan(normalizedRuns[i], id -> record(found, substringEntries[id], "substring-run=", run));
                 }
             }
-            return null;
+
+            return normalized;
         }
 
-        private MatchHit matchRegex(PreparedMessage prepared) {
-            String subject = target == EvaluationTarget.RAW
-                    ? prepared.raw()
-                    : normalizeWholeMessage(prepared.raw(), strength, prepared.settings());
-            if (regexPattern.matcher(subject).find()) {
-                return new MatchHit(id, matchType, value, "regex");
+        /**
+         * Keeps the first hit per entry, which is the one the per-entry scan
+         * used to report. The detail is only built for a new hit.
+         */
+        private void record(Map<Integer, MatchHit> found, int[] entryIndexes, String detail, Object where) {
+            for (int entryIndex : entryIndexes) {
+                if (!found.containsKey(entryIndex)) {
+                    Entry entry = entries.get(entryIndex);
+                    found.put(entryIndex, new MatchHit(entry.id(), entry.matchType(), entry.value(), detail + where));
+                }
             }
-            return null;
         }
 
-        private boolean isExcepted(PreparedMessage prepared) {
-            if (normalizedExceptions.isEmpty()) {
-                return false;
+        private static final class Builder {
+            private final Strength strength;
+            private final Map<String, int[]> tokenEntries = new HashMap<>();
+            private final PhraseNode phrases = new PhraseNode();
+            private final Map<String, int[]> substringEntries = new LinkedHashMap<>();
+            private final Map<String, int[]> exceptionEntries = new LinkedHashMap<>();
+
+            Builder(Strength strength) {
+                this.strength = strength;
             }
-            String normalizedMessage = normalizeWholeMessage(prepared.raw(), strength, prepared.settings());
-            for (String exception : normalizedExceptions) {
-                if (normalizedMessage.contains(exception)) {
-                    return true;
+
+            void add(int entryIndex, Entry entry) {
+                switch (entry.matchType()) {
+                    case TOKEN -> tokenEntries.merge(entry.normalizedValue(), new int[]{entryIndex}, Builder::concat);
+                    case PHRASE -> {
+                        PhraseNode node = phrases;
+                        for (String token : entry.normalizedPhraseTokens()) {
+                            node = node.children.computeIfAbsent(token, key -> new PhraseNode());
+                        }
+                        node.entries = append(node.entries, entryIndex);
+                    }
+                    case SUBSTRING -> substringEntries.merge(entry.normalizedValue(), new int[]{entryIndex}, Builder::concat);
+                    case REGEX -> {
+                        // Checked one by one in CompiledFilter
+                    }
+                }
+                for (String exception : entry.normalizedExceptions()) {
+                    exceptionEntries.merge(exception, new int[]{entryIndex}, Builder::concat);
                 }
             }
-            return false;
+
+            StrengthIndex build(List<Entry> entries) {
+                return new StrengthIndex(this, entries);
+            }
+
+            private static int[] concat(int[] left, int[] right) {
+                int[] joined = Arrays.copyOf(left, left.length + right.length);
+                System.arraycopy(right, 0, joined, left.length, right.length);
+                return joined;
+            }
         }
     }
 
+    /** Token trie node; {@code entries} are the phrases that end here. */
+    private static final class PhraseNode {
+        private final Map<String, PhraseNode> children = new HashMap<>();
+        private int[] entries = new int[0];
+    }
+
+    private static int[] append(int[] values, int value) {
+        int[] appended = Arrays.copyOf(values, values.length + 1);
+        appended[values.length] = value;
+        return appended;
+    }
+
     private record RecentBlockedMessage(String normalizedMessage, long timestamp) {}
 
     private static List<String> normalizeExceptionList(List<String> exceptions, Strength strength, Settings settings) {
@@ -778,7 +959,7 @@ public final class ChatFilterManager implements Listener {
         }
 
         normalized = trimApostrophes(normalized);
-        normalized = normalized.replaceAll("[^\\p{L}\\p{N}']+", "");
+        normalized = NON_WORD_PATTERN.matcher(normalized).replaceAll("");
 
         if (strength != Strength.EXACT && settings.substitutions()) {
             normalized = applySubstitutions(normalized);
@@ -806,22 +987,10 @@ public final class ChatFilterManager implements Listener {
         if (input.isEmpty()) {
             return input;
         }
-        Map<Character, Character> substitutions = new HashMap<>();
-        substitutions.put('@', 'a');
-        substitutions.put('4', 'a');
-        substitutions.put('3', 'e');
-        substitutions.put('0', 'o');
-        substitutions.put('1', 'i');
-        substitutions.put('!', 'i');
-        substitutions.put('5', 's');
-        substitutions.put('$', 's');
-        substitutions.put('7', 't');
-        substitutions.put('+', 't');
-
         StringBuilder out = new StringBuilder(input.length());
         for (int i = 0; i < input.length(); i++) {
             char c = input.charAt(i);
-            out.append(substitutions.getOrDefault(c, c));
+            out.append(c < SUBSTITUTIONS.length && SUBSTITUTIONS[c] != 0 ? SUBSTITUTIONS[c] : c);
         }
         return out.toString();
     }
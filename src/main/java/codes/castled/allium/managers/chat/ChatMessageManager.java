@@ -1,36 +1,47 @@
 package codes.castled.allium.managers.chat;
 
-import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
-
-import codes.castled.allium.managers.core.Text;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.serializer.plain.PlainTextComponentSerializer;
 import org.bukkit.entity.Player;
 
 /**
- * Manages chat messages for staff moderation features
+ * Manages chat messages for staff moderation features.
+ *
+ * <p>Per-sender and per-recipient histories are fixed-size views holding
+ * references to the same message objects, so marking a message deleted is
+ * seen by every view. Every message still in a sender's view is also indexed
+ * by id, so looking one up for deletion is a single map read; a message
+ * leaves the index when its sender's view drops it.
  */
 public class ChatMessageManager {
 
     private static final int MAX_MESSAGES_PER_PLAYER = 100; // Limit to prevent memory issues
     private static final int MAX_GLOBAL_MESSAGES = 200; // Global chat history limit
+    /** Views are filled on different threads, so not strictly in time order; keep scanning this far past the duplicate window. */
+    private static final long DUPLICATE_SCAN_SLACK_MS = 1000;
 
-    // Thread-safe storage for chat messages
-    private final Map<UUID, Deque<ChatMessage>> playerMessages =
-        new ConcurrentHashMap<>();
     private final AtomicLong messageIdCounter = new AtomicLong(0);
+    // Exactly the messages held by some sender's view in playerMessages
+    private final Map<Long, ChatMessage> messagesById =
+        new ConcurrentHashMap<>();
+
+    // Messages each player sent, for staff lookup by sender
+    private final Map<UUID, HistoryView> playerMessages =
+        new ConcurrentHashMap<>();
 
     // Per-player chat history for packet-based deletion
-    private final Map<UUID, Deque<ChatMessage>> playerChatHistory =
+    private final Map<UUID, HistoryView> playerChatHistory =
         new ConcurrentHashMap<>();
 
-    // Global chat history (ordered by timestamp)
-    private final Deque<ChatMessage> globalChatHistory =
-        new ConcurrentLinkedDeque<>();
+    // Global chat history (ordered by arrival)
+    private final HistoryView globalChatHistory = new HistoryView(
+        MAX_GLOBAL_MESSAGES
+    );
 
     /**
      * Represents a chat message that can be deleted by staff
@@ -43,6 +54,7 @@ public class ChatMessageManager {
         private final Component originalMessage;
         private final long timestamp;
         private volatile boolean deleted;
+        private volatile String plainText;
 
         public ChatMessage(
             long messageId,
@@ -85,6 +97,95 @@ public class ChatMessageManager {
         public void setDeleted(boolean deleted) {
             this.deleted = deleted;
         }
+
+        /**
+         * Trimmed plain text of the message, serialized on first use and then
+         * kept, so duplicate matching never serializes a message twice.
+         */
+        public String getPlainText() {
+            String plain = plainText;
+            if (plain == null) {
+                plain = PlainTextComponentSerializer.plainText()
+                    .serialize(originalMessage)
+                    .trim();
+                plainText = plain;
+            }
+            return plain;
+        }
+    }
+
+    /**
+     * Fixed-size history of the newest messages, oldest first. Adding never
+     * walks the history; a full view overwrites its oldest entry.
+     */
+    private static final class HistoryView {
+
+        private final ChatMessage[] messages;
+        private int head;
+        private int size;
+
+        HistoryView(int capacity) {
+            this.messages = new ChatMessage[capacity];
+        }
+
+        /** Adds a message and returns the one it pushed out, or null. */
+        synchronized ChatMessage add(ChatMessage message) {
+            int index = (head + size) % messages.length;
+            ChatMessage evicted = messages[index];
+            messages[index] = message;
+            if (size < messages.length) {
+                size++;
+                return null;
+            }
+            head = (head + 1) % messages.length;
+            return evicted;
+        }
+
+        /** The newest {@code limit} messages, oldest first, optionally without deleted ones. */
+        synchronized List<ChatMessage> newest(int limit, boolean activeOnly) {
+            int count = Math.min(limit, size);
+            List<ChatMessage> result = new ArrayList<>(count);
+            for (int i = size - count; i < size; i++) {
+                ChatMessage message = messages[(head + i) % messages.length];
+                if (!activeOnly || !message.isDeleted()) {
+                    result.add(message);
+                }
+            }
+            return result;
+        }
+
+        List<ChatMessage> active() {
+            return newest(messages.length, true);
+        }
+
+        /**
+         * Marks matching messages deleted, walking back from the newest and
+         * stopping at the first one older than {@code cutoffTime}.
+         */
+        synchronized void markDeletedBack(long cutoffTime, Predicate<ChatMessage> matches) {
+            for (int i = size - 1; i >= 0; i--) {
+                ChatMessage message = messages[(head + i) % messages.length];
+                if (message.getTimestamp() < cutoffTime) {
+                    return;
+                }
+                if (matches.test(message)) {
+                    message.setDeleted(true);
+                }
+            }
+        }
+
+        synchronized void removeOlderThan(long cutoffTime, Consumer<ChatMessage> removed) {
+            while (size > 0 && messages[head].getTimestamp() < cutoffTime) {
+                removed.accept(messages[head]);
+                messages[head] = null;
+                head = (head + 1) % messages.length;
+                size--;
+            }
+        }
+
+        synchronized boolean isEmpty() {
+            return size == 0;
+        }
     }
 
     /**
@@ -106,32 +207,7 @@ public class ChatMessageManager {
         String senderName,
         Component message
     ) {
-        long messageId = messageIdCounter.incrementAndGet();
-
-        ChatMessage chatMessage = new ChatMessage(
-            messageId,
-            senderId,
-            senderName,
-            message
-        );
-
-        // Get or create the sender's message list
-        Deque<ChatMessage> messages = playerMessages.computeIfAbsent(
-            senderId,
-            k -> new ConcurrentLinkedDeque<>()
-        );
-
-        messages.addLast(chatMessage);
-
-        // Limit the number of stored messages per sender to prevent memory issues
-        while (
-            messages.size() > MAX_MESSAGES_PER_PLAYER &&
-            messages.pollFirst() != null
-        ) {
-            // Trim oldest entries until within limit
-        }
-
-        return messageId;
+        return storeMessageObject(senderId, senderName, message).getMessageId();
     }
 
     /**
@@ -154,21 +230,22 @@ public class ChatMessageManager {
             message
         );
 
-        Deque<ChatMessage> messages = playerMessages.computeIfAbsent(
-            senderId,
-            k -> new ConcurrentLinkedDeque<>()
-        );
+        messagesById.put(messageId, chatMessage);
+        // Under the map's lock so cleanup cannot drop the view while it is added to
+        playerMessages.compute(senderId, (id, view) -> {
+            HistoryView history =
+                view != null ? view : new HistoryView(MAX_MESSAGES_PER_PLAYER);
+            unindex(history.add(chatMessage));
+            return history;
+        });
 
-        messages.addLast(chatMessage);
+        return chatMessage;
+    }
 
-        while (
-            messages.size() > MAX_MESSAGES_PER_PLAYER &&
-            messages.pollFirst() != null
-        ) {
-            // Trim oldest entries until within limit
+    private void unindex(ChatMessage message) {
+        if (message != null) {
+            messagesById.remove(message.getMessageId(), message);
         }
-
-        return chatMessage;
     }
 
     /** Time window (ms) to treat as same logical message when deleting duplicates (e.g. formatted vs packet raw). */
@@ -183,52 +260,26 @@ public class ChatMessageManager {
         ChatMessage target = getMessage(messageId);
         if (target == null) return false;
 
-        String targetPlain = PlainTextComponentSerializer.plainText()
-            .serialize(target.getOriginalMessage())
-            .trim();
-        long targetTime = target.getTimestamp();
-        if (targetPlain.isEmpty()) targetPlain = null;
-
-        boolean found = false;
+        target.setDeleted(true);
 
-        // Mark by ID and by content+time in playerMessages
-        for (Deque<ChatMessage> messages : playerMessages.values()) {
-            for (ChatMessage message : messages) {
-                if (
-                    message.getMessageId() == messageId ||
-                    isDuplicateContent(message, targetPlain, targetTime)
-                ) {
-                    message.setDeleted(true);
-                    found = true;
-                }
-            }
-        }
+        String targetPlain = target.getPlainText();
+        if (targetPlain.isEmpty()) return true;
+        long targetTime = target.getTimestamp();
 
-        // Mark in per-player chat histories (used for resend)
-        for (Deque<ChatMessage> history : playerChatHistory.values()) {
-            for (ChatMessage message : history) {
-                if (
-                    message.getMessageId() == messageId ||
-                    isDuplicateContent(message, targetPlain, targetTime)
-                ) {
-                    message.setDeleted(true);
-                    found = true;
-                }
-            }
+        // Views share these objects, so marking a copy in one marks it in all.
+        // Packet copies are only in recipients' views once the sender view of
+        // SYSTEM has moved on; each view is walked back only past the window.
+        long cutoff = targetTime - DUPLICATE_TIME_MS - DUPLICATE_SCAN_SLACK_MS;
+        Predicate<ChatMessage> duplicate = message ->
+            isDuplicateContent(message, targetPlain, targetTime);
+        for (HistoryView messages : playerMessages.values()) {
+            messages.markDeletedBack(cutoff, duplicate);
         }
-
-        // Mark in global chat history (used for resend)
-        for (ChatMessage message : globalChatHistory) {
-            if (
-                message.getMessageId() == messageId ||
-                isDuplicateContent(message, targetPlain, targetTime)
-            ) {
-                message.setDeleted(true);
-                found = true;
-            }
+        for (HistoryView history : playerChatHistory.values()) {
+            history.markDeletedBack(cutoff, duplicate);
         }
 
-        return found;
+        return true;
     }
 
     /**
@@ -240,13 +291,10 @@ public class ChatMessageManager {
         String targetPlain,
         long targetTime
     ) {
-        if (targetPlain == null) return false;
-        String plain = PlainTextComponentSerializer.plainText()
-            .serialize(message.getOriginalMessage())
-            .trim();
-        if (plain.isEmpty()) return false;
         long diff = Math.abs(message.getTimestamp() - targetTime);
         if (diff > DUPLICATE_TIME_MS) return false;
+        String plain = message.getPlainText();
+        if (plain.isEmpty()) return false;
         // One contains the other so we match both "Prefix Name: hello" and "hello"
         return plain.contains(targetPlain) || targetPlain.contains(plain);
     }
@@ -255,15 +303,11 @@ public class ChatMessageManager {
      * Get all non-deleted messages for a specific player (for chat reconstruction)
      */
     public List<ChatMessage> getActiveMessages(UUID playerId) {
-        Deque<ChatMessage> messages = playerMessages.get(playerId);
+        HistoryView messages = playerMessages.get(playerId);
         if (messages == null) {
             return new ArrayList<>();
         }
-
-        return messages
-            .stream()
-            .filter(msg -> !msg.isDeleted())
-            .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        return messages.active();
     }
 
     /**
@@ -272,13 +316,8 @@ public class ChatMessageManager {
     public List<ChatMessage> getAllActiveMessages() {
         List<ChatMessage> allMessages = new ArrayList<>();
 
-        for (Deque<ChatMessage> messages : playerMessages.values()) {
-            allMessages.addAll(
-                messages
-                    .stream()
-                    .filter(msg -> !msg.isDeleted())
-                    .collect(ArrayList::new, ArrayList::add, ArrayList::addAll)
-            );
+        for (HistoryView messages : playerMessages.values()) {
+            allMessages.addAll(messages.active());
         }
 
         // Sort by timestamp
@@ -293,89 +332,78 @@ public class ChatMessageManager {
     public void cleanupOldMessages(long maxAgeMillis) {
         long cutoffTime = System.currentTimeMillis() - maxAgeMillis;
 
-        for (Deque<ChatMessage> messages : playerMessages.values()) {
-            messages.removeIf(msg -> msg.getTimestamp() < cutoffTime);
+        for (UUID senderId : playerMessages.keySet()) {
+            // Remove empty lists, under the same lock storeMessageObject adds with
+            playerMessages.computeIfPresent(senderId, (id, messages) -> {
+                messages.removeOlderThan(cutoffTime, this::unindex);
+                return messages.isEmpty() ? null : messages;
+            });
         }
-
-        // Remove empty lists
-        playerMessages.entrySet().removeIf(entry -> entry.getValue().isEmpty());
     }
 
     /**
      * Track a message for a specific player (for packet-based deletion)
      */
     public void trackMessageForPlayer(UUID playerId, ChatMessage message) {
-        Deque<ChatMessage> playerHistory = playerChatHistory.computeIfAbsent(
-            playerId,
-            k -> new ConcurrentLinkedDeque<>()
-        );
-        playerHistory.addLast(message);
-
-        // Limit per-player history
-        while (
-            playerHistory.size() > MAX_MESSAGES_PER_PLAYER &&
-            playerHistory.pollFirst() != null
-        ) {
-            // Trim oldest entries until within limit
-        }
+        playerChatHistory
+            .computeIfAbsent(playerId, k ->
+                new HistoryView(MAX_MESSAGES_PER_PLAYER)
+            )
+            .add(message);
 
         // Add to global history
-        globalChatHistory.addLast(message);
-        while (
-            globalChatHistory.size() > MAX_GLOBAL_MESSAGES &&
-            globalChatHistory.pollFirst() != null
-        ) {
-            // Trim oldest entries until within limit
-        }
+        globalChatHistory.add(message);
     }
 
     /**
      * Get chat history for a specific player (excluding deleted messages)
      */
     public List<ChatMessage> getPlayerChatHistory(UUID playerId) {
-        Deque<ChatMessage> history = playerChatHistory.get(playerId);
+        HistoryView history = playerChatHistory.get(playerId);
         if (history == null) {
             return new ArrayList<>();
         }
-
-        return history
-            .stream()
-            .filter(msg -> !msg.isDeleted())
-            .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        return history.active();
     }
 
     /**
      * Get recent global chat history (excluding deleted messages)
      */
     public List<ChatMessage> getRecentGlobalChatHistory(int maxMessages) {
-        int toSkip = Math.max(0, globalChatHistory.size() - maxMessages);
-        return globalChatHistory
-            .stream()
-            .filter(msg -> !msg.isDeleted())
-            .skip(toSkip)
-            .collect(ArrayList::new, ArrayList::add, ArrayList::addAll);
+        return globalChatHistory.newest(maxMessages, true);
     }
 
     /**
-     * Get a specific message by ID
+     * Get a specific message by ID, if its sender's history still holds it
      */
     public ChatMessage getMessage(long messageId) {
-        for (Deque<ChatMessage> messages : playerMessages.values()) {
-            for (ChatMessage message : messages) {
-                if (message.getMessageId() == messageId) {
-                    return message;
-                }
-            }
-        }
-        return null;
+        return messageId > 0 ? messagesById.get(messageId) : null;
     }
 
     /**
-     * Returns the internal playerMessages map so the packet tracker can
-     * look up the FormatChatListener-formatted version of a message.
+     * Every active message grouped by lower-case sender name, newest first,
+     * built in one pass for callers that match many messages by sender.
      */
-    public Map<UUID, Deque<ChatMessage>> getPlayerMessagesMap() {
-        return playerMessages;
+    public Map<String, List<ChatMessage>> getActiveMessagesBySenderName() {
+        Map<String, List<ChatMessage>> bySender = new HashMap<>();
+        for (HistoryView messages : playerMessages.values()) {
+            for (ChatMessage message : messages.active()) {
+                if (message.getSenderName() != null) {
+                    bySender
+                        .computeIfAbsent(
+                            message.getSenderName().toLowerCase(Locale.ROOT),
+                            k -> new ArrayList<>()
+                        )
+                        .add(message);
+                }
+            }
+        }
+        Comparator<ChatMessage> newestFirst =
+            Comparator.comparingLong(ChatMessage::getTimestamp).reversed();
+        for (List<ChatMessage> messages : bySender.values()) {
+            messages.sort(newestFirst);
+        }
+        return bySender;
     }
 
     public List<ChatMessage> getRecentActiveMessagesBySender(
@@ -388,21 +416,15 @@ public class ChatMessageManager {
         }
 
         List<ChatMessage> matches = new ArrayList<>();
-        for (Deque<ChatMessage> messages : playerMessages.values()) {
-            for (ChatMessage message : messages) {
-                if (message.isDeleted()) {
-                    continue;
-                }
-                if (
-                    senderId != null && senderId.equals(message.getSenderId())
-                ) {
-                    matches.add(message);
-                    continue;
-                }
+        for (Map.Entry<UUID, HistoryView> entry : playerMessages.entrySet()) {
+            boolean idMatches =
+                senderId != null && senderId.equals(entry.getKey());
+            for (ChatMessage message : entry.getValue().active()) {
                 if (
-                    senderName != null &&
-                    message.getSenderName() != null &&
-                    message.getSenderName().equalsIgnoreCase(senderName)
+                    idMatches ||
+                    (senderName != null &&
+                        message.getSenderName() != null &&
+                        message.getSenderName().equalsIgnoreCase(senderName))
                 ) {
                     matches.add(message);
                 }
@@ -0,0 +1,131 @@
+package codes.castled.allium.managers.chat;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Live player positions bucketed by world and chunk, for finding local chat
+ * recipients without looking at every online player.
+ *
+ * <p>Unlike {@code VisibilityGrid}, which is rebuilt every pass, this index
+ * is kept current by movement events and read by chat threads at the same
+ * time. A player's entry only moves between buckets when they cross a chunk
+ * border. Updates for one player are expected to come from one thread at a
+ * time, which holds for events fired on the thread that owns the player.
+ */
+final class ChatProximityIndex {
+
+    private static final int CELL_SHIFT = 4; // One chunk
+
+    private record Position(UUID worldId, double x, double y, double z, long cell) {}
+
+    private final Map<UUID, Position> positions = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<Long, Set<UUID>>> worlds = new ConcurrentHashMap<>();
+
+    void update(UUID playerId, UUID worldId, double x, double y, double z) {
+        long cell = cellKey(cell(x), cell(z));
+        Position previous = positions.put(playerId, new Position(worldId, x, y, z, cell));
+        if (previous != null) {
+            if (previous.cell() == cell && previous.worldId().equals(worldId)) {
+                return;
+            }
+            leaveCell(playerId, previous);
+        }
+        worlds.computeIfAbsent(worldId, id -> new ConcurrentHashMap<>())
+            .compute(cell, (key, members) -> {
+                Set<UUID> set = members != null ? members : ConcurrentHashMap.newKeySet();
+                set.add(playerId);
+                return set;
+            });
+    }
+
+    void remove(UUID playerId) {
+        Position previous = positions.remove(playerId);
+        if (previous != null) {
+            leaveCell(playerId, previous);
+        }
+    }
+
+    boolean contains(UUID playerId) {
+        return positions.containsKey(playerId);
+    }
+
+    void clear() {
+        positions.clear();
+        worlds.clear();
+    }
+
+    /**
+     * Passes every indexed player within {@code radius} blocks of
+     * {@code origin}, including {@code origin} itself, to {@code action}.
+     * Returns false without calling it if {@code origin} is not indexed.
+     */
+    boolean forEachNear(UUID origin, int radius, Consumer<UUID> action) {
+        Position center = positions.get(origin);
+        if (center == null) {
+            return false;
+        }
+        Map<Long, Set<UUID>> cells = worlds.get(center.worldId());
+        if (cells == null) {
+            return true;
+        }
+        double radiusSquared = (double) radius * radius;
+        int minX = cell(center.x() - radius);
+        int maxX = cell(center.x() + radius);
+        int minZ = cell(center.z() - radius);
+        int maxZ = cell(center.z() + radius);
+        long span = (long) (maxX - minX + 1) * (maxZ - minZ + 1);
+        if (span > cells.size()) {
+            // Radius covers more chunks than the world has occupied ones
+            for (Set<UUID> members : cells.values()) {
+                collect(members, center, radiusSquared, action);
+            }
+            return true;
+        }
+        for (int cellX = minX; cellX <= maxX; cellX++) {
+            for (int cellZ = minZ; cellZ <= maxZ; cellZ++) {
+                Set<UUID> members = cells.get(cellKey(cellX, cellZ));
+                if (members != null) {
+                    collect(members, center, radiusSquared, action);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void collect(Set<UUID> members, Position center, double radiusSquared, Consumer<UUID> action) {
+        for (UUID playerId : members) {
+            Position position = positions.get(playerId);
+            // Skip entries caught between buckets by a concurrent update
+            if (position == null || !position.worldId().equals(center.worldId())) continue;
+            double dx = position.x() - center.x();
+            double dy = position.y() - center.y();
+            double dz = position.z() - center.z();
+            if (dx * dx + dy * dy + dz * dz <= radiusSquared) {
+                action.accept(playerId);
+            }
+        }
+    }
+
+    private void leaveCell(UUID playerId, Position previous) {
+        Map<Long, Set<UUID>> cells = worlds.get(previous.worldId());
+        if (cells == null) {
+            return;
+        }
+        cells.computeIfPresent(previous.cell(), (key, members) -> {
+            members.remove(playerId);
+            return members.isEmpty() ? null : members;
+        });
+    }
+
+    private static int cell(double coordinate) {
+        return (int) Math.floor(coordinate) >> CELL_SHIFT;
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
@@ -1,13 +1,16 @@
 package codes.castled.allium.managers.chat;
 
 import me.clip.placeholderapi.PlaceholderAPI;
+import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.minimessage.MiniMessage;
 
 import org.bukkit.Bukkit;
 import org.bukkit.entity.Player;
 
 import codes.castled.allium.PluginStart;
+import codes.castled.allium.managers.DB.PermissionCache;
 import codes.castled.allium.managers.core.Text;
+import codes.castled.allium.packetevents.TabListManager;
 import codes.castled.allium.util.SchedulerAdapter;
 
 import java.awt.Color;
@@ -17,12 +20,33 @@ import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+/**
+ * Animated gradient names for players with {@code allium.gradientname}.
+ *
+ * <p>The gradient sweeps through the {@link #phases}, one per tick.
+ * Everything that does not depend on the phase — the resolved
+ * {@code %gradientdisplayname%}, its colors and visible text, and the TAB
+ * prefix and suffix — is resolved once per player and kept in a
+ * {@link GradientFrames}, together with every frame already rendered as both
+ * MiniMessage text and a {@link Component}. A tick then only advances the
+ * frame index and pushes the prebuilt components.
+ *
+ * <p>Frames are rebuilt when the player's nickname changes
+ * ({@link #invalidate}) and otherwise re-checked every
+ * {@link #REVALIDATE_TICKS} ticks: the inputs are resolved again and compared,
+ * so a prefix change shows up within a second without reparsing anything
+ * while nothing changed.
+ */
 public class GradientNameManager {
 
     private static final Pattern LEGACY_HEX_PATTERN = Pattern.compile("(?i)[&§]#([A-F0-9]{6})");
@@ -34,18 +58,35 @@ public class GradientNameManager {
     private static final BigDecimal PHASE_MAX = new BigDecimal("1.0");
     private static final BigDecimal PHASE_MIN = new BigDecimal("-1.0");
     private static final BigDecimal PHASE_NEGATE = new BigDecimal("-1.0");
+    private static final String NO_GRADIENT = "%gradientdisplayname%";
+    /** Marks where the name goes when TAB's affixes are resolved through PlaceholderAPI. */
+    private static final String NAME_MARKER = "\0";
+    /** How often a player's inputs are re-resolved to catch prefix or placeholder changes. */
+    private static final long REVALIDATE_TICKS = 20L;
 
     private final PluginStart plugin;
     private final MiniMessage miniMessage = MiniMessage.miniMessage();
-    private final DecimalFormat phaseDecimalFormat;
     private final AtomicBoolean paused = new AtomicBoolean(false);
     private SchedulerAdapter.TaskHandle phaseTask;
-    private BigDecimal miniGradientPhase = PHASE_MIN;
+    /** Phase values -1.0 .. 1.0 in steps of 0.1, as they appear in MiniMessage gradient tags. */
+    private final String[] phases;
+    private final String[] negativePhases;
+    private volatile int frame;
+    private volatile long ticks;
+    private final Map<UUID, GradientFrames> frames = new ConcurrentHashMap<>();
 
     public GradientNameManager(PluginStart plugin) {
         this.plugin = plugin;
-        this.phaseDecimalFormat = new DecimalFormat("#.#", DecimalFormatSymbols.getInstance(Locale.US));
-        this.phaseDecimalFormat.setRoundingMode(RoundingMode.DOWN);
+        DecimalFormat phaseDecimalFormat = new DecimalFormat("#.#", DecimalFormatSymbols.getInstance(Locale.US));
+        phaseDecimalFormat.setRoundingMode(RoundingMode.DOWN);
+        List<String> phaseValues = new ArrayList<>();
+        List<String> negativeValues = new ArrayList<>();
+        for (BigDecimal phase = PHASE_MIN; phase.compareTo(PHASE_MAX) <= 0; phase = phase.add(PHASE_STEP)) {
+            phaseValues.add(phaseDecimalFormat.format(phase));
+            negativeValues.add(phaseDecimalFormat.format(phase.multiply(PHASE_NEGATE)));
+        }
+        this.phases = phaseValues.toArray(new String[0]);
+        this.negativePhases = negativeValues.toArray(new String[0]);
         this.phaseTask = SchedulerAdapter.runTimer(this::advancePhase, 1L, 1L);
     }
 
@@ -62,6 +103,14 @@ public class GradientNameManager {
             phaseTask.cancel();
             phaseTask = null;
         }
+        frames.clear();
+    }
+
+    /** Drops a player's prebuilt frames, e.g. after their nickname changed. */
+    public void invalidate(Player player) {
+        if (player != null) {
+            frames.remove(player.getUniqueId());
+        }
     }
 
     public String formatPhases(String text) {
@@ -76,44 +125,39 @@ public class GradientNameManager {
         if (player == null) {
             return "";
         }
-        if (!player.hasPermission("allium.gradientname")) {
-            return "%gradientdisplayname%";
-        }
-
-        String resolved = PlaceholderAPI.setPlaceholders(player, "%gradientdisplayname%");
-        if (resolved == null || resolved.isBlank() || "%gradientdisplayname%".equals(resolved)) {
-            return miniMessage.escapeTags(player.getName());
+        if (!PermissionCache.check(plugin, player, "allium.gradientname")) {
+            return NO_GRADIENT;
         }
+        return framesFor(player).names[frame];
+    }
 
-        resolved = resolved.replaceAll("^([&§]r)+", "");
-        List<String> colors = extractColors(resolved);
-        if (colors.isEmpty()) {
-            String prefixColor = extractTrailingColor(getPrefix(player));
-            if (prefixColor != null && !prefixColor.isBlank()) {
-                colors.add(normalizeColor(prefixColor));
-            }
+    public String buildAnimatedTabDisplayName(Player player) {
+        String animatedName = buildAnimatedGradientDisplayName(player);
+        if (animatedName == null || animatedName.isBlank() || NO_GRADIENT.equals(animatedName)) {
+            return animatedName;
         }
+        return framesFor(player).tabNames[frame];
+    }
 
-        String first = colors.isEmpty() ? "#FFFFFF" : colors.get(0);
-        String last = colors.size() >= 2 ? colors.get(colors.size() - 1) : first;
-        String midpoint = nearestNamedColor(average(first, last));
-        String visibleName = stripFormatting(resolved);
-        if (visibleName.isBlank()) {
-            visibleName = player.getName();
+    /**
+     * The player's tab name at the current phase, already parsed, or
+     * {@code null} if they have no gradient name.
+     */
+    public Component currentTabDisplayName(Player player) {
+        if (player == null || !PermissionCache.check(plugin, player, "allium.gradientname")) {
+            return null;
         }
-
-        return "<gradient:" + first + ":" + last + ":" + midpoint + ":" + getPhaseValue(false) + ">"
-                + miniMessage.escapeTags(visibleName)
-                + "</gradient>";
+        return framesFor(player).tabFrames[frame];
     }
 
     private void advancePhase() {
         if (paused.get()) {
             return;
         }
-        miniGradientPhase = miniGradientPhase.add(PHASE_STEP);
-        if (miniGradientPhase.compareTo(PHASE_MAX) > 0) {
-            miniGradientPhase = PHASE_MIN;
+        ticks++;
+        frame = (frame + 1) % phases.length;
+        if (ticks % REVALIDATE_TICKS == 0) {
+            frames.keySet().removeIf(playerId -> Bukkit.getPlayer(playerId) == null);
         }
         refreshPlayerListNames();
     }
@@ -122,44 +166,131 @@ public class GradientNameManager {
         if (!Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI")) {
             return;
         }
+        Map<Player, Component> displayNames = new LinkedHashMap<>();
         for (Player player : Bukkit.getOnlinePlayers()) {
-            if (!player.hasPermission("allium.gradientname")) {
-                continue;
-            }
-            String displayName = buildAnimatedTabDisplayName(player);
-            if (displayName == null || displayName.isBlank() || "%gradientdisplayname%".equals(displayName)) {
-                continue;
+            Component displayName = currentTabDisplayName(player);
+            if (displayName != null) {
+                displayNames.put(player, displayName);
             }
-            player.playerListName(Text.colorize(displayName));
+        }
+        if (displayNames.isEmpty()) {
+            return;
+        }
+        // One batched player-info packet per viewer when PacketEvents is there;
+        // otherwise let the server send playerListName updates.
+        TabListManager tabListManager = plugin.getTabListManager();
+        if (tabListManager == null || !tabListManager.sendDisplayNames(displayNames)) {
+            displayNames.forEach(Player::playerListName);
         }
     }
 
-    public String buildAnimatedTabDisplayName(Player player) {
-        String animatedName = buildAnimatedGradientDisplayName(player);
-        if (animatedName == null || animatedName.isBlank() || "%gradientdisplayname%".equals(animatedName)) {
-            return animatedName;
-        }
+    /** Returns the player's frames, rebuilding them only if their inputs changed. */
+    private GradientFrames framesFor(Player player) {
+        UUID playerId = player.getUniqueId();
+        long now = ticks;
+        GradientFrames cached = frames.get(playerId);
+        if (cached != null && now - cached.resolvedAt < REVALIDATE_TICKS) {
+            return cached;
+        }
+        GradientInputs inputs = resolveInputs(player);
+        if (cached != null && cached.inputs.equals(inputs)) {
+            cached.resolvedAt = now;
+            return cached;
+        }
+        GradientFrames built = buildFrames(player, inputs, now);
+        frames.put(playerId, built);
+        return built;
+    }
 
-        if (!Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI")) {
-            return animatedName;
+    /** Everything a player's gradient name depends on, apart from the phase. */
+    private record GradientInputs(String resolved, String prefixColor, String tabPrefix, String tabSuffix) {
+    }
+
+    private static final class GradientFrames {
+        final GradientInputs inputs;
+        final String[] names;
+        final String[] tabNames;
+        final Component[] tabFrames;
+        volatile long resolvedAt;
+
+        GradientFrames(GradientInputs inputs, String[] names, String[] tabNames, Component[] tabFrames, long resolvedAt) {
+            this.inputs = inputs;
+            this.names = names;
+            this.tabNames = tabNames;
+            this.tabFrames = tabFrames;
+            this.resolvedAt = resolvedAt;
         }
+    }
 
-        try {
-            TabAffixes affixes = resolveTabAffixes(player);
-            if (affixes != null) {
-                String prefix = normalizeAffixFormatting(affixes.prefix());
-                String suffix = normalizeAffixFormatting(affixes.suffix());
-                return prefix + separatorAfterPrefix(prefix) + animatedName + suffix;
+    private GradientInputs resolveInputs(Player player) {
+        String resolved = PlaceholderAPI.setPlaceholders(player, NO_GRADIENT);
+        if (resolved == null || resolved.isBlank() || NO_GRADIENT.equals(resolved)) {
+            resolved = null;
+        } else {
+            resolved = resolved.replaceAll("^([&§]r)+", "");
+        }
+        String prefixColor = null;
+        if (resolved != null && extractColors(resolved).isEmpty()) {
+            prefixColor = extractTrailingColor(getPrefix(player));
+        }
+
+        String tabPrefix = null;
+        String tabSuffix = null;
+        if (Bukkit.getPluginManager().isPluginEnabled("PlaceholderAPI")) {
+            try {
+                TabAffixes affixes = resolveTabAffixes(player);
+                if (affixes != null) {
+                    tabPrefix = normalizeAffixFormatting(affixes.prefix());
+                    tabPrefix = tabPrefix + separatorAfterPrefix(tabPrefix);
+                    tabSuffix = normalizeAffixFormatting(affixes.suffix());
+                } else {
+                    String combined = PlaceholderAPI.setPlaceholders(player, "%tab_tabprefix%" + NAME_MARKER + "%tab_tabsuffix%");
+                    int marker = combined == null ? -1 : combined.indexOf(NAME_MARKER);
+                    if (marker >= 0 && !combined.contains("%tab_")) {
+                        tabPrefix = combined.substring(0, marker);
+                        tabSuffix = combined.substring(marker + NAME_MARKER.length());
+                    }
+                }
+            } catch (Throwable ignored) {
+                tabPrefix = null;
+                tabSuffix = null;
             }
+        }
+        return new GradientInputs(resolved, prefixColor, tabPrefix, tabSuffix);
+    }
 
-            String combined = PlaceholderAPI.setPlaceholders(player, "%tab_tabprefix%" + animatedName + "%tab_tabsuffix%");
-            if (combined == null || combined.isBlank() || combined.contains("%tab_")) {
-                return animatedName;
+    private GradientFrames buildFrames(Player player, GradientInputs inputs, long now) {
+        String[] names = new String[phases.length];
+        String[] tabNames = new String[phases.length];
+        Component[] tabFrames = new Component[phases.length];
+
+        String gradientStart = null;
+        String visibleName = null;
+        if (inputs.resolved() != null) {
+            List<String> colors = extractColors(inputs.resolved());
+            if (colors.isEmpty() && inputs.prefixColor() != null && !inputs.prefixColor().isBlank()) {
+                colors.add(normalizeColor(inputs.prefixColor()));
+            }
+            String first = colors.isEmpty() ? "#FFFFFF" : colors.get(0);
+            String last = colors.size() >= 2 ? colors.get(colors.size() - 1) : first;
+            String midpoint = nearestNamedColor(average(first, last));
+            gradientStart = "<gradient:" + first + ":" + last + ":" + midpoint + ":";
+            visibleName = stripFormatting(inputs.resolved());
+            if (visibleName.isBlank()) {
+                visibleName = player.getName();
             }
-            return combined;
-        } catch (Throwable ignored) {
-            return animatedName;
         }
+
+        for (int i = 0; i < phases.length; i++) {
+            names[i] = gradientStart == null
+                    ? miniMessage.escapeTags(player.getName())
+                    : gradientStart + phases[i] + ">" + miniMessage.escapeTags(visibleName) + "</gradient>";
+            tabNames[i] = inputs.tabPrefix() == null
+                    ? names[i]
+                    : inputs.tabPrefix() + names[i] + inputs.tabSuffix();
+            tabFrames[i] = Text.colorize(tabNames[i]);
+        }
+        return new GradientFrames(inputs, names, tabNames, tabFrames, now);
     }
 
     private TabAffixes resolveTabAffixes(Player player) {
@@ -293,10 +424,7 @@ public class GradientNameManager {
     }
 
     private String getPhaseValue(boolean negative) {
-        BigDecimal phase = negative ? miniGradientPhase.multiply(PHASE_NEGATE) : miniGradientPhase;
-        synchronized (phaseDecimalFormat) {
-            return phaseDecimalFormat.format(phase);
-        }
+        return negative ? negativePhases[frame] : phases[frame];
     }
 
     private String getPrefix(Player player) {
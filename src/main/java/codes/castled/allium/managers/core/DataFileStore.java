@@ -0,0 +1,125 @@
+package codes.castled.allium.managers.core;
+
+import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+/**
+ * Writes plugin data files in the background.
+ *
+ * <p>Managers mark a file dirty instead of saving it. The first change
+ * schedules a flush {@link #FLUSH_DELAY_MS} later, and every change made
+ * before it runs is folded into that one write, so a burst of changes costs
+ * one write off the server thread. Each file is written to a temporary
+ * sibling, synced and renamed over the original, so a crash mid-write leaves
+ * the previous version rather than a truncated file. {@link #shutdown}
+ * writes whatever is still dirty.
+ */
+public final class DataFileStore {
+
+    static final long FLUSH_DELAY_MS = 1000;
+
+    private final Map<Path, Supplier<String>> dirty = new ConcurrentHashMap<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService writer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Allium-DataFiles");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Schedules {@code file} to be written with what {@code contents}
+     * returns at flush time. The supplier runs on the writer thread, so it
+     * must only read state that is safe to read from there. A later call
+     * for the same file replaces an unwritten earlier one.
+     */
+    public void markDirty(File file, Supplier<String> contents) {
+        dirty.put(file.toPath().toAbsolutePath(), contents);
+        if (flushScheduled.compareAndSet(false, true)) {
+            try {
+                writer.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ignored) {
+                // Shutting down; shutdown() writes what is still dirty
+            }
+        }
+    }
+
+    /** Schedules {@code file} to be written with contents already rendered by the caller. */
+    public void save(File file, String contents) {
+        markDirty(file, () -> contents);
+    }
+
+    /** Stops the writer and writes every dirty file on the calling thread. */
+    public void shutdown() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    synchronized void flush() {
+        flushScheduled.set(false);
+        List<Path> paths = new ArrayList<>(dirty.keySet());
+        for (Path path : paths) {
+            Supplier<String> contents = dirty.remove(path);
+            if (contents == null) continue;
+            try {
+                writeAtomically(path, contents.get());
+            } catch (IOException | RuntimeException e) {
+                Text.sendDebugLog(WARN, "Failed to save " + path.getFileName() + "; retrying with the next flush", e);
+                // Keep a newer change if one came in meanwhile
+                dirty.putIfAbsent(path, contents);
+            }
+        }
+        if (!dirty.isEmpty() && flushScheduled.compareAndSet(false, true)) {
+            try {
+                writer.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException ignored) {
+                // Called from shutdown(); nothing left to retry on
+            }
+        }
+    }
+
+    static void writeAtomically(Path path, String contents) throws IOException {
+        Path parent = path.getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bytes = ByteBuffer.wrap(contents.getBytes(StandardCharsets.UTF_8));
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            channel.force(true);
+        }
+        try {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
@@ -3,6 +3,7 @@ package codes.castled.allium.managers.core;
 import org.bukkit.Bukkit;
 import org.bukkit.GameMode;
 import org.bukkit.GameRule;
+import org.bukkit.Location;
 import org.bukkit.entity.Player;
 
 import codes.castled.allium.PluginStart;
@@ -27,9 +28,12 @@ public class PartyManager {
     // IMPROVED: Track invites with both sender and target information
     private final Map<String, Map<UUID, UUID>> sentInvites; // partyName -> (targetUUID -> senderUUID)
     private final Map<UUID, Set<String>> pendingInvites; // targetUUID -> set of party names (for quick lookup)
-    // IMPROVED: Track visible players like PartyLocator for efficient visibility management
-    private final Map<UUID, Set<UUID>> visiblePlayers;
-    private final Map<UUID, Set<UUID>> hiddenPlayers;
+    // Per-player visibility state; bitmaps are indexed by the other player's slot
+    private final Map<UUID, ViewerState> viewers = new ConcurrentHashMap<>();
+    private volatile Player[] slotPlayers = new Player[64];
+    private final BitSet usedSlots = new BitSet();
+    // Player positions as of the last distance pass
+    private volatile VisibilityGrid grid = new VisibilityGrid(48);
     private SchedulerAdapter.TaskHandle distanceCheckTask;
     private TabListManager tabListManager;
     
@@ -55,8 +59,6 @@ public class PartyManager {
         this.playerToParty = new HashMap<>();
         this.sentInvites = new HashMap<>(); // partyName -> (targetUUID -> senderUUID)
         this.pendingInvites = new HashMap<>(); // targetUUID -> set of party names (for quick lookup)
-        this.visiblePlayers = new ConcurrentHashMap<>();
-        this.hiddenPlayers = new ConcurrentHashMap<>();
         loadConfig();
         
         startDistanceCheckTask();
@@ -107,40 +109,91 @@ public class PartyManager {
         if (!partyLocatorBar) {
             return;
         }
-        distanceCheckTask = SchedulerAdapter.runTimer(() -> {
-            if (!partyLocatorBar) return;
-            List<Player> online = new ArrayList<>(Bukkit.getOnlinePlayers());
-            if (SchedulerAdapter.isFolia()) {
-                // On Folia, batch all updates per-viewer into a single entity-scheduler task
-                // to avoid flooding the scheduler with thousands of micro-tasks per tick.
-                for (Player viewer : online) {
-                    if (!viewer.isOnline()) continue;
-                    List<Player> targets = new ArrayList<>();
-                    for (Player target : online) {
-                        if (!viewer.equals(target) && target.isOnline()) {
-                            targets.add(target);
-                        }
-                    }
-                    if (!targets.isEmpty()) {
-                        SchedulerAdapter.runAtEntity(viewer, () -> {
-                            for (Player target : targets) {
-                                if (target.isOnline()) {
-                                    updatePlayerVisibility(viewer, target);
-                                }
-                            }
-                        });
-                    }
-                }
+        distanceCheckTask = SchedulerAdapter.runTimer(this::runDistancePass, 5L, 5L); // Every 5 ticks (0.25s) - faster response when moving in/out of radius
+    }
+
+    /**
+     * One distance pass: buckets every online player into a fresh
+     * {@link VisibilityGrid}, then re-evaluates only the pairs whose
+     * in-radius state flipped since the last pass, plus pairs whose forced
+     * override expired. Party, gamemode and world changes re-evaluate through
+     * their own events, so every other pair is left alone.
+     *
+     * <p>On Folia this runs on the global region, which may not read player
+     * positions. Each pass asks every player's own scheduler for a fresh
+     * position and builds the grid from the ones the previous pass got, a
+     * quarter second old at most.
+     */
+    private void runDistancePass() {
+        if (!partyLocatorBar) return;
+        Collection<? extends Player> online = Bukkit.getOnlinePlayers();
+        VisibilityGrid next = new VisibilityGrid(showNonPartyMembersRadius);
+        boolean folia = SchedulerAdapter.isFolia();
+        for (Player player : online) {
+            ViewerState state = stateOf(player);
+            if (folia) {
+                SchedulerAdapter.runAtEntity(player, () -> state.locate(player));
             } else {
-                for (Player viewer : online) {
-                    if (!viewer.isOnline()) continue;
-                    for (Player target : online) {
-                        if (viewer.equals(target) || !target.isOnline()) continue;
+                state.locate(player);
+            }
+            Position at = state.at;
+            if (at != null) {
+                next.add(state.slot, at.worldId(), at.x(), at.y(), at.z());
+            }
+        }
+        grid = next;
+
+        Player[] players = slotPlayers;
+        for (Player viewer : online) {
+            ViewerState state = viewers.get(viewer.getUniqueId());
+            if (state == null) continue;
+            Position at = state.at;
+            if (at == null) continue;
+            BitSet inRange = new BitSet();
+            next.collectInRange(at.worldId(), at.x(), at.y(), at.z(), state.slot, inRange);
+            BitSet changed = state.swapInRange(inRange);
+            collectExpiredOverrides(viewer.getUniqueId(), changed);
+            if (changed.isEmpty()) continue;
+
+            List<Player> targets = new ArrayList<>(changed.cardinality());
+            for (int slot = changed.nextSetBit(0); slot >= 0; slot = changed.nextSetBit(slot + 1)) {
+                Player target = slot < players.length ? players[slot] : null;
+                if (target != null && !target.equals(viewer)) {
+                    targets.add(target);
+                }
+            }
+            if (targets.isEmpty()) continue;
+            Runnable update = () -> {
+                for (Player target : targets) {
+                    if (viewer.isOnline() && target.isOnline()) {
                         updatePlayerVisibility(viewer, target);
                     }
                 }
+            };
+            if (SchedulerAdapter.isFolia()) {
+                // One entity-scheduler task per viewer with changes, not one per pair
+                SchedulerAdapter.runAtEntity(viewer, update);
+            } else {
+                update.run();
+            }
+        }
+    }
+
+    /** Adds the slots of players whose forced override for this viewer has run out. */
+    private void collectExpiredOverrides(UUID viewerId, BitSet out) {
+        Map<UUID, Long> overrides = forcedVisibilityOverrides.get(viewerId);
+        if (overrides == null || overrides.isEmpty()) return;
+        long now = System.currentTimeMillis();
+        for (Map.Entry<UUID, Long> entry : overrides.entrySet()) {
+            long expiration = entry.getValue();
+            long until = expiration > 0 ? expiration : -expiration;
+            if (expiration != Long.MIN_VALUE && now >= until) {
+                ViewerState target = viewers.get(entry.getKey());
+                if (target != null) {
+                    out.set(target.slot);
+                }
             }
-        }, 5L, 5L); // Every 5 ticks (0.25s) - faster response when moving in/out of radius
+        }
     }
 
     /**
@@ -571,20 +624,36 @@ public class PartyManager {
         }
         lastMoveUpdate.put(movedPlayerId, now);
 
-        Party movedPlayerParty = getPlayerParty(movedPlayerId);
+        ViewerState movedState = viewers.get(movedPlayerId);
+        if (movedState == null) {
+            return;
+        }
 
-        // Update visibility for all other players relative to the moved player
-        // Only check players who are NOT in the same party (party members always see each other)
-        for (Player otherPlayer : Bukkit.getOnlinePlayers()) {
-            if (otherPlayer.equals(movedPlayer)) {
+        // Compare the mover's live position against everyone else's position from the
+        // last distance pass; only players crossing the radius need re-evaluating.
+        Location location = movedPlayer.getLocation();
+        BitSet inRange = new BitSet();
+        grid.collectInRange(movedPlayer.getWorld().getUID(), location.getX(), location.getY(), location.getZ(),
+                movedState.slot, inRange);
+        BitSet changed = movedState.swapInRange(inRange);
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        Party movedPlayerParty = getPlayerParty(movedPlayerId);
+        Player[] players = slotPlayers;
+        for (int slot = changed.nextSetBit(0); slot >= 0; slot = changed.nextSetBit(slot + 1)) {
+            Player otherPlayer = slot < players.length ? players[slot] : null;
+            if (otherPlayer == null || otherPlayer.equals(movedPlayer) || !otherPlayer.isOnline()) {
                 continue;
             }
-
-            UUID otherPlayerId = otherPlayer.getUniqueId();
-            Party otherPlayerParty = getPlayerParty(otherPlayerId);
+            ViewerState otherState = viewers.get(otherPlayer.getUniqueId());
+            if (otherState != null) {
+                otherState.setInRange(movedState.slot, inRange.get(slot));
+            }
 
             // Skip if both players are in the same party (they always see each other)
-            if (movedPlayerParty != null && movedPlayerParty.equals(otherPlayerParty)) {
+            if (movedPlayerParty != null && movedPlayerParty.equals(getPlayerParty(otherPlayer.getUniqueId()))) {
                 continue;
             }
 
@@ -693,11 +762,15 @@ public class PartyManager {
     }
 
     private void showPlayerAndRefreshTab(Player viewer, Player target) {
-        boolean wasVisible = isVisibleTo(viewer, target);
+        // Only act on transitions: showPlayer is a no-op for a player we are
+        // not hiding, and the tab re-add is only needed after we hid them.
+        int previous = markVisible(viewer, target);
+        if (previous == ViewerState.VISIBLE) {
+            return;
+        }
         PlayerVisibilityHelper.showPlayer(viewer, target);
-        markVisible(viewer, target);
 
-        if (!wasVisible && shouldSendTabPackets()) {
+        if (previous == ViewerState.HIDDEN && shouldSendTabPackets()) {
             Runnable sendAdd = () -> {
                 if (shouldSendTabPackets() && viewer.isOnline() && target.isOnline()) {
                     tabListManager.forceSendTabListAddPacket(target, List.of(viewer));
@@ -714,11 +787,12 @@ public class PartyManager {
     }
 
     private void hidePlayerAndRefreshTab(Player viewer, Player target) {
-        boolean wasHidden = isHiddenFrom(viewer, target);
+        if (markHidden(viewer, target) == ViewerState.HIDDEN) {
+            return;
+        }
         PlayerVisibilityHelper.hidePlayer(viewer, target);
-        markHidden(viewer, target);
 
-        if (!wasHidden && shouldSendTabPackets() && tabListManager.shouldBeVisibleInTabList(viewer, target)) {
+        if (shouldSendTabPackets() && tabListManager.shouldBeVisibleInTabList(viewer, target)) {
             Runnable sendAdd = () -> {
                 if (shouldSendTabPackets() && viewer.isOnline() && target.isOnline()) {
                     tabListManager.forceSendTabListAddPacket(target, List.of(viewer));
@@ -734,29 +808,66 @@ public class PartyManager {
         }
     }
 
-    private boolean isVisibleTo(Player viewer, Player target) {
-        return visiblePlayers.getOrDefault(viewer.getUniqueId(), Collections.emptySet()).contains(target.getUniqueId());
+    /** Records that we show {@code target} to {@code viewer}; returns the previous state. */
+    private int markVisible(Player viewer, Player target) {
+        return mark(viewer, target, false);
+    }
+
+    /** Records that we hide {@code target} from {@code viewer}; returns the previous state. */
+    private int markHidden(Player viewer, Player target) {
+        return mark(viewer, target, true);
     }
 
-    private boolean isHiddenFrom(Player viewer, Player target) {
-        return hiddenPlayers.getOrDefault(viewer.getUniqueId(), Collections.emptySet()).contains(target.getUniqueId());
+    private int mark(Player viewer, Player target, boolean hidden) {
+        ViewerState viewerState = viewers.get(viewer.getUniqueId());
+        ViewerState targetState = viewers.get(target.getUniqueId());
+        if (viewerState == null || targetState == null) {
+            // Not tracked (joining or leaving): apply unconditionally
+            return ViewerState.UNKNOWN;
+        }
+        return viewerState.setHidden(targetState.slot, hidden);
     }
 
-    private void markVisible(Player viewer, Player target) {
-        visiblePlayers.computeIfAbsent(viewer.getUniqueId(), k -> Collections.newSetFromMap(new ConcurrentHashMap<>()))
-                .add(target.getUniqueId());
-        Set<UUID> hidden = hiddenPlayers.get(viewer.getUniqueId());
-        if (hidden != null) {
-            hidden.remove(target.getUniqueId());
+    /** Returns the player's visibility state, giving them a slot on first use. */
+    private ViewerState stateOf(Player player) {
+        ViewerState existing = viewers.get(player.getUniqueId());
+        if (existing != null) {
+            return existing;
+        }
+        synchronized (usedSlots) {
+            existing = viewers.get(player.getUniqueId());
+            if (existing != null) {
+                return existing;
+            }
+            int slot = usedSlots.nextClearBit(0);
+            usedSlots.set(slot);
+            // A recycled slot must not inherit bits left behind for its previous owner
+            for (ViewerState other : viewers.values()) {
+                other.forget(slot);
+            }
+            Player[] players = slotPlayers;
+            if (slot >= players.length) {
+                players = Arrays.copyOf(players, Math.max(slot + 1, players.length * 2));
+            }
+            players[slot] = player;
+            slotPlayers = players;
+            ViewerState state = new ViewerState(slot);
+            viewers.put(player.getUniqueId(), state);
+            return state;
         }
     }
 
-    private void markHidden(Player viewer, Player target) {
-        hiddenPlayers.computeIfAbsent(viewer.getUniqueId(), k -> Collections.newSetFromMap(new ConcurrentHashMap<>()))
-                .add(target.getUniqueId());
-        Set<UUID> visible = visiblePlayers.get(viewer.getUniqueId());
-        if (visible != null) {
-            visible.remove(target.getUniqueId());
+    private void releaseState(UUID playerId) {
+        synchronized (usedSlots) {
+            ViewerState state = viewers.remove(playerId);
+            if (state == null) {
+                return;
+            }
+            for (ViewerState other : viewers.values()) {
+                other.forget(state.slot);
+            }
+            slotPlayers[state.slot] = null;
+            usedSlots.clear(state.slot);
         }
     }
 
@@ -813,8 +924,7 @@ public class PartyManager {
      */
     public void onPlayerJoin(Player player) {
         // Initialize visibility tracking for the joining player
-        visiblePlayers.computeIfAbsent(player.getUniqueId(), k -> Collections.newSetFromMap(new ConcurrentHashMap<>()));
-        hiddenPlayers.computeIfAbsent(player.getUniqueId(), k -> Collections.newSetFromMap(new ConcurrentHashMap<>()));
+        stateOf(player);
 
         // Send pending party invitations (always, so /party invite works even when locator bar off)
         UUID playerId = player.getUniqueId();
@@ -845,15 +955,9 @@ public class PartyManager {
     public void onPlayerQuit(Player player) {
         UUID playerId = player.getUniqueId();
         
-        // Clean up visiblePlayers tracking - remove player from all visibility sets
-        visiblePlayers.remove(playerId);
-        for (Set<UUID> visibleSet : visiblePlayers.values()) {
-            visibleSet.remove(playerId);
-        }
-        hiddenPlayers.remove(playerId);
-        for (Set<UUID> hiddenSet : hiddenPlayers.values()) {
-            hiddenSet.remove(playerId);
-        }
+        // Clean up visibility tracking - free the slot and clear it from every bitmap
+        releaseState(playerId);
+        lastMoveUpdate.remove(playerId);
 
         // Note: Players now stay in their party when logging out (persistent parties)
         // Party membership only changes via explicit /party leave or /party disband commands
@@ -1068,4 +1172,69 @@ public class PartyManager {
         return staffLocatorMode.getOrDefault(player.getUniqueId(), player.hasPermission("allium.party.staff"));
     }
 
+    /**
+     * Visibility bookkeeping for one online player, as a viewer. Bitmaps are
+     * indexed by the other player's slot; a slot is reused once its player
+     * quits, after its bit is cleared everywhere.
+     */
+    /** Where a player stood, read on the player's own scheduler. */
+    private record Position(UUID worldId, double x, double y, double z) {}
+
+    private static final class ViewerState {
+        static final int UNKNOWN = 0;
+        static final int VISIBLE = 1;
+        static final int HIDDEN = 2;
+
+        final int slot;
+        /**
+         * Players whose state below has been applied at least once. Bukkit keeps
+         * hidePlayer state by UUID across a relog, so a fresh pair must be applied
+         * once rather than assumed visible.
+         */
+        private final BitSet known = new BitSet();
+        /** Players we currently hide from this viewer with hidePlayer. */
+        private final BitSet hidden = new BitSet();
+        /** Players within the radius of this viewer as of the last check. */
+        private BitSet inRange = new BitSet();
+        /** Position for the distance pass; null until first read. */
+        volatile Position at;
+
+        ViewerState(int slot) {
+            this.slot = slot;
+        }
+
+        /** The player's own thread: records their position for the next pass. */
+        void locate(Player player) {
+            Location location = player.getLocation();
+            if (location.getWorld() != null) {
+                at = new Position(location.getWorld().getUID(), location.getX(), location.getY(), location.getZ());
+            }
+        }
+
+        /** Sets a hidden bit and returns what the pair was before. */
+        synchronized int setHidden(int targetSlot, boolean value) {
+            int previous = !known.get(targetSlot) ? UNKNOWN : hidden.get(targetSlot) ? HIDDEN : VISIBLE;
+            known.set(targetSlot);
+            hidden.set(targetSlot, value);
+            return previous;
+        }
+
+        synchronized void setInRange(int targetSlot, boolean value) {
+            inRange.set(targetSlot, value);
+        }
+
+        /** Replaces the in-range set and returns the slots that flipped. */
+        synchronized BitSet swapInRange(BitSet next) {
+            BitSet changed = (BitSet) next.clone();
+            changed.xor(inRange);
+            inRange = next;
+            return changed;
+        }
+
+        synchronized void forget(int targetSlot) {
+            known.clear(targetSlot);
+            hidden.clear(targetSlot);
+            inRange.clear(targetSlot);
+        }
+    }
 }
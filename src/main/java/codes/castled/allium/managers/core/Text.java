@@ -20,6 +20,7 @@ import java.util.Locale;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Level;
 
 public class Text {
@@ -45,7 +46,14 @@ public class Text {
     private static final Pattern LEGACY_COLOR_CODE_PATTERN = Pattern.compile("([&§])([0-9a-fk-orA-FK-OR])");
     private static final Pattern MINI_MESSAGE_COLOR_TAG_PATTERN = Pattern.compile("</?(black|dark_blue|dark_green|dark_aqua|dark_red|dark_purple|gold|gray|dark_gray|blue|green|aqua|red|light_purple|yellow|white|reset|bold|italic|underline|underlined|strikethrough|obfuscated)>", Pattern.CASE_INSENSITIVE);
     private static final Pattern MINI_MESSAGE_ADVANCED_TAG_PATTERN = Pattern.compile("<(/)?(hover|click|rainbow|gradient|transition|selector|score|nbt|font|insertion|keybind)(:[^>]*)?>", Pattern.CASE_INSENSITIVE);
+    private static final Pattern SIMPLE_MINI_MESSAGE_TAG_PATTERN = Pattern.compile("<(red|blue|green|yellow|white|black|dark_red|gold|aqua|gray|dark_purple|dark_aqua|dark_blue|dark_gray|rainbow|bold|italic|underline|strikethrough|obfuscated)>");
+    private static final Pattern MINI_MESSAGE_ARGUMENT_TAG_PATTERN = Pattern.compile("<[^>]*[:=][^>]*>");
+    private static final Pattern CLOSING_TAG_PATTERN = Pattern.compile("</[^>]+>");
+    private static final Pattern LEGACY_CODE_PRESENT_PATTERN = Pattern.compile("[&§][0-9a-fk-or]");
     private static final Map<Character, String> LEGACY_TO_MINIMESSAGE = new HashMap<>();
+    /** colorize() output by input. Components are immutable; the map is emptied when it fills up. */
+    private static final Map<String, Component> COLORIZE_CACHE = new ConcurrentHashMap<>();
+    private static final int COLORIZE_CACHE_LIMIT = 1024;
 
     private static final MiniMessage miniMessage = MiniMessage.miniMessage();
     private static PluginStart plugin;
@@ -262,6 +270,19 @@ public class Text {
         if (text == null || text.isEmpty()) {
             return Component.empty();
         }
+        Component cached = COLORIZE_CACHE.get(text);
+        if (cached != null) {
+            return cached;
+        }
+        Component component = colorizeUncached(text);
+        if (COLORIZE_CACHE.size() >= COLORIZE_CACHE_LIMIT) {
+            COLORIZE_CACHE.clear();
+        }
+        COLORIZE_CACHE.put(text, component);
+        return component;
+    }
+
+    private static Component colorizeUncached(String text) {
         ColorFormat format = detectColorFormat(text);
         if (format == ColorFormat.MINI_MESSAGE) {
             try {
@@ -423,19 +444,17 @@ public class Text {
         // MiniMessage tags typically contain colons, equals signs, or specific keywords
         if (input.contains("<") && input.contains(">")) {
             // Simple color/format tags: <red>, <blue>, <rainbow>, <bold>, etc.
-            if (Pattern.compile("<(red|blue|green|yellow|white|black|dark_red|gold|aqua|gray|dark_purple|dark_aqua|dark_blue|dark_gray|rainbow|bold|italic|underline|strikethrough|obfuscated)>").matcher(input).find()) {
+            if (SIMPLE_MINI_MESSAGE_TAG_PATTERN.matcher(input).find()) {
                 return ColorFormat.MINI_MESSAGE;
             }
             // Look for patterns that indicate actual MiniMessage tags
             // Tags like <color:red>, <hover:...>, <click:...>, etc.
-            Pattern miniMessageTagPattern = Pattern.compile("<[^>]*[:=][^>]*>");
-            if (miniMessageTagPattern.matcher(input).find()) {
+            if (MINI_MESSAGE_ARGUMENT_TAG_PATTERN.matcher(input).find()) {
                 return ColorFormat.MINI_MESSAGE;
             }
 
             // Also check for closing tags like </color>
-            Pattern closingTagPattern = Pattern.compile("</[^>]+>");
-            if (closingTagPattern.matcher(input).find()) {
+            if (CLOSING_TAG_PATTERN.matcher(input).find()) {
                 return ColorFormat.MINI_MESSAGE;
             }
 
@@ -456,7 +475,7 @@ public class Text {
             return ColorFormat.LEGACY_HEX;
         }
 
-        if (input.matches(".*[&§][0-9a-fk-or].*")) {
+        if (LEGACY_CODE_PRESENT_PATTERN.matcher(input).find()) {
             return ColorFormat.LEGACY_COLOR;
         }
 
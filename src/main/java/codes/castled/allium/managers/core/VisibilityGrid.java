@@ -0,0 +1,82 @@
+package codes.castled.allium.managers.core;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Snapshot of player positions bucketed by world and chunk cell, for
+ * answering "who is within the visibility radius of this point" without
+ * looking at every online player.
+ *
+ * <p>A cell is a square of whole chunks at least as wide as the radius, so
+ * everything in range of a point lies in the point's cell or one of its
+ * eight neighbours. Players are identified by the dense slot
+ * {@link PartyManager} gives each online player, and results are written
+ * into a {@link BitSet} indexed by slot.
+ *
+ * <p>Filled once by {@link #add} and then only read: the distance task builds
+ * a new grid every pass and publishes it, so readers on other threads never
+ * see one being built.
+ */
+final class VisibilityGrid {
+
+    private final double radiusSquared;
+    private final int cellShift;
+    private final Map<UUID, Map<Long, List<Entry>>> worlds = new HashMap<>();
+
+    private record Entry(int slot, double x, double y, double z) {}
+
+    VisibilityGrid(int radius) {
+        int radiusBlocks = Math.max(1, radius);
+        this.radiusSquared = (double) radiusBlocks * radiusBlocks;
+        // Smallest power-of-two number of chunks covering the radius
+        int chunks = (radiusBlocks + 15) >> 4;
+        this.cellShift = 4 + (32 - Integer.numberOfLeadingZeros(Math.max(1, chunks) - 1));
+    }
+
+    void add(int slot, UUID worldId, double x, double y, double z) {
+        worlds.computeIfAbsent(worldId, id -> new HashMap<>())
+            .computeIfAbsent(cellKey(cell(x), cell(z)), key -> new ArrayList<>())
+            .add(new Entry(slot, x, y, z));
+    }
+
+    /**
+     * Sets the bit of every slot within the radius of a point in
+     * {@code out}, except {@code selfSlot}.
+     */
+    void collectInRange(UUID worldId, double x, double y, double z, int selfSlot, BitSet out) {
+        Map<Long, List<Entry>> cells = worlds.get(worldId);
+        if (cells == null) {
+            return;
+        }
+        int cellX = cell(x);
+        int cellZ = cell(z);
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dz = -1; dz <= 1; dz++) {
+                List<Entry> entries = cells.get(cellKey(cellX + dx, cellZ + dz));
+                if (entries == null) continue;
+                for (Entry entry : entries) {
+                    if (entry.slot == selfSlot) continue;
+                    double ex = entry.x - x;
+                    double ey = entry.y - y;
+                    double ez = entry.z - z;
+                    if (ex * ex + ey * ey + ez * ez <= radiusSquared) {
+                        out.set(entry.slot);
+                    }
+                }
+            }
+        }
+    }
+
+    private int cell(double coordinate) {
+        return (int) Math.floor(coordinate) >> cellShift;
+    }
+
+    private static long cellKey(int cellX, int cellZ) {
+        return ((long) cellX << 32) | (cellZ & 0xFFFFFFFFL);
+    }
+}
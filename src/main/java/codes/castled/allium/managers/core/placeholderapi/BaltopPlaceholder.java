@@ -14,10 +14,7 @@ import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
 
 import java.math.BigDecimal;
 import java.text.DecimalFormat;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
 
 /**
  * PlaceholderAPI expansion for baltop-related placeholders
@@ -27,10 +24,6 @@ public class BaltopPlaceholder extends PlaceholderExpansion {
     
     private final PluginStart plugin;
     private final EconomyManager economyManager;
-    private List<BalanceEntry> cachedTopBalances;
-    private long lastCacheUpdate = 0;
-    private static final long CACHE_DURATION = 30000; // 30 seconds cache
-    private static final int MAX_BALTOP_ENTRIES = 100; // Cache top 100 players
     
     public BaltopPlaceholder(PluginStart plugin) {
         this.plugin = plugin;
@@ -86,9 +79,6 @@ public class BaltopPlaceholder extends PlaceholderExpansion {
      * Handle baltop-related placeholders
      */
     private String handleBaltopPlaceholder(Player player, String identifier) {
-        // Refresh cache if needed
-        refreshCacheIfNeeded();
-        
         // Handle player's rank placeholders
         if (identifier.equals("rank")) {
             return getPlayerRank(player);
@@ -118,11 +108,16 @@ public class BaltopPlaceholder extends PlaceholderExpansion {
             String rankStr = parts[parts.length - 1]; // The rank number
             int rank = Integer.parseInt(rankStr);
             
-            if (rank < 1 || rank > cachedTopBalances.size()) {
+            if (rank < 1) {
                 return "";
             }
             
-            BalanceEntry entry = cachedTopBalances.get(rank - 1); // Convert to 0-based index
+            // Served from the in-memory leaderboard, so polling this every second is cheap
+            List<BalanceEntry> entries = economyManager.getTopBalances(rank - 1, 1); // Convert to 0-based index
+            if (entries.isEmpty()) {
+                return "";
+            }
+            BalanceEntry entry = entries.get(0);
             
             switch (type) {
                 case "balance":
@@ -185,18 +180,12 @@ public class BaltopPlaceholder extends PlaceholderExpansion {
      * Get the player's rank in baltop
      */
     private String getPlayerRank(Player player) {
-        if (player == null || cachedTopBalances == null) {
+        if (player == null) {
             return "0";
         }
         
-        UUID playerUUID = player.getUniqueId();
-        for (int i = 0; i < cachedTopBalances.size(); i++) {
-            if (cachedTopBalances.get(i).getPlayerUUID().equals(playerUUID)) {
-                return String.valueOf(i + 1); // Convert to 1-based rank
-            }
-        }
-        
-        return "0"; // Player not in top list
+        // 0 when the player has no account yet
+        return String.valueOf(economyManager.getBaltopRank(player.getUniqueId()));
     }
     
     /**
@@ -252,33 +241,6 @@ public class BaltopPlaceholder extends PlaceholderExpansion {
         }
     }
     
-    /**
-     * Refresh the baltop cache if it's older than the cache duration
-     */
-    private void refreshCacheIfNeeded() {
-        long currentTime = System.currentTimeMillis();
-        if (cachedTopBalances == null || (currentTime - lastCacheUpdate) > CACHE_DURATION) {
-            try {
-                cachedTopBalances = economyManager.getTopBalances(MAX_BALTOP_ENTRIES);
-                lastCacheUpdate = currentTime;
-            } catch (Exception e) {
-                Text.sendDebugLog(WARN, "Failed to refresh baltop cache: " + e.getMessage());
-            }
-        }
-    }
-    
-    /**
-     * Force refresh the baltop cache
-     */
-    public void forceRefreshCache() {
-        try {
-            cachedTopBalances = economyManager.getTopBalances(MAX_BALTOP_ENTRIES);
-            lastCacheUpdate = System.currentTimeMillis();
-        } catch (Exception e) {
-            Text.sendDebugLog(WARN, "Failed to force refresh baltop cache: " + e.getMessage());
-        }
-    }
-
     private String getPlayerBalanceRaw(Player player) {
         BigDecimal balance = getTargetBalance(player);
         return String.valueOf(balance.doubleValue());
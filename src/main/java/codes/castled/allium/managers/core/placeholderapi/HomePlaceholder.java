@@ -7,21 +7,24 @@ import org.bukkit.OfflinePlayer;
 import org.jetbrains.annotations.NotNull;
 
 import codes.castled.allium.PluginStart;
-import codes.castled.allium.managers.DB.Database;
 import codes.castled.allium.managers.core.Text;
+import codes.castled.allium.managers.home.HomeRegistry;
 
 import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
 
 import java.util.List;
 import java.util.UUID;
 
+/**
+ * {@code %allium_home_*%} placeholders. Answered only from homes held by the
+ * {@link HomeRegistry}, so players whose homes are not loaded (offline, or
+ * just joined) resolve to an empty string rather than a database query.
+ */
 public class HomePlaceholder extends PlaceholderExpansion {
     private final PluginStart plugin;
-    private final Database database;
 
     public HomePlaceholder(PluginStart plugin) {
         this.plugin = plugin;
-        this.database = plugin.getDatabase();
     }
 
     @Override
@@ -51,6 +54,10 @@ public class HomePlaceholder extends PlaceholderExpansion {
         }
 
         UUID playerUUID = player.getUniqueId();
+        HomeRegistry homes = plugin.getHomeRegistry();
+        if (homes == null || !homes.isLoaded(playerUUID)) {
+            return params.equalsIgnoreCase("homes_max") ? String.valueOf(getMaxHomes(player)) : "";
+        }
         String[] args = params.split("_");
 
         try {
@@ -58,7 +65,7 @@ public class HomePlaceholder extends PlaceholderExpansion {
             if (args.length >= 2 && isNumeric(args[0])) {
                 int homeIndex = Integer.parseInt(args[0]) - 1; // Convert to 0-based index
                 String coordinate = args[1].toLowerCase();
-                return getHomeCoordinateByIndex(playerUUID, homeIndex, coordinate);
+                return getHomeCoordinateByIndex(homes, playerUUID, homeIndex, coordinate);
             }
             // Handle named home placeholders: %allium_home_home_x%, %allium_home_myhome_y%, etc.
             else if (args.length >= 2) {
@@ -71,13 +78,13 @@ public class HomePlaceholder extends PlaceholderExpansion {
                     homeName = String.join("_", args).replace("_" + coordinate, "");
                 }
                 
-                return getHomeCoordinateByName(playerUUID, homeName, coordinate);
+                return getHomeCoordinateByName(homes, playerUUID, homeName, coordinate);
             }
             // Handle max homes and homes set
             else if (params.equalsIgnoreCase("homes_max")) {
                 return String.valueOf(getMaxHomes(player));
             } else if (params.equalsIgnoreCase("homes_set")) {
-                return String.valueOf(database.getPlayerHomeCount(playerUUID));
+                return String.valueOf(homes.getHomeCount(playerUUID));
             }
         } catch (Exception e) {
             Text.sendDebugLog(WARN, "Error processing home placeholder: " + e.getMessage());
@@ -86,25 +93,25 @@ public class HomePlaceholder extends PlaceholderExpansion {
         return "";
     }
 
-    private String getHomeCoordinateByIndex(UUID playerUUID, int index, String coordinate) {
-        List<String> homes = database.getPlayerHomes(playerUUID);
-        if (index < 0 || index >= homes.size()) {
+    private String getHomeCoordinateByIndex(HomeRegistry homes, UUID playerUUID, int index, String coordinate) {
+        List<String> homeNames = homes.getHomeNames(playerUUID);
+        if (index < 0 || index >= homeNames.size()) {
             return "";
         }
-        String homeName = homes.get(index);
-        return getHomeCoordinate(playerUUID, homeName, coordinate);
+        String homeName = homeNames.get(index);
+        return getHomeCoordinate(homes, playerUUID, homeName, coordinate);
     }
 
-    private String getHomeCoordinateByName(UUID playerUUID, String homeName, String coordinate) {
+    private String getHomeCoordinateByName(HomeRegistry homes, UUID playerUUID, String homeName, String coordinate) {
         // Check if this is a location request (e.g., %allium_home_1_location%)
         if (coordinate.equals("location")) {
-            return getFormattedLocation(playerUUID, homeName);
+            return getFormattedLocation(homes, playerUUID, homeName);
         }
-        return getHomeCoordinate(playerUUID, homeName, coordinate);
+        return getHomeCoordinate(homes, playerUUID, homeName, coordinate);
     }
 
-    private String getHomeCoordinate(UUID playerUUID, String homeName, String coordinate) {
-        Location location = database.getPlayerHome(playerUUID, homeName);
+    private String getHomeCoordinate(HomeRegistry homes, UUID playerUUID, String homeName, String coordinate) {
+        Location location = homes.getHome(playerUUID, homeName);
         if (location == null) {
             return "";
         }
@@ -120,8 +127,8 @@ public class HomePlaceholder extends PlaceholderExpansion {
         };
     }
 
-    private String getFormattedLocation(UUID playerUUID, String homeName) {
-        Location location = database.getPlayerHome(playerUUID, homeName);
+    private String getFormattedLocation(HomeRegistry homes, UUID playerUUID, String homeName) {
+        Location location = homes.getHome(playerUUID, homeName);
         if (location == null) {
             return "";
         }
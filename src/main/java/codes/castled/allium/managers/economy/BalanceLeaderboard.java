@@ -0,0 +1,255 @@
+package codes.castled.allium.managers.economy;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Every account ordered by balance, kept in memory.
+ *
+ * <p>Built once from the database at startup and then moved along with each
+ * balance change made through {@link EconomyManager}, so {@code /baltop} and
+ * leaderboard placeholders never have to sort {@code player_balances}.
+ *
+ * <p>Entries live in a treap ordered by balance (highest first, ties broken
+ * by UUID so the order is stable) where every node knows the size of its
+ * subtree. That makes an update, the rank of a player and the start of a
+ * page all O(log n); a page then costs its own length on top.
+ */
+final class BalanceLeaderboard {
+
+    private static final class Node {
+        final UUID uuid;
+        final BigDecimal balance;
+        final int priority = ThreadLocalRandom.current().nextInt();
+        Node left;
+        Node right;
+        int size = 1;
+
+        Node(UUID uuid, BigDecimal balance) {
+            this.uuid = uuid;
+            this.balance = balance;
+        }
+    }
+
+    private Node root;
+    private final Map<UUID, BigDecimal> balances = new HashMap<>();
+    private final Map<UUID, String> names = new HashMap<>();
+    /** Players {@link #adjust} could not place before {@link #load}; null once loaded. */
+    private Set<UUID> skippedBeforeLoad = new HashSet<>();
+
+    // ==================== updates ====================
+
+    /**
+     * Adds the rows loaded at startup. A player already on the board was set
+     * by a change made after the load began, so their entry is newer than
+     * the row and is kept.
+     *
+     * @return players whose {@link #adjust} was skipped before the load;
+     *         their row may predate that change, so callers set them again
+     */
+    synchronized Set<UUID> load(List<BalanceEntry> entries) {
+        for (BalanceEntry entry : entries) {
+            if (entry.getPlayerName() != null) {
+                names.putIfAbsent(entry.getPlayerUUID(), entry.getPlayerName());
+            }
+            if (!balances.containsKey(entry.getPlayerUUID())) {
+                put(entry.getPlayerUUID(), entry.getBalance());
+            }
+        }
+        Set<UUID> missed = skippedBeforeLoad;
+        skippedBeforeLoad = null;
+        return missed != null ? missed : Set.of();
+    }
+
+    /** Records a player's new balance. */
+    synchronized void set(UUID uuid, BigDecimal balance) {
+        put(uuid, balance);
+    }
+
+    /**
+     * Moves a player by a delta. A player the board does not know yet is
+     * skipped: without their starting balance the result would be wrong, and
+     * the next {@link #set} or {@link #load} places them correctly.
+     */
+    synchronized void adjust(UUID uuid, BigDecimal delta) {
+        BigDecimal current = balances.get(uuid);
+        if (current != null) {
+            put(uuid, current.add(delta));
+        } else if (skippedBeforeLoad != null) {
+            skippedBeforeLoad.add(uuid);
+        }
+    }
+
+    synchronized void rename(UUID uuid, String name) {
+        if (name != null && !name.isEmpty()) {
+            names.put(uuid, name);
+        }
+    }
+
+    // ==================== reads ====================
+
+    synchronized int size() {
+        return balances.size();
+    }
+
+    synchronized boolean contains(UUID uuid) {
+        return balances.containsKey(uuid);
+    }
+
+    /** The player's 1-based rank, or 0 when they have no account. */
+    synchronized int rankOf(UUID uuid) {
+        BigDecimal balance = balances.get(uuid);
+        if (balance == null) {
+            return 0;
+        }
+        int before = 0;
+        Node node = root;
+        while (node != null) {
+            int cmp = compare(uuid, balance, node);
+            if (cmp == 0) {
+                return before + size(node.left) + 1;
+            }
+            if (cmp < 0) {
+                node = node.left;
+            } else {
+                before += size(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Up to {@code limit} entries starting at 0-based position {@code offset}.
+     * Names are whatever the board knows; callers resolve missing ones.
+     */
+    synchronized List<BalanceEntry> page(int offset, int limit) {
+        List<BalanceEntry> page = new ArrayList<>(Math.max(0, Math.min(limit, size(root) - offset)));
+        collect(root, Math.max(0, offset), limit, page);
+        return page;
+    }
+
+    // ==================== treap ====================
+
+    private void put(UUID uuid, BigDecimal balance) {
+        BigDecimal previous = balances.put(uuid, balance);
+        if (previous != null) {
+            root = remove(root, uuid, previous);
+        }
+        root = insert(root, new Node(uuid, balance));
+    }
+
+    /** Highest balance first, then UUID order. */
+    private static int compare(UUID uuid, BigDecimal balance, Node node) {
+        int cmp = node.balance.compareTo(balance);
+        return cmp != 0 ? cmp : uuid.compareTo(node.uuid);
+    }
+
+    private static Node insert(Node node, Node fresh) {
+        if (node == null) {
+            return fresh;
+        }
+        if (compare(fresh.uuid, fresh.balance, node) < 0) {
+            node.left = insert(node.left, fresh);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, fresh);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node remove(Node node, UUID uuid, BigDecimal balance) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(uuid, balance, node);
+        if (cmp < 0) {
+            node.left = remove(node.left, uuid, balance);
+        } else if (cmp > 0) {
+            node.right = remove(node.right, uuid, balance);
+        } else {
+            return merge(node.left, node.right);
+        }
+        update(node);
+        return node;
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) return right;
+        if (right == null) return left;
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void collect(Node node, int skip, int limit, List<BalanceEntry> into) {
+        // Iterative in-order walk that descends straight to the first wanted entry.
+        List<Node> stack = new ArrayList<>();
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (skip < leftSize) {
+                stack.add(node);
+                node = node.left;
+            } else {
+                skip -= leftSize;
+                if (skip == 0) {
+                    stack.add(node);
+                    break;
+                }
+                skip--;
+                node = node.right;
+            }
+        }
+        while (!stack.isEmpty() && into.size() < limit) {
+            Node next = stack.remove(stack.size() - 1);
+            into.add(new BalanceEntry(next.uuid, names.get(next.uuid), next.balance));
+            for (Node child = next.right; child != null; child = child.left) {
+                stack.add(child);
+            }
+        }
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+}
@@ -0,0 +1,443 @@
+package codes.castled.allium.managers.economy;
+
+import codes.castled.allium.managers.DB.Database;
+import codes.castled.allium.managers.core.Text;
+
+import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * In-memory ledger in front of {@code player_balances} for online players.
+ *
+ * <p>Vault calls from shop and job plugins arrive on the main thread, often
+ * several per tick. For a cached account they are answered from memory: the
+ * funds check and the change happen together under the account's monitor, so
+ * two plugins withdrawing at once can never both spend the same money. Each
+ * change also accumulates into the account's pending delta, and a periodic
+ * flush writes every pending delta in one transaction with
+ * {@code balance = balance + ?}. Because only deltas are written, a row
+ * changed by something else in the meantime keeps that change.
+ *
+ * <p>When the schema is shared with other servers (MySQL, MariaDB) memory
+ * cannot see their changes, so a debit that must not overdraw, a transfer
+ * and a set go to the database instead. The account's pending delta is
+ * written first, then the single-statement update checks funds in the
+ * database, and the cached balance follows the result. Deposits stay in
+ * memory: a delta can't overdraw anyone.
+ *
+ * <p>Players that are not cached go straight to the database with the
+ * single-statement updates on {@link Database}. Those calls, account loads,
+ * evictions and flushes all run on one writer thread, so a player joining
+ * while a deposit for them is in flight sees either the balance before it
+ * or after it, never a lost update.
+ */
+final class BalanceLedger {
+
+    private static final class Account {
+        /** What the player has, including changes not yet written. */
+        BigDecimal balance;
+        /** Sum of changes since the last successful flush. */
+        BigDecimal pending = BigDecimal.ZERO;
+        /** Set once the account has been handed back to the database. */
+        boolean evicted;
+
+        Account(BigDecimal balance) {
+            this.balance = balance;
+        }
+    }
+
+    private final Database database;
+    /** Other servers write the same rows, so funds are checked in the database. */
+    private final boolean sharedDatabase;
+    /** Told about every balance read in by {@link #load}. */
+    private final BiConsumer<UUID, BigDecimal> loaded;
+    private final Map<UUID, Account> accounts = new ConcurrentHashMap<>();
+    /** Deltas of evicted accounts whose final flush failed; retried with the next flush. */
+    private final Map<UUID, BigDecimal> orphaned = new HashMap<>();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Allium-Economy-DB");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    BalanceLedger(Database database, BiConsumer<UUID, BigDecimal> loaded) {
+        this.database = database;
+        this.sharedDatabase = database.getDialect().isShared();
+        this.loaded = loaded;
+    }
+
+    // ==================== account lifecycle ====================
+
+    /** Caches a player's balance, creating the row with {@code defaultBalance} if needed. */
+    void load(UUID playerUUID, BigDecimal defaultBalance) {
+        if (writer.isShutdown()) {
+            return;
+        }
+        writer.execute(() -> {
+            if (accounts.containsKey(playerUUID)) {
+                return;
+            }
+            BigDecimal balance = database.getPlayerBalance(playerUUID);
+            if (balance == null) {
+                database.createDefaultPlayerBalance(playerUUID, defaultBalance);
+                balance = defaultBalance;
+            }
+            accounts.put(playerUUID, new Account(balance));
+            loaded.accept(playerUUID, balance);
+        });
+    }
+
+    /** Writes a player's pending changes and drops them from the cache. */
+    void unload(UUID playerUUID) {
+        if (writer.isShutdown()) {
+            return;
+        }
+        writer.execute(() -> {
+            Account account = accounts.get(playerUUID);
+            if (account == null) {
+                return;
+            }
+            BigDecimal delta;
+            synchronized (account) {
+                account.evicted = true;
+                delta = account.pending;
+                account.pending = BigDecimal.ZERO;
+            }
+            accounts.remove(playerUUID, account);
+            if (delta.signum() != 0 && !database.applyBalanceDeltas(Map.of(playerUUID, delta))) {
+                orphaned.merge(playerUUID, delta, BigDecimal::add);
+            }
+        });
+    }
+
+    boolean isCached(UUID playerUUID) {
+        return accounts.containsKey(playerUUID);
+    }
+
+    // ==================== reads ====================
+
+    /** The cached balance, or {@code null} when the player is not cached. */
+    BigDecimal balance(UUID playerUUID) {
+        Account account = accounts.get(playerUUID);
+        if (account == null) {
+            return null;
+        }
+        synchronized (account) {
+            return account.evicted ? null : account.balance;
+        }
+    }
+
+    // ==================== changes ====================
+
+    boolean deposit(UUID playerUUID, BigDecimal amount) {
+        Boolean cached = adjust(playerUUID, amount, true);
+        if (cached != null) {
+            return cached;
+        }
+        return onWriter(() -> {
+            Boolean raced = adjust(playerUUID, amount, true);
+            return raced != null ? raced : database.addToPlayerBalance(playerUUID, amount);
+        });
+    }
+
+    boolean withdraw(UUID playerUUID, BigDecimal amount, boolean allowNegative) {
+        if (sharedDatabase && !allowNegative) {
+            return onWriter(() -> debitThroughDatabase(playerUUID, amount));
+        }
+        BigDecimal delta = amount.negate();
+        Boolean cached = adjust(playerUUID, delta, allowNegative);
+        if (cached != null) {
+            return cached;
+        }
+        return onWriter(() -> {
+            Boolean raced = adjust(playerUUID, delta, allowNegative);
+            return raced != null ? raced : database.subtractFromPlayerBalance(playerUUID, amount, allowNegative);
+        });
+    }
+
+    /**
+     * Sets a balance. For a cached account the difference to the current
+     * balance is recorded as a delta like any other change.
+     */
+    boolean set(UUID playerUUID, BigDecimal amount) {
+        if (sharedDatabase) {
+            // The difference to a balance another server may have changed would be wrong
+            return onWriter(() -> setThroughDatabase(playerUUID, amount));
+        }
+        Boolean cached = assign(playerUUID, amount);
+        if (cached != null) {
+            return cached;
+        }
+        return onWriter(() -> {
+            Boolean raced = assign(playerUUID, amount);
+            return raced != null ? raced : database.setPlayerBalance(playerUUID, amount);
+        });
+    }
+
+    /**
+     * Moves money between two players atomically. Between two cached accounts
+     * this happens in memory with both monitors held, and the next flush
+     * writes both deltas in the same transaction. Otherwise the cached side's
+     * pending changes are written first and the transfer runs as one database
+     * transaction, with the cached side held so nothing can slip in between.
+     * On a shared database every transfer takes the second path.
+     */
+    boolean transfer(UUID fromUUID, UUID toUUID, BigDecimal amount, boolean allowNegative) {
+        if (sharedDatabase) {
+            return onWriter(() -> transferThroughDatabase(fromUUID, toUUID, amount, allowNegative));
+        }
+        Boolean cached = transferCached(fromUUID, toUUID, amount, allowNegative);
+        if (cached != null) {
+            return cached;
+        }
+        return onWriter(() -> {
+            Boolean raced = transferCached(fromUUID, toUUID, amount, allowNegative);
+            if (raced != null) {
+                return raced;
+            }
+            return transferThroughDatabase(fromUUID, toUUID, amount, allowNegative);
+        });
+    }
+
+    // ==================== persistence ====================
+
+    /** Queues a write of every pending delta. */
+    void flush() {
+        if (writer.isShutdown()) {
+            return;
+        }
+        writer.execute(this::drain);
+    }
+
+    /** Writes everything still pending and stops the writer thread. */
+    void shutdown() {
+        writer.execute(this::drain);
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(10, TimeUnit.SECONDS)) {
+                Text.sendDebugLog(WARN, "Economy ledger did not finish writing balances before shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Writer thread only. */
+    private void drain() {
+        Map<UUID, BigDecimal> deltas = new HashMap<>(orphaned);
+        orphaned.clear();
+        for (Map.Entry<UUID, Account> entry : accounts.entrySet()) {
+            Account account = entry.getValue();
+            synchronized (account) {
+                if (account.pending.signum() != 0) {
+                    deltas.merge(entry.getKey(), account.pending, BigDecimal::add);
+                    account.pending = BigDecimal.ZERO;
+                }
+            }
+        }
+        if (deltas.isEmpty() || database.applyBalanceDeltas(deltas)) {
+            return;
+        }
+        // Nothing was written; hand the deltas back so the next flush retries them.
+        for (Map.Entry<UUID, BigDecimal> entry : deltas.entrySet()) {
+            Account account = accounts.get(entry.getKey());
+            boolean restored = false;
+            if (account != null) {
+                synchronized (account) {
+                    if (!account.evicted) {
+                        account.pending = account.pending.add(entry.getValue());
+                        restored = true;
+                    }
+                }
+            }
+            if (!restored) {
+                orphaned.merge(entry.getKey(), entry.getValue(), BigDecimal::add);
+            }
+        }
+        Text.sendDebugLog(WARN, "Failed to flush " + deltas.size() + " balance change(s); will retry");
+    }
+
+    // ==================== internals ====================
+
+    /** Applies a change to a cached account; {@code null} when the player is not cached. */
+    private Boolean adjust(UUID playerUUID, BigDecimal delta, boolean allowNegative) {
+        Account account = accounts.get(playerUUID);
+        if (account == null) {
+            return null;
+        }
+        synchronized (account) {
+            if (account.evicted) {
+                return null;
+            }
+            BigDecimal updated = account.balance.add(delta);
+            if (!allowNegative && delta.signum() < 0 && updated.signum() < 0) {
+                return false;
+            }
+            account.balance = updated;
+            account.pending = account.pending.add(delta);
+            return true;
+        }
+    }
+
+    private Boolean assign(UUID playerUUID, BigDecimal amount) {
+        Account account = accounts.get(playerUUID);
+        if (account == null) {
+            return null;
+        }
+        synchronized (account) {
+            if (account.evicted) {
+                return null;
+            }
+            account.pending = account.pending.add(amount.subtract(account.balance));
+            account.balance = amount;
+            return true;
+        }
+    }
+
+    private Boolean transferCached(UUID fromUUID, UUID toUUID, BigDecimal amount, boolean allowNegative) {
+        Account from = accounts.get(fromUUID);
+        Account to = accounts.get(toUUID);
+        if (from == null || to == null) {
+            return null;
+        }
+        if (from == to) {
+            synchronized (from) {
+                return from.evicted ? null : allowNegative || from.balance.compareTo(amount) >= 0;
+            }
+        }
+        // Fixed lock order so two opposite transfers cannot deadlock.
+        boolean fromFirst = fromUUID.compareTo(toUUID) < 0;
+        Account first = fromFirst ? from : to;
+        Account second = fromFirst ? to : from;
+        synchronized (first) {
+            synchronized (second) {
+                if (from.evicted || to.evicted) {
+                    return null;
+                }
+                BigDecimal remaining = from.balance.subtract(amount);
+                if (!allowNegative && remaining.signum() < 0) {
+                    return false;
+                }
+                from.balance = remaining;
+                from.pending = from.pending.subtract(amount);
+                to.balance = to.balance.add(amount);
+                to.pending = to.pending.add(amount);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Writer thread only. The cached sides are held and their pending changes
+     * written first, so the database checks funds against everything memory
+     * knows; both sides can be cached on a shared database.
+     */
+    private boolean transferThroughDatabase(UUID fromUUID, UUID toUUID, BigDecimal amount, boolean allowNegative) {
+        Account from = accounts.get(fromUUID);
+        Account to = accounts.get(toUUID);
+        // Fixed lock order so two opposite transfers cannot deadlock.
+        boolean fromFirst = fromUUID.compareTo(toUUID) < 0;
+        synchronized (lockOf(fromFirst ? from : to)) {
+            synchronized (lockOf(fromFirst ? to : from)) {
+                if (!writePending(fromUUID, from) || !writePending(toUUID, to)) {
+                    return false;
+                }
+                if (!database.transferBalance(fromUUID, toUUID, amount, allowNegative)) {
+                    return false;
+                }
+                if (from != null) {
+                    from.balance = from.balance.subtract(amount);
+                }
+                if (to != null) {
+                    to.balance = to.balance.add(amount);
+                }
+                return true;
+            }
+        }
+    }
+
+    /** Writer thread only: a debit checked against the database row. */
+    private boolean debitThroughDatabase(UUID playerUUID, BigDecimal amount) {
+        Account account = accounts.get(playerUUID);
+        synchronized (lockOf(account)) {
+            if (!writePending(playerUUID, account)
+                    || !database.subtractFromPlayerBalance(playerUUID, amount, false)) {
+                return false;
+            }
+            if (account != null) {
+                account.balance = account.balance.subtract(amount);
+            }
+            return true;
+        }
+    }
+
+    /** Writer thread only. */
+    private boolean setThroughDatabase(UUID playerUUID, BigDecimal amount) {
+        Account account = accounts.get(playerUUID);
+        synchronized (lockOf(account)) {
+            if (!database.setPlayerBalance(playerUUID, amount)) {
+                return false;
+            }
+            if (account != null) {
+                // The set replaces whatever was pending
+                account.pending = BigDecimal.ZERO;
+                account.balance = amount;
+            }
+            return true;
+        }
+    }
+
+    /** An uncached side has nothing to hold. */
+    private static Object lockOf(Account account) {
+        return account != null ? account : new Object();
+    }
+
+    /** Caller holds the account's monitor. Makes the database agree with memory. */
+    private boolean writePending(UUID playerUUID, Account account) {
+        if (account == null || account.pending.signum() == 0) {
+            return true;
+        }
+        if (!database.applyBalanceDeltas(Map.of(playerUUID, account.pending))) {
+            return false;
+        }
+        account.pending = BigDecimal.ZERO;
+        return true;
+    }
+
+    private boolean onWriter(Callable<Boolean> task) {
+        Future<Boolean> future;
+        try {
+            future = writer.submit(task);
+        } catch (RejectedExecutionException e) {
+            // Shutting down: the writer is gone, so run on the caller.
+            try {
+                return task.call();
+            } catch (Exception ex) {
+                Text.sendDebugLog(ERROR, "Economy operation failed", ex);
+                return false;
+            }
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException e) {
+            Text.sendDebugLog(ERROR, "Economy operation failed", e.getCause());
+            return false;
+        }
+    }
+}
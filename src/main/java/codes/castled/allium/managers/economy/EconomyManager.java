@@ -3,10 +3,18 @@ package codes.castled.allium.managers.economy;
 import org.bukkit.Bukkit;
 import org.bukkit.OfflinePlayer;
 import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 import codes.castled.allium.PluginStart;
 import codes.castled.allium.managers.DB.Database;
 import codes.castled.allium.managers.core.Text;
+import codes.castled.allium.scheduler.SchedulerAdapter;
+import codes.castled.allium.scheduler.TaskHandle;
 
 import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
 
@@ -18,10 +26,20 @@ import java.util.UUID;
 /**
  * Economy manager for Allium
  * Handles all economy-related operations
+ *
+ * <p>Balances of online players are served from a {@link BalanceLedger} and
+ * written back in batches; everyone else goes straight to the database.
  */
-public class EconomyManager {
+public class EconomyManager implements Listener {
+    private static final long LEADERBOARD_RETRY_TICKS = 20L * 30;
     private final Database database;
     private final PluginStart plugin;
+    private final BalanceLedger ledger;
+    private final BalanceLeaderboard leaderboard = new BalanceLeaderboard();
+    /** False until the leaderboard has been built; reads fall back to the database until then. */
+    private volatile boolean leaderboardReady;
+    private TaskHandle flushTask;
+    private volatile TaskHandle leaderboardRetry;
     private BigDecimal defaultBalance;
     private String currencySymbol;
     private int decimalPlaces;
@@ -32,7 +50,71 @@ public class EconomyManager {
     public EconomyManager(PluginStart plugin) {
         this.plugin = plugin;
         this.database = plugin.getDatabase();
+        this.ledger = new BalanceLedger(database, leaderboard::set);
         loadConfig();
+        SchedulerAdapter.runAsyncNow(plugin, this::loadLeaderboard);
+        // Covers /reload and late construction: players already online get cached too.
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            ledger.load(player.getUniqueId(), defaultBalance);
+        }
+        long flushTicks = Math.max(1, plugin.getConfig().getLong("economy.ledger-flush-seconds", 5L)) * 20L;
+        flushTask = SchedulerAdapter.runAsyncRepeating(plugin, ledger::flush, flushTicks, flushTicks);
+    }
+
+    /**
+     * Fills the leaderboard from the database. Changes made while the rows are
+     * read are kept, and a failed read is retried rather than leaving the
+     * board empty.
+     */
+    private void loadLeaderboard() {
+        List<BalanceEntry> rows = database.getAllBalances();
+        if (rows == null) {
+            Text.sendDebugLog(WARN, "Balance leaderboard not loaded, retrying in "
+                    + LEADERBOARD_RETRY_TICKS / 20 + "s");
+            leaderboardRetry = SchedulerAdapter.runAsyncLater(plugin, this::loadLeaderboard, LEADERBOARD_RETRY_TICKS);
+            return;
+        }
+        // Their row may predate the change, and their writes are done by now
+        for (UUID missed : leaderboard.load(rows)) {
+            BigDecimal cached = ledger.balance(missed);
+            leaderboard.set(missed, cached != null ? cached : database.getPlayerBalance(missed));
+        }
+        // Online balances may hold changes the snapshot has not seen yet
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            BigDecimal cached = ledger.balance(player.getUniqueId());
+            if (cached != null) {
+                leaderboard.set(player.getUniqueId(), cached);
+            }
+        }
+        leaderboardReady = true;
+    }
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        Player player = event.getPlayer();
+        leaderboard.rename(player.getUniqueId(), player.getName());
+        ledger.load(player.getUniqueId(), defaultBalance);
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        ledger.unload(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Writes every pending balance change and stops the ledger. Must run
+     * before the database pool is closed.
+     */
+    public void shutdown() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
+        }
+        TaskHandle retry = leaderboardRetry;
+        if (retry != null) {
+            retry.cancel();
+        }
+        ledger.shutdown();
     }
     
     /**
@@ -75,11 +157,19 @@ public class EconomyManager {
      * @return The player's balance
      */
     public BigDecimal getBalance(UUID playerUUID) {
+        BigDecimal cached = ledger.balance(playerUUID);
+        if (cached != null) {
+            return cached;
+        }
         BigDecimal balance = database.getPlayerBalance(playerUUID);
         if (balance == null) {
             // Create default balance for new player
             database.createDefaultPlayerBalance(playerUUID, defaultBalance);
-            return defaultBalance;
+            balance = defaultBalance;
+        }
+        if (!leaderboard.contains(playerUUID)) {
+            // Reading an unknown player may have just created their row
+            leaderboard.set(playerUUID, balance);
         }
         return balance;
     }
@@ -104,7 +194,11 @@ public class EconomyManager {
         if (!allowNegativeBalance && amount.compareTo(BigDecimal.ZERO) < 0) {
             return false; // Don't allow negative balances unless enabled
         }
-        return database.setPlayerBalance(playerUUID, amount);
+        if (!ledger.set(playerUUID, amount)) {
+            return false;
+        }
+        leaderboard.set(playerUUID, amount);
+        return true;
     }
 
     /**
@@ -127,7 +221,11 @@ public class EconomyManager {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             return false; // Don't allow negative or zero deposits
         }
-        return database.addToPlayerBalance(playerUUID, amount);
+        if (!ledger.deposit(playerUUID, amount)) {
+            return false;
+        }
+        recordChange(playerUUID, amount);
+        return true;
     }
 
     /**
@@ -150,13 +248,12 @@ public class EconomyManager {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             return false; // Don't allow negative or zero withdrawals
         }
-        
-        // Check if player has enough balance
-        if (!hasEnough(playerUUID, amount)) {
+        // The funds check happens together with the debit; withdrawals never overdraw
+        if (!ledger.withdraw(playerUUID, amount, false)) {
             return false;
         }
-        
-        return database.subtractFromPlayerBalance(playerUUID, amount);
+        recordChange(playerUUID, amount.negate());
+        return true;
     }
 
     /**
@@ -176,6 +273,10 @@ public class EconomyManager {
      * @return true if the player has enough balance, false otherwise
      */
     public boolean hasEnough(UUID playerUUID, BigDecimal amount) {
+        BigDecimal cached = ledger.balance(playerUUID);
+        if (cached != null) {
+            return cached.compareTo(amount) >= 0;
+        }
         return database.hasEnoughBalance(playerUUID, amount);
     }
 
@@ -185,7 +286,7 @@ public class EconomyManager {
      * @return true if the account exists, false otherwise
      */
     public boolean hasAccount(UUID playerUUID) {
-        return database.playerAccountExists(playerUUID);
+        return ledger.isCached(playerUUID) || database.playerAccountExists(playerUUID);
     }
 
     /**
@@ -195,7 +296,7 @@ public class EconomyManager {
      */
     public boolean createAccount(UUID playerUUID) {
         // Create account with default balance
-        return database.setPlayerBalance(playerUUID, defaultBalance);
+        return setBalance(playerUUID, defaultBalance);
     }
 
     public boolean isNegativeBalanceAllowed() {
@@ -224,34 +325,50 @@ public class EconomyManager {
         if (amount.compareTo(BigDecimal.ZERO) <= 0) {
             return false; // Don't allow negative or zero transfers
         }
-        
-        // Check if sender has enough balance
-        if (!hasEnough(fromUUID, amount)) {
-            return false;
-        }
-        
-        // Withdraw from sender
-        if (!withdraw(fromUUID, amount)) {
-            return false;
-        }
-        
-        // Deposit to receiver
-        if (!deposit(toUUID, amount)) {
-            // If deposit fails, refund the sender
-            deposit(fromUUID, amount);
+
+        // Both sides change together or not at all
+        if (!ledger.transfer(fromUUID, toUUID, amount, false)) {
             return false;
         }
-        
+        recordChange(fromUUID, amount.negate());
+        recordChange(toUUID, amount);
         return true;
     }
 
+    /** Moves a player on the leaderboard after a successful change. */
+    private void recordChange(UUID playerUUID, BigDecimal delta) {
+        BigDecimal cached = ledger.balance(playerUUID);
+        if (cached != null) {
+            leaderboard.set(playerUUID, cached);
+        } else {
+            leaderboard.adjust(playerUUID, delta);
+        }
+    }
+
     /**
      * Get the top balances. Resolves UUID to player name when name is missing or a UUID fragment.
      * @param limit The maximum number of entries to return
      * @return A list of top balances with display names resolved
      */
     public List<BalanceEntry> getTopBalances(int limit) {
-        List<BalanceEntry> raw = database.getTopBalances(limit);
+        return getTopBalances(0, limit);
+    }
+
+    /**
+     * Get one page of the top balances, served from the in-memory leaderboard
+     * once it has been built.
+     * @param offset The 0-based position of the first entry
+     * @param limit The maximum number of entries to return
+     * @return The entries with display names resolved
+     */
+    public List<BalanceEntry> getTopBalances(int offset, int limit) {
+        List<BalanceEntry> raw;
+        if (leaderboardReady) {
+            raw = leaderboard.page(offset, limit);
+        } else {
+            List<BalanceEntry> top = database.getTopBalances(offset + limit);
+            raw = top.subList(Math.min(offset, top.size()), top.size());
+        }
         List<BalanceEntry> resolved = new ArrayList<>(raw.size());
         for (BalanceEntry e : raw) {
             String name = e.getPlayerName();
@@ -260,6 +377,8 @@ public class EconomyManager {
                 name = off.getName();
                 if (name == null || name.isEmpty()) {
                     name = e.getPlayerName();
+                } else {
+                    leaderboard.rename(e.getPlayerUUID(), name);
                 }
                 if (name == null || name.isEmpty()) {
                     name = e.getPlayerUUID().toString().substring(0, 8);
@@ -272,6 +391,21 @@ public class EconomyManager {
         return resolved;
     }
 
+    /**
+     * Number of accounts on the leaderboard, or -1 while it is still being built.
+     */
+    public int getBaltopSize() {
+        return leaderboardReady ? leaderboard.size() : -1;
+    }
+
+    /**
+     * A player's 1-based position on the leaderboard; 0 when they have no
+     * account or the leaderboard is still being built.
+     */
+    public int getBaltopRank(UUID playerUUID) {
+        return leaderboardReady ? leaderboard.rankOf(playerUUID) : 0;
+    }
+
     /** True if the string looks like a UUID fragment (e.g. 8 hex chars) used as a fallback display. */
     private static boolean isUuidFragment(String s) {
         if (s == null || s.length() != 8) return false;
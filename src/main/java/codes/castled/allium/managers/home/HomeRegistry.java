@@ -0,0 +1,231 @@
+package codes.castled.allium.managers.home;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
+
+import codes.castled.allium.PluginStart;
+import codes.castled.allium.managers.DB.AsyncDatabase;
+import codes.castled.allium.managers.DB.Database.StoredHome;
+import codes.castled.allium.managers.core.Text;
+import codes.castled.allium.util.PrefixTrie;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Homes of online players, held in memory and written through to the
+ * database.
+ *
+ * <p>A player's homes are read in one query on the database thread when
+ * they join and dropped when they quit. Lookups, listings and tab completion
+ * are answered from memory, with names indexed in a {@link PrefixTrie}.
+ * Setting or deleting a home writes the database first, on the database
+ * thread, and updates memory only if that worked. Homes of offline players
+ * are not held: lookups for them come back empty unless they run inside
+ * {@link #withHomes(CommandSender, UUID, Runnable)}, which reads them first.
+ */
+public class HomeRegistry implements Listener {
+
+    private static final class PlayerHomes {
+        final Map<String, StoredHome> byName = new LinkedHashMap<>();
+        final PrefixTrie names = new PrefixTrie();
+
+        PlayerHomes(List<StoredHome> homes) {
+            for (StoredHome home : homes) {
+                put(home);
+            }
+        }
+
+        synchronized void put(StoredHome home) {
+            byName.put(home.name(), home);
+            names.add(home.name());
+        }
+
+        synchronized boolean remove(String name) {
+            if (byName.remove(name) == null) {
+                return false;
+            }
+            names.remove(name);
+            // Another home may differ only in case; keep it completable
+            for (String other : byName.keySet()) {
+                if (other.equalsIgnoreCase(name)) {
+                    names.add(other);
+                }
+            }
+            return true;
+        }
+
+        synchronized StoredHome get(String name) {
+            return byName.get(name);
+        }
+
+        synchronized String find(String name) {
+            return byName.containsKey(name) ? name : names.get(name);
+        }
+
+        synchronized List<String> names() {
+            return new ArrayList<>(byName.keySet());
+        }
+
+        synchronized List<String> withPrefix(String prefix) {
+            return names.withPrefix(prefix);
+        }
+
+        synchronized int size() {
+            return byName.size();
+        }
+    }
+
+    private final PluginStart plugin;
+    private final AsyncDatabase database;
+    private final Map<UUID, PlayerHomes> loaded = new ConcurrentHashMap<>();
+
+    public HomeRegistry(PluginStart plugin) {
+        this.plugin = plugin;
+        this.database = plugin.getAsyncDatabase();
+    }
+
+    // ==================== loading ====================
+
+    @EventHandler(priority = EventPriority.LOWEST)
+    public void onJoin(PlayerJoinEvent event) {
+        load(event.getPlayer().getUniqueId());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent event) {
+        loaded.remove(event.getPlayer().getUniqueId());
+    }
+
+    /**
+     * Drops every held home and reads them again for online players. Call
+     * after writing homes to the database directly, e.g. from a migration.
+     */
+    public void reloadOnline() {
+        loaded.clear();
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            load(player.getUniqueId());
+        }
+    }
+
+    private void load(UUID playerId) {
+        // Anything held from before is stale; the player may have been edited while away
+        loaded.remove(playerId);
+        database.getPlayerHomeRecords(playerId).thenAccept(homes -> {
+            if (homes != null && Bukkit.getPlayer(playerId) != null) {
+                // A read that loaded them meanwhile has seen the same rows or newer
+                loaded.putIfAbsent(playerId, new PlayerHomes(homes));
+            }
+        });
+    }
+
+    /** Whether a player's homes are held, i.e. can be read without the database. */
+    public boolean isLoaded(UUID playerId) {
+        return loaded.containsKey(playerId);
+    }
+
+    /**
+     * Runs {@code then} on the sender's thread once a player's homes are
+     * held, reading them on the database thread first if they are not.
+     * Homes read for an offline player are held only while {@code then} runs.
+     */
+    public void withHomes(CommandSender sender, UUID playerId, Runnable then) {
+        if (loaded.containsKey(playerId)) {
+            then.run();
+            return;
+        }
+        database.supply(sender, db -> db.getPlayerHomeRecords(playerId), stored -> {
+            if (stored == null) {
+                Text.sendErrorMessage(sender, "unknown-error", plugin.getLangManager());
+                return;
+            }
+            PlayerHomes homes = new PlayerHomes(stored);
+            if (loaded.putIfAbsent(playerId, homes) != null || Bukkit.getPlayer(playerId) != null) {
+                then.run();
+                return;
+            }
+            try {
+                then.run();
+            } finally {
+                loaded.remove(playerId, homes);
+            }
+        });
+    }
+
+    private PlayerHomes homes(UUID playerId) {
+        PlayerHomes homes = loaded.get(playerId);
+        return homes != null ? homes : new PlayerHomes(List.of());
+    }
+
+    // ==================== lookups ====================
+
+    /** A player's home names, in the order they were read or set. */
+    public List<String> getHomeNames(UUID playerId) {
+        return homes(playerId).names();
+    }
+
+    /** A player's home names starting with a prefix, ignoring case, sorted. */
+    public List<String> getHomeNames(UUID playerId, String prefix) {
+        return homes(playerId).withPrefix(prefix);
+    }
+
+    public int getHomeCount(UUID playerId) {
+        return homes(playerId).size();
+    }
+
+    /** The stored name of the home matching {@code name} ignoring case, or null. */
+    public String findHome(UUID playerId, String name) {
+        return homes(playerId).find(name);
+    }
+
+    /** The location of the home named exactly {@code name}, or null if it or its world is missing. */
+    public Location getHome(UUID playerId, String name) {
+        StoredHome home = homes(playerId).get(name);
+        if (home == null) {
+            return null;
+        }
+        World world = Bukkit.getWorld(home.world());
+        return world != null ? new Location(world, home.x(), home.y(), home.z(), home.yaw(), home.pitch()) : null;
+    }
+
+    // ==================== changes ====================
+
+    /** Saves a home and tells {@code then}, on the sender's thread, whether it was saved. */
+    public void setHome(CommandSender sender, UUID playerId, String name, Location location, Consumer<Boolean> then) {
+        PlayerHomes homes = homes(playerId);
+        StoredHome home = new StoredHome(name, location.getWorld().getName(),
+                location.getX(), location.getY(), location.getZ(), location.getYaw(), location.getPitch());
+        Location at = location.clone();
+        long now = System.currentTimeMillis();
+        database.supply(sender, db -> db.savePlayerHome(playerId, name, at, now), saved -> {
+            if (saved) {
+                homes.put(home);
+            }
+            then.accept(saved);
+        });
+    }
+
+    /** Deletes a home and tells {@code then}, on the sender's thread, whether it was deleted. */
+    public void deleteHome(CommandSender sender, UUID playerId, String name, Consumer<Boolean> then) {
+        PlayerHomes homes = homes(playerId);
+        database.supply(sender, db -> db.deletePlayerHome(playerId, name), deleted -> {
+            if (deleted) {
+                homes.remove(name);
+            }
+            then.accept(deleted);
+        });
+    }
+}
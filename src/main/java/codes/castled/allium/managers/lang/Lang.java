@@ -23,6 +23,7 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 import java.util.regex.Pattern;
 import java.util.regex.Matcher;
@@ -38,6 +39,8 @@ public class Lang {
     private File langFile;
     private final Map<String, Object> messages = new HashMap<>();
     private final Map<String, Object> defaultMessages = new LinkedHashMap<>();
+    /** Parsed entries by key, so colors and templates are worked out once per {@link #load()}. */
+    private final Map<String, MessageBundle> bundleCache = new ConcurrentHashMap<>();
     private final PluginStart plugin;
     private FileConfiguration config;
     private Locale currentLocale;
@@ -430,6 +433,7 @@ public class Lang {
 
     public void load() {
         messages.clear();
+        bundleCache.clear();
 
         // Check if language file exists
         if (!langFile.exists()) {
@@ -479,6 +483,8 @@ public class Lang {
             for (Map.Entry<String, Object> entry : defaultMessages.entrySet()) {
                 messages.putIfAbsent(entry.getKey(), entry.getValue());
             }
+            // Drop anything a concurrent send cached from the half-loaded maps
+            bundleCache.clear();
 
             Text.sendDebugLog(INFO, "Loaded language file: lang.yml (" + langCode + ")");
 
@@ -848,7 +854,8 @@ public class Lang {
         private final SoundInstruction soundInstruction;
         private final ParticleInstruction particleInstruction;
         private final List<String> commandInstructions;
-        private List<String> cachedColoredLines;
+        private volatile List<String> cachedColoredLines;
+        private volatile List<MessageTemplate> cachedTemplates;
         private static final net.kyori.adventure.text.minimessage.MiniMessage MINI_MESSAGE = net.kyori.adventure.text.minimessage.MiniMessage.miniMessage();
 
         private MessageBundle(List<String> rawLines, SoundInstruction soundInstruction, 
@@ -1012,6 +1019,20 @@ public class Lang {
             return cachedColoredLines;
         }
 
+        /** {@link #coloredLines()} compiled for sending, built on first use. */
+        List<MessageTemplate> templates(UnaryOperator<String> miniMessageInput) {
+            List<MessageTemplate> templates = cachedTemplates;
+            if (templates == null) {
+                List<MessageTemplate> compiled = new ArrayList<>();
+                for (String line : coloredLines()) {
+                    compiled.add(MessageTemplate.compile(line, miniMessageInput));
+                }
+                templates = Collections.unmodifiableList(compiled);
+                cachedTemplates = templates;
+            }
+            return templates;
+        }
+
         public String firstColoredLine() {
             List<String> colored = coloredLines();
             return colored.isEmpty() ? "" : colored.get(0);
@@ -1297,6 +1318,11 @@ public class Lang {
     }
 
     public MessageBundle getBundle(String key, Object... args) {
+        MessageBundle cached = bundleCache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
         Optional<Object> message = resolveMessageObject(key);
         if (message.isEmpty()) {
             // Check if this looks like a literal string (already translated) rather than a key
@@ -1388,10 +1414,11 @@ public class Lang {
 
     if (rawLines.isEmpty()) {
         rawLines = Collections.singletonList("");
-        return new MessageBundle(rawLines, soundInstruction, particleInstruction, commandInstructions);
     }
 
-    return new MessageBundle(rawLines, soundInstruction, particleInstruction, commandInstructions);
+    MessageBundle bundle = new MessageBundle(rawLines, soundInstruction, particleInstruction, commandInstructions);
+    bundleCache.put(key, bundle);
+    return bundle;
 }
 
     private Optional<SoundInstruction> parseSoundInstruction(String raw) {
@@ -1651,37 +1678,21 @@ public class Lang {
         }
 
         MessageBundle bundle = getBundle(key);
+        List<MessageTemplate> templates = bundle.templates(this::processMessage);
         if (sender instanceof Player) {
             Player player = (Player) sender;
-            // For players, use Adventure API for better formatting
-            for (String line : bundle.coloredLines()) {
-                // Apply placeholders
-                for (Map.Entry<String, Object> entry : placeholderMap.entrySet()) {
-                    line = line.replace("{" + entry.getKey() + "}", String.valueOf(entry.getValue()));
-                }
-                
-                net.kyori.adventure.text.Component component;
-                // If message already has § codes, use legacy serializer
-                if (line.contains("§")) {
-                    component = net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer.legacySection().deserialize(line);
-                } else {
-                    // Otherwise, use MiniMessage
-                    String processedLine = processMessage(line);
-                    component = net.kyori.adventure.text.minimessage.MiniMessage.miniMessage().deserialize(processedLine);
-                }
-                player.sendMessage(component);
+            // For players, use Adventure API for better formatting; legacy (§) lines are
+            // read as legacy text and the rest as MiniMessage
+            for (MessageTemplate template : templates) {
+                player.sendMessage(template.render(placeholderMap));
             }
             
             // Show particle effect if specified
             bundle.particle().ifPresent(particle -> particle.spawn(player));
         } else {
             // For console/command blocks, use legacy format
-            for (String line : bundle.coloredLines()) {
-                // Apply placeholders
-                for (Map.Entry<String, Object> entry : placeholderMap.entrySet()) {
-                    line = line.replace("{" + entry.getKey() + "}", String.valueOf(entry.getValue()));
-                }
-                sender.sendMessage(net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer.legacySection().deserialize(line));
+            for (MessageTemplate template : templates) {
+                sender.sendMessage(net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer.legacySection().deserialize(template.fill(placeholderMap)));
             }
         }
 
@@ -0,0 +1,99 @@
+package codes.castled.allium.managers.lang;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.minimessage.MiniMessage;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * One colored lang line compiled for sending.
+ *
+ * <p>The line is split once into literal text and {@code {name}} slots.
+ * Rendering joins the literals with the slot values and parses the result
+ * once: as legacy text if it holds section codes, otherwise as MiniMessage
+ * after {@code miniMessageInput} has converted any {@code &} codes. That is
+ * the same decision {@link Lang#sendMessage} made on the replaced string, so
+ * values may still carry their own colors. A line without slots always
+ * renders to the same component, which is built here and reused.
+ */
+final class MessageTemplate {
+
+    private final String[] literals;
+    private final String[] slots;
+    private final UnaryOperator<String> miniMessageInput;
+    private final Component constant;
+
+    private MessageTemplate(String[] literals, String[] slots, UnaryOperator<String> miniMessageInput) {
+        this.literals = literals;
+        this.slots = slots;
+        this.miniMessageInput = miniMessageInput;
+        this.constant = slots.length == 0 ? parse(literals[0]) : null;
+    }
+
+    static MessageTemplate compile(String line, UnaryOperator<String> miniMessageInput) {
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        int literalStart = 0;
+        int scan = 0;
+        while (true) {
+            int open = line.indexOf('{', scan);
+            if (open == -1) {
+                break;
+            }
+            int close = line.indexOf('}', open + 1);
+            if (close == -1) {
+                break;
+            }
+            int reopen = line.indexOf('{', open + 1);
+            if (reopen != -1 && reopen < close) {
+                // "{a {b}": only the innermost pair is a slot
+                scan = reopen;
+                continue;
+            }
+            literals.add(line.substring(literalStart, open));
+            slots.add(line.substring(open + 1, close));
+            literalStart = close + 1;
+            scan = literalStart;
+        }
+        literals.add(line.substring(literalStart));
+        return new MessageTemplate(literals.toArray(new String[0]), slots.toArray(new String[0]), miniMessageInput);
+    }
+
+    /** Slot names in order of appearance, without braces. */
+    List<String> slots() {
+        return List.of(slots);
+    }
+
+    Component render(Map<String, ?> values) {
+        return constant != null ? constant : parse(fill(values));
+    }
+
+    /** The line with every slot that has a value replaced; slots without one are left as written. */
+    String fill(Map<String, ?> values) {
+        if (slots.length == 0) {
+            return literals[0];
+        }
+        StringBuilder filled = new StringBuilder(literals[0]);
+        for (int i = 0; i < slots.length; i++) {
+            String slot = slots[i];
+            if (values.containsKey(slot)) {
+                filled.append(values.get(slot));
+            } else {
+                filled.append('{').append(slot).append('}');
+            }
+            filled.append(literals[i + 1]);
+        }
+        return filled.toString();
+    }
+
+    private Component parse(String line) {
+        if (line.contains("§")) {
+            return LegacyComponentSerializer.legacySection().deserialize(line);
+        }
+        return MiniMessage.miniMessage().deserialize(miniMessageInput.apply(line));
+    }
+}
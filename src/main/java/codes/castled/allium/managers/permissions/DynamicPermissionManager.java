@@ -5,6 +5,7 @@ import org.bukkit.permissions.PermissionDefault;
 import org.bukkit.plugin.PluginManager;
 
 import codes.castled.allium.PluginStart;
+import codes.castled.allium.managers.DB.PermissionCache;
 import codes.castled.allium.managers.core.Text;
 
 import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
@@ -128,6 +129,13 @@ public class DynamicPermissionManager {
         } catch (IllegalArgumentException e) {
             Text.sendDebugLog(WARN, "Failed to register allium.player permission: " + e.getMessage());
         }
+
+        // The allium.player tree just changed for everyone holding it
+        PermissionCache permissionCache = plugin.getPermissionCache();
+        if (permissionCache != null) {
+            permissionCache.registerNodes(children.keySet());
+            permissionCache.refreshAll();
+        }
     }
 
     /**
@@ -0,0 +1,378 @@
+package codes.castled.allium.managers.security;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import codes.castled.allium.managers.core.Text;
+
+import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Append-only evidence log for ModGuard hits.
+ *
+ * <p>Each hit is one JSON line in a file per UTC day under the logs folder.
+ * Callers only queue the hit; one background thread appends everything
+ * queued since its last write and syncs the file once, so a burst of hits
+ * costs a single write instead of a rewrite of the player's whole history
+ * per hit. The thread also keeps the offset of every line in the current
+ * day's file per player, so a lookup reads just that player's lines. When
+ * the day changes the finished file is gzipped, and lookups reaching back
+ * past today scan those archives newest first.
+ *
+ * <p>Lookups run on the same thread as writes, so they never see a file
+ * being rotated or a line half written.
+ */
+final class ModGuardEvidenceJournal {
+
+    /** Hits waiting beyond this are dropped, so a flooding client can't exhaust memory. */
+    static final int MAX_QUEUED_HITS = 10_000;
+    /** How many archived days a lookup reads before giving up. */
+    static final int MAX_ARCHIVED_DAYS_SCANNED = 30;
+
+    private static final String FILE_PREFIX = "evidence-";
+    private static final String FILE_SUFFIX = ".ndjson";
+    private static final String ARCHIVE_SUFFIX = FILE_SUFFIX + ".gz";
+    private static final Gson GSON = new Gson();
+    private static final int INDEX_CHUNK_BYTES = 64 * 1024;
+
+    /** One detection, stored as one line. */
+    record Hit(String uuid, String name, String session, String brand, String time,
+               String method, String check, String raw, String confidence, String action, boolean punished) {}
+
+    private record LineRef(long offset, int length) {}
+
+    private final Path folder;
+    private final BlockingQueue<Hit> queue = new LinkedBlockingQueue<>(MAX_QUEUED_HITS);
+    private final AtomicBoolean drainScheduled = new AtomicBoolean();
+    private final AtomicLong dropped = new AtomicLong();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "Allium-ModGuard-Journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    // Writer thread only
+    private LocalDate currentDay;
+    private Path currentFile;
+    private FileChannel channel;
+    private final Map<UUID, List<LineRef>> currentOffsets = new HashMap<>();
+
+    ModGuardEvidenceJournal(Path folder) {
+        this.folder = folder;
+        writer.execute(this::open);
+    }
+
+    void append(Hit hit) {
+        if (!queue.offer(hit)) {
+            dropped.incrementAndGet();
+            return;
+        }
+        if (drainScheduled.compareAndSet(false, true)) {
+            try {
+                writer.execute(this::drain);
+            } catch (RejectedExecutionException ignored) {
+                // Shutting down; shutdown() writes what is still queued
+            }
+        }
+    }
+
+    /**
+     * The newest {@code limit} hits of a player, newest first, optionally
+     * only from one session.
+     */
+    CompletableFuture<List<Hit>> lookup(UUID player, String session, int limit) {
+        if (writer.isShutdown()) {
+            return CompletableFuture.failedFuture(new IllegalStateException("Evidence journal is closed"));
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return collect(player, session, limit);
+            } catch (IOException e) {
+                throw new IllegalStateException("Failed to read ModGuard evidence", e);
+            }
+        }, writer);
+    }
+
+    /** Writes what is queued, then closes the current file. */
+    void shutdown() {
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(5, TimeUnit.SECONDS)) {
+                Text.sendDebugLog(WARN, "[ModGuard] Timed out waiting for the evidence journal");
+                writer.shutdownNow();
+                return;
+            }
+        } catch (InterruptedException e) {
+            writer.shutdownNow();
+            Thread.currentThread().interrupt();
+            return;
+        }
+        drain();
+        closeChannel();
+    }
+
+    private void open() {
+        try {
+            Files.createDirectories(folder);
+            String today = fileName(today(), FILE_SUFFIX);
+            try (Stream<Path> files = Files.list(folder)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String name = file.getFileName().toString();
+                    // Days left unrotated by a stop before midnight
+                    if (name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX) && !name.equals(today)) {
+                        archive(file);
+                    }
+                }
+            }
+            openDay(today());
+        } catch (IOException e) {
+            Text.sendDebugLog(WARN, "[ModGuard] Failed to open the evidence journal", e);
+        }
+    }
+
+    private void drain() {
+        drainScheduled.set(false);
+        List<Hit> batch = new ArrayList<>();
+        queue.drainTo(batch);
+        long lost = dropped.getAndSet(0);
+        if (lost > 0) {
+            Text.sendDebugLog(WARN, "[ModGuard] Evidence journal queue was full; dropped " + lost + " hits");
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            write(batch);
+        } catch (IOException e) {
+            Text.sendDebugLog(WARN, "[ModGuard] Failed to write " + batch.size() + " evidence hits", e);
+            closeChannel();
+        }
+    }
+
+    private void write(List<Hit> batch) throws IOException {
+        openDay(today());
+        long position = channel.size();
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(batch.size() * 256);
+        List<LineRef> refs = new ArrayList<>(batch.size());
+        for (Hit hit : batch) {
+            byte[] line = (GSON.toJson(hit) + "\n").getBytes(StandardCharsets.UTF_8);
+            refs.add(new LineRef(position + buffer.size(), line.length));
+            buffer.write(line, 0, line.length);
+        }
+        ByteBuffer bytes = ByteBuffer.wrap(buffer.toByteArray());
+        while (bytes.hasRemaining()) {
+            channel.write(bytes, position + bytes.position());
+        }
+        channel.force(false);
+        for (int i = 0; i < batch.size(); i++) {
+            index(batch.get(i).uuid(), refs.get(i));
+        }
+    }
+
+    /** Makes {@code day} the open file, archiving the previous day if it changed. */
+    private void openDay(LocalDate day) throws IOException {
+        if (channel != null && day.equals(currentDay)) {
+            return;
+        }
+        Path previous = currentFile;
+        boolean rotated = previous != null && !day.equals(currentDay);
+        closeChannel();
+        if (rotated) {
+            archive(previous);
+        }
+
+        Files.createDirectories(folder);
+        currentDay = day;
+        currentFile = folder.resolve(fileName(day, FILE_SUFFIX));
+        currentOffsets.clear();
+        channel = FileChannel.open(currentFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        indexExisting();
+    }
+
+    /**
+     * Rebuilds the offsets of a file that already has lines, after a restart
+     * on the same day. Reads in fixed chunks so a large day file is never held
+     * in memory; only the line being parsed is.
+     */
+    private void indexExisting() throws IOException {
+        long size = channel.size();
+        if (size == 0) {
+            return;
+        }
+        ByteBuffer chunk = ByteBuffer.allocate(INDEX_CHUNK_BYTES);
+        ByteArrayOutputStream line = new ByteArrayOutputStream(256);
+        long position = 0;
+        long lineStart = 0;
+        int read;
+        while ((read = channel.read(chunk, position)) > 0) {
+            byte[] bytes = chunk.array();
+            int from = 0;
+            for (int i = 0; i < read; i++) {
+                if (bytes[i] != '\n') continue;
+                line.write(bytes, from, i - from);
+                long end = position + i;
+                Hit hit = parse(line.toString(StandardCharsets.UTF_8));
+                if (hit != null) {
+                    index(hit.uuid(), new LineRef(lineStart, (int) (end - lineStart + 1)));
+                }
+                line.reset();
+                lineStart = end + 1;
+                from = i + 1;
+            }
+            // A line cut by the chunk boundary continues in the next read
+            line.write(bytes, from, read - from);
+            position += read;
+            chunk.clear();
+        }
+    }
+
+    private void index(String uuid, LineRef ref) {
+        try {
+            currentOffsets.computeIfAbsent(UUID.fromString(uuid), id -> new ArrayList<>()).add(ref);
+        } catch (IllegalArgumentException ignored) {
+            // Not a player line; still readable by scanning the file
+        }
+    }
+
+    private List<Hit> collect(UUID player, String session, int limit) throws IOException {
+        List<Hit> found = new ArrayList<>();
+        if (limit <= 0) {
+            return found;
+        }
+        if (channel != null) {
+            List<LineRef> refs = currentOffsets.getOrDefault(player, Collections.emptyList());
+            for (int i = refs.size() - 1; i >= 0 && found.size() < limit; i--) {
+                LineRef ref = refs.get(i);
+                ByteBuffer line = ByteBuffer.allocate(ref.length());
+                while (line.hasRemaining() && channel.read(line, ref.offset() + line.position()) > 0) {
+                    // read the whole line
+                }
+                Hit hit = parse(new String(line.array(), 0, line.position(), StandardCharsets.UTF_8));
+                if (matches(hit, player, session)) {
+                    found.add(hit);
+                }
+            }
+        }
+        if (found.size() >= limit) {
+            return found;
+        }
+
+        List<Path> archives;
+        try (Stream<Path> files = Files.list(folder)) {
+            archives = files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith(FILE_PREFIX) && name.endsWith(ARCHIVE_SUFFIX);
+                    })
+                    .sorted(Collections.reverseOrder())
+                    .limit(MAX_ARCHIVED_DAYS_SCANNED)
+                    .toList();
+        }
+        for (Path archive : archives) {
+            List<Hit> day = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(Files.newInputStream(archive)), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Hit hit = parse(line);
+                    if (matches(hit, player, session)) {
+                        day.add(hit);
+                    }
+                }
+            }
+            for (int i = day.size() - 1; i >= 0 && found.size() < limit; i--) {
+                found.add(day.get(i));
+            }
+            if (found.size() >= limit) {
+                break;
+            }
+        }
+        return found;
+    }
+
+    private static boolean matches(Hit hit, UUID player, String session) {
+        return hit != null
+                && player.toString().equals(hit.uuid())
+                && (session == null || session.equals(hit.session()));
+    }
+
+    private static Hit parse(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return GSON.fromJson(line, Hit.class);
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    /** Gzips a finished day next to itself and removes the original. */
+    private void archive(Path file) {
+        Path archive = file.resolveSibling(file.getFileName() + ".gz");
+        Path temp = file.resolveSibling(file.getFileName() + ".gz.tmp");
+        try {
+            try (InputStream in = Files.newInputStream(file);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(temp))) {
+                in.transferTo(out);
+            }
+            Files.move(temp, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            Files.delete(file);
+        } catch (IOException e) {
+            Text.sendDebugLog(WARN, "[ModGuard] Failed to compress evidence journal " + file.getFileName(), e);
+        }
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            Text.sendDebugLog(WARN, "[ModGuard] Failed to close evidence journal", e);
+        }
+        channel = null;
+    }
+
+    private static LocalDate today() {
+        return LocalDate.now(ZoneOffset.UTC);
+    }
+
+    private static String fileName(LocalDate day, String suffix) {
+        return FILE_PREFIX + day + suffix;
+    }
+}
@@ -1,6 +1,7 @@
 package codes.castled.allium.managers.security;
 
 import org.bukkit.Bukkit;
+import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
@@ -29,6 +30,8 @@ import java.util.regex.Pattern;
  */
 public class ModGuardManager implements PluginMessageListener, Listener {
 
+    private static final int EVIDENCE_LOOKUP_LIMIT = 20;
+
     private static ModGuardManager instance;
 
     private final PluginStart plugin;
@@ -38,6 +41,7 @@ public class ModGuardManager implements PluginMessageListener, Listener {
     private final Map<UUID, String> playerBrands;
     private final Map<UUID, String> playerLogSessions;
     private final Set<UUID> processedPlayers;
+    private final ModGuardEvidenceJournal evidenceJournal;
 
     public ModGuardManager(PluginStart plugin) {
         instance = this;
@@ -46,6 +50,7 @@ public class ModGuardManager implements PluginMessageListener, Listener {
         this.playerBrands = new HashMap<>();
         this.playerLogSessions = new HashMap<>();
         this.processedPlayers = new HashSet<>();
+        this.evidenceJournal = new ModGuardEvidenceJournal(new File(plugin.getDataFolder(), "modguard/logs").toPath());
 
         plugin.getLogger().info("[ModGuard] === CONSTRUCTOR CALLED ===");
         plugin.getLogger().info("[ModGuard] Plugin instance: " + plugin);
@@ -314,6 +319,7 @@ public class ModGuardManager implements PluginMessageListener, Listener {
             translationProbe = null;
         }
         Bukkit.getMessenger().unregisterIncomingPluginChannel(plugin);
+        evidenceJournal.shutdown();
         playerDetectedMods.clear();
         playerBrands.clear();
         playerLogSessions.clear();
@@ -332,6 +338,31 @@ public class ModGuardManager implements PluginMessageListener, Listener {
         mg.plugin.getLogger().info("[ModGuard] Config reloaded.");
     }
 
+    /**
+     * Sends a player's newest evidence hits to {@code sender}, optionally
+     * only those from one session. Returns false if ModGuard isn't running.
+     */
+    public static boolean sendEvidence(CommandSender sender, UUID playerId, String playerName, String session) {
+        ModGuardManager mg = instance;
+        if (mg == null) return false;
+        mg.evidenceJournal.lookup(playerId, session, EVIDENCE_LOOKUP_LIMIT).whenComplete((hits, error) -> {
+            if (error != null) {
+                sender.sendMessage("§cFailed to read ModGuard evidence: " + error.getMessage());
+                return;
+            }
+            if (hits.isEmpty()) {
+                sender.sendMessage("§7No ModGuard evidence for §f" + playerName + (session != null ? " §7in session §f" + session : "") + "§7.");
+                return;
+            }
+            sender.sendMessage("§eModGuard evidence for §f" + playerName + " §7(newest first):");
+            for (ModGuardEvidenceJournal.Hit hit : hits) {
+                sender.sendMessage("§8" + hit.time() + " §7[" + hit.session() + "] §f" + hit.method() + " §7" + hit.check()
+                        + " §8(" + hit.confidence() + ", " + hit.action() + (hit.punished() ? ", punished" : "") + ") §7" + hit.raw());
+            }
+        });
+        return true;
+    }
+
     @Override
     public void onPluginMessageReceived(String channel, Player player, byte[] data) {
         plugin.getLogger().info("[ModGuard] Plugin message from " + player.getName() + " on channel: " + channel + " (enabled=" + isEnabled() + ")");
@@ -723,55 +754,20 @@ public class ModGuardManager implements PluginMessageListener, Listener {
     }
 
     private void logHit(Player player, String method, String checkId, String raw, String confidence, String action, boolean punished) {
-        try {
-            File logsFolder = new File(plugin.getDataFolder(), "modguard/logs");
-            if (!logsFolder.exists() && !logsFolder.mkdirs()) {
-                plugin.getLogger().warning("[ModGuard] Could not create logs folder.");
-                return;
-            }
-
-            File logFile = new File(logsFolder, player.getUniqueId() + ".yml");
-            YamlConfiguration log = YamlConfiguration.loadConfiguration(logFile);
-            long now = System.currentTimeMillis();
-            if (!log.contains("first-hit")) {
-                log.set("first-hit", now);
-            }
-            log.set("uuid", player.getUniqueId().toString());
-            log.set("last-known-name", player.getName());
-            log.set("last-hit", now);
-
-            String sessionKey = playerLogSessions.computeIfAbsent(player.getUniqueId(), uuid -> Instant.now().toString().replace(":", "-"));
-            String sessionPath = "sessions." + sessionKey;
-            if (!log.contains(sessionPath + ".started")) {
-                log.set(sessionPath + ".started", Instant.now().toString());
-                log.set(sessionPath + ".brand", playerBrands.getOrDefault(player.getUniqueId(), "unknown"));
-            }
-
-            List<Map<String, Object>> hits = new ArrayList<>();
-            for (Object existing : log.getList(sessionPath + ".hits", Collections.emptyList())) {
-                if (existing instanceof Map<?, ?> existingMap) {
-                    Map<String, Object> copy = new LinkedHashMap<>();
-                    for (Map.Entry<?, ?> entry : existingMap.entrySet()) {
-                        copy.put(String.valueOf(entry.getKey()), entry.getValue());
-                    }
-                    hits.add(copy);
-                }
-            }
-
-            Map<String, Object> hit = new LinkedHashMap<>();
-            hit.put("time", Instant.now().toString());
-            hit.put("method", method);
-            hit.put("check", checkId);
-            hit.put("raw", raw);
-            hit.put("confidence", confidence);
-            hit.put("action", action);
-            hit.put("punished", punished);
-            hits.add(hit);
-            log.set(sessionPath + ".hits", hits);
-            log.save(logFile);
-        } catch (IOException e) {
-            plugin.getLogger().warning("[ModGuard] Failed to write evidence log for " + player.getName() + ": " + e.getMessage());
-        }
+        UUID uuid = player.getUniqueId();
+        String sessionKey = playerLogSessions.computeIfAbsent(uuid, id -> Instant.now().toString().replace(":", "-"));
+        evidenceJournal.append(new ModGuardEvidenceJournal.Hit(
+                uuid.toString(),
+                player.getName(),
+                sessionKey,
+                playerBrands.getOrDefault(uuid, "unknown"),
+                Instant.now().toString(),
+                method,
+                checkId,
+                raw,
+                confidence,
+                action,
+                punished));
     }
 
     private void cleanup(Player player) {
@@ -1,34 +1,143 @@
 package codes.castled.allium.managers.warp;
 
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
+import org.bukkit.World;
 import org.bukkit.command.CommandSender;
 import org.bukkit.entity.Player;
 
 import codes.castled.allium.PluginStart;
+import codes.castled.allium.managers.DB.AsyncDatabase;
 import codes.castled.allium.managers.DB.Database;
+import codes.castled.allium.managers.DB.PermissionCache;
 import codes.castled.allium.managers.core.Text;
 import codes.castled.allium.managers.lang.Lang;
+import codes.castled.allium.scheduler.SchedulerAdapter;
+import codes.castled.allium.scheduler.TaskHandle;
+import codes.castled.allium.util.PrefixTrie;
 
 import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
 
 import java.util.*;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Warps, held in memory and written through to the database.
+ *
+ * <p>Every warp is read once at startup. Lookups, listings and tab
+ * completion are answered from memory, with names indexed in a
+ * {@link PrefixTrie}, and per-warp permissions are checked against the
+ * player's {@link PermissionCache} snapshot, so warp menus and completion
+ * never touch JDBC. Setting or deleting a warp writes the database first,
+ * on the database thread, and updates memory only if that worked.
+ *
+ * <p>On a shared MySQL or MariaDB schema other servers change warps too, so
+ * every {@code database.shared-refresh-seconds} the held warps are read again
+ * off the main thread. A warp set elsewhere shows up here within that time.
+ */
 public class WarpManager {
+    private static final String WARP_PERMISSION_PREFIX = "allium.warps.";
+    private static final String OVERWRITE_PERMISSION_PREFIX = "allium.warp.overwrite.";
+
     private final PluginStart plugin;
     private final Database database;
+    private final AsyncDatabase asyncDatabase;
     private final Lang lang;
+    // Warp info by lower-case name, as returned by Database#getWarpInfo
+    private final Map<String, Map<String, Object>> warps = new ConcurrentHashMap<>();
+    // Guarded by itself
+    private final PrefixTrie warpNames = new PrefixTrie();
+    private TaskHandle refreshTask;
 
     public WarpManager(PluginStart plugin) {
         this.plugin = plugin;
         this.database = plugin.getDatabase();
+        this.asyncDatabase = plugin.getAsyncDatabase();
         this.lang = plugin.getLangManager();
+        loadWarps();
+        if (database.getDialect().isShared()) {
+            long refreshTicks = Math.max(5L, plugin.getConfig().getLong("database.shared-refresh-seconds", 30L)) * 20L;
+            refreshTask = SchedulerAdapter.runAsyncRepeating(plugin, this::loadWarps, refreshTicks, refreshTicks);
+        }
+    }
+
+    /** Stops the shared-schema refresh. */
+    public void shutdown() {
+        if (refreshTask != null) {
+            refreshTask.cancel();
+            refreshTask = null;
+        }
+    }
+
+    /**
+     * Reads every warp from the database, replacing what is held. Call after
+     * writing warps to the database directly, e.g. from a migration. If the
+     * read fails what is held stays.
+     */
+    public void loadWarps() {
+        List<Map<String, Object>> all = database.getAllWarps();
+        if (all == null) {
+            Text.sendDebugLog(WARN, "Could not read warps; keeping the " + warps.size() + " already loaded.");
+            return;
+        }
+        Set<String> names = new HashSet<>();
+        for (Map<String, Object> info : all) {
+            Object name = info.get("name");
+            if (name != null) {
+                names.add(((String) name).toLowerCase());
+            }
+        }
+        synchronized (warpNames) {
+            // Readers of the map don't take the lock; never let them see it empty
+            warps.keySet().retainAll(names);
+            warpNames.clear();
+            for (Map<String, Object> info : all) {
+                cache(info);
+            }
+        }
+        PermissionCache permissions = plugin.getPermissionCache();
+        if (permissions != null) {
+            permissions.registerNodes(List.of(WARP_PERMISSION_PREFIX + "*", OVERWRITE_PERMISSION_PREFIX + "*"));
+        }
+        Text.sendDebugLog(INFO, "Loaded " + all.size() + " warps.");
+    }
+
+    private void cache(Map<String, Object> info) {
+        String name = (String) info.get("name");
+        if (name == null) {
+            return;
+        }
+        synchronized (warpNames) {
+            warps.put(name.toLowerCase(), info);
+            warpNames.add(name);
+        }
+        PermissionCache permissions = plugin.getPermissionCache();
+        if (permissions != null) {
+            permissions.registerNodes(List.of(
+                    WARP_PERMISSION_PREFIX + name.toLowerCase(),
+                    OVERWRITE_PERMISSION_PREFIX + name.toLowerCase()));
+        }
     }
 
     /**
-     * Creates or updates a warp
+     * Creates or updates a warp, then tells {@code then} on the creator's thread whether it was saved
      */
-    public boolean setWarp(String warpName, Location location, Player creator) {
-        return database.setWarp(warpName, location, creator.getUniqueId(), creator.getName());
+    public void setWarp(String warpName, Location location, Player creator, Consumer<Boolean> then) {
+        Location at = location.clone();
+        UUID creatorId = creator.getUniqueId();
+        String creatorName = creator.getName();
+        asyncDatabase.supply(creator, db -> {
+            if (!db.setWarp(warpName, at, creatorId, creatorName)) {
+                return false;
+            }
+            // Read back so creator and timestamps match what the row kept
+            Map<String, Object> info = db.getWarpInfo(warpName);
+            if (info != null) {
+                cache(info);
+            }
+            return true;
+        }, then);
     }
 
     public boolean validateWarpName(String warpName) {
@@ -39,57 +148,103 @@ public class WarpManager {
      * Gets a warp location
      */
     public Location getWarp(String warpName) {
-        return database.getWarp(warpName);
+        Map<String, Object> info = warps.get(warpName.toLowerCase());
+        if (info == null) {
+            return null;
+        }
+        String worldName = (String) info.get("world");
+        World world = worldName != null ? Bukkit.getWorld(worldName) : null;
+        if (world == null) {
+            Text.sendDebugLog(WARN, "World '" + worldName + "' for warp '" + warpName + "' does not exist!");
+            return null;
+        }
+        return new Location(
+                world,
+                ((Number) info.get("x")).doubleValue(),
+                ((Number) info.get("y")).doubleValue(),
+                ((Number) info.get("z")).doubleValue(),
+                ((Number) info.get("yaw")).floatValue(),
+                ((Number) info.get("pitch")).floatValue()
+        );
     }
 
     /**
      * Gets warp information
      */
     public Map<String, Object> getWarpInfo(String warpName) {
-        return database.getWarpInfo(warpName);
+        Map<String, Object> info = warps.get(warpName.toLowerCase());
+        return info != null ? new HashMap<>(info) : null;
     }
 
     /**
      * Gets all warp names
      */
     public List<String> getAllWarpNames() {
-        return database.getAllWarpNames();
+        return getWarpNames("");
+    }
+
+    /**
+     * Gets the names of warps starting with a prefix, ignoring case, sorted
+     */
+    public List<String> getWarpNames(String prefix) {
+        synchronized (warpNames) {
+            return warpNames.withPrefix(prefix);
+        }
     }
 
     /**
      * Gets all warp information
      */
     public List<Map<String, Object>> getAllWarps() {
-        return database.getAllWarps();
+        List<Map<String, Object>> all = new ArrayList<>();
+        for (String name : getAllWarpNames()) {
+            Map<String, Object> info = getWarpInfo(name);
+            if (info != null) {
+                all.add(info);
+            }
+        }
+        return all;
     }
 
     /**
      * Checks if a warp exists
      */
     public boolean warpExists(String warpName) {
-        return database.warpExists(warpName);
+        return warps.containsKey(warpName.toLowerCase());
     }
 
     /**
-     * Deletes a warp
+     * Deletes a warp, then tells {@code then} on the sender's thread whether it was deleted
      */
-    public boolean deleteWarp(String warpName) {
-        return database.deleteWarp(warpName);
+    public void deleteWarp(CommandSender sender, String warpName, Consumer<Boolean> then) {
+        asyncDatabase.supply(sender, db -> db.deleteWarp(warpName), deleted -> {
+            if (deleted) {
+                synchronized (warpNames) {
+                    warps.remove(warpName.toLowerCase());
+                    warpNames.remove(warpName);
+                }
+            }
+            then.accept(deleted);
+        });
     }
 
     /**
      * Gets warps that a player has permission to access
      */
     public List<String> getAccessibleWarps(CommandSender sender) {
-        List<String> allWarps = getAllWarpNames();
-        List<String> accessibleWarps = new ArrayList<>();
+        return getAccessibleWarps(sender, "");
+    }
 
-        for (String warpName : allWarps) {
+    /**
+     * Gets warps starting with a prefix that a player has permission to access
+     */
+    public List<String> getAccessibleWarps(CommandSender sender, String prefix) {
+        List<String> accessibleWarps = new ArrayList<>();
+        for (String warpName : getWarpNames(prefix)) {
             if (hasWarpPermission(sender, warpName)) {
                 accessibleWarps.add(warpName);
             }
         }
-
         return accessibleWarps;
     }
 
@@ -98,17 +253,13 @@ public class WarpManager {
      */
     public boolean hasWarpPermission(CommandSender sender, String warpName) {
         // Console always has access
-        if (!(sender instanceof Player)) {
+        if (!(sender instanceof Player player)) {
             return true;
         }
 
-        // Check for wildcard permission
-        if (sender.hasPermission("allium.warps.*")) {
-            return true;
-        }
-
-        // Check for specific warp permission
-        return sender.hasPermission("allium.warps." + warpName.toLowerCase());
+        // Check for wildcard permission, then the specific warp permission
+        return PermissionCache.check(plugin, player, WARP_PERMISSION_PREFIX + "*")
+                || PermissionCache.check(plugin, player, WARP_PERMISSION_PREFIX + warpName.toLowerCase());
     }
 
     /**
@@ -120,13 +271,10 @@ public class WarpManager {
             return true;
         }
 
-        // Check for wildcard overwrite permission
-        if (sender.hasPermission("allium.warp.overwrite.*")) {
-            return true;
-        }
-
-        // Check for specific warp overwrite permission
-        return sender.hasPermission("allium.warp.overwrite." + warpName.toLowerCase());
+        // Check for wildcard overwrite permission, then the specific warp overwrite permission
+        Player player = (Player) sender;
+        return PermissionCache.check(plugin, player, OVERWRITE_PERMISSION_PREFIX + "*")
+                || PermissionCache.check(plugin, player, OVERWRITE_PERMISSION_PREFIX + warpName.toLowerCase());
     }
 
     /**
@@ -297,4 +445,4 @@ public class WarpManager {
 
         return sb.toString();
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
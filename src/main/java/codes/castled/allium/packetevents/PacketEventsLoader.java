@@ -3,6 +3,8 @@ package codes.castled.allium.packetevents;
 import org.bukkit.Bukkit;
 
 import codes.castled.allium.PluginStart;
+import codes.castled.allium.harvest.config.HarvestConfig;
+import codes.castled.allium.harvest.visual.VirtualCropRenderer;
 import codes.castled.allium.managers.chat.ChatMessageManager;
 import codes.castled.allium.managers.core.PartyManager;
 import codes.castled.allium.managers.core.VanishManager;
@@ -110,4 +112,24 @@ public final class PacketEventsLoader {
             return new TabListManagerNoOp();
         }
     }
+
+    /**
+     * Create the packet-only crop renderer used by the harvest module's
+     * PACKET render mode. Returns null when PacketEvents is not available,
+     * in which case crops fall back to real entities.
+     */
+    public static VirtualCropRenderer createVirtualCropRenderer(org.bukkit.plugin.Plugin plugin, HarvestConfig.Visuals settings) {
+        if (!isPacketEventsAvailable()) {
+            return null;
+        }
+        try {
+            Class<?> clazz = Class.forName("codes.castled.allium.packetevents.impl.VirtualCropRendererPacketEventsImpl");
+            return (VirtualCropRenderer) clazz
+                .getConstructor(org.bukkit.plugin.Plugin.class, HarvestConfig.Visuals.class)
+                .newInstance(plugin, settings);
+        } catch (Throwable e) {
+            plugin.getLogger().warning("Failed to load VirtualCropRendererPacketEventsImpl: " + e.getMessage());
+            return null;
+        }
+    }
 }
@@ -1,8 +1,10 @@
 package codes.castled.allium.packetevents;
 
+import net.kyori.adventure.text.Component;
 import org.bukkit.entity.Player;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * Abstraction for tab list management via packet-level updates.
@@ -38,5 +40,14 @@ public interface TabListManager {
 
     void updateTablistAfterPartyEvent(Player player, boolean hideNonParty);
 
+    /**
+     * Pushes tab display names for several players at once, batched per viewer.
+     * Returns false if this implementation cannot, so the caller falls back to
+     * {@link Player#playerListName(Component)}.
+     */
+    default boolean sendDisplayNames(Map<Player, Component> displayNames) {
+        return false;
+    }
+
     void shutdown();
 }
@@ -18,6 +18,8 @@ import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerDi
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSystemChatMessage;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -297,35 +299,13 @@ public class PacketChatTrackerImpl
                 rawHistory = chatMessageManager.getRecentGlobalChatHistory(50);
             }
 
-            // Build a lookup of messageId -> formatted ChatMessage from playerMessages
-            // so we can substitute the properly-formatted component for each entry.
-            java.util.Map<Long, ChatMessageManager.ChatMessage> formattedById =
-                new java.util.HashMap<>();
-            java.util.Map<
-                String,
-                java.util.List<ChatMessageManager.ChatMessage>
-            > formattedBySender = new java.util.HashMap<>();
-            for (java.util.Deque<
-                ChatMessageManager.ChatMessage
-            > q : chatMessageManager.getPlayerMessagesMap().values()) {
-                for (ChatMessageManager.ChatMessage cm : q) {
-                    if (cm.isDeleted()) continue;
-                    formattedById.put(cm.getMessageId(), cm);
-                    formattedBySender
-                        .computeIfAbsent(
-                            cm.getSenderName() != null
-                                ? cm.getSenderName()
-                                : "",
-                            k -> new java.util.ArrayList<>()
-                        )
-                        .add(cm);
-                }
-            }
-
             List<ChatMessageManager.ChatMessage> chatHistory =
                 dedupeResendHistory(rawHistory);
             int maxMessages = 50;
             int startIndex = Math.max(0, chatHistory.size() - maxMessages);
+            // Candidates for findFormattedMessage, gathered once for the whole resend
+            Map<String, List<ChatMessageManager.ChatMessage>> formattedBySender =
+                null;
 
             for (int i = startIndex; i < chatHistory.size(); i++) {
                 ChatMessageManager.ChatMessage message = chatHistory.get(i);
@@ -340,12 +320,12 @@ public class PacketChatTrackerImpl
 
                 if (isPlayerMessage) {
                     // Try to find the formatted version of this message
+                    if (formattedBySender == null) {
+                        formattedBySender =
+                            chatMessageManager.getActiveMessagesBySenderName();
+                    }
                     ChatMessageManager.ChatMessage formatted =
-                        findFormattedMessage(
-                            message,
-                            formattedById,
-                            formattedBySender
-                        );
+                        findFormattedMessage(message, formattedBySender);
                     if (formatted != null) {
                         toSend = formatted.getOriginalMessage();
                     }
@@ -434,8 +414,8 @@ public class PacketChatTrackerImpl
             return false;
         }
 
-        String firstPlain = plain(first.getOriginalMessage()).trim();
-        String secondPlain = plain(second.getOriginalMessage()).trim();
+        String firstPlain = first.getPlainText();
+        String secondPlain = second.getPlainText();
         if (firstPlain.isEmpty() || secondPlain.isEmpty()) {
             return false;
         }
@@ -463,35 +443,33 @@ public class PacketChatTrackerImpl
      * Try to find the FormatChatListener-formatted version of a packet-tracked
      * message. Matches by messageId first, then falls back to sender-name +
      * content proximity (same plain text within a short time window).
+     * {@code bySender} is {@link ChatMessageManager#getActiveMessagesBySenderName()}.
      */
     private ChatMessageManager.ChatMessage findFormattedMessage(
         ChatMessageManager.ChatMessage raw,
-        java.util.Map<Long, ChatMessageManager.ChatMessage> byId,
-        java.util.Map<
-            String,
-            java.util.List<ChatMessageManager.ChatMessage>
-        > bySender
+        Map<String, List<ChatMessageManager.ChatMessage>> bySender
     ) {
         // Direct ID match
-        if (raw.getMessageId() > 0) {
-            ChatMessageManager.ChatMessage exact = byId.get(raw.getMessageId());
-            if (exact != null) return exact;
-        }
+        ChatMessageManager.ChatMessage exact = chatMessageManager.getMessage(
+            raw.getMessageId()
+        );
+        if (exact != null && !exact.isDeleted()) return exact;
 
         // Match by sender name + content proximity
         String senderName = raw.getSenderName();
         if (senderName == null) return null;
-        java.util.List<ChatMessageManager.ChatMessage> candidates =
-            bySender.get(senderName);
+        List<ChatMessageManager.ChatMessage> candidates = bySender.get(
+            senderName.toLowerCase(Locale.ROOT)
+        );
         if (candidates == null || candidates.isEmpty()) return null;
 
-        String rawPlain = plain(raw.getOriginalMessage()).trim();
+        String rawPlain = raw.getPlainText();
         long rawTime = raw.getTimestamp();
 
         ChatMessageManager.ChatMessage best = null;
         long bestDiff = Long.MAX_VALUE;
         for (ChatMessageManager.ChatMessage candidate : candidates) {
-            String candPlain = plain(candidate.getOriginalMessage()).trim();
+            String candPlain = candidate.getPlainText();
             // Content must match (one contains the other)
             if (!rawPlain.isEmpty() && !candPlain.isEmpty()) {
                 if (
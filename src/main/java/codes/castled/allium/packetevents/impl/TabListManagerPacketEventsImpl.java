@@ -11,6 +11,7 @@ import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerPl
 import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerPlayerInfoUpdate;
 
 import codes.castled.allium.PluginStart;
+import codes.castled.allium.managers.DB.PermissionCache;
 import codes.castled.allium.managers.core.Party;
 import codes.castled.allium.managers.core.PartyManager;
 import codes.castled.allium.managers.core.Text;
@@ -35,7 +36,6 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Set;
 import java.util.UUID;
 import java.lang.reflect.Method;
 import java.util.concurrent.ConcurrentHashMap;
@@ -56,11 +56,9 @@ public class TabListManagerPacketEventsImpl extends PacketListenerAbstract imple
     private final boolean tabPluginPresent;
     private final boolean placeholderApiPresent;
     private final Map<String, Long> tabDebugThrottle = new ConcurrentHashMap<>();
-    private final Set<String> animatedTabEntries = ConcurrentHashMap.newKeySet();
     private final File tabGroupsFile;
     private volatile FileConfiguration tabGroupsConfig;
     private volatile long tabGroupsLastModified;
-    private SchedulerAdapter.TaskHandle tabListRefreshTask;
 
     public TabListManagerPacketEventsImpl(PluginStart plugin, PartyManager partyManager, VanishManager vanishManager) {
         super(PacketListenerPriority.LOWEST); // Run FIRST - cancel server's removal before TAB/others process it
@@ -72,7 +70,6 @@ public class TabListManagerPacketEventsImpl extends PacketListenerAbstract imple
         this.placeholderApiPresent = plugin.getServer().getPluginManager().isPluginEnabled("PlaceholderAPI");
         Plugin tabPlugin = plugin.getServer().getPluginManager().getPlugin("TAB");
         this.tabGroupsFile = tabPlugin != null ? new File(tabPlugin.getDataFolder(), "config/groups.yml") : null;
-        this.tabListRefreshTask = SchedulerAdapter.runTimer(this::refreshAnimatedTabEntries, 1L, 1L);
 
         // Brief delay for PacketEvents to be ready
         SchedulerAdapter.runLater(() -> {
@@ -145,7 +142,7 @@ public class TabListManagerPacketEventsImpl extends PacketListenerAbstract imple
             return false;
         }
         if (target.getGameMode() == org.bukkit.GameMode.SPECTATOR
-                && !viewer.hasPermission("allium.gamemode.spectator")) {
+                && !PermissionCache.check(plugin, viewer, "allium.gamemode.spectator")) {
             return true;
         }
         return !partyManager.shouldBeVisible(viewer, target);
@@ -358,7 +355,6 @@ public class TabListManagerPacketEventsImpl extends PacketListenerAbstract imple
                 continue;
             }
             if (respectVisibilityRules && !shouldBeVisibleInTabList(viewer, targetPlayer)) {
-                untrackAnimatedTabEntry(viewer, targetPlayer);
                 continue;
             }
 
@@ -377,11 +373,9 @@ public class TabListManagerPacketEventsImpl extends PacketListenerAbstract imple
                 );
             }
 
+            // Show the current gradient frame right away; later frames arrive with sendDisplayNames
             if (isAnimatedGradientTarget(targetPlayer)) {
-                trackAnimatedTabEntry(viewer, targetPlayer);
                 updateAnimatedTabEntry(viewer, targetPlayer);
-            } else {
-                untrackAnimatedTabEntry(viewer, targetPlayer);
             }
         }
     }
@@ -550,7 +544,7 @@ public class TabListManagerPacketEventsImpl extends PacketListenerAbstract imple
     private boolean isAnimatedGradientTarget(Player target) {
         return target != null
                 && target.isOnline()
-                && target.hasPermission("allium.gradientname")
+                && PermissionCache.check(plugin, target, "allium.gradientname")
                 && plugin.getGradientNameManager() != null;
     }
 
@@ -559,84 +553,82 @@ public class TabListManagerPacketEventsImpl extends PacketListenerAbstract imple
             return null;
         }
         try {
-            String displayName = resolveAnimatedGradientTabText(target);
-            if (displayName == null || displayName.isBlank() || "%gradientdisplayname%".equals(displayName)) {
-                return null;
-            }
-            return Text.colorize(displayName);
+            return plugin.getGradientNameManager().currentTabDisplayName(target);
         } catch (Throwable ignored) {
             return null;
         }
     }
 
-    private String resolveAnimatedGradientTabText(Player target) {
-        return plugin.getGradientNameManager().buildAnimatedTabDisplayName(target);
-    }
-
-    private void trackAnimatedTabEntry(Player viewer, Player target) {
-        animatedTabEntries.add(tabEntryKey(viewer.getUniqueId(), target.getUniqueId()));
-    }
-
-    private void untrackAnimatedTabEntry(Player viewer, Player target) {
-        animatedTabEntries.remove(tabEntryKey(viewer.getUniqueId(), target.getUniqueId()));
-    }
-
-    private String tabEntryKey(UUID viewerId, UUID targetId) {
-        return viewerId + ":" + targetId;
-    }
-
-    private void refreshAnimatedTabEntries() {
-        if (animatedTabEntries.isEmpty()) {
-            return;
-        }
-
-        for (String key : new ArrayList<>(animatedTabEntries)) {
-            String[] parts = key.split(":", 2);
-            if (parts.length != 2) {
-                animatedTabEntries.remove(key);
-                continue;
-            }
-
-            UUID viewerId;
-            UUID targetId;
-            try {
-                viewerId = UUID.fromString(parts[0]);
-                targetId = UUID.fromString(parts[1]);
-            } catch (IllegalArgumentException e) {
-                animatedTabEntries.remove(key);
-                continue;
-            }
-
-            Player viewer = plugin.getServer().getPlayer(viewerId);
-            Player target = plugin.getServer().getPlayer(targetId);
-            if (viewer == null || target == null || !viewer.isOnline() || !target.isOnline()
-                    || !isAnimatedGradientTarget(target)
-                    || !shouldBeVisibleInTabList(viewer, target)) {
-                animatedTabEntries.remove(key);
-                continue;
-            }
-
-            updateAnimatedTabEntry(viewer, target);
-        }
-    }
-
     private void updateAnimatedTabEntry(Player viewer, Player target) {
         Component displayName = resolveAnimatedGradientDisplayName(target);
         if (displayName == null) {
             return;
         }
-
-        WrapperPlayServerPlayerInfoUpdate.PlayerInfo entry = createPlayerInfoEntry(viewer, target);
-        entry.setDisplayName(displayName);
         sendPlayerInfoUpdatePacket(
                 viewer,
                 new WrapperPlayServerPlayerInfoUpdate(
                         WrapperPlayServerPlayerInfoUpdate.Action.UPDATE_DISPLAY_NAME,
-                        entry
+                        displayNameEntry(target, displayName)
                 )
         );
     }
 
+    /**
+     * Sends every viewer one UPDATE_DISPLAY_NAME packet covering all the
+     * targets it has in its tab list, instead of one packet (or one
+     * playerListName broadcast) per target.
+     */
+    @Override
+    public boolean sendDisplayNames(Map<Player, Component> displayNames) {
+        if (displayNames.isEmpty()) {
+            return true;
+        }
+        List<WrapperPlayServerPlayerInfoUpdate.PlayerInfo> all = new ArrayList<>(displayNames.size());
+        for (Map.Entry<Player, Component> entry : displayNames.entrySet()) {
+            all.add(displayNameEntry(entry.getKey(), entry.getValue()));
+        }
+        try {
+            for (Player viewer : plugin.getServer().getOnlinePlayers()) {
+                List<WrapperPlayServerPlayerInfoUpdate.PlayerInfo> entries = all;
+                int index = 0;
+                for (Player target : displayNames.keySet()) {
+                    boolean listed = target.equals(viewer) || viewer.canSee(target)
+                            || shouldBeVisibleInTabList(viewer, target);
+                    if (!listed) {
+                        if (entries == all) {
+                            entries = new ArrayList<>(all.subList(0, index));
+                        }
+                    } else if (entries != all) {
+                        entries.add(all.get(index));
+                    }
+                    index++;
+                }
+                if (entries.isEmpty()) {
+                    continue;
+                }
+                sendPlayerInfoUpdatePacket(
+                        viewer,
+                        new WrapperPlayServerPlayerInfoUpdate(
+                                EnumSet.of(WrapperPlayServerPlayerInfoUpdate.Action.UPDATE_DISPLAY_NAME),
+                                entries
+                        )
+                );
+            }
+            return true;
+        } catch (Throwable t) {
+            Text.sendDebugLog(WARN, "Batched tab display name update failed: " + t.getMessage());
+            return false;
+        }
+    }
+
+    /** A player-info entry carrying only what UPDATE_DISPLAY_NAME reads. */
+    private WrapperPlayServerPlayerInfoUpdate.PlayerInfo displayNameEntry(Player target, Component displayName) {
+        return new WrapperPlayServerPlayerInfoUpdate.PlayerInfo(
+            new UserProfile(target.getUniqueId(), target.getName()), true, 0,
+            convertBukkitGameModeToPacketEvents(target.getGameMode()), displayName, null
+        );
+    }
+
     private FileConfiguration getTabGroupsConfig() {
         if (tabGroupsFile == null || !tabGroupsFile.isFile()) {
             return null;
@@ -851,10 +843,6 @@ public class TabListManagerPacketEventsImpl extends PacketListenerAbstract imple
     @Override
     public void shutdown() {
         try {
-            if (tabListRefreshTask != null) {
-                tabListRefreshTask.cancel();
-                tabListRefreshTask = null;
-            }
             PacketEvents.getAPI().getEventManager().unregisterListener(this);
         } catch (Exception e) {
             Text.sendDebugLog(WARN, "Error unregistering tablist manager listener: " + e.getMessage());
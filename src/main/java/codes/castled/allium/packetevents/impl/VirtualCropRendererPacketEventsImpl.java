@@ -0,0 +1,460 @@
+package codes.castled.allium.packetevents.impl;
+
+import static codes.castled.allium.managers.core.Text.DebugSeverity.*;
+
+import codes.castled.allium.harvest.config.HarvestConfig;
+import codes.castled.allium.harvest.util.BlockPositionKey;
+import codes.castled.allium.harvest.util.PositionIndex;
+import codes.castled.allium.harvest.visual.VirtualCropRenderer;
+import codes.castled.allium.managers.core.Text;
+import codes.castled.allium.scheduler.SchedulerAdapter;
+import codes.castled.allium.scheduler.TaskHandle;
+import com.github.retrooper.packetevents.PacketEvents;
+import com.github.retrooper.packetevents.event.PacketListenerAbstract;
+import com.github.retrooper.packetevents.event.PacketListenerPriority;
+import com.github.retrooper.packetevents.event.PacketReceiveEvent;
+import com.github.retrooper.packetevents.event.PacketSendEvent;
+import com.github.retrooper.packetevents.protocol.entity.data.EntityData;
+import com.github.retrooper.packetevents.protocol.entity.data.EntityDataTypes;
+import com.github.retrooper.packetevents.protocol.entity.type.EntityTypes;
+import com.github.retrooper.packetevents.protocol.packettype.PacketType;
+import com.github.retrooper.packetevents.protocol.player.InteractionHand;
+import com.github.retrooper.packetevents.util.Vector3d;
+import com.github.retrooper.packetevents.util.Vector3f;
+import com.github.retrooper.packetevents.wrapper.PacketWrapper;
+import com.github.retrooper.packetevents.wrapper.play.client.WrapperPlayClientInteractEntity;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerDestroyEntities;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerEntityMetadata;
+import com.github.retrooper.packetevents.wrapper.play.server.WrapperPlayServerSpawnEntity;
+import io.github.retrooper.packetevents.util.SpigotConversionUtil;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.World;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.HandlerList;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerQuitEvent;
+import org.bukkit.plugin.Plugin;
+
+/**
+ * PacketEvents-backed {@link VirtualCropRenderer}. Loaded only when the
+ * PacketEvents plugin is available.
+ *
+ * <p>Every crop gets two entity ids from a range counting down from
+ * {@link Integer#MAX_VALUE}. Server entity ids count up from zero, so the two
+ * never meet. Crops are indexed by world and chunk. Every
+ * {@link #CULL_PERIOD_TICKS} ticks an async pass compares, for each player,
+ * the crops within {@code packet-view-distance} against what that player was
+ * already sent. It spawns the difference and destroys the rest. All sends to
+ * one player happen under that player's monitor, so a crop removed while the
+ * pass runs is never left behind on the client. Player positions are only
+ * read on the player's own scheduler: each pass asks for a fresh one and
+ * works from the one the previous pass got, half a second old at most.
+ *
+ * <p>Clicks arrive as interact packets for the fake hitbox ids. They are
+ * cancelled so the server never sees an unknown entity, range-checked, and
+ * handed to the click handler on the crop's region thread.
+ */
+public final class VirtualCropRendererPacketEventsImpl extends PacketListenerAbstract
+    implements VirtualCropRenderer, Listener {
+
+    private static final long CULL_PERIOD_TICKS = 10L;
+    /** Furthest a click is accepted from, squared; a little over survival reach. */
+    private static final double MAX_CLICK_DISTANCE_SQUARED = 7.0D * 7.0D;
+
+    // Entity metadata indices for 1.20.2+ (display, item display, interaction)
+    private static final int DISPLAY_SCALE = 12;
+    private static final int DISPLAY_BILLBOARD = 15;
+    private static final int DISPLAY_VIEW_RANGE = 17;
+    private static final int DISPLAY_SHADOW_STRENGTH = 19;
+    private static final int ITEM_DISPLAY_ITEM = 23;
+    private static final int ITEM_DISPLAY_TRANSFORM = 24;
+    private static final int INTERACTION_WIDTH = 8;
+    private static final int INTERACTION_HEIGHT = 9;
+    private static final int INTERACTION_RESPONSIVE = 10;
+
+    private static final AtomicInteger NEXT_ENTITY_ID = new AtomicInteger(Integer.MAX_VALUE);
+
+    private static final class VirtualCrop {
+        final UUID instanceId;
+        final UUID worldId;
+        final int x;
+        final int y;
+        final int z;
+        final int displayId = NEXT_ENTITY_ID.getAndDecrement();
+        final int hitboxId = NEXT_ENTITY_ID.getAndDecrement();
+        volatile Appearance appearance;
+        volatile List<EntityData<?>> displayData;
+
+        VirtualCrop(UUID instanceId, BlockPositionKey anchor) {
+            this.instanceId = instanceId;
+            this.worldId = anchor.worldId();
+            this.x = anchor.x();
+            this.y = anchor.y();
+            this.z = anchor.z();
+        }
+
+        long chunkKey() {
+            return PositionIndex.chunkKey(x >> 4, z >> 4);
+        }
+    }
+
+    /** Where a player stood, taken on the player's own scheduler. */
+    private record ViewPoint(UUID worldId, double x, double y, double z) {}
+
+    /** What one player has been sent. Guarded by its own monitor, except {@link #at}. */
+    private static final class Viewer {
+        UUID worldId;
+        final Set<VirtualCrop> visible = new HashSet<>();
+        volatile ViewPoint at;
+    }
+
+    private final Plugin plugin;
+    private final HarvestConfig.Visuals settings;
+    private final int viewDistance;
+    private final List<EntityData<?>> hitboxData;
+    private final Map<UUID, VirtualCrop> crops = new ConcurrentHashMap<>();
+    private final Map<Integer, VirtualCrop> byHitboxId = new ConcurrentHashMap<>();
+    private final PositionIndex<Set<VirtualCrop>> byChunk = new PositionIndex<>();
+    private final Map<UUID, Viewer> viewers = new ConcurrentHashMap<>();
+    private volatile ClickHandler clickHandler;
+    private final TaskHandle cullTask;
+
+    public VirtualCropRendererPacketEventsImpl(Plugin plugin, HarvestConfig.Visuals settings) {
+        super(PacketListenerPriority.NORMAL);
+        this.plugin = plugin;
+        this.settings = settings;
+        this.viewDistance = settings.packetViewDistance();
+        this.hitboxData = List.of(
+            new EntityData<>(INTERACTION_WIDTH, EntityDataTypes.FLOAT, settings.interactionWidth()),
+            new EntityData<>(INTERACTION_HEIGHT, EntityDataTypes.FLOAT, settings.interactionHeight()),
+            // Responsive makes the client swing, so punching a crop feels like breaking a block.
+            new EntityData<>(INTERACTION_RESPONSIVE, EntityDataTypes.BOOLEAN, true));
+        PacketEvents.getAPI().getEventManager().registerListener(this);
+        Bukkit.getPluginManager().registerEvents(this, plugin);
+        this.cullTask = SchedulerAdapter.runAsyncRepeating(plugin, this::cull, CULL_PERIOD_TICKS, CULL_PERIOD_TICKS);
+    }
+
+    // ==================== crops ====================
+
+    @Override
+    public String modelOf(UUID instanceId) {
+        VirtualCrop crop = crops.get(instanceId);
+        Appearance appearance = crop == null ? null : crop.appearance;
+        return appearance == null ? null : appearance.modelRef();
+    }
+
+    @Override
+    public void show(UUID instanceId, BlockPositionKey anchor, Appearance appearance) {
+        VirtualCrop crop = crops.get(instanceId);
+        if (crop == null) {
+            crop = new VirtualCrop(instanceId, anchor);
+            crop.appearance = appearance;
+            crop.displayData = displayData(appearance);
+            crops.put(instanceId, crop);
+            byHitboxId.put(crop.hitboxId, crop);
+            byChunk.computeIfAbsent(crop.worldId, crop.chunkKey(), key -> ConcurrentHashMap.newKeySet()).add(crop);
+            for (Player player : Bukkit.getOnlinePlayers()) {
+                Viewer viewer = viewers.get(player.getUniqueId());
+                // A player without a position yet gets the crop from the next pass
+                if (viewer != null && inRange(viewer.at, crop)) {
+                    synchronized (viewer) {
+                        if (crop.worldId.equals(viewer.worldId) && viewer.visible.add(crop)) {
+                            spawn(player, crop);
+                        }
+                    }
+                }
+            }
+            return;
+        }
+
+        boolean moved = crop.appearance.yOffset() != appearance.yOffset();
+        crop.appearance = appearance;
+        crop.displayData = displayData(appearance);
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            Viewer viewer = viewers.get(player.getUniqueId());
+            if (viewer == null) {
+                continue;
+            }
+            synchronized (viewer) {
+                if (!viewer.visible.contains(crop)) {
+                    continue;
+                }
+                if (moved) {
+                    send(player, new WrapperPlayServerDestroyEntities(crop.displayId));
+                    spawnDisplay(player, crop);
+                } else {
+                    send(player, new WrapperPlayServerEntityMetadata(crop.displayId, crop.displayData));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void hide(UUID instanceId) {
+        VirtualCrop crop = crops.remove(instanceId);
+        if (crop == null) {
+            return;
+        }
+        byHitboxId.remove(crop.hitboxId);
+        Set<VirtualCrop> inChunk = byChunk.get(crop.worldId, crop.chunkKey());
+        if (inChunk != null) {
+            inChunk.remove(crop);
+        }
+        for (Map.Entry<UUID, Viewer> entry : viewers.entrySet()) {
+            Viewer viewer = entry.getValue();
+            synchronized (viewer) {
+                if (!viewer.visible.remove(crop)) {
+                    continue;
+                }
+                Player player = Bukkit.getPlayer(entry.getKey());
+                if (player != null) {
+                    send(player, new WrapperPlayServerDestroyEntities(crop.displayId, crop.hitboxId));
+                }
+            }
+        }
+    }
+
+    @Override
+    public void setClickHandler(ClickHandler handler) {
+        this.clickHandler = handler;
+    }
+
+    @Override
+    public int shownCount() {
+        return crops.size();
+    }
+
+    @Override
+    public void shutdown() {
+        cullTask.cancel();
+        HandlerList.unregisterAll(this);
+        try {
+            PacketEvents.getAPI().getEventManager().unregisterListener(this);
+        } catch (Throwable ignored) {
+            // PacketEvents already disabled
+        }
+        for (Map.Entry<UUID, Viewer> entry : viewers.entrySet()) {
+            Player player = Bukkit.getPlayer(entry.getKey());
+            Viewer viewer = entry.getValue();
+            synchronized (viewer) {
+                if (player != null && !viewer.visible.isEmpty()) {
+                    send(player, new WrapperPlayServerDestroyEntities(entityIds(viewer.visible)));
+                }
+                viewer.visible.clear();
+            }
+        }
+        viewers.clear();
+        crops.clear();
+        byHitboxId.clear();
+        byChunk.clear();
+    }
+
+    // ==================== view culling ====================
+
+    private void cull() {
+        int chunkRadius = (viewDistance >> 4) + 1;
+        for (Player player : Bukkit.getOnlinePlayers()) {
+            try {
+                Viewer viewer = viewer(player);
+                SchedulerAdapter.runEntity(plugin, player, () -> locate(player, viewer), null);
+                ViewPoint at = viewer.at;
+                if (at == null) {
+                    continue;
+                }
+                UUID worldId = at.worldId();
+                Set<VirtualCrop> wanted = new HashSet<>();
+                int centerX = (int) Math.floor(at.x()) >> 4;
+                int centerZ = (int) Math.floor(at.z()) >> 4;
+                for (int dx = -chunkRadius; dx <= chunkRadius; dx++) {
+                    for (int dz = -chunkRadius; dz <= chunkRadius; dz++) {
+                        Set<VirtualCrop> inChunk = byChunk.get(worldId, PositionIndex.chunkKey(centerX + dx, centerZ + dz));
+                        if (inChunk == null) {
+                            continue;
+                        }
+                        for (VirtualCrop crop : inChunk) {
+                            if (inRange(at, crop)) {
+                                wanted.add(crop);
+                            }
+                        }
+                    }
+                }
+
+                synchronized (viewer) {
+                    if (!worldId.equals(viewer.worldId)) {
+                        // Whatever was sent in another world is gone from the client already.
+                        viewer.visible.clear();
+                        viewer.worldId = worldId;
+                    }
+                    List<VirtualCrop> leaving = new ArrayList<>();
+                    for (VirtualCrop crop : viewer.visible) {
+                        if (!wanted.contains(crop)) {
+                            leaving.add(crop);
+                        }
+                    }
+                    if (!leaving.isEmpty()) {
+                        leaving.forEach(viewer.visible::remove);
+                        send(player, new WrapperPlayServerDestroyEntities(entityIds(leaving)));
+                    }
+                    for (VirtualCrop crop : wanted) {
+                        // Skip crops hidden since the chunk was read.
+                        if (crops.get(crop.instanceId) == crop && viewer.visible.add(crop)) {
+                            spawn(player, crop);
+                        }
+                    }
+                }
+            } catch (Throwable t) {
+                Text.sendDebugLog(WARN, "Virtual crop culling failed for " + player.getName() + ": " + t.getMessage());
+            }
+        }
+    }
+
+    /** Player's scheduler: records where the player is for the next pass. */
+    private static void locate(Player player, Viewer viewer) {
+        Location location = player.getLocation();
+        World world = location.getWorld();
+        if (world != null) {
+            viewer.at = new ViewPoint(world.getUID(), location.getX(), location.getY(), location.getZ());
+        }
+    }
+
+    private boolean inRange(ViewPoint at, VirtualCrop crop) {
+        if (at == null || !at.worldId().equals(crop.worldId)) {
+            return false;
+        }
+        double dx = at.x() - (crop.x + 0.5D);
+        double dz = at.z() - (crop.z + 0.5D);
+        return dx * dx + dz * dz <= (double) viewDistance * viewDistance;
+    }
+
+    private Viewer viewer(Player player) {
+        return viewers.computeIfAbsent(player.getUniqueId(), id -> new Viewer());
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent event) {
+        viewers.remove(event.getPlayer().getUniqueId());
+    }
+
+    // ==================== packets ====================
+
+    @Override
+    public void onPacketSend(PacketSendEvent event) {
+        // A respawn or login wipes every entity on the client; the next pass resends.
+        if (event.getPacketType() != PacketType.Play.Server.RESPAWN
+            && event.getPacketType() != PacketType.Play.Server.JOIN_GAME) {
+            return;
+        }
+        UUID playerId = event.getUser() == null ? null : event.getUser().getUUID();
+        Viewer viewer = playerId == null ? null : viewers.get(playerId);
+        if (viewer != null) {
+            synchronized (viewer) {
+                viewer.visible.clear();
+                viewer.worldId = null;
+            }
+        }
+    }
+
+    @Override
+    public void onPacketReceive(PacketReceiveEvent event) {
+        if (event.getPacketType() != PacketType.Play.Client.INTERACT_ENTITY) {
+            return;
+        }
+        WrapperPlayClientInteractEntity packet = new WrapperPlayClientInteractEntity(event);
+        VirtualCrop crop = byHitboxId.get(packet.getEntityId());
+        if (crop == null) {
+            return;
+        }
+        // The server has no such entity; never let the packet through.
+        event.setCancelled(true);
+
+        boolean attack = packet.getAction() == WrapperPlayClientInteractEntity.InteractAction.ATTACK;
+        // A right-click arrives as INTERACT_AT followed by INTERACT, once per hand; act on one of them.
+        if (!attack && (packet.getAction() != WrapperPlayClientInteractEntity.InteractAction.INTERACT
+            || packet.getHand() != InteractionHand.MAIN_HAND)) {
+            return;
+        }
+        Player player = event.getPlayer();
+        ClickHandler handler = clickHandler;
+        World world = Bukkit.getWorld(crop.worldId);
+        if (player == null || handler == null || world == null) {
+            return;
+        }
+        Location cropLocation = new Location(world, crop.x + 0.5D, crop.y, crop.z + 0.5D);
+        // Netty thread: go by the position the last cull pass took on the player's scheduler
+        Viewer viewer = viewers.get(player.getUniqueId());
+        ViewPoint at = viewer == null ? null : viewer.at;
+        if (at == null || !at.worldId().equals(crop.worldId)) {
+            return;
+        }
+        double dx = at.x() - cropLocation.getX();
+        double dy = at.y() - cropLocation.getY();
+        double dz = at.z() - cropLocation.getZ();
+        if (dx * dx + dy * dy + dz * dz > MAX_CLICK_DISTANCE_SQUARED) {
+            return;
+        }
+        SchedulerAdapter.runAtLocation(plugin, cropLocation, () -> {
+            if (player.isOnline() && crops.get(crop.instanceId) == crop) {
+                handler.onClick(player, crop.instanceId, attack);
+            }
+        });
+    }
+
+    // ==================== sending ====================
+
+    /** Caller holds the viewer's monitor. */
+    private void spawn(Player player, VirtualCrop crop) {
+        spawnDisplay(player, crop);
+        if (settings.clickable()) {
+            send(player, new WrapperPlayServerSpawnEntity(crop.hitboxId, Optional.of(UUID.randomUUID()),
+                EntityTypes.INTERACTION, new Vector3d(crop.x + 0.5D, crop.y, crop.z + 0.5D),
+                0.0F, 0.0F, 0.0F, 0, Optional.empty()));
+            send(player, new WrapperPlayServerEntityMetadata(crop.hitboxId, hitboxData));
+        }
+    }
+
+    private void spawnDisplay(Player player, VirtualCrop crop) {
+        double y = crop.y + crop.appearance.yOffset();
+        send(player, new WrapperPlayServerSpawnEntity(crop.displayId, Optional.of(UUID.randomUUID()),
+            EntityTypes.ITEM_DISPLAY, new Vector3d(crop.x + 0.5D, y, crop.z + 0.5D),
+            0.0F, 0.0F, 0.0F, 0, Optional.empty()));
+        send(player, new WrapperPlayServerEntityMetadata(crop.displayId, crop.displayData));
+    }
+
+    private List<EntityData<?>> displayData(Appearance appearance) {
+        float scale = appearance.scale();
+        return List.of(
+            new EntityData<>(DISPLAY_SCALE, EntityDataTypes.VECTOR3F, new Vector3f(scale, scale, scale)),
+            // 0 = FIXED billboard
+            new EntityData<>(DISPLAY_BILLBOARD, EntityDataTypes.BYTE, (byte) 0),
+            new EntityData<>(DISPLAY_VIEW_RANGE, EntityDataTypes.FLOAT, settings.viewRange() / 64.0F),
+            new EntityData<>(DISPLAY_SHADOW_STRENGTH, EntityDataTypes.FLOAT, 0.0F),
+            new EntityData<>(ITEM_DISPLAY_ITEM, EntityDataTypes.ITEMSTACK,
+                SpigotConversionUtil.fromBukkitItemStack(appearance.item())),
+            // Bukkit's ItemDisplayTransform is declared in protocol order
+            new EntityData<>(ITEM_DISPLAY_TRANSFORM, EntityDataTypes.BYTE, (byte) appearance.transform().ordinal()));
+    }
+
+    private static int[] entityIds(Iterable<VirtualCrop> sent) {
+        List<Integer> ids = new ArrayList<>();
+        for (VirtualCrop crop : sent) {
+            ids.add(crop.displayId);
+            ids.add(crop.hitboxId);
+        }
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void send(Player player, PacketWrapper<?> packet) {
+        PacketEvents.getAPI().getPlayerManager().sendPacket(player, packet);
+    }
+}
@@ -0,0 +1,112 @@
+package codes.castled.allium.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Case-insensitive set of names answering "which names start with this",
+ * for tab completion.
+ *
+ * <p>Names are keyed by their lower-case form and returned as they were
+ * added, in case-insensitive alphabetical order. A query walks down to the
+ * prefix and lists only the names under it. Not thread-safe; owners guard
+ * it with their own lock.
+ */
+public final class PrefixTrie {
+
+    private static final class Node {
+        final Map<Character, Node> children = new TreeMap<>();
+        String name;
+    }
+
+    private final Node root = new Node();
+    private int size;
+
+    /** Adds a name, replacing one that differs from it only in case. */
+    public void add(String name) {
+        Node node = root;
+        String key = name.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.computeIfAbsent(key.charAt(i), c -> new Node());
+        }
+        if (node.name == null) {
+            size++;
+        }
+        node.name = name;
+    }
+
+    /** Removes the name equal to {@code name} ignoring case. */
+    public boolean remove(String name) {
+        String key = name.toLowerCase(Locale.ROOT);
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = node.children.get(key.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            path.add(node);
+        }
+        if (node.name == null) {
+            return false;
+        }
+        node.name = null;
+        size--;
+        // Drop the branch back up to the last node still in use
+        for (int i = key.length(); i > 0; i--) {
+            Node current = path.get(i);
+            if (current.name != null || !current.children.isEmpty()) {
+                break;
+            }
+            path.get(i - 1).children.remove(key.charAt(i - 1));
+        }
+        return true;
+    }
+
+    /** The stored form of {@code name} ignoring case, or null. */
+    public String get(String name) {
+        Node node = find(name.toLowerCase(Locale.ROOT));
+        return node != null ? node.name : null;
+    }
+
+    /** Every name starting with {@code prefix} ignoring case, sorted. */
+    public List<String> withPrefix(String prefix) {
+        List<String> names = new ArrayList<>();
+        Node node = find(prefix.toLowerCase(Locale.ROOT));
+        if (node != null) {
+            collect(node, names);
+        }
+        return names;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        root.children.clear();
+        root.name = null;
+        size = 0;
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.children.get(key.charAt(i));
+        }
+        return node;
+    }
+
+    private static void collect(Node node, List<String> names) {
+        if (node.name != null) {
+            names.add(node.name);
+        }
+        for (Node child : node.children.values()) {
+            collect(child, names);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package codes.castled.allium.harvest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import codes.castled.allium.harvest.crop.CropInstance;
+import codes.castled.allium.harvest.crop.CropState;
+import codes.castled.allium.harvest.crop.DueQueue;
+import codes.castled.allium.harvest.util.BlockPositionKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/** Ordering and bookkeeping of the growth engine's due-time index. */
+class DueQueueTest {
+
+    private static final UUID WORLD = UUID.randomUUID();
+
+    private static CropInstance crop(int x, long nextGrowthAt) {
+        return new CropInstance(
+            UUID.randomUUID(), "wheat", "normal", new BlockPositionKey(WORLD, x, 64, 0),
+            0L, null, 0, CropState.GROWING, 0L, nextGrowthAt, 0L, null, null, null);
+    }
+
+    private static List<CropInstance> poll(DueQueue queue, long now, int limit) {
+        return queue.pollDue(now, limit, new ArrayList<>());
+    }
+
+    @Test
+    void onlyDueCropsArePolledEarliestFirst() {
+        DueQueue queue = new DueQueue();
+        CropInstance late = crop(0, 300);
+        CropInstance early = crop(1, 100);
+        CropInstance middle = crop(2, 200);
+        queue.attach(late);
+        queue.attach(early);
+        queue.attach(middle);
+
+        assertEquals(List.of(early, middle), poll(queue, 250, 10));
+        assertEquals(1, queue.size());
+        assertEquals(300, queue.nextDueAt());
+    }
+
+    @Test
+    void pollRespectsTheLimit() {
+        DueQueue queue = new DueQueue();
+        for (int i = 0; i < 100; i++) {
+            queue.attach(crop(i, 1 + i));
+        }
+        assertEquals(10, poll(queue, 1_000, 10).size());
+        assertEquals(90, queue.size());
+    }
+
+    @Test
+    void changingTheDueTimeReordersTheQueue() {
+        DueQueue queue = new DueQueue();
+        CropInstance a = crop(0, 100);
+        CropInstance b = crop(1, 200);
+        queue.attach(a);
+        queue.attach(b);
+
+        a.setNextGrowthAt(500);
+        assertEquals(List.of(b), poll(queue, 250, 10));
+        assertEquals(500, queue.nextDueAt());
+    }
+
+    @Test
+    void polledCropsReturnWhenTheyGetANewDueTime() {
+        DueQueue queue = new DueQueue();
+        CropInstance crop = crop(0, 100);
+        queue.attach(crop);
+
+        assertEquals(List.of(crop), poll(queue, 100, 10));
+        assertEquals(0, queue.size());
+        crop.setNextGrowthAt(400);
+        assertEquals(1, queue.size());
+        assertEquals(400, queue.nextDueAt());
+    }
+
+    @Test
+    void matureAndDetachedCropsLeaveTheQueue() {
+        DueQueue queue = new DueQueue();
+        CropInstance maturing = crop(0, 100);
+        CropInstance removed = crop(1, 100);
+        queue.attach(maturing);
+        queue.attach(removed);
+
+        maturing.setState(CropState.MATURE);
+        queue.detach(removed);
+        removed.setNextGrowthAt(50);
+
+        assertEquals(0, queue.size());
+        assertTrue(poll(queue, Long.MAX_VALUE, 10).isEmpty());
+    }
+
+    @Test
+    void heapStaysOrderedUnderRandomReschedules() {
+        DueQueue queue = new DueQueue();
+        List<CropInstance> crops = new ArrayList<>();
+        java.util.Random random = new java.util.Random(42);
+        for (int i = 0; i < 500; i++) {
+            CropInstance crop = crop(i, 1 + random.nextInt(10_000));
+            crops.add(crop);
+            queue.attach(crop);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            crops.get(random.nextInt(crops.size())).setNextGrowthAt(1 + random.nextInt(10_000));
+        }
+        List<CropInstance> polled = poll(queue, Long.MAX_VALUE, Integer.MAX_VALUE);
+        assertEquals(crops.size(), polled.size());
+        for (int i = 1; i < polled.size(); i++) {
+            assertTrue(polled.get(i - 1).nextGrowthAt() <= polled.get(i).nextGrowthAt());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package codes.castled.allium.harvest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import codes.castled.allium.harvest.util.LongKeyedMap;
+import codes.castled.allium.harvest.util.PositionIndex;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/** Key packing and bookkeeping of the primitive position index. */
+class PositionIndexTest {
+
+    @Test
+    void blockKeysAreDistinctAcrossSignsAndHeights() {
+        long a = PositionIndex.blockKey(-1, -64, 0);
+        long b = PositionIndex.blockKey(0, -64, -1);
+        long c = PositionIndex.blockKey(-1, 319, 0);
+        long d = PositionIndex.blockKey(29_999_999, 0, -29_999_999);
+        long e = PositionIndex.blockKey(-29_999_999, 0, 29_999_999);
+        assertEquals(5, Set.of(a, b, c, d, e).size());
+    }
+
+    @Test
+    void chunkKeysRoundTrip() {
+        long key = PositionIndex.chunkKey(-1875000, 1874999);
+        assertEquals(-1875000, PositionIndex.chunkX(key));
+        assertEquals(1874999, PositionIndex.chunkZ(key));
+    }
+
+    @Test
+    void mapAgreesWithHashMapUnderRandomChurn() {
+        LongKeyedMap<Integer> map = new LongKeyedMap<>();
+        Map<Long, Integer> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 50_000; i++) {
+            // A narrow key range forces long probe clusters and many deletions inside them.
+            long key = random.nextInt(2_000) - 1_000;
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), map.remove(key));
+            } else {
+                assertEquals(reference.put(key, i), map.put(key, i));
+            }
+        }
+        assertEquals(reference.size(), map.size());
+        for (Map.Entry<Long, Integer> entry : reference.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        int[] visited = {0};
+        map.forEach((key, value) -> {
+            assertEquals(reference.get(key), value);
+            visited[0]++;
+        });
+        assertEquals(reference.size(), visited[0]);
+    }
+
+    @Test
+    void conditionalRemoveOnlyDropsTheMatchingValue() {
+        UUID world = UUID.randomUUID();
+        PositionIndex<String> index = new PositionIndex<>();
+        long key = PositionIndex.blockKey(4, 70, 4);
+        index.put(world, key, "new");
+
+        assertFalse(index.remove(world, key, "old"));
+        assertEquals("new", index.get(world, key));
+        assertTrue(index.remove(world, key, "new"));
+        assertNull(index.get(world, key));
+    }
+
+    @Test
+    void worldsAreKeptApart() {
+        UUID overworld = UUID.randomUUID();
+        UUID nether = UUID.randomUUID();
+        PositionIndex<String> index = new PositionIndex<>();
+        long key = PositionIndex.blockKey(0, 64, 0);
+        index.put(overworld, key, "overworld");
+        index.put(nether, key, "nether");
+
+        assertEquals(2, index.size());
+        assertEquals(List.of("nether"), index.removeWorld(nether));
+        assertEquals("overworld", index.get(overworld, key));
+        assertNull(index.get(nether, key));
+        assertEquals(0, index.size(nether));
+    }
+}
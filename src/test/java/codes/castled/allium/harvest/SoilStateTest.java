@@ -6,6 +6,7 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import codes.castled.allium.harvest.soil.SoilState;
+import codes.castled.allium.harvest.sprinkler.ChunkCoverage;
 import codes.castled.allium.harvest.sprinkler.SprinklerDefinition;
 import codes.castled.allium.harvest.item.ItemRef;
 import codes.castled.allium.harvest.util.BlockPositionKey;
@@ -123,4 +124,30 @@ class SoilStateTest {
         assertEquals(1.0D, normalised.speedMultiplier(), 1e-9,
             "a non-positive multiplier means unmodified growth, not instant crops");
     }
+
+    @Test
+    void coverageGridStacksOverlappingSprinklers() {
+        ChunkCoverage grid = new ChunkCoverage(0, 0);
+        grid.stamp(4, 4, sprinkler(1, 0.5D));
+        grid.stamp(6, 4, sprinkler(1, 0.5D));
+        assertEquals(0.5D, grid.speedAt(3, 3), 1e-9);
+        assertEquals(0.25D, grid.speedAt(5, 4), 1e-9, "both sprinklers reach x=5");
+        assertEquals(1.0D, grid.speedAt(8, 4), 1e-9);
+        assertTrue(grid.wateredAt(7, 5));
+        assertFalse(grid.wateredAt(8, 5));
+    }
+
+    @Test
+    void coverageGridIsClippedToItsChunk() {
+        // A sprinkler at the east edge of chunk 0 reaches into chunk 1.
+        ChunkCoverage east = new ChunkCoverage(1, 0);
+        east.stamp(15, 8, sprinkler(2, 0.8D));
+        assertFalse(east.isEmpty());
+        assertEquals(0.8D, east.speedAt(17, 8), 1e-9);
+        assertEquals(1.0D, east.speedAt(18, 8), 1e-9);
+
+        ChunkCoverage far = new ChunkCoverage(3, 0);
+        far.stamp(15, 8, sprinkler(2, 0.8D));
+        assertTrue(far.isEmpty());
+    }
 }
@@ -0,0 +1,40 @@
+package codes.castled.allium.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.Test;
+
+/** Sections must round-trip and identical contents must share a blob key. */
+class SnapshotSectionCodecTest {
+
+    @Test
+    void roundTripsSlotsAndEmptySlots() throws Exception {
+        byte[][] slots = {bytes("sword"), null, new byte[0], bytes("x".repeat(5000))};
+        byte[][] unpacked = SnapshotSectionCodec.unpack(SnapshotSectionCodec.pack(slots));
+
+        assertEquals(slots.length, unpacked.length);
+        assertArrayEquals(slots[0], unpacked[0]);
+        assertNull(unpacked[1]);
+        assertArrayEquals(slots[2], unpacked[2]);
+        assertArrayEquals(slots[3], unpacked[3]);
+    }
+
+    @Test
+    void identicalContentsHashTheSame() {
+        byte[] first = SnapshotSectionCodec.pack(new byte[][] {bytes("apple"), null});
+        byte[] second = SnapshotSectionCodec.pack(new byte[][] {bytes("apple"), null});
+        byte[] moved = SnapshotSectionCodec.pack(new byte[][] {null, bytes("apple")});
+
+        assertEquals(64, SnapshotSectionCodec.hash(first).length());
+        assertEquals(SnapshotSectionCodec.hash(first), SnapshotSectionCodec.hash(second));
+        assertNotEquals(SnapshotSectionCodec.hash(first), SnapshotSectionCodec.hash(moved));
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,58 @@
+package codes.castled.allium.managers.DB;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import org.junit.jupiter.api.Test;
+
+/** Dialect SQL must run on H2 in MySQL mode, the stand-in for a shared server. */
+class DatabaseDialectTest {
+
+    @Test
+    void parsesTypesAndFallsBackToH2() {
+        assertEquals(DatabaseDialect.MARIADB, DatabaseDialect.parse("mariadb"));
+        assertEquals(DatabaseDialect.MYSQL, DatabaseDialect.parse(" MySQL "));
+        assertEquals(DatabaseDialect.H2, DatabaseDialect.parse("sqlite"));
+        assertEquals(DatabaseDialect.H2, DatabaseDialect.parse(null));
+    }
+
+    @Test
+    void mysqlDdlLeavesOutIfNotExists() {
+        assertEquals("ALTER TABLE t ADD COLUMN c INT", DatabaseDialect.MYSQL.addColumn("t", "c INT"));
+        assertEquals("CREATE INDEX idx_c ON t (c)", DatabaseDialect.MYSQL.createIndex("idx_c", "t", "c"));
+        assertEquals("`key`", DatabaseDialect.MYSQL.quote("key"));
+    }
+
+    @Test
+    void h2RunsRepeatedDdlAndQuotedUpserts() throws SQLException {
+        DatabaseDialect dialect = DatabaseDialect.H2;
+        String key = dialect.quote("key");
+        String value = dialect.quote("value");
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:mem:dialect;MODE=MySQL");
+             Statement statement = connection.createStatement()) {
+            statement.executeUpdate("CREATE TABLE server_data (" + key + " VARCHAR(255) PRIMARY KEY, " + value + " TEXT)");
+            for (int i = 0; i < 2; i++) {
+                statement.executeUpdate(dialect.addColumn("server_data", "updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP"));
+                statement.executeUpdate(dialect.createIndex("idx_server_data_updated", "server_data", "updated_at"));
+            }
+
+            String upsert = "INSERT INTO server_data (" + key + ", " + value + ", updated_at) VALUES ('motd', '%s', "
+                + dialect.daysAgo(2) + ") ON DUPLICATE KEY UPDATE " + value + " = VALUES(" + value + ")";
+            statement.executeUpdate(upsert.formatted("first"));
+            statement.executeUpdate(upsert.formatted("second"));
+
+            try (ResultSet rs = statement.executeQuery("SELECT " + value + ", updated_at < " + dialect.daysAgo(1)
+                    + " FROM server_data WHERE " + key + " = 'motd'")) {
+                assertTrue(rs.next());
+                assertEquals("second", rs.getString(1));
+                assertTrue(rs.getBoolean(2));
+            }
+            assertEquals("SERVER_DATA", dialect.metadataName("server_data"));
+        }
+    }
+}
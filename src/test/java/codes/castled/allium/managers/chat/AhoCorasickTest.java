@@ -0,0 +1,65 @@
+package codes.castled.allium.managers.chat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+/** The automaton must find exactly what {@link String#contains} finds. */
+class AhoCorasickTest {
+
+    @Test
+    void reportsOverlappingAndNestedPatterns() {
+        AhoCorasick automaton = AhoCorasick.build(List.of("he", "she", "his", "hers", ""));
+        List<Integer> hits = new ArrayList<>();
+        automaton.scan("ushers", hits::add);
+        // "she" and "he" both end at index 3, then "hers" at 5
+        assertEquals(List.of(1, 0, 3), hits);
+    }
+
+    @Test
+    void emptyAutomatonMatchesNothing() {
+        AhoCorasick automaton = AhoCorasick.build(List.of());
+        List<Integer> hits = new ArrayList<>();
+        automaton.scan("anything", hits::add);
+        assertTrue(automaton.isEmpty());
+        assertTrue(hits.isEmpty());
+    }
+
+    @Test
+    void agreesWithContainsOnRandomText() {
+        Random random = new Random(7);
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            patterns.add(randomWord(random, 1 + random.nextInt(4)));
+        }
+        AhoCorasick automaton = AhoCorasick.build(patterns);
+
+        for (int round = 0; round < 500; round++) {
+            String text = randomWord(random, random.nextInt(40));
+            Set<Integer> expected = new TreeSet<>();
+            for (int id = 0; id < patterns.size(); id++) {
+                if (text.contains(patterns.get(id))) {
+                    expected.add(id);
+                }
+            }
+            Set<Integer> actual = new TreeSet<>();
+            automaton.scan(text, actual::add);
+            assertEquals(expected, actual, text);
+        }
+    }
+
+    private static String randomWord(Random random, int length) {
+        // A small alphabet makes shared prefixes and failure transitions common.
+        StringBuilder word = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            word.append("abcd'".charAt(random.nextInt(5)));
+        }
+        return word.toString();
+    }
+}
@@ -0,0 +1,41 @@
+package codes.castled.allium.managers.chat;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import net.kyori.adventure.text.Component;
+import org.junit.jupiter.api.Test;
+
+/** A message stays deletable by id for as long as its sender's history holds it. */
+class ChatMessageManagerTest {
+
+    @Test
+    void keepsSenderMessagesAddressableUnderPacketCopies() {
+        ChatMessageManager manager = new ChatMessageManager();
+        UUID sender = UUID.randomUUID();
+        UUID system = new UUID(0, 0);
+
+        long id = manager.storeMessage(sender, "Alice", Component.text("hello there"));
+        // One packet copy per recipient, far more than one line's worth
+        for (int i = 0; i < 10_000; i++) {
+            manager.trackMessageForPlayer(UUID.randomUUID(),
+                    manager.storeMessageObject(system, "SYSTEM", Component.text("Alice: hello there")));
+        }
+
+        assertNotNull(manager.getMessage(id));
+        assertTrue(manager.deleteMessage(id));
+        assertTrue(manager.getMessage(id).isDeleted());
+        assertTrue(manager.getActiveMessages(sender).isEmpty());
+        // The packet copies of the same line are deleted with it
+        assertTrue(manager.getActiveMessages(system).isEmpty());
+
+        for (int i = 0; i < 100; i++) {
+            manager.storeMessage(sender, "Alice", Component.text("line " + i));
+        }
+        assertNull(manager.getMessage(id));
+        assertFalse(manager.deleteMessage(id));
+    }
+}
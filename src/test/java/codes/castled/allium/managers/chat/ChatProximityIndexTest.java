@@ -0,0 +1,77 @@
+package codes.castled.allium.managers.chat;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/** The index must find exactly the players a brute-force distance check finds, after any moves. */
+class ChatProximityIndexTest {
+
+    @Test
+    void separatesWorldsAndForgetsRemovedPlayers() {
+        UUID overworld = UUID.randomUUID();
+        UUID nether = UUID.randomUUID();
+        UUID self = UUID.randomUUID();
+        UUID near = UUID.randomUUID();
+        UUID otherWorld = UUID.randomUUID();
+        UUID gone = UUID.randomUUID();
+        ChatProximityIndex index = new ChatProximityIndex();
+        index.update(self, overworld, 0, 64, 0);
+        index.update(near, overworld, 30, 64, 30);
+        index.update(otherWorld, nether, 0, 64, 0);
+        index.update(gone, overworld, 1, 64, 1);
+        index.remove(gone);
+
+        Set<UUID> found = new HashSet<>();
+        index.forEachNear(self, 100, found::add);
+        assertEquals(Set.of(self, near), found);
+        assertFalse(index.forEachNear(gone, 100, found::add));
+    }
+
+    @Test
+    void agreesWithBruteForceAfterMoves() {
+        Random random = new Random(13);
+        UUID world = UUID.randomUUID();
+        UUID otherWorld = UUID.randomUUID();
+        int count = 300;
+        UUID[] players = new UUID[count];
+        double[][] positions = new double[count][3];
+        boolean[] elsewhere = new boolean[count];
+        ChatProximityIndex index = new ChatProximityIndex();
+        for (int i = 0; i < count; i++) {
+            players[i] = UUID.randomUUID();
+        }
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < count; i++) {
+                positions[i][0] = random.nextDouble() * 800 - 400;
+                positions[i][1] = random.nextDouble() * 100;
+                positions[i][2] = random.nextDouble() * 800 - 400;
+                elsewhere[i] = i > 0 && random.nextInt(10) == 0;
+                index.update(players[i], elsewhere[i] ? otherWorld : world, positions[i][0], positions[i][1], positions[i][2]);
+            }
+            // 5000 covers more chunks than are occupied, exercising the full scan
+            for (int radius : new int[] {1, 16, 33, 100, 5000}) {
+                for (int self = 0; self < count; self += 7) {
+                    Set<UUID> expected = new HashSet<>();
+                    for (int other = 0; other < count; other++) {
+                        if (elsewhere[other] != elsewhere[self]) continue;
+                        double dx = positions[other][0] - positions[self][0];
+                        double dy = positions[other][1] - positions[self][1];
+                        double dz = positions[other][2] - positions[self][2];
+                        if (Math.sqrt(dx * dx + dy * dy + dz * dz) <= radius) {
+                            expected.add(players[other]);
+                        }
+                    }
+                    Set<UUID> found = new HashSet<>();
+                    index.forEachNear(players[self], radius, found::add);
+                    assertEquals(expected, found, "round " + round + " radius " + radius + " player " + self);
+                }
+            }
+        }
+    }
+}
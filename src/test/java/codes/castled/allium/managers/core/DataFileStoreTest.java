@@ -0,0 +1,43 @@
+package codes.castled.allium.managers.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+/** A burst of changes must end up as one write of the latest contents. */
+class DataFileStoreTest {
+
+    @Test
+    void foldsChangesIntoOneWriteOfTheLatestContents() throws Exception {
+        Path folder = Files.createTempDirectory("data-file-store");
+        File file = folder.resolve("nested/data.yml").toFile();
+        AtomicInteger renders = new AtomicInteger();
+        DataFileStore store = new DataFileStore();
+        for (int i = 0; i < 50; i++) {
+            String contents = "value: " + i + "\n";
+            store.markDirty(file, () -> {
+                renders.incrementAndGet();
+                return contents;
+            });
+        }
+        store.shutdown();
+
+        assertEquals(1, renders.get());
+        assertEquals("value: 49\n", Files.readString(file.toPath(), StandardCharsets.UTF_8));
+        assertFalse(Files.exists(folder.resolve("nested/data.yml.tmp")));
+    }
+
+    @Test
+    void replacesExistingFiles() throws Exception {
+        Path file = Files.createTempDirectory("data-file-store").resolve("data.yml");
+        Files.writeString(file, "old contents that are longer than the new ones\n");
+        DataFileStore.writeAtomically(file, "new\n");
+        assertEquals("new\n", Files.readString(file));
+    }
+}
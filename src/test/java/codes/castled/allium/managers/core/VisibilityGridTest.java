@@ -0,0 +1,61 @@
+package codes.castled.allium.managers.core;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/** The grid must find exactly the players a brute-force distance check finds. */
+class VisibilityGridTest {
+
+    @Test
+    void separatesWorldsAndExcludesSelf() {
+        UUID overworld = UUID.randomUUID();
+        UUID nether = UUID.randomUUID();
+        VisibilityGrid grid = new VisibilityGrid(48);
+        grid.add(0, overworld, 0, 64, 0);
+        grid.add(1, overworld, 30, 64, 30);
+        grid.add(2, nether, 0, 64, 0);
+        grid.add(3, overworld, 0, 64, 49);
+
+        BitSet found = new BitSet();
+        grid.collectInRange(overworld, 0, 64, 0, 0, found);
+        BitSet expected = new BitSet();
+        expected.set(1);
+        assertEquals(expected, found);
+    }
+
+    @Test
+    void agreesWithBruteForceAcrossCellEdges() {
+        Random random = new Random(13);
+        UUID world = UUID.randomUUID();
+        for (int radius : new int[] {1, 16, 33, 48, 100}) {
+            int count = 400;
+            double[][] positions = new double[count][3];
+            VisibilityGrid grid = new VisibilityGrid(radius);
+            for (int slot = 0; slot < count; slot++) {
+                positions[slot][0] = random.nextDouble() * 600 - 300;
+                positions[slot][1] = random.nextDouble() * 100;
+                positions[slot][2] = random.nextDouble() * 600 - 300;
+                grid.add(slot, world, positions[slot][0], positions[slot][1], positions[slot][2]);
+            }
+            for (int self = 0; self < count; self++) {
+                BitSet expected = new BitSet();
+                for (int other = 0; other < count; other++) {
+                    if (other == self) continue;
+                    double dx = positions[other][0] - positions[self][0];
+                    double dy = positions[other][1] - positions[self][1];
+                    double dz = positions[other][2] - positions[self][2];
+                    if (Math.sqrt(dx * dx + dy * dy + dz * dz) <= radius) {
+                        expected.set(other);
+                    }
+                }
+                BitSet found = new BitSet();
+                grid.collectInRange(world, positions[self][0], positions[self][1], positions[self][2], self, found);
+                assertEquals(expected, found, "radius " + radius + " slot " + self);
+            }
+        }
+    }
+}
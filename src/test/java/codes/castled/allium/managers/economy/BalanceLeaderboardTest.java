@@ -0,0 +1,106 @@
+package codes.castled.allium.managers.economy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/** Ordering, ranks and paging of the in-memory baltop. */
+class BalanceLeaderboardTest {
+
+    private static BalanceEntry entry(UUID uuid, String balance) {
+        return new BalanceEntry(uuid, null, new BigDecimal(balance));
+    }
+
+    private static List<UUID> uuids(List<BalanceEntry> entries) {
+        List<UUID> ids = new ArrayList<>();
+        entries.forEach(e -> ids.add(e.getPlayerUUID()));
+        return ids;
+    }
+
+    @Test
+    void updatesMovePlayersAndRanksFollow() {
+        UUID a = UUID.randomUUID();
+        UUID b = UUID.randomUUID();
+        UUID c = UUID.randomUUID();
+        BalanceLeaderboard board = new BalanceLeaderboard();
+        board.load(List.of(entry(a, "10.00"), entry(b, "30.00"), entry(c, "20.00")));
+
+        assertEquals(List.of(b, c, a), uuids(board.page(0, 10)));
+        assertEquals(3, board.rankOf(a));
+
+        board.adjust(a, new BigDecimal("25.00"));
+        board.set(b, new BigDecimal("5.00"));
+
+        assertEquals(List.of(a, c, b), uuids(board.page(0, 10)));
+        assertEquals(1, board.rankOf(a));
+        assertEquals(3, board.rankOf(b));
+        assertEquals(new BigDecimal("35.00"), board.page(0, 1).get(0).getBalance());
+    }
+
+    @Test
+    void loadKeepsChangesMadeWhileItRan() {
+        UUID setMeanwhile = UUID.randomUUID();
+        UUID adjustedMeanwhile = UUID.randomUUID();
+        UUID untouched = UUID.randomUUID();
+        BalanceLeaderboard board = new BalanceLeaderboard();
+        board.set(setMeanwhile, new BigDecimal("50.00"));
+        board.adjust(adjustedMeanwhile, BigDecimal.TEN);
+
+        Set<UUID> missed = board.load(List.of(entry(setMeanwhile, "1.00"),
+                entry(adjustedMeanwhile, "2.00"), entry(untouched, "3.00")));
+
+        assertEquals(Set.of(adjustedMeanwhile), missed);
+        assertEquals(List.of(setMeanwhile, untouched, adjustedMeanwhile), uuids(board.page(0, 10)));
+        assertEquals(new BigDecimal("50.00"), board.page(0, 1).get(0).getBalance());
+    }
+
+    @Test
+    void unknownPlayersAreUnrankedAndAdjustIsSkipped() {
+        UUID stranger = UUID.randomUUID();
+        BalanceLeaderboard board = new BalanceLeaderboard();
+        board.adjust(stranger, BigDecimal.TEN);
+
+        assertEquals(0, board.rankOf(stranger));
+        assertEquals(0, board.size());
+    }
+
+    @Test
+    void pagesAndRanksMatchAFullSort() {
+        Random random = new Random(7);
+        BalanceLeaderboard board = new BalanceLeaderboard();
+        Map<UUID, BigDecimal> reference = new HashMap<>();
+        List<UUID> players = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            players.add(UUID.randomUUID());
+        }
+        for (int i = 0; i < 5_000; i++) {
+            UUID player = players.get(random.nextInt(players.size()));
+            // Few distinct values, so ties and their UUID tiebreak get exercised.
+            BigDecimal balance = BigDecimal.valueOf(random.nextInt(50));
+            board.set(player, balance);
+            reference.put(player, balance);
+        }
+        List<UUID> sorted = new ArrayList<>(reference.keySet());
+        sorted.sort(Comparator.comparing((UUID id) -> reference.get(id)).reversed()
+            .thenComparing(Comparator.naturalOrder()));
+
+        assertEquals(sorted.size(), board.size());
+        for (int offset = 0; offset < sorted.size(); offset += 37) {
+            int end = Math.min(offset + 10, sorted.size());
+            assertEquals(sorted.subList(offset, end), uuids(board.page(offset, 10)));
+        }
+        for (int i = 0; i < sorted.size(); i++) {
+            assertEquals(i + 1, board.rankOf(sorted.get(i)));
+        }
+        assertEquals(List.of(), board.page(sorted.size(), 10));
+    }
+}
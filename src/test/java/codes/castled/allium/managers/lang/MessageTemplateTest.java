@@ -0,0 +1,42 @@
+package codes.castled.allium.managers.lang;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import org.junit.jupiter.api.Test;
+
+/** Filling a compiled line must give what replacing each placeholder in the raw line gave. */
+class MessageTemplateTest {
+
+    @Test
+    void splitsSlotsOnce() {
+        MessageTemplate template = MessageTemplate.compile("§a{player} paid §e{amount}§a to {player}", UnaryOperator.identity());
+        assertEquals(List.of("player", "amount", "player"), template.slots());
+        assertEquals("§aSteve paid §e$5§a to Steve", template.fill(Map.of("player", "Steve", "amount", "$5")));
+    }
+
+    @Test
+    void leavesUnknownAndUnclosedBracesAlone() {
+        MessageTemplate template = MessageTemplate.compile("{a {b} {missing} {open", UnaryOperator.identity());
+        assertEquals(List.of("b", "missing"), template.slots());
+        assertEquals("{a 1 {missing} {open", template.fill(Map.of("b", 1)));
+    }
+
+    @Test
+    void matchesStringReplace() {
+        String line = "§7[{world}] {player}: {message} ({player})";
+        Map<String, Object> values = new HashMap<>();
+        values.put("player", "Alex");
+        values.put("message", "hi & <bold>");
+        values.put("world", null);
+
+        String replaced = line;
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+            replaced = replaced.replace("{" + entry.getKey() + "}", String.valueOf(entry.getValue()));
+        }
+        assertEquals(replaced, MessageTemplate.compile(line, UnaryOperator.identity()).fill(values));
+    }
+}
@@ -0,0 +1,89 @@
+package codes.castled.allium.managers.security;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+/** Lookups must return a player's hits newest first, across restarts and archived days. */
+class ModGuardEvidenceJournalTest {
+
+    private static ModGuardEvidenceJournal.Hit hit(UUID player, String session, String check) {
+        return new ModGuardEvidenceJournal.Hit(player.toString(), "name", session, "vanilla", "t",
+                "translation-probe", check, "raw", "translation-only", "alert", false);
+    }
+
+    private static List<String> checks(List<ModGuardEvidenceJournal.Hit> hits) {
+        return hits.stream().map(ModGuardEvidenceJournal.Hit::check).toList();
+    }
+
+    @Test
+    void findsHitsAfterRestartAndInArchives() throws Exception {
+        Path folder = Files.createTempDirectory("modguard-journal");
+        UUID player = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        // A day left behind by an earlier run, written in the same format
+        ModGuardEvidenceJournal seed = new ModGuardEvidenceJournal(folder);
+        seed.append(hit(player, "s0", "old"));
+        seed.shutdown();
+        try (var files = Files.list(folder)) {
+            Path today = files.filter(file -> file.toString().endsWith(".ndjson")).findFirst().orElseThrow();
+            Files.move(today, folder.resolve("evidence-2000-01-01.ndjson"));
+        }
+
+        ModGuardEvidenceJournal journal = new ModGuardEvidenceJournal(folder);
+        journal.append(hit(player, "s1", "a"));
+        journal.append(hit(other, "s1", "x"));
+        journal.append(hit(player, "s2", "b"));
+        assertEquals(List.of("b", "a", "old"), checks(journal.lookup(player, null, 10).get()));
+        assertEquals(List.of("a"), checks(journal.lookup(player, "s1", 10).get()));
+        assertEquals(List.of("b"), checks(journal.lookup(player, null, 1).get()));
+        journal.shutdown();
+
+        assertTrue(Files.exists(folder.resolve("evidence-2000-01-01.ndjson.gz")));
+        assertFalse(Files.exists(folder.resolve("evidence-2000-01-01.ndjson")));
+
+        ModGuardEvidenceJournal reopened = new ModGuardEvidenceJournal(folder);
+        reopened.append(hit(player, "s3", "c"));
+        assertEquals(List.of("c", "b", "a", "old"), checks(reopened.lookup(player, null, 10).get()));
+        assertEquals(List.of("x"), checks(reopened.lookup(other, null, 10).get()));
+        reopened.shutdown();
+
+        long lines = 0;
+        try (var files = Files.list(folder)) {
+            for (Path file : files.filter(f -> f.toString().endsWith(".ndjson")).toList()) {
+                lines += Files.readAllLines(file, StandardCharsets.UTF_8).size();
+            }
+        }
+        assertEquals(4, lines);
+    }
+
+    @Test
+    void reindexesADayFileLargerThanOneReadChunk() throws Exception {
+        Path folder = Files.createTempDirectory("modguard-journal");
+        UUID player = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+
+        ModGuardEvidenceJournal first = new ModGuardEvidenceJournal(folder);
+        for (int i = 0; i < 1_000; i++) {
+            first.append(hit(i % 3 == 0 ? player : other, "s", "c" + i));
+        }
+        first.shutdown();
+
+        // Same day, so the file is reopened and its lines indexed again
+        ModGuardEvidenceJournal reopened = new ModGuardEvidenceJournal(folder);
+        List<String> found = checks(reopened.lookup(player, null, 1_000).get());
+        reopened.shutdown();
+
+        assertEquals(334, found.size());
+        assertEquals("c999", found.get(0));
+        assertEquals("c0", found.get(found.size() - 1));
+    }
+}
@@ -0,0 +1,48 @@
+package codes.castled.allium.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/** Prefix queries must ignore case, keep the stored case and survive removals. */
+class PrefixTrieTest {
+
+    @Test
+    void listsNamesUnderAPrefixSortedAndInStoredCase() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("Spawn");
+        trie.add("shop");
+        trie.add("ShopEast");
+        trie.add("arena");
+
+        assertEquals(List.of("shop", "ShopEast", "Spawn"), trie.withPrefix("S"));
+        assertEquals(List.of("shop", "ShopEast"), trie.withPrefix("SHO"));
+        assertEquals(List.of("arena", "shop", "ShopEast", "Spawn"), trie.withPrefix(""));
+        assertEquals(List.of(), trie.withPrefix("x"));
+        assertEquals("ShopEast", trie.get("shopeast"));
+
+        trie.add("SHOP");
+        assertEquals(4, trie.size());
+        assertEquals("SHOP", trie.get("shop"));
+    }
+
+    @Test
+    void removesNamesWithoutLosingLongerOnes() {
+        PrefixTrie trie = new PrefixTrie();
+        trie.add("home");
+        trie.add("homestead");
+
+        assertTrue(trie.remove("HOME"));
+        assertFalse(trie.remove("home"));
+        assertNull(trie.get("home"));
+        assertEquals(List.of("homestead"), trie.withPrefix("ho"));
+
+        assertTrue(trie.remove("homestead"));
+        assertEquals(0, trie.size());
+        assertEquals(List.of(), trie.withPrefix(""));
+    }
+}